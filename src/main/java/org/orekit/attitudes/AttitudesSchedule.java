@@ -0,0 +1,147 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.attitudes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.hipparchus.RealFieldElement;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.AbsoluteDateArray;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.utils.FieldPVCoordinatesProvider;
+import org.orekit.utils.PVCoordinatesProvider;
+import org.orekit.utils.TimeSpanMap;
+
+/** Frozen schedule of attitude providers, replaying switches computed by an {@link AttitudesSequence}.
+ * <p>
+ * Instances of this class are built by {@link AttitudesSequence#getSchedule()} once a
+ * reference propagation has been run. They contain the providers that have been activated
+ * (including the transition providers that smoothly interpolate between laws) and their
+ * switch dates, stored in arrays. The schedule can then be used as the attitude provider
+ * for any number of subsequent propagations, without registering the switch events: no
+ * switching condition is evaluated anymore, and selecting the active provider is a simple
+ * array lookup, in constant time when dates are requested in chronological or reverse
+ * chronological order.
+ * </p>
+ * <p>
+ * As the switch dates are frozen, this is intended for cases where the mission plan does
+ * not depend on the propagated orbit, for example when the same plan is replayed for many
+ * what-if propagations. The transition providers also keep the attitude at transition
+ * start from the reference propagation.
+ * </p>
+ * <p>
+ * Contrary to {@link AttitudesSequence}, this class is immutable and can be shared by
+ * several propagators, even running in different threads.
+ * </p>
+ * @author agent
+ * @since 11.0
+ */
+public class AttitudesSchedule implements AttitudeProvider {
+
+    /** Switch dates. */
+    private final AbsoluteDateArray switchDates;
+
+    /** Providers (element i is active before switch date i, last element is active after last switch). */
+    private final AttitudeProvider[] providers;
+
+    /** Index of the provider found by the last search.
+     * <p>
+     * This is only a hint for the next search, so it is neither volatile
+     * nor synchronized: any index read by any thread is a valid hint.
+     * </p>
+     */
+    private int lastIndex;
+
+    /** Simple constructor.
+     * @param activated providers activated, with their switch dates
+     */
+    AttitudesSchedule(final TimeSpanMap<AttitudeProvider> activated) {
+        final List<AbsoluteDate>     dates = new ArrayList<>();
+        final List<AttitudeProvider> list  = new ArrayList<>();
+        for (final TimeSpanMap.Transition<AttitudeProvider> transition : activated.getTransitions()) {
+            if (list.isEmpty()) {
+                list.add(transition.getBefore());
+            }
+            if (transition.getAfter() != list.get(list.size() - 1)) {
+                // ignore dummy transitions that do not really switch providers
+                dates.add(transition.getDate());
+                list.add(transition.getAfter());
+            }
+        }
+        this.switchDates = new AbsoluteDateArray(dates);
+        this.providers   = list.toArray(new AttitudeProvider[list.size()]);
+        this.lastIndex   = 0;
+    }
+
+    /** Get the switch dates.
+     * @return switch dates, in chronological order
+     */
+    public List<AbsoluteDate> getSwitchDates() {
+        return switchDates.asList();
+    }
+
+    /** Get the scheduled providers.
+     * <p>
+     * The provider at index i is active before the switch date at index i
+     * and at or after the switch date at index i - 1, so the list contains
+     * one more element than {@link #getSwitchDates()}.
+     * </p>
+     * @return scheduled providers
+     */
+    public List<AttitudeProvider> getProviders() {
+        return Collections.unmodifiableList(Arrays.asList(providers));
+    }
+
+    /** Get the provider active at a specified date.
+     * @param date date at which the provider must be active
+     * @return provider active at specified date
+     */
+    public AttitudeProvider getProvider(final AbsoluteDate date) {
+
+        // most dates are in the same span as the previous one
+        final int hint = lastIndex;
+        if ((hint == 0 || switchDates.durationFrom(hint - 1, date) <= 0) &&
+            (hint == switchDates.size() || switchDates.durationFrom(hint, date) > 0)) {
+            return providers[hint];
+        }
+
+        // the provider after a switch is active from the switch date included
+        final int search = switchDates.binarySearch(date);
+        final int index  = search >= 0 ? search + 1 : -(search + 1);
+        lastIndex = index;
+        return providers[index];
+
+    }
+
+    /** {@inheritDoc} */
+    public Attitude getAttitude(final PVCoordinatesProvider pvProv,
+                                final AbsoluteDate date, final Frame frame) {
+        return getProvider(date).getAttitude(pvProv, date, frame);
+    }
+
+    /** {@inheritDoc} */
+    public <T extends RealFieldElement<T>> FieldAttitude<T> getAttitude(final FieldPVCoordinatesProvider<T> pvProv,
+                                                                        final FieldAbsoluteDate<T> date,
+                                                                        final Frame frame) {
+        return getProvider(date.toAbsoluteDate()).getAttitude(pvProv, date, frame);
+    }
+
+}
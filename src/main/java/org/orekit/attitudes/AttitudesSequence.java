@@ -286,6 +286,25 @@ public class AttitudesSequence implements AttitudeProvider {
 
     }
 
+    /** Get a frozen schedule replaying the switches already computed.
+     * <p>
+     * This method is intended to be called after a reference propagation, with the
+     * switch events {@link #registerSwitchEvents(Propagator) registered}, has been run.
+     * The returned schedule contains all the providers activated so far (including the
+     * transitions) and can be used as the attitude provider for subsequent propagations
+     * without registering the switch events, hence avoiding switch detection entirely.
+     * </p>
+     * <p>
+     * The schedule is independent of this sequence, it is not affected by further
+     * propagations using the sequence.
+     * </p>
+     * @return frozen schedule of the activated providers
+     * @since 11.0
+     */
+    public AttitudesSchedule getSchedule() {
+        return new AttitudesSchedule(activated);
+    }
+
     /** {@inheritDoc} */
     public Attitude getAttitude(final PVCoordinatesProvider pvProv,
                                 final AbsoluteDate date, final Frame frame) {
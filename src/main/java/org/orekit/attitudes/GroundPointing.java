@@ -16,13 +16,19 @@
  */
 package org.orekit.attitudes;
 
+import java.util.List;
+import java.util.stream.IntStream;
+
 import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.util.FastMath;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.Frame;
+import org.orekit.frames.Transform;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.FieldAbsoluteDate;
 import org.orekit.utils.AngularCoordinates;
@@ -31,6 +37,7 @@ import org.orekit.utils.FieldPVCoordinates;
 import org.orekit.utils.FieldPVCoordinatesProvider;
 import org.orekit.utils.PVCoordinates;
 import org.orekit.utils.PVCoordinatesProvider;
+import org.orekit.utils.TimeStampedAngularCoordinates;
 import org.orekit.utils.TimeStampedFieldPVCoordinates;
 import org.orekit.utils.TimeStampedPVCoordinates;
 
@@ -50,6 +57,9 @@ import org.orekit.utils.TimeStampedPVCoordinates;
  */
 public abstract class GroundPointing implements AttitudeProvider {
 
+    /** Number of components for one spacecraft position-velocity-acceleration. */
+    private static final int PVA_SIZE = 9;
+
     /** J axis. */
     private static final PVCoordinates PLUS_J =
             new PVCoordinates(Vector3D.PLUS_J, Vector3D.ZERO, Vector3D.ZERO);
@@ -205,4 +215,136 @@ public abstract class GroundPointing implements AttitudeProvider {
 
     }
 
+    /** Compute attitudes at several dates, sampling a coordinates provider.
+     * <p>
+     * The provider is called sequentially, in the order of the dates, from the
+     * calling thread only, so it does not need to be thread-safe. The attitudes
+     * are then computed by {@link #getAttitudes(List, double[], Frame, boolean)}.
+     * </p>
+     * @param pvProv provider for spacecraft position-velocity-acceleration
+     * @param dates dates at which attitudes are requested
+     * @param frame reference frame from which attitudes are computed
+     * @param parallel if true, the dates are processed in parallel
+     * @return attitudes at all dates
+     * @see #getAttitudes(List, double[], Frame, boolean)
+     * @since 11.0
+     */
+    public TimeStampedAngularCoordinates[] getAttitudes(final PVCoordinatesProvider pvProv,
+                                                        final List<AbsoluteDate> dates,
+                                                        final Frame frame, final boolean parallel) {
+        final double[] pva = new double[PVA_SIZE * dates.size()];
+        for (int i = 0; i < dates.size(); ++i) {
+            final PVCoordinates pv = pvProv.getPVCoordinates(dates.get(i), frame);
+            store(pv.getPosition(),     pva, PVA_SIZE * i);
+            store(pv.getVelocity(),     pva, PVA_SIZE * i + 3);
+            store(pv.getAcceleration(), pva, PVA_SIZE * i + 6);
+        }
+        return getAttitudes(dates, pva, frame, parallel);
+    }
+
+    /** Compute attitudes at several dates, from spacecraft coordinates stored in a primitive array.
+     * <p>
+     * This method is intended for attitude ephemerides generation, where huge numbers
+     * of dates are involved. At each date, the frame transforms from the reference frame
+     * are computed only once and reused for all the spacecraft coordinates needed by
+     * the pointing law (for example the samples around current date needed by {@link
+     * NadirPointing}), which are extrapolated from the position, velocity and acceleration
+     * at current date instead of being computed by a propagator. The attitude at each
+     * date is then the same as would be returned by {@link #getAttitude(PVCoordinatesProvider,
+     * AbsoluteDate, Frame) getAttitude} with a provider performing this extrapolation.
+     * </p>
+     * <p>
+     * For date i, the position, velocity and acceleration of the spacecraft in the
+     * reference frame are stored in the {@code pva} array starting at index {@code 9 * i}.
+     * </p>
+     * @param dates dates at which attitudes are requested
+     * @param pva spacecraft positions, velocities and accelerations in the reference
+     * frame, its length must be at least 9 times the number of dates
+     * @param frame reference frame from which attitudes are computed
+     * @param parallel if true, the dates are processed in parallel
+     * @return attitudes at all dates
+     * @since 11.0
+     */
+    public TimeStampedAngularCoordinates[] getAttitudes(final List<AbsoluteDate> dates, final double[] pva,
+                                                        final Frame frame, final boolean parallel) {
+
+        if (pva.length < PVA_SIZE * dates.size()) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     pva.length, PVA_SIZE * dates.size());
+        }
+
+        final TimeStampedAngularCoordinates[] attitudes = new TimeStampedAngularCoordinates[dates.size()];
+        final IntStream indices = IntStream.range(0, dates.size());
+        (parallel ? indices.parallel() : indices).forEach(i -> {
+            final int k = PVA_SIZE * i;
+            final TimeStampedPVCoordinates pv =
+                    new TimeStampedPVCoordinates(dates.get(i),
+                                                 new Vector3D(pva[k],     pva[k + 1], pva[k + 2]),
+                                                 new Vector3D(pva[k + 3], pva[k + 4], pva[k + 5]),
+                                                 new Vector3D(pva[k + 6], pva[k + 7], pva[k + 8]));
+            attitudes[i] = getAttitude(new LocalProvider(pv, frame), pv.getDate(), frame).getOrientation();
+        });
+
+        return attitudes;
+
+    }
+
+    /** Store a vector in a primitive array.
+     * @param v vector to store
+     * @param array array where to store the vector
+     * @param index index of the first component
+     */
+    private static void store(final Vector3D v, final double[] array, final int index) {
+        array[index]     = v.getX();
+        array[index + 1] = v.getY();
+        array[index + 2] = v.getZ();
+    }
+
+    /** Coordinates provider extrapolating spacecraft coordinates around one date.
+     * <p>
+     * The transforms from the reference frame to the other frames are computed
+     * only once at the central date and shifted for the neighboring dates.
+     * Instances are intended to be used by one thread only.
+     * </p>
+     */
+    private static class LocalProvider implements PVCoordinatesProvider {
+
+        /** Spacecraft coordinates at central date. */
+        private final TimeStampedPVCoordinates pv;
+
+        /** Reference frame. */
+        private final Frame frame;
+
+        /** Last frame requested. */
+        private Frame cachedFrame;
+
+        /** Transform from reference frame to last frame requested, at central date. */
+        private Transform cachedTransform;
+
+        /** Simple constructor.
+         * @param pv spacecraft coordinates at central date
+         * @param frame frame in which coordinates are defined
+         */
+        LocalProvider(final TimeStampedPVCoordinates pv, final Frame frame) {
+            this.pv    = pv;
+            this.frame = frame;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public TimeStampedPVCoordinates getPVCoordinates(final AbsoluteDate date, final Frame f) {
+            final double dt = date.durationFrom(pv.getDate());
+            final TimeStampedPVCoordinates shifted = dt == 0 ? pv : pv.shiftedBy(dt);
+            if (f == frame) {
+                return shifted;
+            }
+            if (f != cachedFrame) {
+                cachedTransform = frame.getTransformTo(f, pv.getDate());
+                cachedFrame     = f;
+            }
+            return (dt == 0 ? cachedTransform : cachedTransform.shiftedBy(dt)).transformPVCoordinates(shifted);
+        }
+
+    }
+
 }
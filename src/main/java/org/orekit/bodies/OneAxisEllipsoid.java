@@ -17,18 +17,23 @@
 package org.orekit.bodies;
 
 import java.io.Serializable;
+import java.util.stream.IntStream;
 
 import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
 import org.hipparchus.geometry.euclidean.threed.FieldLine;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
 import org.hipparchus.geometry.euclidean.threed.Line;
+import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.geometry.euclidean.twod.Vector2D;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.FieldSinCos;
 import org.hipparchus.util.MathArrays;
+import org.hipparchus.util.MathUtils;
 import org.hipparchus.util.SinCos;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.frames.FieldTransform;
 import org.orekit.frames.Frame;
 import org.orekit.frames.Transform;
@@ -309,14 +314,9 @@ public class OneAxisEllipsoid extends Ellipsoid implements BodyShape {
 
     /** {@inheritDoc} */
     public Vector3D transform(final GeodeticPoint point) {
-        final double longitude = point.getLongitude();
-        final SinCos scLambda  = FastMath.sinCos(longitude);
-        final double latitude  = point.getLatitude();
-        final SinCos scPhi     = FastMath.sinCos(latitude);
-        final double h         = point.getAltitude();
-        final double n         = getA() / FastMath.sqrt(1.0 - e2 * scPhi.sin() * scPhi.sin());
-        final double r         = (n + h) * scPhi.cos();
-        return new Vector3D(r * scLambda.cos(), r * scLambda.sin(), (g2 * n + h) * scPhi.sin());
+        final double[] cartesian = new double[3];
+        toCartesian(point.getLatitude(), point.getLongitude(), point.getAltitude(), cartesian, 0);
+        return new Vector3D(cartesian);
     }
 
     /** {@inheritDoc} */
@@ -424,12 +424,189 @@ public class OneAxisEllipsoid extends Ellipsoid implements BodyShape {
 
         // transform point to body frame
         final Vector3D pointInBodyFrame = frame.getTransformTo(bodyFrame, date).transformPosition(point);
-        final double   r2               = pointInBodyFrame.getX() * pointInBodyFrame.getX() +
-                                          pointInBodyFrame.getY() * pointInBodyFrame.getY();
+
+        final double[] geodetic = new double[3];
+        toGeodetic(pointInBodyFrame.getX(), pointInBodyFrame.getY(), pointInBodyFrame.getZ(), geodetic, 0);
+        return new GeodeticPoint(geodetic[0], geodetic[1], geodetic[2]);
+
+    }
+
+    /** Transform a set of Cartesian points to surface-relative points.
+     * <p>
+     * This is a batch version of {@link #transform(Vector3D, Frame, AbsoluteDate)}
+     * intended for products involving huge numbers of points, like ground tracks,
+     * coverage or footprints. The frame transform is computed only once, no objects
+     * are allocated per point and the points can be processed in parallel. The
+     * results are the same as the ones of the single point method.
+     * </p>
+     * <p>
+     * The Cartesian coordinates of point k are stored at indices {@code 3 * k},
+     * {@code 3 * k + 1} and {@code 3 * k + 2} in the {@code cartesian} array. The
+     * latitude, longitude (both in radians) and altitude (in meters) of the same
+     * point are stored at the same indices in the {@code geodetic} array. The two
+     * arrays may be the same array, the conversion is then performed in place.
+     * </p>
+     * @param cartesian Cartesian coordinates of the points, in the specified frame
+     * @param frame frame in which the Cartesian points are defined
+     * @param date date of the computation (used for frames conversions)
+     * @param geodetic array where to store the surface-relative points (latitude,
+     * longitude and altitude), its length must be at least the length of the
+     * {@code cartesian} array
+     * @param parallel if true, points are processed in parallel
+     * @since 11.0
+     */
+    public void toGeodetic(final double[] cartesian, final Frame frame, final AbsoluteDate date,
+                           final double[] geodetic, final boolean parallel) {
+        checkBatchSizes(cartesian, geodetic);
+        final Transform toBody = frame.getTransformTo(bodyFrame, date);
+        indices(cartesian.length / 3, parallel).forEach(k -> {
+            final int i = 3 * k;
+            transformPosition(toBody, cartesian[i], cartesian[i + 1], cartesian[i + 2], geodetic, i);
+            toGeodetic(geodetic[i], geodetic[i + 1], geodetic[i + 2], geodetic, i);
+            normalizeAngles(geodetic, i);
+        });
+    }
+
+    /** Transform a set of surface-relative points to Cartesian points.
+     * <p>
+     * This is a batch version of {@link #transform(GeodeticPoint)} intended for
+     * products involving huge numbers of points, like ground tracks, coverage or
+     * footprints. The Cartesian points can be expressed in any frame, the frame
+     * transform being computed only once. No objects are allocated per point and
+     * the points can be processed in parallel. The results are the same as the
+     * ones of the single point method, followed by the frame transform.
+     * </p>
+     * <p>
+     * The latitude, longitude (both in radians) and altitude (in meters) of point k
+     * are stored at indices {@code 3 * k}, {@code 3 * k + 1} and {@code 3 * k + 2} in
+     * the {@code geodetic} array. The Cartesian coordinates of the same point are
+     * stored at the same indices in the {@code cartesian} array. The two arrays may
+     * be the same array, the conversion is then performed in place.
+     * </p>
+     * @param geodetic surface-relative points (latitude, longitude and altitude)
+     * @param frame frame in which the Cartesian points should be defined
+     * @param date date of the computation (used for frames conversions)
+     * @param cartesian array where to store the Cartesian coordinates of the points,
+     * its length must be at least the length of the {@code geodetic} array
+     * @param parallel if true, points are processed in parallel
+     * @since 11.0
+     */
+    public void toCartesian(final double[] geodetic, final Frame frame, final AbsoluteDate date,
+                            final double[] cartesian, final boolean parallel) {
+        checkBatchSizes(geodetic, cartesian);
+        final Transform fromBody = bodyFrame.getTransformTo(frame, date);
+        indices(geodetic.length / 3, parallel).forEach(k -> {
+            final int i = 3 * k;
+            toCartesian(geodetic[i], geodetic[i + 1], geodetic[i + 2], cartesian, i);
+            transformPosition(fromBody, cartesian[i], cartesian[i + 1], cartesian[i + 2], cartesian, i);
+        });
+    }
+
+    /** Check the sizes of arrays used in batch conversions.
+     * @param in input array
+     * @param out output array
+     */
+    private static void checkBatchSizes(final double[] in, final double[] out) {
+        if (in.length % 3 != 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     in.length, 3 * (in.length / 3 + 1));
+        }
+        if (out.length < in.length) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     out.length, in.length);
+        }
+    }
+
+    /** Normalize latitude and longitude the same way {@link GeodeticPoint} does.
+     * @param geodetic array containing latitude, longitude and altitude
+     * @param offset index of the latitude in the array
+     */
+    private static void normalizeAngles(final double[] geodetic, final int offset) {
+        final double latitude  = geodetic[offset];
+        final double longitude = geodetic[offset + 1];
+        double lat = MathUtils.normalizeAngle(latitude, 0.5 * FastMath.PI);
+        double lon = MathUtils.normalizeAngle(longitude, 0);
+        if (lat > 0.5 * FastMath.PI) {
+            // latitude is beyond the pole -> add 180 to longitude
+            lat = FastMath.PI - lat;
+            lon = MathUtils.normalizeAngle(longitude + FastMath.PI, 0);
+        }
+        geodetic[offset]     = lat;
+        geodetic[offset + 1] = lon;
+    }
+
+    /** Get a stream of points indices.
+     * @param n number of points
+     * @param parallel if true, the stream is parallel
+     * @return stream of indices
+     */
+    private static IntStream indices(final int n, final boolean parallel) {
+        final IntStream indices = IntStream.range(0, n);
+        return parallel ? indices.parallel() : indices;
+    }
+
+    /** Apply a transform to a position given by its coordinates.
+     * <p>
+     * This method performs the same computation as {@link Transform#transformPosition(Vector3D)}
+     * without allocating any object.
+     * </p>
+     * @param transform transform to apply
+     * @param x abscissa of the position
+     * @param y ordinate of the position
+     * @param z height of the position
+     * @param out array where to store the transformed position
+     * @param offset index of the first component in the output array
+     */
+    private static void transformPosition(final Transform transform,
+                                          final double x, final double y, final double z,
+                                          final double[] out, final int offset) {
+        final Vector3D t  = transform.getTranslation();
+        final Rotation q  = transform.getRotation();
+        final double   q0 = q.getQ0();
+        final double   q1 = q.getQ1();
+        final double   q2 = q.getQ2();
+        final double   q3 = q.getQ3();
+        final double   tx = t.getX() + x;
+        final double   ty = t.getY() + y;
+        final double   tz = t.getZ() + z;
+        final double   s  = q1 * tx + q2 * ty + q3 * tz;
+        out[offset]     = 2 * (q0 * (tx * q0 - (q2 * tz - q3 * ty)) + s * q1) - tx;
+        out[offset + 1] = 2 * (q0 * (ty * q0 - (q3 * tx - q1 * tz)) + s * q2) - ty;
+        out[offset + 2] = 2 * (q0 * (tz * q0 - (q1 * ty - q2 * tx)) + s * q3) - tz;
+    }
+
+    /** Transform a surface-relative point to a Cartesian point in body frame.
+     * @param latitude latitude of the point
+     * @param longitude longitude of the point
+     * @param h altitude of the point
+     * @param out array where to store the Cartesian coordinates
+     * @param offset index of the first component in the output array
+     */
+    private void toCartesian(final double latitude, final double longitude, final double h,
+                             final double[] out, final int offset) {
+        final SinCos scLambda  = FastMath.sinCos(longitude);
+        final SinCos scPhi     = FastMath.sinCos(latitude);
+        final double n         = getA() / FastMath.sqrt(1.0 - e2 * scPhi.sin() * scPhi.sin());
+        final double r         = (n + h) * scPhi.cos();
+        out[offset]     = r * scLambda.cos();
+        out[offset + 1] = r * scLambda.sin();
+        out[offset + 2] = (g2 * n + h) * scPhi.sin();
+    }
+
+    /** Transform a Cartesian point in body frame to a surface-relative point.
+     * @param x abscissa of the point in body frame
+     * @param y ordinate of the point in body frame
+     * @param z height of the point in body frame
+     * @param out array where to store latitude, longitude and altitude
+     * @param offset index of the latitude in the output array
+     */
+    private void toGeodetic(final double x, final double y, final double z,
+                            final double[] out, final int offset) {
+
+        final double   r2               = x * x + y * y;
         final double   r                = FastMath.sqrt(r2);
-        final double   z                = pointInBodyFrame.getZ();
 
-        final double   lambda           = FastMath.atan2(pointInBodyFrame.getY(), pointInBodyFrame.getX());
+        final double   lambda           = FastMath.atan2(y, x);
 
         double h;
         double phi;
@@ -520,7 +697,9 @@ public class OneAxisEllipsoid extends Ellipsoid implements BodyShape {
             }
         }
 
-        return new GeodeticPoint(phi, lambda, h);
+        out[offset]     = phi;
+        out[offset + 1] = lambda;
+        out[offset + 2] = h;
 
     }
 
@@ -86,8 +86,6 @@ public class IodLambert {
                                    final Vector3D p1, final AbsoluteDate t1,
                                    final Vector3D p2, final AbsoluteDate t2) {
 
-        final double r1 = p1.getNorm();
-        final double r2 = p2.getNorm();
         final double tau = t2.durationFrom(t1); // in seconds
 
         // Exception if t2 < t1
@@ -95,6 +93,31 @@ public class IodLambert {
             throw new OrekitException(OrekitMessages.NON_CHRONOLOGICAL_DATES_FOR_OBSERVATIONS, t1, t2);
         }
 
+        final Vector3D Vel1 = departureVelocity(posigrade, nRev, p1, p2, tau);
+        if (Vel1 != null) {
+            // compute the equivalent Keplerian orbit
+            return new KeplerianOrbit(new PVCoordinates(p1, Vel1), frame, t1, mu);
+        }
+
+        return null;
+    }
+
+    /** Compute the departure velocity of a transfer between two position vectors.
+     * @param posigrade flag indicating the direction of motion
+     * @param nRev      number of revolutions
+     * @param p1        position vector 1
+     * @param p2        position vector 2
+     * @param tau       time of flight (s)
+     * @return velocity at position 1, or null if Lambert's problem solver did not converge
+     * @see #estimate(Frame, boolean, int, Vector3D, AbsoluteDate, Vector3D, AbsoluteDate)
+     * @since 11.0
+     */
+    Vector3D departureVelocity(final boolean posigrade, final int nRev,
+                               final Vector3D p1, final Vector3D p2, final double tau) {
+
+        final double r1 = p1.getNorm();
+        final double r2 = p2.getNorm();
+
         // normalizing constants
         final double R = FastMath.max(r1, r2); // in m
         final double V = FastMath.sqrt(mu / R);  // in m/s
@@ -127,11 +150,9 @@ public class IodLambert {
             }
 
             // velocity vector at P1
-            final Vector3D Vel1 = new Vector3D(V * Vdep[0] / r1, p1,
-                                               V * Vdep[1] / RT, Pt);
+            return new Vector3D(V * Vdep[0] / r1, p1,
+                                V * Vdep[1] / RT, Pt);
 
-            // compute the equivalent Keplerian orbit
-            return new KeplerianOrbit(new PVCoordinates(p1, Vel1), frame, t1, mu);
         }
 
         return null;
@@ -0,0 +1,185 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.iod;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.orekit.time.AbsoluteDate;
+
+/**
+ * Container for Lambert transfers computed over a grid of departure and arrival dates.
+ * <p>
+ * The values are stored in primitive arrays, indexed first by departure date and
+ * then by arrival date, so the grid can be used directly to draw porkchop plots.
+ * Grid nodes for which no transfer was found (arrival before departure or solver
+ * failure) have {@link Double#NaN NaN} velocity increments and -1 revolutions.
+ * </p>
+ *
+ * @author agent
+ * @since 11.0
+ * @see LambertGridComputer
+ */
+public class LambertGrid {
+
+    /** Departure dates of the grid. */
+    private final List<AbsoluteDate> departureDates;
+
+    /** Arrival dates of the grid. */
+    private final List<AbsoluteDate> arrivalDates;
+
+    /** Number of complete revolutions of the selected transfers. */
+    private final int[] revolutions;
+
+    /** Departure velocity increments. */
+    private final double[] departureDeltaV;
+
+    /** Arrival velocity increments. */
+    private final double[] arrivalDeltaV;
+
+    /** Simple constructor.
+     * <p>
+     * All velocity increments are initialized to {@link Double#NaN NaN} and the
+     * number of revolutions to -1.
+     * </p>
+     * @param departureDates departure dates of the grid
+     * @param arrivalDates arrival dates of the grid
+     */
+    LambertGrid(final List<AbsoluteDate> departureDates, final List<AbsoluteDate> arrivalDates) {
+        this.departureDates  = departureDates;
+        this.arrivalDates    = arrivalDates;
+        final int size = departureDates.size() * arrivalDates.size();
+        this.revolutions     = new int[size];
+        this.departureDeltaV = new double[size];
+        this.arrivalDeltaV   = new double[size];
+        for (int i = 0; i < size; ++i) {
+            revolutions[i]     = -1;
+            departureDeltaV[i] = Double.NaN;
+            arrivalDeltaV[i]   = Double.NaN;
+        }
+    }
+
+    /** Set the values for one grid node.
+     * @param departureIndex index of the departure date
+     * @param arrivalIndex index of the arrival date
+     * @param nRev number of complete revolutions of the transfer
+     * @param dV1 departure velocity increment
+     * @param dV2 arrival velocity increment
+     */
+    void setValues(final int departureIndex, final int arrivalIndex, final int nRev,
+                   final double dV1, final double dV2) {
+        final int index = index(departureIndex, arrivalIndex);
+        revolutions[index]     = nRev;
+        departureDeltaV[index] = dV1;
+        arrivalDeltaV[index]   = dV2;
+    }
+
+    /** Get the flat index corresponding to a grid node.
+     * @param departureIndex index of the departure date
+     * @param arrivalIndex index of the arrival date
+     * @return flat index in the primitive arrays
+     */
+    private int index(final int departureIndex, final int arrivalIndex) {
+        return departureIndex * arrivalDates.size() + arrivalIndex;
+    }
+
+    /** Get the departure dates of the grid.
+     * @return departure dates of the grid
+     */
+    public List<AbsoluteDate> getDepartureDates() {
+        return Collections.unmodifiableList(departureDates);
+    }
+
+    /** Get the arrival dates of the grid.
+     * @return arrival dates of the grid
+     */
+    public List<AbsoluteDate> getArrivalDates() {
+        return Collections.unmodifiableList(arrivalDates);
+    }
+
+    /** Get the number of complete revolutions of the transfer at one grid node.
+     * @param departureIndex index of the departure date
+     * @param arrivalIndex index of the arrival date
+     * @return number of complete revolutions, or -1 if no transfer was found
+     */
+    public int getRevolutions(final int departureIndex, final int arrivalIndex) {
+        return revolutions[index(departureIndex, arrivalIndex)];
+    }
+
+    /** Get the departure velocity increment at one grid node.
+     * @param departureIndex index of the departure date
+     * @param arrivalIndex index of the arrival date
+     * @return departure velocity increment (m/s), i.e. hyperbolic excess velocity
+     * with respect to departure body
+     */
+    public double getDepartureDeltaV(final int departureIndex, final int arrivalIndex) {
+        return departureDeltaV[index(departureIndex, arrivalIndex)];
+    }
+
+    /** Get the arrival velocity increment at one grid node.
+     * @param departureIndex index of the departure date
+     * @param arrivalIndex index of the arrival date
+     * @return arrival velocity increment (m/s), i.e. hyperbolic excess velocity
+     * with respect to arrival body
+     */
+    public double getArrivalDeltaV(final int departureIndex, final int arrivalIndex) {
+        return arrivalDeltaV[index(departureIndex, arrivalIndex)];
+    }
+
+    /** Get the total velocity increment at one grid node.
+     * @param departureIndex index of the departure date
+     * @param arrivalIndex index of the arrival date
+     * @return total velocity increment (m/s)
+     */
+    public double getTotalDeltaV(final int departureIndex, final int arrivalIndex) {
+        final int index = index(departureIndex, arrivalIndex);
+        return departureDeltaV[index] + arrivalDeltaV[index];
+    }
+
+    /** Get the departure velocity increments for all arrival dates at one departure date.
+     * @param departureIndex index of the departure date
+     * @return departure velocity increments (a new array is allocated at each call)
+     */
+    public double[] getDepartureDeltaV(final int departureIndex) {
+        final double[] row = new double[arrivalDates.size()];
+        System.arraycopy(departureDeltaV, index(departureIndex, 0), row, 0, row.length);
+        return row;
+    }
+
+    /** Get the arrival velocity increments for all arrival dates at one departure date.
+     * @param departureIndex index of the departure date
+     * @return arrival velocity increments (a new array is allocated at each call)
+     */
+    public double[] getArrivalDeltaV(final int departureIndex) {
+        final double[] row = new double[arrivalDates.size()];
+        System.arraycopy(arrivalDeltaV, index(departureIndex, 0), row, 0, row.length);
+        return row;
+    }
+
+    /** Get the total velocity increments for all arrival dates at one departure date.
+     * @param departureIndex index of the departure date
+     * @return total velocity increments (a new array is allocated at each call)
+     */
+    public double[] getTotalDeltaV(final int departureIndex) {
+        final double[] row = new double[arrivalDates.size()];
+        for (int j = 0; j < row.length; ++j) {
+            row[j] = getTotalDeltaV(departureIndex, j);
+        }
+        return row;
+    }
+
+}
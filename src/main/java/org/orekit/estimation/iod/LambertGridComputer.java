@@ -0,0 +1,164 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.iod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.PVCoordinatesProvider;
+
+/**
+ * This class aims at computing Lambert transfers over grids of departure and arrival dates.
+ * <p>
+ * It relies on the same solver as {@link IodLambert} and is intended for mission design
+ * porkchop plots, typically between two {@link org.orekit.bodies.CelestialBody celestial
+ * bodies} in a heliocentric frame. The departure and arrival bodies ephemerides are
+ * evaluated only once per date, and shared by all grid nodes with the same date. The
+ * departure dates are then processed in parallel and the results are gathered in a
+ * {@link LambertGrid} backed by primitive arrays.
+ * </p>
+ * <p>
+ * At each grid node, transfers with 0 to {@code maxRevolutions} complete revolutions are
+ * considered, all in the direction of motion of the departure body, and the transfer with
+ * the smallest total velocity increment is retained. The arrival velocity is computed from
+ * the departure velocity using Lagrange coefficients, so no orbit is built.
+ * </p>
+ * <p>
+ * The ephemerides are called from the calling thread only, so they do not need to be
+ * thread-safe.
+ * </p>
+ *
+ * @author agent
+ * @since 11.0
+ * @see IodLambert
+ */
+public class LambertGridComputer {
+
+    /** Lambert problem solver. */
+    private final IodLambert lambert;
+
+    /** Gravitational constant. */
+    private final double mu;
+
+    /** Simple constructor.
+     * @param mu gravitational constant of the central body
+     */
+    public LambertGridComputer(final double mu) {
+        this.lambert = new IodLambert(mu);
+        this.mu      = mu;
+    }
+
+    /** Compute Lambert transfers over a grid of departure and arrival dates.
+     * @param departureBody departure body
+     * @param arrivalBody arrival body
+     * @param frame inertial frame centered on the central body
+     * @param departureDates departure dates
+     * @param arrivalDates arrival dates
+     * @param maxRevolutions maximum number of complete revolutions to consider
+     * @return Lambert transfers at all grid nodes
+     */
+    public LambertGrid compute(final PVCoordinatesProvider departureBody, final PVCoordinatesProvider arrivalBody,
+                               final Frame frame,
+                               final List<AbsoluteDate> departureDates, final List<AbsoluteDate> arrivalDates,
+                               final int maxRevolutions) {
+
+        final LambertGrid grid = new LambertGrid(new ArrayList<>(departureDates), new ArrayList<>(arrivalDates));
+
+        // evaluate ephemerides only once per date
+        final PVCoordinates[] departures = new PVCoordinates[departureDates.size()];
+        for (int i = 0; i < departures.length; ++i) {
+            departures[i] = departureBody.getPVCoordinates(departureDates.get(i), frame);
+        }
+        final PVCoordinates[] arrivals = new PVCoordinates[arrivalDates.size()];
+        for (int j = 0; j < arrivals.length; ++j) {
+            arrivals[j] = arrivalBody.getPVCoordinates(arrivalDates.get(j), frame);
+        }
+
+        // evaluate all departure dates in parallel
+        IntStream.range(0, departures.length).parallel().forEach(i -> {
+            for (int j = 0; j < arrivals.length; ++j) {
+                final double tau = arrivalDates.get(j).durationFrom(departureDates.get(i));
+                if (tau > 0) {
+                    computeNode(grid, i, j, departures[i], arrivals[j], tau, maxRevolutions);
+                }
+            }
+        });
+
+        return grid;
+
+    }
+
+    /** Compute the best transfer at one grid node.
+     * @param grid grid to fill up
+     * @param departureIndex index of the departure date
+     * @param arrivalIndex index of the arrival date
+     * @param departure departure body coordinates
+     * @param arrival arrival body coordinates
+     * @param tau time of flight
+     * @param maxRevolutions maximum number of complete revolutions to consider
+     */
+    private void computeNode(final LambertGrid grid, final int departureIndex, final int arrivalIndex,
+                             final PVCoordinates departure, final PVCoordinates arrival,
+                             final double tau, final int maxRevolutions) {
+
+        final Vector3D p1 = departure.getPosition();
+        final Vector3D p2 = arrival.getPosition();
+
+        // transfer in the direction of motion of the departure body
+        final boolean posigrade = Vector3D.dotProduct(p1.crossProduct(p2), departure.getMomentum()) >= 0;
+
+        // sweep angle, modulo 2π
+        final double alpha    = Vector3D.angle(p1, p2);
+        final double cosTheta = FastMath.cos(alpha);
+        final double sinTheta = posigrade ? FastMath.sin(alpha) : -FastMath.sin(alpha);
+        final double r1       = p1.getNorm();
+        final double r2       = p2.getNorm();
+
+        double best = Double.POSITIVE_INFINITY;
+        for (int nRev = 0; nRev <= maxRevolutions; ++nRev) {
+
+            final Vector3D v1 = lambert.departureVelocity(posigrade, nRev, p1, p2, tau);
+            if (v1 == null) {
+                continue;
+            }
+
+            // arrival velocity from Lagrange coefficients
+            final double h    = Vector3D.crossProduct(p1, v1).getNorm();
+            final double p    = h * h / mu;
+            final double g    = r1 * r2 * sinTheta / h;
+            final double gDot = 1 - r1 * (1 - cosTheta) / p;
+            final Vector3D v2 = new Vector3D(gDot / g, p2, -1 / g, p1);
+
+            final double dV1 = Vector3D.distance(v1, departure.getVelocity());
+            final double dV2 = Vector3D.distance(v2, arrival.getVelocity());
+            if (dV1 + dV2 < best) {
+                // this transfer is better than previous ones
+                best = dV1 + dV2;
+                grid.setValues(departureIndex, arrivalIndex, nRev, dV1, dV2);
+            }
+
+        }
+
+    }
+
+}
@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.orekit.gnss.CombinedObservationDataSet;
 import org.orekit.gnss.Frequency;
 import org.orekit.gnss.ObservationDataSet;
 import org.orekit.gnss.SatelliteSystem;
@@ -48,6 +49,15 @@ public abstract class AbstractCycleSlipDetector implements CycleSlipDetectors {
     /** List of all the things use for cycle-slip detections. */
     private List<Map<Frequency, DataForDetection>> stuff;
 
+    /** Index of satellites names in the data and stuff lists. */
+    private final Map<String, Integer> indices;
+
+    /** Handlers notified when cycle-slips are detected. */
+    private final List<CycleSlipHandler> handlers;
+
+    /** Indicator for storing cycle-slip dates in the results. */
+    private boolean storeCycleSlipDates;
+
     /**
      * Cycle-slip detector Abstract Constructor.
      * @param dt time gap between two consecutive measurements in seconds
@@ -59,6 +69,9 @@ public abstract class AbstractCycleSlipDetector implements CycleSlipDetectors {
         this.dt                   = dt;
         this.data                 = new ArrayList<>();
         this.stuff                = new ArrayList<>();
+        this.indices              = new HashMap<>();
+        this.handlers             = new ArrayList<>();
+        this.storeCycleSlipDates  = true;
     }
 
     /** {@inheritDoc} */
@@ -67,12 +80,66 @@ public abstract class AbstractCycleSlipDetector implements CycleSlipDetectors {
         // Loop on observation data set
         for (ObservationDataSet observation: observations) {
             // Manage data
-            manageData(observation);
+            processEpoch(observation);
         }
         // Return the results of the cycle-slip detection
         return getResults();
     }
 
+    /** Process one observation data set incrementally.
+     * <p>
+     * This method allows to feed the detector with observations as they
+     * arrive from a receiver stream, without waiting for a complete list.
+     * Observations for each satellite must be provided in chronological order.
+     * The state kept per satellite and frequency is limited to the last
+     * measurements needed for detection, cycle-slips are reported to the
+     * registered {@link CycleSlipHandler handlers} as soon as they are detected.
+     * </p>
+     * @param observation observation data set
+     * @since 11.0
+     */
+    public void processEpoch(final ObservationDataSet observation) {
+        manageData(observation);
+    }
+
+    /** Process one observation data set incrementally, reusing already computed combinations.
+     * <p>
+     * The default implementation ignores the combinations and simply calls
+     * {@link #processEpoch(ObservationDataSet)}. Detectors relying on one of
+     * the combinations override it to avoid computing it a second time.
+     * </p>
+     * @param observation observation data set
+     * @param combinations combinations of measurements already computed
+     * @param combined combined observation data sets for the observation, in the same order as combinations
+     * @since 11.0
+     */
+    protected void processEpoch(final ObservationDataSet observation,
+                                final List<MeasurementCombination> combinations,
+                                final List<CombinedObservationDataSet> combined) {
+        processEpoch(observation);
+    }
+
+    /** Add a handler for cycle-slips.
+     * @param handler handler to notify when cycle-slips are detected
+     * @since 11.0
+     */
+    public void addHandler(final CycleSlipHandler handler) {
+        handlers.add(handler);
+    }
+
+    /** Set the indicator for storing cycle-slip dates in the results.
+     * <p>
+     * By default, all cycle-slip dates are stored in the {@link CycleSlipDetectorResults}.
+     * When processing continuous streams with {@link #addHandler(CycleSlipHandler) handlers},
+     * storage can be disabled so memory consumption does not grow with time.
+     * </p>
+     * @param storeCycleSlipDates if true, cycle-slip dates are stored in the results
+     * @since 11.0
+     */
+    public void setStoreCycleSlipDates(final boolean storeCycleSlipDates) {
+        this.storeCycleSlipDates = storeCycleSlipDates;
+    }
+
     /**
      * The method is in charge of collecting the measurements, manage them, and call the detection method.
      * @param observation observation data set
@@ -111,6 +178,48 @@ public abstract class AbstractCycleSlipDetector implements CycleSlipDetectors {
         return stuff;
     }
 
+    /** Get the results for one satellite.
+     * @param nameSat name of the satellite (e.g. "GPS - 7")
+     * @return results for the satellite, or null if satellite has not been seen yet
+     * @since 11.0
+     */
+    protected CycleSlipDetectorResults getResult(final String nameSat) {
+        final Integer index = indices.get(nameSat);
+        return index == null ? null : data.get(index);
+    }
+
+    /** Get the data used for detection for one satellite and one frequency.
+     * @param nameSat name of the satellite (e.g. "GPS - 7")
+     * @param freq frequency used
+     * @return data used for detection, or null if the link has not been seen yet
+     * @since 11.0
+     */
+    protected DataForDetection getDataForDetection(final String nameSat, final Frequency freq) {
+        final Integer index = indices.get(nameSat);
+        return index == null ? null : stuff.get(index).get(freq);
+    }
+
+    /** Declare a cycle-slip.
+     * <p>
+     * The cycle-slip date is stored in the results (unless storage has been
+     * {@link #setStoreCycleSlipDates(boolean) disabled}) and the registered
+     * handlers are notified.
+     * </p>
+     * @param result results for the satellite
+     * @param freq frequency at which cycle-slip occurs
+     * @param date date of the cycle-slip
+     * @since 11.0
+     */
+    protected void declareCycleSlip(final CycleSlipDetectorResults result,
+                                    final Frequency freq, final AbsoluteDate date) {
+        if (storeCycleSlipDates) {
+            result.addCycleSlipDate(freq, date);
+        }
+        for (final CycleSlipHandler handler : handlers) {
+            handler.handleCycleSlip(result.getSatelliteName(), freq, date);
+        }
+    }
+
     /** Set the data: collect data at the current Date, at the current frequency, for a given satellite, add it within the attributes data and stuff.
      * @param nameSat name of the satellite (e.g. "GPS - 7")
      * @param date date of the measurement
@@ -119,32 +228,28 @@ public abstract class AbstractCycleSlipDetector implements CycleSlipDetectors {
      */
     protected void cycleSlipDataSet(final String nameSat, final AbsoluteDate date,
                                     final double value, final Frequency freq)  {
-        // Check if cycle-slip data are empty
-        if (data.isEmpty()) {
+        final Integer index = indices.get(nameSat);
+        if (index == null) {
+            // the satellite does not exist yet, another element in the two lists should be added
+            indices.put(nameSat, data.size());
             data.add(new CycleSlipDetectorResults(nameSat, date, freq));
             final Map<Frequency, DataForDetection> newMap = new HashMap<>();
             newMap.put(freq, new DataForDetection(value, date));
             stuff.add(newMap);
         } else {
-            if (!alreadyExist(nameSat, freq)) {
-                // As the couple satellite-frequency, first possibility is that the satellite already exist within the data but not at this frequency
-                for (CycleSlipDetectorResults r: data) {
-                    if (r.getSatelliteName().compareTo(nameSat) == 0) {
-                        r.addAtOtherFrequency(freq, date);
-                        final Map<Frequency, DataForDetection> newMap = stuff.get(data.indexOf(r));
-                        newMap.put(freq, new DataForDetection(value, date));
-                        stuff.set(data.indexOf(r), newMap);
-                        return;
-                    }
-                }
-                //If w've reach this point is because the name does not exist, in this case another element in the two list should be added
-                data.add(new CycleSlipDetectorResults(nameSat, date, freq));
-                final Map<Frequency, DataForDetection> newMap = new HashMap<>();
-                newMap.put(freq, new DataForDetection(value, date));
-                stuff.add(newMap);
+            final CycleSlipDetectorResults         result = data.get(index);
+            final Map<Frequency, DataForDetection> map    = stuff.get(index);
+            final DataForDetection                 detect = map.get(freq);
+            if (detect == null) {
+                // the satellite already exist within the data but not at this frequency
+                result.addAtOtherFrequency(freq, date);
+                map.put(freq, new DataForDetection(value, date));
             } else {
                 // We add the value of the combination of measurements
-                addValue(nameSat, date, value, freq);
+                detect.write                  = (detect.write + 1) % minMeasurementNumber;
+                detect.figures[detect.write]  = new SlipComputationData(value, date);
+                result.setDate(freq, date);
+                detect.canBeComputed++;
             }
         }
 
@@ -160,48 +265,6 @@ public abstract class AbstractCycleSlipDetector implements CycleSlipDetectors {
         return sys.name() + SEPARATOR + numSat;
     }
 
-    /**
-     * Return true if the link (defined by a frequency and a satellite) has been already built.
-     * @param nameSat name of the satellite (e.g.: GPS - 07 for satelite 7 of GPS constellation).
-     * @param freq frequency used in the link
-     * @return true if it already exists within attribute data
-     */
-    private boolean alreadyExist(final String nameSat, final Frequency freq) {
-        if (data != null) {
-            for (CycleSlipDetectorResults result: data) {
-                if (result.getSatelliteName().compareTo(nameSat) == 0) {
-                    return result.getCycleSlipMap().containsKey(freq);
-                }
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Add a value the data.
-     * @param nameSat name of the satellite (satellite system - PRN)
-     * @param date date of the measurement
-     * @param value phase measurement minus code measurement
-     * @param frequency frequency use
-     */
-    private void addValue(final String nameSat, final AbsoluteDate date,
-                          final double value, final Frequency frequency) {
-        // Loop on cycle-slip data
-        for (CycleSlipDetectorResults result: data) {
-            // Find the good position to add the data
-            if (result.getSatelliteName().compareTo(nameSat) == 0 && result.getCycleSlipMap().containsKey(frequency)) {
-                // The date is not to far away from the last one
-                final Map<Frequency, DataForDetection> valuesMap = stuff.get(data.indexOf(result));
-                final DataForDetection detect = valuesMap.get(frequency);
-                detect.write                  = (detect.write + 1) % minMeasurementNumber;
-                detect.figures[detect.write]  = new SlipComputationData(value, date);
-                result.setDate(frequency, date);
-                detect.canBeComputed++;
-                break;
-            }
-        }
-    }
-
     /**
      * Container for computed if cycle-slip occurs.
      * @author David Soulard
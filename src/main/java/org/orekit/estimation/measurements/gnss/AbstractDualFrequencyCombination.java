@@ -59,6 +59,14 @@ public abstract class AbstractDualFrequencyCombination implements MeasurementCom
         return type.getName();
     }
 
+    /** Get the satellite system used for the combination.
+     * @return satellite system used for the combination
+     * @since 11.0
+     */
+    public SatelliteSystem getSatelliteSystem() {
+        return system;
+    }
+
     /**
      * Combines observation data using a dual frequency combination of measurements.
      * @param od1 first observation data to combined
@@ -16,9 +16,13 @@
  */
 package org.orekit.estimation.measurements.gnss;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
+import org.hipparchus.linear.MatrixUtils;
 import org.hipparchus.linear.RealMatrix;
 import org.hipparchus.util.FastMath;
 
@@ -31,6 +35,14 @@ import org.hipparchus.util.FastMath;
  * A modified LAMBDA method for integer least-squares estimation</a> by X.-W Chang, X. Yang
  * and T. Zhou, Journal of Geodesy 79(9):552-565, DOI: 10.1007/s00190-005-0004-x
  * </p>
+ * <p>
+ * Since 11.0, an {@link #enableIncrementalMode(int, double) incremental mode} is available
+ * for filters that solve similar problems at each epoch. In this mode, the Z-transformation
+ * and the decomposition computed for one set of ambiguities are cached. When the same set
+ * of ambiguities is solved again, the decomposition is either reused as is (if the covariance
+ * did not change significantly) or the previous Z-transformation is used as a starting point
+ * for the new decorrelation, which then converges in a few iterations only.
+ * </p>
  * @author Luc Maisonobe
  * @since 10.0
  */
@@ -57,23 +69,183 @@ public abstract class AbstractLambdaMethod implements IntegerLeastSquareSolver {
     /** Placeholder for solutions found. */
     private SortedSet<IntegerLeastSquareSolution> solutions;
 
+    /** Cached decorrelations for incremental mode (null if incremental mode is disabled). */
+    private Map<String, Decorrelation> decorrelations;
+
+    /** Threshold on covariance relative changes below which cached decorrelations are reused as is. */
+    private double reuseThreshold;
+
+    /** Number of problems solved. */
+    private int nbProblems;
+
+    /** Number of problems solved with a decorrelation started from scratch. */
+    private int nbFullDecorrelations;
+
+    /** Number of problems solved with a decorrelation started from a cached one. */
+    private int nbWarmStarts;
+
+    /** Number of problems solved reusing a cached decorrelation as is. */
+    private int nbReuses;
+
+    /** Number of candidate solutions found during discrete searches. */
+    private long nbCandidates;
+
+    /** Enable incremental mode.
+     * <p>
+     * In incremental mode, decorrelations are cached, using the indirection array
+     * as the key identifying the set of ambiguities. When a problem is solved for an
+     * already known set of ambiguities and the maximum relative change in covariance
+     * |ΔQᵢⱼ| / √(QᵢᵢQⱼⱼ) is below {@code threshold}, the cached decomposition is reused
+     * as is and only the float ambiguities are transformed, so the solution is exact
+     * with respect to the cached covariance. Otherwise, the cached Z-transformation is
+     * applied first and the decorrelation is resumed from there.
+     * </p>
+     * @param maxCached maximum number of ambiguities sets for which decorrelations are cached
+     * (least recently used ones are evicted first)
+     * @param threshold threshold on covariance relative changes below which cached
+     * decorrelations are reused as is (0 means covariance must be unchanged,
+     * a negative value prevents any reuse as is)
+     * @since 11.0
+     */
+    public void enableIncrementalMode(final int maxCached, final double threshold) {
+        this.decorrelations = new LinkedHashMap<String, Decorrelation>(16, 0.75f, true) {
+
+            /** Serializable UID. */
+            private static final long serialVersionUID = 20201230L;
+
+            /** {@inheritDoc} */
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Decorrelation> eldest) {
+                return size() > maxCached;
+            }
+
+        };
+        this.reuseThreshold = threshold;
+    }
+
+    /** Disable incremental mode.
+     * <p>
+     * This is the default mode, each problem is solved from scratch.
+     * </p>
+     * @since 11.0
+     */
+    public void disableIncrementalMode() {
+        this.decorrelations = null;
+    }
+
+    /** Check if incremental mode is enabled.
+     * @return true if incremental mode is enabled
+     * @since 11.0
+     */
+    public boolean isIncrementalModeEnabled() {
+        return decorrelations != null;
+    }
+
+    /** Get the number of problems solved.
+     * @return number of problems solved since construction or last call to {@link #resetStatistics()}
+     * @since 11.0
+     */
+    public int getProblemsNumber() {
+        return nbProblems;
+    }
+
+    /** Get the number of problems solved with a decorrelation started from scratch.
+     * @return number of problems solved with a decorrelation started from scratch
+     * @since 11.0
+     */
+    public int getFullDecorrelationsNumber() {
+        return nbFullDecorrelations;
+    }
+
+    /** Get the number of problems solved with a decorrelation started from a cached one.
+     * @return number of problems solved with a decorrelation started from a cached one
+     * @since 11.0
+     */
+    public int getWarmStartsNumber() {
+        return nbWarmStarts;
+    }
+
+    /** Get the number of problems solved reusing a cached decorrelation as is.
+     * @return number of problems solved reusing a cached decorrelation as is
+     * @since 11.0
+     */
+    public int getReusesNumber() {
+        return nbReuses;
+    }
+
+    /** Get the number of candidate solutions found during discrete searches.
+     * <p>
+     * This includes candidates that were later removed as better ones were found,
+     * so it is a measure of the discrete search effort.
+     * </p>
+     * @return number of candidate solutions found during discrete searches
+     * @since 11.0
+     */
+    public long getCandidatesNumber() {
+        return nbCandidates;
+    }
+
+    /** Reset search statistics.
+     * @since 11.0
+     */
+    public void resetStatistics() {
+        nbProblems           = 0;
+        nbFullDecorrelations = 0;
+        nbWarmStarts         = 0;
+        nbReuses             = 0;
+        nbCandidates         = 0;
+    }
+
     /** {@inheritDoc} */
     @Override
     public IntegerLeastSquareSolution[] solveILS(final int nbSol, final double[] floatAmbiguities,
                                                  final int[] indirection, final RealMatrix covariance) {
 
-        // initialize the ILS problem search
-        initializeProblem(floatAmbiguities, indirection, covariance, nbSol);
+        ++nbProblems;
+        final String        key    = decorrelations == null ? null : Arrays.toString(indirection);
+        final Decorrelation cached = key == null ? null : decorrelations.get(key);
+
+        if (cached == null) {
+
+            // initialize the ILS problem search
+            initializeProblem(floatAmbiguities, indirection, covariance, nbSol);
+
+            // perform initial Lᵀ.D.L = Q decomposition of covariance
+            ltdlDecomposition();
+
+            // perform decorrelation/reduction of covariances
+            reduction();
 
-        // perform initial Lᵀ.D.L = Q decomposition of covariance
-        ltdlDecomposition();
+            // transform the Lᵀ.D.L = Q decomposition of covariance into
+            // the L⁻¹.D⁻¹.L⁻ᵀ = Q⁻¹ decomposition of the inverse of covariance.
+            inverseDecomposition();
 
-        // perform decorrelation/reduction of covariances
-        reduction();
+            ++nbFullDecorrelations;
+            if (key != null) {
+                decorrelations.put(key, new Decorrelation(indirection, covariance));
+            }
+
+        } else if (cached.maxRelativeChange(indirection, covariance) <= reuseThreshold) {
+
+            // reuse cached decomposition as is
+            cached.restore(floatAmbiguities, nbSol);
+            ++nbReuses;
+
+        } else {
 
-        // transform the Lᵀ.D.L = Q decomposition of covariance into
-        // the L⁻¹.D⁻¹.L⁻ᵀ = Q⁻¹ decomposition of the inverse of covariance.
-        inverseDecomposition();
+            // start from the cached Z-transformation
+            cached.warmStart(floatAmbiguities, indirection, covariance, nbSol);
+
+            // resume decorrelation/reduction of covariances
+            ltdlDecomposition();
+            reduction();
+            cached.composeTransformations();
+            inverseDecomposition();
+
+            ++nbWarmStarts;
+            decorrelations.put(key, new Decorrelation(indirection, covariance));
+
+        }
 
         // perform discrete search of Integer Least Square problem
         discreteSearch();
@@ -153,6 +325,7 @@ public abstract class AbstractLambdaMethod implements IntegerLeastSquareSolver {
      * @param squaredNorm squared distance to the corresponding float solution
      */
     protected void addSolution(final long[] fixed, final double squaredNorm) {
+        ++nbCandidates;
         solutions.add(new IntegerLeastSquareSolution(fixed, squaredNorm));
     }
 
@@ -334,6 +507,185 @@ public abstract class AbstractLambdaMethod implements IntegerLeastSquareSolver {
 
     }
 
+    /** Container for cached decorrelation.
+     * <p>
+     * The decorrelation is stored after the decomposition has been inverted,
+     * i.e. just before discrete search.
+     * </p>
+     * @since 11.0
+     */
+    private class Decorrelation {
+
+        /** Ambiguities covariance, in row order. */
+        private final double[] q;
+
+        /** Lower triangular matrix of the inverted decomposition. */
+        private final double[] cachedLow;
+
+        /** Diagonal matrix of the inverted decomposition. */
+        private final double[] cachedDiag;
+
+        /** Z⁻¹ transformation matrix, in row order. */
+        private final int[] cachedZInverse;
+
+        /** Z transformation matrix, in row order. */
+        private final int[] cachedZ;
+
+        /** Simple constructor.
+         * <p>
+         * The decorrelation is built from the current state of the enclosing instance.
+         * </p>
+         * @param indirection indirection array to extract ambiguity covariances from global covariance matrix
+         * @param globalCovariance global covariance matrix (includes ambiguities among other parameters)
+         */
+        Decorrelation(final int[] indirection, final RealMatrix globalCovariance) {
+            this.q = new double[n * n];
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    q[zIndex(i, j)] = globalCovariance.getEntry(indirection[i], indirection[j]);
+                }
+            }
+            this.cachedLow      = low.clone();
+            this.cachedDiag     = diag.clone();
+            this.cachedZInverse = zInverseTransformation.clone();
+
+            // Z⁻¹ is unimodular, so its inverse Z is also an integer matrix
+            final RealMatrix zInverse = MatrixUtils.createRealMatrix(n, n);
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    zInverse.setEntry(i, j, zInverseTransformation[zIndex(i, j)]);
+                }
+            }
+            final RealMatrix z = MatrixUtils.inverse(zInverse);
+            this.cachedZ = new int[n * n];
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    cachedZ[zIndex(i, j)] = (int) FastMath.rint(z.getEntry(i, j));
+                }
+            }
+
+        }
+
+        /** Compute the maximum relative change in covariance.
+         * @param indirection indirection array to extract ambiguity covariances from global covariance matrix
+         * @param globalCovariance global covariance matrix (includes ambiguities among other parameters)
+         * @return maximum relative change |ΔQᵢⱼ| / √(QᵢᵢQⱼⱼ)
+         */
+        double maxRelativeChange(final int[] indirection, final RealMatrix globalCovariance) {
+            final int size = indirection.length;
+            double max = 0;
+            for (int i = 0; i < size; ++i) {
+                for (int j = 0; j <= i; ++j) {
+                    final double delta = globalCovariance.getEntry(indirection[i], indirection[j]) -
+                                         q[i * size + j];
+                    max = FastMath.max(max,
+                                       FastMath.abs(delta) / FastMath.sqrt(q[i * size + i] * q[j * size + j]));
+                }
+            }
+            return max;
+        }
+
+        /** Restore the cached decomposition in the enclosing instance.
+         * @param floatAmbiguities float estimates of ambiguities
+         * @param nbSol number of solutions to search for
+         */
+        void restore(final double[] floatAmbiguities, final int nbSol) {
+            n                      = floatAmbiguities.length;
+            low                    = cachedLow.clone();
+            diag                   = cachedDiag.clone();
+            zInverseTransformation = cachedZInverse.clone();
+            decorrelated           = transform(floatAmbiguities);
+            maxSolutions           = nbSol;
+            solutions              = new TreeSet<>();
+        }
+
+        /** Initialize the enclosing instance with the problem expressed in the cached decorrelated space.
+         * <p>
+         * The covariance Q is replaced by Zᵀ.Q.Z and the float ambiguities a by Zᵀ.a, where
+         * Z is the cached transformation. The Z⁻¹ transformation of the enclosing instance is
+         * reset to identity and must be {@link #composeTransformations() composed} with the
+         * cached one once the decorrelation has been completed.
+         * </p>
+         * @param floatAmbiguities float estimates of ambiguities
+         * @param indirection indirection array to extract ambiguity covariances from global covariance matrix
+         * @param globalCovariance global covariance matrix (includes ambiguities among other parameters)
+         * @param nbSol number of solutions to search for
+         */
+        void warmStart(final double[] floatAmbiguities, final int[] indirection,
+                       final RealMatrix globalCovariance, final int nbSol) {
+
+            initializeProblem(floatAmbiguities, indirection, globalCovariance, nbSol);
+            decorrelated = transform(floatAmbiguities);
+
+            // compute Q.Z
+            final double[] qz = new double[n * n];
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    double sum = 0;
+                    for (int k = 0; k < n; ++k) {
+                        final int zkj = cachedZ[zIndex(k, j)];
+                        if (zkj != 0) {
+                            sum += globalCovariance.getEntry(indirection[i], indirection[k]) * zkj;
+                        }
+                    }
+                    qz[zIndex(i, j)] = sum;
+                }
+            }
+
+            // compute Zᵀ.Q.Z
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j <= i; ++j) {
+                    double sum = 0;
+                    for (int k = 0; k < n; ++k) {
+                        final int zki = cachedZ[zIndex(k, i)];
+                        if (zki != 0) {
+                            sum += zki * qz[zIndex(k, j)];
+                        }
+                    }
+                    if (j < i) {
+                        low[lIndex(i, j)] = sum;
+                    } else {
+                        diag[i] = sum;
+                    }
+                }
+            }
+
+        }
+
+        /** Compose the Z⁻¹ transformation of the enclosing instance with the cached one.
+         */
+        void composeTransformations() {
+            final int[] composed = new int[n * n];
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) {
+                    int sum = 0;
+                    for (int k = 0; k < n; ++k) {
+                        sum += zInverseTransformation[zIndex(i, k)] * cachedZInverse[zIndex(k, j)];
+                    }
+                    composed[zIndex(i, j)] = sum;
+                }
+            }
+            zInverseTransformation = composed;
+        }
+
+        /** Transform float ambiguities into decorrelated ambiguities.
+         * @param floatAmbiguities float estimates of ambiguities
+         * @return decorrelated ambiguities Zᵀ.a
+         */
+        private double[] transform(final double[] floatAmbiguities) {
+            final double[] transformed = new double[n];
+            for (int i = 0; i < n; ++i) {
+                double sum = 0;
+                for (int k = 0; k < n; ++k) {
+                    sum += cachedZ[zIndex(k, i)] * floatAmbiguities[k];
+                }
+                transformed[i] = sum;
+            }
+            return transformed;
+        }
+
+    }
+
     /** Get the index of an entry in the lower triangular matrix.
      * @param row row index (counting from 0)
      * @param col column index (counting from 0)
@@ -46,6 +46,9 @@ public class AmbiguitySolver {
     /** Acceptance test to use. */
     private final AmbiguityAcceptance acceptance;
 
+    /** Minimum number of ambiguities for partial fixing (0 if partial fixing is disabled). */
+    private int minPartialFixing;
+
     /** Simple constructor.
      * @param ambiguityDrivers drivers for ambiguity parameters
      * @param solver solver for the underlying Integer Least Square problem
@@ -58,6 +61,33 @@ public class AmbiguitySolver {
         this.ambiguityDrivers = ambiguityDrivers;
         this.solver           = solver;
         this.acceptance       = acceptance;
+        this.minPartialFixing = 0;
+    }
+
+    /** Enable partial ambiguity fixing.
+     * <p>
+     * When partial fixing is enabled and the full set of free ambiguities cannot be fixed
+     * (either because the Integer Least Square solver did not find enough candidates or
+     * because the acceptance test failed), the ambiguities with the largest variances
+     * are removed one at a time from the set and fixing is attempted again with the
+     * remaining subset, until either fixing succeeds or the subset becomes smaller
+     * than {@code minAmbiguities}.
+     * </p>
+     * @param minAmbiguities minimum number of ambiguities to fix together (must be at least 1)
+     * @since 11.0
+     */
+    public void enablePartialFixing(final int minAmbiguities) {
+        this.minPartialFixing = FastMath.max(1, minAmbiguities);
+    }
+
+    /** Disable partial ambiguity fixing.
+     * <p>
+     * This is the default mode, either all free ambiguities are fixed together or none are fixed.
+     * </p>
+     * @since 11.0
+     */
+    public void disablePartialFixing() {
+        this.minPartialFixing = 0;
     }
 
     /** Get all the ambiguity parameters drivers.
@@ -134,6 +164,10 @@ public class AmbiguitySolver {
     }
 
     /** Fix integer ambiguities.
+     * <p>
+     * If {@link #enablePartialFixing(int) partial fixing} is enabled and the full set
+     * of free ambiguities cannot be fixed, subsets are attempted.
+     * </p>
      * @param startIndex start index for measurements parameters in global covariance matrix
      * @param measurementsParametersDrivers measurements parameters drivers in global covariance matrix order
      * @param covariance global covariance matrix
@@ -143,10 +177,56 @@ public class AmbiguitySolver {
                                                        final List<ParameterDriver> measurementsParametersDrivers,
                                                        final RealMatrix covariance) {
 
+        // attempt to fix all free ambiguities at once
+        int[] indirection = getFreeAmbiguityIndirection(startIndex, measurementsParametersDrivers);
+        final List<ParameterDriver> fixed = fixIntegerAmbiguities(startIndex, measurementsParametersDrivers,
+                                                                  covariance, indirection);
+        if (!fixed.isEmpty() || minPartialFixing == 0) {
+            return fixed;
+        }
+
+        // partial fixing, removing the ambiguities with the largest variances one at a time
+        while (indirection.length > minPartialFixing) {
+            int worst = 0;
+            for (int i = 1; i < indirection.length; ++i) {
+                if (covariance.getEntry(indirection[i], indirection[i]) >
+                    covariance.getEntry(indirection[worst], indirection[worst])) {
+                    worst = i;
+                }
+            }
+            final int[] reduced = new int[indirection.length - 1];
+            System.arraycopy(indirection, 0, reduced, 0, worst);
+            System.arraycopy(indirection, worst + 1, reduced, worst, reduced.length - worst);
+            indirection = reduced;
+            final List<ParameterDriver> partial = fixIntegerAmbiguities(startIndex, measurementsParametersDrivers,
+                                                                        covariance, indirection);
+            if (!partial.isEmpty()) {
+                return partial;
+            }
+        }
+
+        return Collections.emptyList();
+
+    }
+
+    /** Fix a set of integer ambiguities.
+     * @param startIndex start index for measurements parameters in global covariance matrix
+     * @param measurementsParametersDrivers measurements parameters drivers in global covariance matrix order
+     * @param covariance global covariance matrix
+     * @param indirection indirection array between full covariance matrix and ambiguity covariance matrix
+     * @return list of newly fixed ambiguities (empty if the set could not be fixed)
+     * @since 11.0
+     */
+    private List<ParameterDriver> fixIntegerAmbiguities(final int startIndex,
+                                                        final List<ParameterDriver> measurementsParametersDrivers,
+                                                        final RealMatrix covariance,
+                                                        final int[] indirection) {
+
         // set up Integer Least Square problem
-        final List<ParameterDriver> ambiguities      = getAllAmbiguityDrivers();
-        final double[]              floatAmbiguities = ambiguities.stream().mapToDouble(d -> d.getValue()).toArray();
-        final int[]                 indirection      = getFreeAmbiguityIndirection(startIndex, measurementsParametersDrivers);
+        final double[] floatAmbiguities = new double[indirection.length];
+        for (int i = 0; i < indirection.length; ++i) {
+            floatAmbiguities[i] = measurementsParametersDrivers.get(indirection[i] - startIndex).getValue();
+        }
 
         // solve the ILS problem
         final IntegerLeastSquareSolution[] candidates =
@@ -188,10 +268,10 @@ public class AmbiguitySolver {
                                                                                                            subtract(MatrixUtils.createRealVector(toDoubleArray(fixedAmbiguities.length, fixedAmbiguities))));
         final RealVector Y =  Qab.preMultiply(X);
 
-        for (int i = startIndex + 1; i < covariance.getColumnDimension(); i++) {
+        for (int i = startIndex; i < startIndex + measurementsParametersDrivers.size(); i++) {
             if (!belongTo(indirection, i)) {
                 final ParameterDriver driver = measurementsParametersDrivers.get(i - startIndex);
-                driver.setValue(driver.getValue() - Y.getEntry(i - startIndex));
+                driver.setValue(driver.getValue() - Y.getEntry(i));
             }
         }
 
@@ -206,17 +286,13 @@ public class AmbiguitySolver {
     */
     private RealMatrix getCovMatrix(final RealMatrix cov, final int[] indirection) {
         final RealMatrix Qab = MatrixUtils.createRealMatrix(indirection.length, cov.getColumnDimension());
-        int index = 0;
-        int iter  = 0;
-        while (iter < indirection.length) {
+        for (int i = 0; i < indirection.length; i++) {
             // Loop on column dimension
             for (int j = 0; j < cov.getColumnDimension(); j++) {
                 if (!belongTo(indirection, j)) {
-                    Qab.setEntry(index, 0, cov.getEntry(index, 0));
+                    Qab.setEntry(i, j, cov.getEntry(indirection[i], j));
                 }
             }
-            index++;
-            iter++;
         }
         return Qab;
     }
@@ -0,0 +1,42 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.measurements.gnss;
+
+import org.orekit.gnss.Frequency;
+import org.orekit.time.AbsoluteDate;
+
+/**
+ * Interface for handling cycle-slips as soon as they are detected.
+ * @see AbstractCycleSlipDetector#addHandler(CycleSlipHandler)
+ * @author agent
+ * @since 11.0
+ */
+public interface CycleSlipHandler {
+
+    /**
+     * Handle a cycle-slip.
+     * <p>
+     * For dual-Frequency cycle-slip detector, the {@link Frequency} is
+     * the higher frequency (e.g. for L1-L2 the frequency will be L1)
+     * </p>
+     * @param satellite name of the satellite (e.g. "GPS - 7")
+     * @param frequency frequency at which cycle-slip occurs
+     * @param date date of the cycle-slip
+     */
+    void handleCycleSlip(String satellite, Frequency frequency, AbsoluteDate date);
+
+}
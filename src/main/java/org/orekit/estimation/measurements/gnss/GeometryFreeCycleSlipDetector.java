@@ -18,7 +18,6 @@ package org.orekit.estimation.measurements.gnss;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import org.hipparchus.fitting.PolynomialCurveFitter;
 import org.hipparchus.fitting.WeightedObservedPoint;
@@ -71,16 +70,46 @@ public class GeometryFreeCycleSlipDetector extends AbstractCycleSlipDetector {
     /** {@inheritDoc} */
     @Override
     protected void manageData(final ObservationDataSet observation) {
+        // Geometry-free combination of measurements
+        final GeometryFreeCombination geometryFree =
+                        MeasurementCombinationFactory.getGeometryFreeCombination(observation.getSatelliteSystem());
+        manageCombinedData(observation, geometryFree.combine(observation));
+    }
+
+    /** {@inheritDoc}
+     * <p>
+     * If a {@link GeometryFreeCombination geometry-free combination} for the
+     * satellite system of the observation is available, it is used directly.
+     * </p>
+     */
+    @Override
+    protected void processEpoch(final ObservationDataSet observation,
+                                final List<MeasurementCombination> combinations,
+                                final List<CombinedObservationDataSet> combined) {
+        for (int i = 0; i < combinations.size(); ++i) {
+            final MeasurementCombination combination = combinations.get(i);
+            if (combination instanceof GeometryFreeCombination &&
+                ((GeometryFreeCombination) combination).getSatelliteSystem() == observation.getSatelliteSystem()) {
+                // reuse the geometry-free combination
+                manageCombinedData(observation, combined.get(i));
+                return;
+            }
+        }
+        // the geometry-free combination is not available, compute it
+        processEpoch(observation);
+    }
+
+    /** Manage geometry-free combined data.
+     * @param observation observation data set
+     * @param cods geometry-free combination of the observation data set
+     */
+    private void manageCombinedData(final ObservationDataSet observation, final CombinedObservationDataSet cods) {
 
         // Extract observation data
         final int             prn    = observation.getPrnNumber();
         final AbsoluteDate    date   = observation.getDate();
         final SatelliteSystem system = observation.getSatelliteSystem();
 
-        // Geometry-free combination of measurements
-        final GeometryFreeCombination geometryFree = MeasurementCombinationFactory.getGeometryFreeCombination(system);
-        final CombinedObservationDataSet cods = geometryFree.combine(observation);
-
         // Initialize list of measurements
         final List<CombinedObservationData> phasesGF = new ArrayList<>();
 
@@ -117,51 +146,37 @@ public class GeometryFreeCycleSlipDetector extends AbstractCycleSlipDetector {
                                        final double valueGF, final Frequency frequency) {
 
         // Access the cycle slip results to know if a cycle-slip already occurred
-        final List<CycleSlipDetectorResults>         data  = getResults();
-        final List<Map<Frequency, DataForDetection>> stuff = getStuffReference();
-
-        // If a cycle-slip already occurred
-        if (data != null) {
-
-            // Loop on cycle-slip results
-            for (CycleSlipDetectorResults resultGF : data) {
-
-                // Found the right cycle data
-                if (resultGF.getSatelliteName().compareTo(nameSat) == 0 && resultGF.getCycleSlipMap().containsKey(frequency)) {
-                    final Map<Frequency, DataForDetection> values = stuff.get(data.indexOf(resultGF));
-                    final DataForDetection dataForDetection = values.get(frequency);
-
-                    // Check the time gap condition
-                    final double deltaT = FastMath.abs(currentDate.durationFrom(dataForDetection.getFiguresReference()[dataForDetection.getWrite()].getDate()));
-                    if (deltaT > getMaxTimeBeetween2Measurement()) {
-                        resultGF.addCycleSlipDate(frequency, currentDate);
-                        dataForDetection.resetFigures(new SlipComputationData[getMinMeasurementNumber()], valueGF, currentDate);
-                        resultGF.setDate(frequency, currentDate);
-                        return true;
-                    }
-
-                    // Compute the fitting polynomial if there are enough measurement since last cycle-slip
-                    if (dataForDetection.getCanBeComputed() >= getMinMeasurementNumber()) {
-                        final List<WeightedObservedPoint> xy = new ArrayList<>();
-                        for (int i = 0; i < getMinMeasurementNumber(); i++) {
-                            final SlipComputationData current = dataForDetection.getFiguresReference()[i];
-                            xy.add(new WeightedObservedPoint(1.0, current.getDate().durationFrom(currentDate),
-                                                             current.getValue()));
-                        }
-
-                        final PolynomialCurveFitter fitting = PolynomialCurveFitter.create(2);
-                        // Check if there is a cycle_slip
-                        if (FastMath.abs(fitting.fit(xy)[0] - valueGF) > threshold) {
-                            resultGF.addCycleSlipDate(frequency, currentDate);
-                            dataForDetection.resetFigures(new SlipComputationData[getMinMeasurementNumber()], valueGF, currentDate);
-                            resultGF.setDate(frequency, currentDate);
-                            return true;
-                        }
-
-                    } else {
-                        break;
-                    }
+        final CycleSlipDetectorResults resultGF = getResult(nameSat);
+        final DataForDetection dataForDetection = getDataForDetection(nameSat, frequency);
+
+        // Found the right cycle data
+        if (dataForDetection != null) {
+
+            // Check the time gap condition
+            final double deltaT = FastMath.abs(currentDate.durationFrom(dataForDetection.getFiguresReference()[dataForDetection.getWrite()].getDate()));
+            if (deltaT > getMaxTimeBeetween2Measurement()) {
+                declareCycleSlip(resultGF, frequency, currentDate);
+                dataForDetection.resetFigures(new SlipComputationData[getMinMeasurementNumber()], valueGF, currentDate);
+                resultGF.setDate(frequency, currentDate);
+                return true;
+            }
+
+            // Compute the fitting polynomial if there are enough measurement since last cycle-slip
+            if (dataForDetection.getCanBeComputed() >= getMinMeasurementNumber()) {
+                final List<WeightedObservedPoint> xy = new ArrayList<>();
+                for (int i = 0; i < getMinMeasurementNumber(); i++) {
+                    final SlipComputationData current = dataForDetection.getFiguresReference()[i];
+                    xy.add(new WeightedObservedPoint(1.0, current.getDate().durationFrom(currentDate),
+                                                     current.getValue()));
+                }
 
+                final PolynomialCurveFitter fitting = PolynomialCurveFitter.create(2);
+                // Check if there is a cycle_slip
+                if (FastMath.abs(fitting.fit(xy)[0] - valueGF) > threshold) {
+                    declareCycleSlip(resultGF, frequency, currentDate);
+                    dataForDetection.resetFigures(new SlipComputationData[getMinMeasurementNumber()], valueGF, currentDate);
+                    resultGF.setDate(frequency, currentDate);
+                    return true;
                 }
 
             }
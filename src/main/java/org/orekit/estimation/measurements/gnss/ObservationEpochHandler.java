@@ -0,0 +1,54 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.measurements.gnss;
+
+import java.util.List;
+import java.util.Set;
+
+import org.orekit.gnss.CombinedObservationDataSet;
+import org.orekit.gnss.Frequency;
+import org.orekit.gnss.ObservationDataSet;
+
+/**
+ * Interface for the last stage of an {@link ObservationPipeline}.
+ * <p>
+ * This stage is typically in charge of building measurements
+ * (for example {@link Phase} measurements) from raw and combined
+ * observations, resetting ambiguities when cycle-slips are reported.
+ * </p>
+ * @author agent
+ * @since 11.0
+ */
+public interface ObservationEpochHandler {
+
+    /**
+     * Handle one epoch of observations for one satellite.
+     * <p>
+     * The lists and sets provided are reused by the pipeline, they are
+     * valid only during the call and should be copied if needed later on.
+     * </p>
+     * @param observation raw observation data set
+     * @param combined combined observation data sets, in the same order
+     * as the combinations configured in the pipeline
+     * @param cycleSlips frequencies at which cycle-slips were detected at this epoch
+     * (empty if no cycle-slips were detected)
+     */
+    void handleEpoch(ObservationDataSet observation,
+                     List<CombinedObservationDataSet> combined,
+                     Set<Frequency> cycleSlips);
+
+}
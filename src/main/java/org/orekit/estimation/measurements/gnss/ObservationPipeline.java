@@ -0,0 +1,138 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.measurements.gnss;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.orekit.gnss.CombinedObservationDataSet;
+import org.orekit.gnss.Frequency;
+import org.orekit.gnss.ObservationDataSet;
+
+/**
+ * Incremental processing pipeline for GNSS observations.
+ * <p>
+ * Contrary to {@link CycleSlipDetectors#detect(List)} which needs the complete
+ * list of observations (typically loaded from a whole RINEX file), this pipeline
+ * processes observation data sets one at a time, as they are received from a
+ * continuous receiver stream. Each observation data set flows through three stages:
+ * </p>
+ * <ol>
+ *   <li>combination of measurements, using the configured {@link MeasurementCombination combinations},</li>
+ *   <li>cycle-slip detection, using the configured {@link AbstractCycleSlipDetector detectors},</li>
+ *   <li>user processing (typically measurements building), using the {@link ObservationEpochHandler handler}.</li>
+ * </ol>
+ * <p>
+ * The state kept in the pipeline is bounded: the detectors only keep the last
+ * measurements needed for detection for each satellite and frequency, and they
+ * are configured so cycle-slip dates are not accumulated, cycle-slips being
+ * reported to the handler at the epoch they are detected.
+ * </p>
+ * <p>
+ * This class is <em>not</em> thread-safe, as the detectors are stateful.
+ * </p>
+ * @author agent
+ * @since 11.0
+ */
+public class ObservationPipeline {
+
+    /** Combinations of measurements. */
+    private final List<MeasurementCombination> combinations;
+
+    /** Cycle-slip detectors. */
+    private final List<AbstractCycleSlipDetector> detectors;
+
+    /** Handler for processed epochs. */
+    private final ObservationEpochHandler handler;
+
+    /** Combined observations at current epoch. */
+    private final List<CombinedObservationDataSet> combined;
+
+    /** Frequencies with cycle-slips at current epoch. */
+    private final Set<Frequency> cycleSlips;
+
+    /** Simple constructor.
+     * <p>
+     * The detectors are registered with a {@link CycleSlipHandler} feeding
+     * the pipeline and their storage of cycle-slip dates is
+     * {@link AbstractCycleSlipDetector#setStoreCycleSlipDates(boolean) disabled}.
+     * They should therefore not be shared with other pipelines.
+     * </p>
+     * @param combinations combinations of measurements to compute at each epoch
+     * @param detectors cycle-slip detectors to run at each epoch
+     * @param handler handler for processed epochs
+     */
+    public ObservationPipeline(final List<MeasurementCombination> combinations,
+                               final List<AbstractCycleSlipDetector> detectors,
+                               final ObservationEpochHandler handler) {
+        this.combinations = new ArrayList<>(combinations);
+        this.detectors    = new ArrayList<>(detectors);
+        this.handler      = handler;
+        this.combined     = new ArrayList<>(combinations.size());
+        this.cycleSlips   = EnumSet.noneOf(Frequency.class);
+        for (final AbstractCycleSlipDetector detector : this.detectors) {
+            detector.setStoreCycleSlipDates(false);
+            detector.addHandler((satellite, frequency, date) -> cycleSlips.add(frequency));
+        }
+    }
+
+    /** Get the combinations of measurements.
+     * @return combinations of measurements
+     */
+    public List<MeasurementCombination> getCombinations() {
+        return Collections.unmodifiableList(combinations);
+    }
+
+    /** Get the cycle-slip detectors.
+     * @return cycle-slip detectors
+     */
+    public List<AbstractCycleSlipDetector> getDetectors() {
+        return Collections.unmodifiableList(detectors);
+    }
+
+    /** Process one observation data set.
+     * <p>
+     * Observations for each satellite must be provided in chronological order.
+     * </p>
+     * @param observation observation data set (one satellite at one epoch)
+     */
+    public void processEpoch(final ObservationDataSet observation) {
+
+        // combination stage
+        combined.clear();
+        for (final MeasurementCombination combination : combinations) {
+            combined.add(combination.combine(observation));
+        }
+
+        // cycle-slip detection stage
+        cycleSlips.clear();
+        for (final AbstractCycleSlipDetector detector : detectors) {
+            // detectors reuse the combinations computed above when they can
+            detector.processEpoch(observation, combinations, combined);
+        }
+
+        // user stage
+        handler.handleEpoch(observation,
+                            Collections.unmodifiableList(combined),
+                            Collections.unmodifiableSet(cycleSlips));
+
+    }
+
+}
@@ -18,7 +18,6 @@ package org.orekit.estimation.measurements.gnss;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import org.hipparchus.fitting.PolynomialCurveFitter;
 import org.hipparchus.fitting.WeightedObservedPoint;
@@ -141,50 +140,36 @@ public class PhaseMinusCodeCycleSlipDetector extends AbstractCycleSlipDetector {
                                        final double phaseMinusCode, final Frequency frequency) {
 
         // Access the cycle slip results to know if a cycle-slip already occurred
-        final List<CycleSlipDetectorResults>         data  = getResults();
-        final List<Map<Frequency, DataForDetection>> stuff = getStuffReference();
-
-        // If a cycle-slip already occurred
-        if (data != null) {
-
-            // Loop on cycle-slip results
-            for (CycleSlipDetectorResults resultPmC : data) {
-
-                // Found the right cycle data
-                if (resultPmC.getSatelliteName().compareTo(nameSat) == 0 && resultPmC.getCycleSlipMap().containsKey(frequency)) {
-                    final Map<Frequency, DataForDetection> values = stuff.get(data.indexOf(resultPmC));
-                    final DataForDetection v = values.get(frequency);
-
-                    // Check the time gap condition
-                    if (FastMath.abs(currentDate.durationFrom(v.getFiguresReference()[v.getWrite()].getDate())) > getMaxTimeBeetween2Measurement()) {
-                        resultPmC.addCycleSlipDate(frequency, currentDate);
-                        v.resetFigures( new SlipComputationData[getMinMeasurementNumber()], phaseMinusCode, currentDate);
-                        resultPmC.setDate(frequency, currentDate);
-                        return true;
-                    }
+        final CycleSlipDetectorResults resultPmC = getResult(nameSat);
+        final DataForDetection v = getDataForDetection(nameSat, frequency);
+
+        // Found the right cycle data
+        if (v != null) {
+
+            // Check the time gap condition
+            if (FastMath.abs(currentDate.durationFrom(v.getFiguresReference()[v.getWrite()].getDate())) > getMaxTimeBeetween2Measurement()) {
+                declareCycleSlip(resultPmC, frequency, currentDate);
+                v.resetFigures( new SlipComputationData[getMinMeasurementNumber()], phaseMinusCode, currentDate);
+                resultPmC.setDate(frequency, currentDate);
+                return true;
+            }
 
-                    // Compute the fitting polynomial if there are enough measurement since last cycle-slip
-                    if (v.getCanBeComputed() >= getMinMeasurementNumber()) {
-                        final List<WeightedObservedPoint> xy = new ArrayList<>();
-                        for (int i = 0; i < getMinMeasurementNumber(); i++) {
-                            final SlipComputationData current = v.getFiguresReference()[i];
-                            xy.add(new WeightedObservedPoint(1.0, current.getDate().durationFrom(currentDate),
-                                                                 current.getValue()));
-                        }
-
-                        final PolynomialCurveFitter fitting = PolynomialCurveFitter.create(order);
-                        // Check if there is a cycle_slip
-                        if (FastMath.abs(fitting.fit(xy)[0] - phaseMinusCode) > threshold) {
-                            resultPmC.addCycleSlipDate(frequency, currentDate);
-                            v.resetFigures( new SlipComputationData[getMinMeasurementNumber()], phaseMinusCode, currentDate);
-                            resultPmC.setDate(frequency, currentDate);
-                            return true;
-                        }
-
-                    } else {
-                        break;
-                    }
+            // Compute the fitting polynomial if there are enough measurement since last cycle-slip
+            if (v.getCanBeComputed() >= getMinMeasurementNumber()) {
+                final List<WeightedObservedPoint> xy = new ArrayList<>();
+                for (int i = 0; i < getMinMeasurementNumber(); i++) {
+                    final SlipComputationData current = v.getFiguresReference()[i];
+                    xy.add(new WeightedObservedPoint(1.0, current.getDate().durationFrom(currentDate),
+                                                         current.getValue()));
+                }
 
+                final PolynomialCurveFitter fitting = PolynomialCurveFitter.create(order);
+                // Check if there is a cycle_slip
+                if (FastMath.abs(fitting.fit(xy)[0] - phaseMinusCode) > threshold) {
+                    declareCycleSlip(resultPmC, frequency, currentDate);
+                    v.resetFigures( new SlipComputationData[getMinMeasurementNumber()], phaseMinusCode, currentDate);
+                    resultPmC.setDate(frequency, currentDate);
+                    return true;
                 }
 
             }
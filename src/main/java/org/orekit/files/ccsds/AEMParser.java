@@ -25,7 +25,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
 import java.util.regex.Pattern;
 
 import org.hipparchus.exception.DummyLocalizable;
@@ -50,6 +49,9 @@ public class AEMParser extends ADMParser implements AttitudeEphemerisFileParser
     /** Pattern for dash. */
     private static final Pattern DASH = Pattern.compile("-");
 
+    /** Pattern for splitting data lines. */
+    private static final Pattern SEPARATOR = Pattern.compile("\\s+");
+
     /** Maximum number of elements in an attitude data line. */
     private static final int MAX_SIZE = 8;
 
@@ -296,12 +298,52 @@ public class AEMParser extends ADMParser implements AttitudeEphemerisFileParser
     /** {@inheritDoc} */
     @Override
     public AEMFile parse(final BufferedReader reader, final String fileName) {
+        return parse(reader, fileName, null);
+    }
+
+    /** Parse a CCSDS Attitude Ephemeris Message in streaming mode.
+     * <p>
+     * In this mode, attitude data lines are not stored but are provided
+     * to the handler as they are read. The segments themselves are not
+     * registered in the returned file, which therefore only contains
+     * the header.
+     * </p>
+     * @param stream stream containing message
+     * @param fileName name of the file containing the message (for error messages)
+     * @param handler handler for segments and data lines
+     * @return parsed file header (without any attitude blocks)
+     * @since 11.0
+     */
+    public AEMFile parse(final InputStream stream, final String fileName, final AEMSegmentHandler handler) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return parse(reader, fileName, handler);
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
+        }
+    }
+
+    /** Parse a CCSDS Attitude Ephemeris Message in streaming mode.
+     * <p>
+     * In this mode, attitude data lines are not stored but are provided
+     * to the handler as they are read. The segments themselves are not
+     * registered in the returned file, which therefore only contains
+     * the header.
+     * </p>
+     * @param reader reader containing message
+     * @param fileName name of the file containing the message (for error messages)
+     * @param handler handler for segments and data lines (if null, segments
+     * and data lines are stored in the returned file)
+     * @return parsed file
+     * @since 11.0
+     */
+    public AEMFile parse(final BufferedReader reader, final String fileName, final AEMSegmentHandler handler) {
 
         try {
 
             // initialize internal data structures
             final ParseInfo pi = new ParseInfo();
             pi.fileName = fileName;
+            pi.handler  = handler;
             final AEMFile file = pi.file;
 
             // set the additional data that has been configured prior the parsing by the user.
@@ -325,8 +367,14 @@ public class AEMParser extends ADMParser implements AttitudeEphemerisFileParser
                         break;
 
                     case META_START:
-                        file.addAttitudeBlock();
-                        pi.lastEphemeridesBlock = file.getAttitudeBlocks().get(file.getAttitudeBlocks().size() - 1);
+                        endSegment(pi);
+                        if (pi.handler == null) {
+                            file.addAttitudeBlock();
+                            pi.lastEphemeridesBlock = file.getAttitudeBlocks().get(file.getAttitudeBlocks().size() - 1);
+                        } else {
+                            // in streaming mode, the block is not registered in the file
+                            pi.lastEphemeridesBlock = file.new AttitudeEphemeridesBlock();
+                        }
                         pi.lastEphemeridesBlock.getMetaData().setLaunchYear(getLaunchYear());
                         pi.lastEphemeridesBlock.getMetaData().setLaunchNumber(getLaunchNumber());
                         pi.lastEphemeridesBlock.getMetaData().setLaunchPiece(getLaunchPiece());
@@ -392,8 +440,10 @@ public class AEMParser extends ADMParser implements AttitudeEphemerisFileParser
                     case META_STOP:
                         // Set attitude reference frame
                         parseReferenceFrame(pi);
+                        startSegment(pi);
                         // Read attitude ephemeris data lines
                         parseEphemeridesDataLines(reader, pi);
+                        endSegment(pi);
                         break;
 
                     default:
@@ -411,7 +461,11 @@ public class AEMParser extends ADMParser implements AttitudeEphemerisFileParser
 
             }
 
-            file.checkTimeSystems();
+            endSegment(pi);
+            if (pi.handler == null) {
+                // in stored mode, check time systems consistency between segments
+                file.checkTimeSystems();
+            }
             return file;
 
         } catch (IOException ioe) {
@@ -420,6 +474,53 @@ public class AEMParser extends ADMParser implements AttitudeEphemerisFileParser
 
     }
 
+    /** Start a segment, once its meta-data have been parsed.
+     * @param pi the parser info
+     */
+    private void startSegment(final ParseInfo pi) {
+        if (pi.handler != null) {
+            // in streaming mode, time systems consistency must be checked on the fly
+            final CcsdsTimeScale timeSystem = pi.lastEphemeridesBlock.getMetaData().getTimeSystem();
+            if (pi.timeSystem == null) {
+                pi.timeSystem = timeSystem;
+            } else if (!pi.timeSystem.equals(timeSystem)) {
+                throw new OrekitException(OrekitMessages.CCSDS_AEM_INCONSISTENT_TIME_SYSTEMS,
+                                          pi.timeSystem, timeSystem);
+            }
+            pi.acceptData = pi.handler.startSegment(pi.file, pi.lastEphemeridesBlock);
+        }
+        pi.segmentStarted = true;
+    }
+
+    /** End the current segment, if any.
+     * @param pi the parser info
+     */
+    private void endSegment(final ParseInfo pi) {
+        if (pi.handler != null && pi.segmentStarted) {
+            pi.handler.endSegment(pi.lastEphemeridesBlock);
+        }
+        pi.segmentStarted = false;
+        pi.acceptData     = true;
+    }
+
+    /** Check if a line is a data line.
+     * <p>
+     * Data lines start with a date, whereas keyword lines start with an upper case letter.
+     * This check is much faster than the regular expression used by {@link KeyValue}.
+     * </p>
+     * @param line line to check
+     * @return true if the line is a data line
+     */
+    private static boolean isDataLine(final String line) {
+        for (int i = 0; i < line.length(); ++i) {
+            final char c = line.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c < 'A' || c > 'Z';
+            }
+        }
+        return false;
+    }
+
     /**
      * Parse an attitude ephemeris data line and add its content
      * to the attitude ephemerides block.
@@ -430,54 +531,71 @@ public class AEMParser extends ADMParser implements AttitudeEphemerisFileParser
     private void parseEphemeridesDataLines(final BufferedReader reader,  final ParseInfo pi)
         throws IOException {
 
+        // these elements are constant throughout the segment
+        final AEMAttitudeType attType = pi.acceptData ?
+                                        AEMAttitudeType.getAttitudeType(pi.lastEphemeridesBlock.getAttitudeType()) :
+                                        null;
+        final RotationOrder rotationOrder = pi.lastEphemeridesBlock.getRotationOrder();
+        final CcsdsTimeScale timeSystem   = pi.lastEphemeridesBlock.getMetaData().getTimeSystem();
+
         for (String line = reader.readLine(); line != null; line = reader.readLine()) {
 
             ++pi.lineNumber;
-            if (line.trim().length() > 0) {
-                pi.keyValue = new KeyValue(line, pi.lineNumber, pi.fileName);
-                if (pi.keyValue.getKeyword() == null) {
-                    try (Scanner sc = new Scanner(line)) {
-                        final AbsoluteDate date = parseDate(sc.next(), pi.lastEphemeridesBlock.getMetaData().getTimeSystem());
+            if (isDataLine(line)) {
+                if (pi.acceptData) {
+                    final String[] fields = SEPARATOR.split(line.trim());
+                    if (fields.length > MAX_SIZE + 1) {
+                        throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                                  pi.lineNumber, pi.fileName, line);
+                    }
+                    try {
+                        final AbsoluteDate date = parseDate(fields[0], timeSystem);
                         // Create an array with the maximum possible size
                         final double[] attitudeData = new double[MAX_SIZE];
-                        int index = 0;
-                        while (sc.hasNext()) {
-                            attitudeData[index++] = Double.parseDouble(sc.next());
+                        for (int i = 1; i < fields.length; ++i) {
+                            attitudeData[i - 1] = Double.parseDouble(fields[i]);
                         }
-                        final AEMAttitudeType attType = AEMAttitudeType.getAttitudeType(pi.lastEphemeridesBlock.getAttitudeType());
-                        final RotationOrder rotationOrder = pi.lastEphemeridesBlock.getRotationOrder();
 
                         final TimeStampedAngularCoordinates epDataLine = attType.getAngularCoordinates(date, attitudeData,
                                                                                                        pi.lastEphemeridesBlock.isFirst(),
                                                                                                        rotationOrder);
-                        pi.lastEphemeridesBlock.getAttitudeDataLines().add(epDataLine);
-                        pi.lastEphemeridesBlock.updateAngularDerivativesFilter(attType.getAngularDerivativesFilter());
+                        if (pi.handler == null) {
+                            pi.lastEphemeridesBlock.getAttitudeDataLines().add(epDataLine);
+                            pi.lastEphemeridesBlock.updateAngularDerivativesFilter(attType.getAngularDerivativesFilter());
+                        } else {
+                            pi.handler.handleAttitudeDataLine(pi.lastEphemeridesBlock, epDataLine);
+                        }
                     } catch (NumberFormatException nfe) {
                         throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
                                                   pi.lineNumber, pi.fileName, line);
                     }
-                } else {
-                    switch (pi.keyValue.getKeyword()) {
-
-                        case DATA_START:
-                            // Do nothing
-                            break;
-
-                        case DATA_STOP:
-                            pi.lastEphemeridesBlock.setAttitudeDataLinesComment(pi.commentTmp);
-                            pi.commentTmp.clear();
-                            //pi.lineNumber--;
-                            reader.reset();
-                            reader.readLine();
-                            return;
-
-                        case COMMENT:
-                            pi.commentTmp.add(pi.keyValue.getValue());
-                            break;
-
-                        default :
-                            throw new OrekitException(OrekitMessages.CCSDS_UNEXPECTED_KEYWORD, pi.lineNumber, pi.fileName, line);
-                    }
+                }
+            } else if (line.trim().length() > 0) {
+                pi.keyValue = new KeyValue(line, pi.lineNumber, pi.fileName);
+                if (pi.keyValue.getKeyword() == null) {
+                    throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                              pi.lineNumber, pi.fileName, line);
+                }
+                switch (pi.keyValue.getKeyword()) {
+
+                    case DATA_START:
+                        // Do nothing
+                        break;
+
+                    case DATA_STOP:
+                        pi.lastEphemeridesBlock.setAttitudeDataLinesComment(pi.commentTmp);
+                        pi.commentTmp.clear();
+                        //pi.lineNumber--;
+                        reader.reset();
+                        reader.readLine();
+                        return;
+
+                    case COMMENT:
+                        pi.commentTmp.add(pi.keyValue.getValue());
+                        break;
+
+                    default :
+                        throw new OrekitException(OrekitMessages.CCSDS_UNEXPECTED_KEYWORD, pi.lineNumber, pi.fileName, line);
                 }
             }
             reader.mark(300);
@@ -560,11 +678,24 @@ public class AEMParser extends ADMParser implements AttitudeEphemerisFileParser
         /** Stored comments. */
         private List<String> commentTmp;
 
+        /** Handler for streaming mode (null if data must be stored). */
+        private AEMSegmentHandler handler;
+
+        /** Time system of the first segment (used only in streaming mode). */
+        private CcsdsTimeScale timeSystem;
+
+        /** Indicator for a started segment. */
+        private boolean segmentStarted;
+
+        /** Indicator for parsing data of the current segment. */
+        private boolean acceptData;
+
         /** Create a new {@link ParseInfo} object. */
         protected ParseInfo() {
             lineNumber = 0;
             file       = new AEMFile();
             commentTmp = new ArrayList<String>();
+            acceptData = true;
         }
     }
 
@@ -23,7 +23,7 @@ import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
+import java.util.regex.Pattern;
 
 import org.hipparchus.exception.DummyLocalizable;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
@@ -47,6 +47,9 @@ import org.orekit.utils.TimeStampedPVCoordinates;
  */
 public class OEMParser extends ODMParser implements EphemerisFileParser {
 
+    /** Pattern for splitting data lines. */
+    private static final Pattern SEPARATOR = Pattern.compile("\\s+");
+
     /** Default interpolation degree. */
     private int interpolationDegree;
 
@@ -266,12 +269,52 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
     /** {@inheritDoc} */
     @Override
     public OEMFile parse(final BufferedReader reader, final String fileName) {
+        return parse(reader, fileName, null);
+    }
+
+    /** Parse a CCSDS Orbit Data Message in streaming mode.
+     * <p>
+     * In this mode, ephemerides data lines and covariance matrices are not stored
+     * but are provided to the handler as they are read. The segments themselves
+     * are not registered in the returned file, which therefore only contains
+     * the header.
+     * </p>
+     * @param stream stream containing message
+     * @param fileName name of the file containing the message (for error messages)
+     * @param handler handler for segments and data lines
+     * @return parsed file header (without any ephemerides blocks)
+     * @since 11.0
+     */
+    public OEMFile parse(final InputStream stream, final String fileName, final OEMSegmentHandler handler) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return parse(reader, fileName, handler);
+        } catch (IOException ioe) {
+            throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
+        }
+    }
+
+    /** Parse a CCSDS Orbit Data Message in streaming mode.
+     * <p>
+     * In this mode, ephemerides data lines and covariance matrices are not stored
+     * but are provided to the handler as they are read. The segments themselves
+     * are not registered in the returned file, which therefore only contains
+     * the header.
+     * </p>
+     * @param reader reader containing message
+     * @param fileName name of the file containing the message (for error messages)
+     * @param handler handler for segments and data lines (if null, segments
+     * and data lines are stored in the returned file)
+     * @return parsed file
+     * @since 11.0
+     */
+    public OEMFile parse(final BufferedReader reader, final String fileName, final OEMSegmentHandler handler) {
 
         try {
 
             // initialize internal data structures
             final ParseInfo pi = new ParseInfo();
             pi.fileName = fileName;
+            pi.handler  = handler;
             final OEMFile file = pi.file;
 
             // set the additional data that has been configured prior the parsing by the user.
@@ -295,8 +338,14 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
                         break;
 
                     case META_START:
-                        file.addEphemeridesBlock();
-                        pi.lastEphemeridesBlock = file.getEphemeridesBlocks().get(file.getEphemeridesBlocks().size() - 1);
+                        endSegment(pi);
+                        if (pi.handler == null) {
+                            file.addEphemeridesBlock();
+                            pi.lastEphemeridesBlock = file.getEphemeridesBlocks().get(file.getEphemeridesBlocks().size() - 1);
+                        } else {
+                            // in streaming mode, the block is not registered in the file
+                            pi.lastEphemeridesBlock = file.new EphemeridesBlock();
+                        }
                         pi.lastEphemeridesBlock.getMetaData().setLaunchYear(getLaunchYear());
                         pi.lastEphemeridesBlock.getMetaData().setLaunchNumber(getLaunchNumber());
                         pi.lastEphemeridesBlock.getMetaData().setLaunchPiece(getLaunchPiece());
@@ -331,6 +380,7 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
 
                     case META_STOP:
                         file.setMuUsed();
+                        startSegment(pi);
                         parseEphemeridesDataLines(reader, pi);
                         break;
 
@@ -354,13 +404,64 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
                         }
                 }
             }
-            file.checkTimeSystems();
+            endSegment(pi);
+            if (pi.handler == null) {
+                // in stored mode, check time systems consistency between segments
+                file.checkTimeSystems();
+            }
             return file;
         } catch (IOException ioe) {
             throw new OrekitException(ioe, new DummyLocalizable(ioe.getMessage()));
         }
     }
 
+    /** Start a segment, once its meta-data have been parsed.
+     * @param pi the parser info
+     */
+    private void startSegment(final ParseInfo pi) {
+        if (pi.handler != null) {
+            // in streaming mode, time systems consistency must be checked on the fly
+            final CcsdsTimeScale timeSystem = pi.lastEphemeridesBlock.getMetaData().getTimeSystem();
+            if (pi.timeSystem == null) {
+                pi.timeSystem = timeSystem;
+            } else if (!pi.timeSystem.equals(timeSystem)) {
+                throw new OrekitException(OrekitMessages.CCSDS_OEM_INCONSISTENT_TIME_SYSTEMS,
+                                          pi.timeSystem, timeSystem);
+            }
+            pi.acceptData = pi.handler.startSegment(pi.file, pi.lastEphemeridesBlock);
+        }
+        pi.segmentStarted = true;
+    }
+
+    /** End the current segment, if any.
+     * @param pi the parser info
+     */
+    private void endSegment(final ParseInfo pi) {
+        if (pi.handler != null && pi.segmentStarted) {
+            pi.handler.endSegment(pi.lastEphemeridesBlock);
+        }
+        pi.segmentStarted = false;
+        pi.acceptData     = true;
+    }
+
+    /** Check if a line is a data line.
+     * <p>
+     * Data lines start with a date, whereas keyword lines start with an upper case letter.
+     * This check is much faster than the regular expression used by {@link KeyValue}.
+     * </p>
+     * @param line line to check
+     * @return true if the line is a data line
+     */
+    private static boolean isDataLine(final String line) {
+        for (int i = 0; i < line.length(); ++i) {
+            final char c = line.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c < 'A' || c > 'Z';
+            }
+        }
+        return false;
+    }
+
     /**
      * Parse an ephemeris data line and add its content to the ephemerides
      * block.
@@ -375,57 +476,34 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
         for (String line = reader.readLine(); line != null; line = reader.readLine()) {
 
             ++pi.lineNumber;
-            if (line.trim().length() > 0) {
+            if (isDataLine(line)) {
+                if (pi.acceptData) {
+                    parseEphemeridesDataLine(line, pi);
+                }
+            } else if (line.trim().length() > 0) {
                 pi.keyValue = new KeyValue(line, pi.lineNumber, pi.fileName);
                 if (pi.keyValue.getKeyword() == null) {
-                    try (Scanner sc = new Scanner(line)) {
-                        final AbsoluteDate date = parseDate(sc.next(), pi.lastEphemeridesBlock.getMetaData().getTimeSystem());
-                        final Vector3D position = new Vector3D(Double.parseDouble(sc.next()) * 1000,
-                                                               Double.parseDouble(sc.next()) * 1000,
-                                                               Double.parseDouble(sc.next()) * 1000);
-                        final Vector3D velocity = new Vector3D(Double.parseDouble(sc.next()) * 1000,
-                                                               Double.parseDouble(sc.next()) * 1000,
-                                                               Double.parseDouble(sc.next()) * 1000);
-                        Vector3D acceleration = Vector3D.NaN;
-                        boolean hasAcceleration = false;
-                        if (sc.hasNext()) {
-                            acceleration = new Vector3D(Double.parseDouble(sc.next()) * 1000,
-                                                        Double.parseDouble(sc.next()) * 1000,
-                                                        Double.parseDouble(sc.next()) * 1000);
-                            hasAcceleration = true;
-                        }
-                        final TimeStampedPVCoordinates epDataLine;
-                        if (hasAcceleration) {
-                            epDataLine = new TimeStampedPVCoordinates(date, position, velocity, acceleration);
-                        } else {
-                            epDataLine = new TimeStampedPVCoordinates(date, position, velocity);
-                        }
-                        pi.lastEphemeridesBlock.getEphemeridesDataLines().add(epDataLine);
-                        pi.lastEphemeridesBlock.updateHasAcceleration(hasAcceleration);
-                    } catch (NumberFormatException nfe) {
-                        throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
-                                                  pi.lineNumber, pi.fileName, line);
-                    }
-                } else {
-                    switch (pi.keyValue.getKeyword()) {
-                        case META_START:
-                            pi.lastEphemeridesBlock.setEphemeridesDataLinesComment(pi.commentTmp);
-                            pi.commentTmp.clear();
-                            pi.lineNumber--;
-                            reader.reset();
-                            return;
-                        case COVARIANCE_START:
-                            pi.lastEphemeridesBlock.setEphemeridesDataLinesComment(pi.commentTmp);
-                            pi.commentTmp.clear();
-                            pi.lineNumber--;
-                            reader.reset();
-                            return;
-                        case COMMENT:
-                            pi.commentTmp.add(pi.keyValue.getValue());
-                            break;
-                        default :
-                            throw new OrekitException(OrekitMessages.CCSDS_UNEXPECTED_KEYWORD, pi.lineNumber, pi.fileName, line);
-                    }
+                    throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                              pi.lineNumber, pi.fileName, line);
+                }
+                switch (pi.keyValue.getKeyword()) {
+                    case META_START:
+                        pi.lastEphemeridesBlock.setEphemeridesDataLinesComment(pi.commentTmp);
+                        pi.commentTmp.clear();
+                        pi.lineNumber--;
+                        reader.reset();
+                        return;
+                    case COVARIANCE_START:
+                        pi.lastEphemeridesBlock.setEphemeridesDataLinesComment(pi.commentTmp);
+                        pi.commentTmp.clear();
+                        pi.lineNumber--;
+                        reader.reset();
+                        return;
+                    case COMMENT:
+                        pi.commentTmp.add(pi.keyValue.getValue());
+                        break;
+                    default :
+                        throw new OrekitException(OrekitMessages.CCSDS_UNEXPECTED_KEYWORD, pi.lineNumber, pi.fileName, line);
                 }
             }
             reader.mark(300);
@@ -433,6 +511,48 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
         }
     }
 
+    /**
+     * Parse one ephemeris data line.
+     *
+     * @param line line to parse
+     * @param pi the parser info
+     */
+    private void parseEphemeridesDataLine(final String line, final ParseInfo pi) {
+        final String[] fields = SEPARATOR.split(line.trim());
+        if (fields.length != 7 && fields.length != 10) {
+            throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                      pi.lineNumber, pi.fileName, line);
+        }
+        try {
+            final AbsoluteDate date = parseDate(fields[0], pi.lastEphemeridesBlock.getMetaData().getTimeSystem());
+            final Vector3D position = new Vector3D(Double.parseDouble(fields[1]) * 1000,
+                                                   Double.parseDouble(fields[2]) * 1000,
+                                                   Double.parseDouble(fields[3]) * 1000);
+            final Vector3D velocity = new Vector3D(Double.parseDouble(fields[4]) * 1000,
+                                                   Double.parseDouble(fields[5]) * 1000,
+                                                   Double.parseDouble(fields[6]) * 1000);
+            final boolean hasAcceleration = fields.length == 10;
+            final TimeStampedPVCoordinates epDataLine;
+            if (hasAcceleration) {
+                final Vector3D acceleration = new Vector3D(Double.parseDouble(fields[7]) * 1000,
+                                                           Double.parseDouble(fields[8]) * 1000,
+                                                           Double.parseDouble(fields[9]) * 1000);
+                epDataLine = new TimeStampedPVCoordinates(date, position, velocity, acceleration);
+            } else {
+                epDataLine = new TimeStampedPVCoordinates(date, position, velocity);
+            }
+            if (pi.handler == null) {
+                pi.lastEphemeridesBlock.getEphemeridesDataLines().add(epDataLine);
+                pi.lastEphemeridesBlock.updateHasAcceleration(hasAcceleration);
+            } else {
+                pi.handler.handleEphemeridesDataLine(pi.lastEphemeridesBlock, epDataLine, hasAcceleration);
+            }
+        } catch (NumberFormatException nfe) {
+            throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                      pi.lineNumber, pi.fileName, line);
+        }
+    }
+
     /**
      * Parse the covariance data lines, create a set of CovarianceMatrix objects
      * and add them in the covarianceMatrices list of the ephemerides block.
@@ -447,14 +567,19 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
         for (String line = reader.readLine(); line != null; line = reader.readLine()) {
 
             ++pi.lineNumber;
-            if (line.trim().length() == 0) {
-                continue;
-            }
-            pi.keyValue = new KeyValue(line, pi.lineNumber, pi.fileName);
-            if (pi.keyValue.getKeyword() == null) {
-                try (Scanner sc = new Scanner(line)) {
+            if (isDataLine(line)) {
+                if (!pi.acceptData) {
+                    // the segment has been skipped by the handler
+                    continue;
+                }
+                final String[] fields = SEPARATOR.split(line.trim());
+                if (i > 5 || fields.length < i + 1) {
+                    throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                              pi.lineNumber, pi.fileName, line);
+                }
+                try {
                     for (int j = 0; j < i + 1; j++) {
-                        pi.lastMatrix.addToEntry(i, j, Double.parseDouble(sc.next()));
+                        pi.lastMatrix.addToEntry(i, j, Double.parseDouble(fields[j]));
                         if (j != i) {
                             pi.lastMatrix.addToEntry(j, i, pi.lastMatrix.getEntry(i, j));
                         }
@@ -462,14 +587,23 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
                     if (i == 5) {
                         final OEMFile.CovarianceMatrix cm =
                                 new OEMFile.CovarianceMatrix(pi.epoch, pi.covRefLofType, pi.covRefFrame, pi.lastMatrix);
-                        pi.lastEphemeridesBlock.getCovarianceMatrices().add(cm);
+                        if (pi.handler == null) {
+                            pi.lastEphemeridesBlock.getCovarianceMatrices().add(cm);
+                        } else {
+                            pi.handler.handleCovarianceMatrix(pi.lastEphemeridesBlock, cm);
+                        }
                     }
                     i++;
                 } catch (NumberFormatException nfe) {
                     throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
                                               pi.lineNumber, pi.fileName, line);
                 }
-            } else {
+            } else if (line.trim().length() > 0) {
+                pi.keyValue = new KeyValue(line, pi.lineNumber, pi.fileName);
+                if (pi.keyValue.getKeyword() == null) {
+                    throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                              pi.lineNumber, pi.fileName, line);
+                }
                 switch (pi.keyValue.getKeyword()) {
                     case EPOCH :
                         i                = 0;
@@ -531,11 +665,24 @@ public class OEMParser extends ODMParser implements EphemerisFileParser {
         /** Stored comments. */
         private List<String> commentTmp;
 
+        /** Handler for streaming mode (null if data must be stored). */
+        private OEMSegmentHandler handler;
+
+        /** Time system of the first segment (used only in streaming mode). */
+        private CcsdsTimeScale timeSystem;
+
+        /** Indicator for a started segment. */
+        private boolean segmentStarted;
+
+        /** Indicator for parsing data of the current segment. */
+        private boolean acceptData;
+
         /** Create a new {@link ParseInfo} object. */
         protected ParseInfo() {
             lineNumber = 0;
             file = new OEMFile();
             commentTmp = new ArrayList<String>();
+            acceptData = true;
         }
     }
 }
@@ -0,0 +1,80 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.files.ccsds;
+
+import org.orekit.utils.TimeStampedPVCoordinates;
+
+/** Handler for OEM segments streamed by {@link OEMParser#parse(java.io.BufferedReader, String, OEMSegmentHandler)}.
+ * <p>
+ * In streaming mode, the parser does not accumulate ephemerides data lines or
+ * covariance matrices. Each segment is created with its header and meta-data
+ * only, and the data are handed to the handler as they are read, so arbitrarily
+ * large files can be processed in bounded memory.
+ * </p>
+ * <p>
+ * The segments provided to the handler are not registered in the {@link OEMFile}
+ * and their {@link OEMFile.EphemeridesBlock#getEphemeridesDataLines() ephemerides data lines}
+ * and {@link OEMFile.EphemeridesBlock#getCovarianceMatrices() covariance matrices}
+ * lists remain empty.
+ * </p>
+ * @author agent
+ * @since 11.0
+ */
+public interface OEMSegmentHandler {
+
+    /** Start a new segment.
+     * <p>
+     * This method is called once the segment meta-data have been completely parsed,
+     * just before the ephemerides data lines are read. Returning false allows
+     * to skip the segment, its data lines and covariance matrices are then
+     * neither parsed nor provided to the handler.
+     * </p>
+     * @param file file being parsed, with its header already set up
+     * @param segment segment, with its meta-data already set up
+     * @return true if the data of the segment should be provided to the handler
+     */
+    boolean startSegment(OEMFile file, OEMFile.EphemeridesBlock segment);
+
+    /** Handle one ephemerides data line.
+     * @param segment segment to which the data line belongs
+     * @param coordinates coordinates read from the data line
+     * @param hasAcceleration if true, the data line did contain acceleration
+     */
+    void handleEphemeridesDataLine(OEMFile.EphemeridesBlock segment,
+                                   TimeStampedPVCoordinates coordinates,
+                                   boolean hasAcceleration);
+
+    /** Handle one covariance matrix.
+     * @param segment segment to which the covariance matrix belongs
+     * @param covariance covariance matrix read
+     */
+    default void handleCovarianceMatrix(OEMFile.EphemeridesBlock segment,
+                                        OEMFile.CovarianceMatrix covariance) {
+        // nothing by default
+    }
+
+    /** End the current segment.
+     * <p>
+     * This method is called for all segments, including the ones that were skipped.
+     * </p>
+     * @param segment segment that has been completed
+     */
+    default void endSegment(OEMFile.EphemeridesBlock segment) {
+        // nothing by default
+    }
+
+}
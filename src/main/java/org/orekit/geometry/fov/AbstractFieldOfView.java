@@ -16,6 +16,9 @@
  */
 package org.orekit.geometry.fov;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
 /** Abstract class representing a spacecraft sensor Field Of View.
  * @author Luc Maisonobe
  * @since 10.1
@@ -41,4 +44,26 @@ public abstract class AbstractFieldOfView implements FieldOfView {
         return margin;
     }
 
+    /** Check the sizes of arrays used in batch methods.
+     * @param linesOfSight lines of sight (flattened x, y, z)
+     * @param angularRadii targets angular radii (may be null)
+     * @param outLength length of the output array
+     */
+    static void checkBatchSizes(final double[] linesOfSight, final double[] angularRadii,
+                                final int outLength) {
+        final int n = linesOfSight.length / 3;
+        if (linesOfSight.length % 3 != 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     linesOfSight.length, 3 * (n + 1));
+        }
+        if (angularRadii != null && angularRadii.length < n) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     angularRadii.length, n);
+        }
+        if (outLength < n) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     outLength, n);
+        }
+    }
+
 }
@@ -76,6 +76,34 @@ public class CircularFieldOfView extends SmoothFieldOfView {
                trigger.radiusCorrection(angularRadius) - getMargin();
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * The angular distance to the center is computed from the dot and cross
+     * products with the center, without allocating any object per target.
+     * </p>
+     */
+    @Override
+    public void offsetsFromBoundary(final double[] linesOfSight, final double[] angularRadii,
+                                    final VisibilityTrigger trigger, final double[] offsets) {
+        checkBatchSizes(linesOfSight, angularRadii, offsets.length);
+        final Vector3D c  = getCenter();
+        final double   cx = c.getX();
+        final double   cy = c.getY();
+        final double   cz = c.getZ();
+        for (int k = 0; k < linesOfSight.length / 3; ++k) {
+            final double lx     = linesOfSight[3 * k];
+            final double ly     = linesOfSight[3 * k + 1];
+            final double lz     = linesOfSight[3 * k + 2];
+            final double crossX = cy * lz - cz * ly;
+            final double crossY = cz * lx - cx * lz;
+            final double crossZ = cx * ly - cy * lx;
+            final double angle  = FastMath.atan2(FastMath.sqrt(crossX * crossX + crossY * crossY + crossZ * crossZ),
+                                                 cx * lx + cy * ly + cz * lz);
+            offsets[k] = angle - halfAperture +
+                         trigger.radiusCorrection(angularRadii == null ? 0.0 : angularRadii[k]) - getMargin();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public Vector3D projectToBoundary(final Vector3D lineOfSight) {
@@ -73,6 +73,63 @@ public interface FieldOfView {
      */
     double offsetFromBoundary(Vector3D lineOfSight, double angularRadius, VisibilityTrigger trigger);
 
+    /** Get the offsets of several targets with respect to the Field Of View Boundary.
+     * <p>
+     * This is a batch version of {@link #offsetFromBoundary(Vector3D, double, VisibilityTrigger)}
+     * intended for checking huge numbers of targets (star catalogs, ground targets…) at
+     * each step. The line of sight of target k is stored at indices {@code 3 * k},
+     * {@code 3 * k + 1} and {@code 3 * k + 2} in the {@code linesOfSight} array.
+     * The default implementation simply calls the single target method, implementations
+     * may override it to use precomputed geometry and avoid allocating objects per target.
+     * </p>
+     * @param linesOfSight lines of sight from the center of the Field Of View support
+     * unit sphere to the targets in spacecraft frame (flattened x, y, z)
+     * @param angularRadii targets bodies angular radii (may be null for point targets,
+     * otherwise its length must be at least the number of targets)
+     * @param trigger visibility trigger for spherical bodies
+     * @param offsets array where to store the offsets, its length must be at least
+     * the number of targets
+     * @see #offsetFromBoundary(Vector3D, double, VisibilityTrigger)
+     * @since 11.0
+     */
+    default void offsetsFromBoundary(final double[] linesOfSight, final double[] angularRadii,
+                                     final VisibilityTrigger trigger, final double[] offsets) {
+        AbstractFieldOfView.checkBatchSizes(linesOfSight, angularRadii, offsets.length);
+        for (int k = 0; k < linesOfSight.length / 3; ++k) {
+            offsets[k] = offsetFromBoundary(new Vector3D(linesOfSight[3 * k],
+                                                         linesOfSight[3 * k + 1],
+                                                         linesOfSight[3 * k + 2]),
+                                            angularRadii == null ? 0.0 : angularRadii[k],
+                                            trigger);
+        }
+    }
+
+    /** Check the visibility of several targets within the Field Of View.
+     * <p>
+     * Target k is visible if its {@link #offsetFromBoundary(Vector3D, double, VisibilityTrigger)
+     * offset} is negative. The line of sight of target k is stored at indices {@code 3 * k},
+     * {@code 3 * k + 1} and {@code 3 * k + 2} in the {@code linesOfSight} array.
+     * </p>
+     * @param linesOfSight lines of sight from the center of the Field Of View support
+     * unit sphere to the targets in spacecraft frame (flattened x, y, z)
+     * @param angularRadii targets bodies angular radii (may be null for point targets,
+     * otherwise its length must be at least the number of targets)
+     * @param trigger visibility trigger for spherical bodies
+     * @param visible array where to store the visibility flags, its length must be
+     * at least the number of targets
+     * @see #offsetsFromBoundary(double[], double[], VisibilityTrigger, double[])
+     * @since 11.0
+     */
+    default void checkVisibility(final double[] linesOfSight, final double[] angularRadii,
+                                 final VisibilityTrigger trigger, final boolean[] visible) {
+        AbstractFieldOfView.checkBatchSizes(linesOfSight, angularRadii, visible.length);
+        final double[] offsets = new double[linesOfSight.length / 3];
+        offsetsFromBoundary(linesOfSight, angularRadii, trigger, offsets);
+        for (int k = 0; k < offsets.length; ++k) {
+            visible[k] = offsets[k] < 0;
+        }
+    }
+
     /** Find the direction on Field Of View Boundary closest to a line of sight.
      * @param lineOfSight line of sight from the center of the Field Of View support
      * unit sphere to the target in spacecraft frame
@@ -50,12 +50,20 @@ import org.orekit.propagation.events.VisibilityTrigger;
  */
 public class PolygonalFieldOfView extends AbstractFieldOfView {
 
+    /** Tolerance for vertices lying on edges great circles in convexity check. */
+    private static final double CONVEXITY_TOLERANCE = 1.0e-10;
+
     /** Spherical zone. */
     private final SphericalPolygonsSet zone;
 
     /** Spherical cap surrounding the zone. */
     private final EnclosingBall<Sphere2D, S2Point> cap;
 
+    /** Poles of the edges great circles, pointing inside the zone (flattened x, y, z),
+     * or null if the zone is not a single convex polygon.
+     */
+    private final double[] innerPoles;
+
     /** Build a new instance.
      * @param zone interior of the Field Of View, in spacecraft frame
      * @param margin angular margin to apply to the zone (if positive,
@@ -65,8 +73,9 @@ public class PolygonalFieldOfView extends AbstractFieldOfView {
      */
     public PolygonalFieldOfView(final SphericalPolygonsSet zone, final double margin) {
         super(margin);
-        this.zone = zone;
-        this.cap  = zone.getEnclosingCap();
+        this.zone       = zone;
+        this.cap        = zone.getEnclosingCap();
+        this.innerPoles = convexInnerPoles(zone);
     }
 
     /** Build Field Of View with a regular polygon shape.
@@ -122,6 +131,7 @@ public class PolygonalFieldOfView extends AbstractFieldOfView {
             support[i] = new S2Point(r.applyTo(support[i - 1].getVector()));
         }
         this.cap = new EnclosingBall<>(new S2Point(center), Vector3D.angle(center, vertex), support);
+        this.innerPoles = convexInnerPoles(zone);
 
     }
 
@@ -157,6 +167,66 @@ public class PolygonalFieldOfView extends AbstractFieldOfView {
 
     }
 
+    /** {@inheritDoc}
+     * <p>
+     * For zones that are a single convex polygon, the poles of the edges great
+     * circles are precomputed, so checking targets inside the zone only involves
+     * dot products, without any zone projection. Targets far outside of the zone
+     * are filtered out by the surrounding cap as in the single target method, and
+     * targets outside but close to the zone (or all targets close to the zone if it
+     * is not convex) still use the accurate projection on the zone boundary.
+     * </p>
+     */
+    @Override
+    public void offsetsFromBoundary(final double[] linesOfSight, final double[] angularRadii,
+                                    final VisibilityTrigger trigger, final double[] offsets) {
+
+        checkBatchSizes(linesOfSight, angularRadii, offsets.length);
+        final double   margin    = getMargin();
+        final Vector3D c         = cap.getCenter().getVector();
+        final double   cx        = c.getX();
+        final double   cy        = c.getY();
+        final double   cz        = c.getZ();
+        final double   capRadius = cap.getRadius();
+
+        for (int k = 0; k < linesOfSight.length / 3; ++k) {
+
+            final double lx              = linesOfSight[3 * k];
+            final double ly              = linesOfSight[3 * k + 1];
+            final double lz              = linesOfSight[3 * k + 2];
+            final double angularRadius   = angularRadii == null ? 0.0 : angularRadii[k];
+            final double correctedRadius = trigger.radiusCorrection(angularRadius);
+            final double deadBand        = margin + angularRadius;
+
+            // same crude filtering as the single target method, using the surrounding cap
+            final double crossX        = cy * lz - cz * ly;
+            final double crossY        = cz * lx - cx * lz;
+            final double crossZ        = cx * ly - cy * lx;
+            final double crudeDistance = FastMath.atan2(FastMath.sqrt(crossX * crossX + crossY * crossY + crossZ * crossZ),
+                                                        cx * lx + cy * ly + cz * lz) -
+                                         capRadius;
+            final double rawOffset;
+            if (crudeDistance > deadBand + 0.01) {
+                // we know we are strictly outside of the zone
+                rawOffset = crudeDistance;
+            } else {
+                final double minDot = minInnerDot(lx, ly, lz);
+                if (minDot >= 0) {
+                    // inside a convex polygon, the closest boundary point is
+                    // the projection on the closest edge great circle
+                    rawOffset = -FastMath.asin(minDot / FastMath.sqrt(lx * lx + ly * ly + lz * lz));
+                } else {
+                    // we are close, we need to compute carefully the exact offset
+                    rawOffset = zone.projectToBoundary(new S2Point(new Vector3D(lx, ly, lz))).getOffset();
+                }
+            }
+
+            offsets[k] = rawOffset + correctedRadius - margin;
+
+        }
+
+    }
+
     /** {@inheritDoc} */
     @Override
     public Vector3D projectToBoundary(final Vector3D lineOfSight) {
@@ -257,6 +327,65 @@ public class PolygonalFieldOfView extends AbstractFieldOfView {
 
     }
 
+    /** Get the minimum dot product between a line of sight and the edges inner poles.
+     * @param lx abscissa of the line of sight
+     * @param ly ordinate of the line of sight
+     * @param lz height of the line of sight
+     * @return minimum dot product (negative if the zone is not a convex polygon)
+     */
+    private double minInnerDot(final double lx, final double ly, final double lz) {
+        if (innerPoles == null) {
+            return -1.0;
+        }
+        double minDot = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < innerPoles.length; i += 3) {
+            minDot = FastMath.min(minDot, innerPoles[i] * lx + innerPoles[i + 1] * ly + innerPoles[i + 2] * lz);
+        }
+        return minDot;
+    }
+
+    /** Compute the inner poles of the edges of a convex zone.
+     * @param zone zone to analyze
+     * @return poles of the edges great circles, pointing inside the zone (flattened x, y, z),
+     * or null if the zone is not a single convex polygon
+     */
+    private static double[] convexInnerPoles(final SphericalPolygonsSet zone) {
+
+        final List<Vertex> loops = zone.getBoundaryLoops();
+        if (loops.size() != 1 || zone.getEnclosingCap().getRadius() >= 0.5 * FastMath.PI) {
+            return null;
+        }
+
+        // gather edges poles and vertices
+        final List<Vector3D> poles    = new ArrayList<>();
+        final List<Vector3D> vertices = new ArrayList<>();
+        final Vertex start = loops.get(0);
+        Vertex vertex = start;
+        do {
+            final Edge edge = vertex.getOutgoing();
+            poles.add(edge.getCircle().getPole());
+            vertices.add(vertex.getLocation().getVector());
+            vertex = edge.getEnd();
+        } while (vertex != start);
+
+        // the zone is convex if all vertices are on the inner side of all edges
+        final double[] innerPoles = new double[3 * poles.size()];
+        for (int i = 0; i < poles.size(); ++i) {
+            final Vector3D pole = poles.get(i);
+            for (final Vector3D v : vertices) {
+                if (Vector3D.dotProduct(pole, v) < -CONVEXITY_TOLERANCE) {
+                    return null;
+                }
+            }
+            innerPoles[3 * i]     = pole.getX();
+            innerPoles[3 * i + 1] = pole.getY();
+            innerPoles[3 * i + 2] = pole.getZ();
+        }
+
+        return innerPoles;
+
+    }
+
     /** Enumerate for cone/polygon relative position.
      * @since 10.1
      */
@@ -0,0 +1,241 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.gnss;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.time.AbsoluteDate;
+
+/**
+ * Container for the dilution of precision computed over a grid of dates and locations.
+ * <p>
+ * The values are stored in primitive arrays, indexed first by date and then by location,
+ * in order to avoid building one {@link DOP} instance per grid node.
+ * </p>
+ *
+ * @author agent
+ * @since 11.0
+ * @see DOPGridComputer
+ */
+public class DOPGrid {
+
+    /** Dates of the grid. */
+    private final List<AbsoluteDate> dates;
+
+    /** Locations of the grid. */
+    private final List<GeodeticPoint> locations;
+
+    /** Number of GNSS spacecrafts used for computation. */
+    private final int[] gnssNb;
+
+    /** Geometric Dilution of Precision. */
+    private final double[] gdop;
+
+    /** Position Dilution of Precision. */
+    private final double[] pdop;
+
+    /** Horizontal Dilution of Precision. */
+    private final double[] hdop;
+
+    /** Vertical Dilution of Precision. */
+    private final double[] vdop;
+
+    /** Time Dilution of Precision. */
+    private final double[] tdop;
+
+    /** Simple constructor.
+     * <p>
+     * All values are initialized to {@link Double#NaN NaN} and the number
+     * of GNSS spacecrafts to 0.
+     * </p>
+     * @param dates dates of the grid
+     * @param locations locations of the grid
+     */
+    DOPGrid(final List<AbsoluteDate> dates, final List<GeodeticPoint> locations) {
+        this.dates     = dates;
+        this.locations = locations;
+        final int size = dates.size() * locations.size();
+        this.gnssNb    = new int[size];
+        this.gdop      = new double[size];
+        this.pdop      = new double[size];
+        this.hdop      = new double[size];
+        this.vdop      = new double[size];
+        this.tdop      = new double[size];
+    }
+
+    /** Set the values for one grid node.
+     * @param dateIndex index of the date
+     * @param locationIndex index of the location
+     * @param nb number of GNSS spacecrafts used for computation
+     * @param g geometric dilution of precision
+     * @param p position dilution of precision
+     * @param h horizontal dilution of precision
+     * @param v vertical dilution of precision
+     * @param t time dilution of precision
+     */
+    void setValues(final int dateIndex, final int locationIndex, final int nb,
+                   final double g, final double p, final double h, final double v, final double t) {
+        final int index = index(dateIndex, locationIndex);
+        gnssNb[index] = nb;
+        gdop[index]   = g;
+        pdop[index]   = p;
+        hdop[index]   = h;
+        vdop[index]   = v;
+        tdop[index]   = t;
+    }
+
+    /** Get the flat index corresponding to a grid node.
+     * @param dateIndex index of the date
+     * @param locationIndex index of the location
+     * @return flat index in the primitive arrays
+     */
+    private int index(final int dateIndex, final int locationIndex) {
+        return dateIndex * locations.size() + locationIndex;
+    }
+
+    /** Get the dates of the grid.
+     * @return dates of the grid
+     */
+    public List<AbsoluteDate> getDates() {
+        return Collections.unmodifiableList(dates);
+    }
+
+    /** Get the locations of the grid.
+     * @return locations of the grid
+     */
+    public List<GeodeticPoint> getLocations() {
+        return Collections.unmodifiableList(locations);
+    }
+
+    /** Get the DOP at one grid node as a {@link DOP} instance.
+     * @param dateIndex index of the date
+     * @param locationIndex index of the location
+     * @return DOP at grid node
+     */
+    public DOP getDOP(final int dateIndex, final int locationIndex) {
+        final int index = index(dateIndex, locationIndex);
+        return new DOP(locations.get(locationIndex), dates.get(dateIndex), gnssNb[index],
+                       gdop[index], pdop[index], hdop[index], vdop[index], tdop[index]);
+    }
+
+    /** Get the number of GNSS spacecrafts used for computation at one grid node.
+     * @param dateIndex index of the date
+     * @param locationIndex index of the location
+     * @return number of GNSS spacecrafts used for computation
+     */
+    public int getGnssNb(final int dateIndex, final int locationIndex) {
+        return gnssNb[index(dateIndex, locationIndex)];
+    }
+
+    /** Get the geometric dilution of precision at one grid node.
+     * @param dateIndex index of the date
+     * @param locationIndex index of the location
+     * @return the GDOP
+     */
+    public double getGdop(final int dateIndex, final int locationIndex) {
+        return gdop[index(dateIndex, locationIndex)];
+    }
+
+    /** Get the position dilution of precision at one grid node.
+     * @param dateIndex index of the date
+     * @param locationIndex index of the location
+     * @return the PDOP
+     */
+    public double getPdop(final int dateIndex, final int locationIndex) {
+        return pdop[index(dateIndex, locationIndex)];
+    }
+
+    /** Get the horizontal dilution of precision at one grid node.
+     * @param dateIndex index of the date
+     * @param locationIndex index of the location
+     * @return the HDOP
+     */
+    public double getHdop(final int dateIndex, final int locationIndex) {
+        return hdop[index(dateIndex, locationIndex)];
+    }
+
+    /** Get the vertical dilution of precision at one grid node.
+     * @param dateIndex index of the date
+     * @param locationIndex index of the location
+     * @return the VDOP
+     */
+    public double getVdop(final int dateIndex, final int locationIndex) {
+        return vdop[index(dateIndex, locationIndex)];
+    }
+
+    /** Get the time dilution of precision at one grid node.
+     * @param dateIndex index of the date
+     * @param locationIndex index of the location
+     * @return the TDOP
+     */
+    public double getTdop(final int dateIndex, final int locationIndex) {
+        return tdop[index(dateIndex, locationIndex)];
+    }
+
+    /** Get the geometric dilution of precision for all locations at one date.
+     * @param dateIndex index of the date
+     * @return the GDOP for all locations (a new array is allocated at each call)
+     */
+    public double[] getGdop(final int dateIndex) {
+        final double[] row = new double[locations.size()];
+        System.arraycopy(gdop, index(dateIndex, 0), row, 0, row.length);
+        return row;
+    }
+
+    /** Get the position dilution of precision for all locations at one date.
+     * @param dateIndex index of the date
+     * @return the PDOP for all locations (a new array is allocated at each call)
+     */
+    public double[] getPdop(final int dateIndex) {
+        final double[] row = new double[locations.size()];
+        System.arraycopy(pdop, index(dateIndex, 0), row, 0, row.length);
+        return row;
+    }
+
+    /** Get the horizontal dilution of precision for all locations at one date.
+     * @param dateIndex index of the date
+     * @return the HDOP for all locations (a new array is allocated at each call)
+     */
+    public double[] getHdop(final int dateIndex) {
+        final double[] row = new double[locations.size()];
+        System.arraycopy(hdop, index(dateIndex, 0), row, 0, row.length);
+        return row;
+    }
+
+    /** Get the vertical dilution of precision for all locations at one date.
+     * @param dateIndex index of the date
+     * @return the VDOP for all locations (a new array is allocated at each call)
+     */
+    public double[] getVdop(final int dateIndex) {
+        final double[] row = new double[locations.size()];
+        System.arraycopy(vdop, index(dateIndex, 0), row, 0, row.length);
+        return row;
+    }
+
+    /** Get the time dilution of precision for all locations at one date.
+     * @param dateIndex index of the date
+     * @return the TDOP for all locations (a new array is allocated at each call)
+     */
+    public double[] getTdop(final int dateIndex) {
+        final double[] row = new double[locations.size()];
+        System.arraycopy(tdop, index(dateIndex, 0), row, 0, row.length);
+        return row;
+    }
+
+}
@@ -0,0 +1,324 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.gnss;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.linear.MatrixUtils;
+import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.frames.Transform;
+import org.orekit.propagation.Propagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.ElevationMask;
+
+/**
+ * This class aims at computing the dilution of precision over grids of dates and locations.
+ * <p>
+ * It provides the same results as {@link DOPComputer}, but each GNSS spacecraft is propagated
+ * only once per date, its position being shared by all locations. The locations are processed
+ * in parallel for each date and the results are gathered in a {@link DOPGrid} backed by
+ * primitive arrays.
+ * </p>
+ * <p>
+ * The propagators are called from the calling thread only, so they do not need to be
+ * thread-safe, but they are called in chronological order if the dates are sorted.
+ * </p>
+ *
+ * @author agent
+ * @since 11.0
+ * @see DOPComputer
+ */
+public class DOPGridComputer {
+
+    /** Minimum number of propagators for DOP computation. */
+    private static final int DOP_MIN_PROPAGATORS = 4;
+
+    /** Body shape on which locations are defined. */
+    private final OneAxisEllipsoid shape;
+
+    /** Locations where DOP will be computed. */
+    private final List<GeodeticPoint> locations;
+
+    /** Elevation mask used for computation, if defined. */
+    private final ElevationMask elevationMask;
+
+    /** Minimum elevation value used if no mask is defined. */
+    private final double minElevation;
+
+    /** Locations positions in body frame (flattened x, y, z). */
+    private final double[] positions;
+
+    /** Locations topocentric axes in body frame (flattened east, north, zenith). */
+    private final double[] axes;
+
+    /**
+     * Constructor for DOP computation.
+     *
+     * @param shape the body shape on which the locations are defined
+     * @param locations the locations where DOP will be computed
+     * @param minElev the minimum elevation to consider (rad)
+     * @param elevMask the elevation mask to consider
+     */
+    private DOPGridComputer(final OneAxisEllipsoid shape, final List<GeodeticPoint> locations,
+                            final double minElev, final ElevationMask elevMask) {
+        this.shape         = shape;
+        this.locations     = locations;
+        this.minElevation  = minElev;
+        this.elevationMask = elevMask;
+        this.positions     = new double[3 * locations.size()];
+        this.axes          = new double[9 * locations.size()];
+        for (int i = 0; i < locations.size(); ++i) {
+            final GeodeticPoint location = locations.get(i);
+            final Vector3D      p        = shape.transform(location);
+            positions[3 * i]     = p.getX();
+            positions[3 * i + 1] = p.getY();
+            positions[3 * i + 2] = p.getZ();
+            storeAxis(location.getEast(),   9 * i);
+            storeAxis(location.getNorth(),  9 * i + 3);
+            storeAxis(location.getZenith(), 9 * i + 6);
+        }
+    }
+
+    /**
+     * Store one topocentric axis.
+     *
+     * @param axis axis to store
+     * @param index index of the first component in the axes array
+     */
+    private void storeAxis(final Vector3D axis, final int index) {
+        axes[index]     = axis.getX();
+        axes[index + 1] = axis.getY();
+        axes[index + 2] = axis.getZ();
+    }
+
+    /**
+     * Creates a DOP computer for a set of locations.
+     *
+     * <p>A minimum elevation of 0° is taken into account to compute
+     * visibility between the locations and the GNSS spacecrafts.</p>
+     *
+     * @param shape the body shape on which the locations are defined
+     * @param locations the points of interest
+     * @return a configured DOP computer
+     */
+    public static DOPGridComputer create(final OneAxisEllipsoid shape, final List<GeodeticPoint> locations) {
+        return new DOPGridComputer(shape, new ArrayList<>(locations), DOPComputer.DOP_MIN_ELEVATION, null);
+    }
+
+    /**
+     * Set the minimum elevation.
+     *
+     * <p>This will override an elevation mask if it has been configured as such previously.</p>
+     *
+     * @param newMinElevation minimum elevation for visibility (rad)
+     * @return a new DOP computer with updated configuration (the instance is not changed)
+     *
+     * @see #getMinElevation()
+     */
+    public DOPGridComputer withMinElevation(final double newMinElevation) {
+        return new DOPGridComputer(shape, locations, newMinElevation, null);
+    }
+
+    /**
+     * Set the elevation mask.
+     *
+     * <p>This will override the min elevation if it has been configured as such previously.</p>
+     *
+     * @param newElevationMask elevation mask to use for the computation
+     * @return a new DOP computer with updated configuration (the instance is not changed)
+     *
+     * @see #getElevationMask()
+     */
+    public DOPGridComputer withElevationMask(final ElevationMask newElevationMask) {
+        return new DOPGridComputer(shape, locations, DOPComputer.DOP_MIN_ELEVATION, newElevationMask);
+    }
+
+    /**
+     * Compute the DOP at a set of dates for a set of GNSS spacecrafts.
+     * <p>Four GNSS spacecraft at least are needed to compute the DOP.
+     * If less than 4 propagators are provided, an exception will be thrown.
+     * If less than 4 spacecrafts are visible at some grid node, all DOP values
+     * will be set to {@link java.lang.Double#NaN NaN} for this node.</p>
+     *
+     * @param dates the computation dates
+     * @param gnss the propagators for GNSS spacecraft involved in the DOP computation
+     * @return the DOP at all dates and locations
+     */
+    public DOPGrid compute(final List<AbsoluteDate> dates, final List<Propagator> gnss) {
+
+        // Checks the number of provided propagators
+        if (gnss.size() < DOP_MIN_PROPAGATORS) {
+            throw new OrekitException(OrekitMessages.NOT_ENOUGH_GNSS_FOR_DOP, gnss.size(), DOP_MIN_PROPAGATORS);
+        }
+
+        final DOPGrid  grid       = new DOPGrid(new ArrayList<>(dates), locations);
+        final Frame    bodyFrame  = shape.getBodyFrame();
+        final double[] satellites = new double[3 * gnss.size()];
+        final Map<Frame, Transform> transforms = new IdentityHashMap<>();
+
+        for (int i = 0; i < dates.size(); ++i) {
+
+            // propagate each GNSS spacecraft only once for all locations
+            final AbsoluteDate date = dates.get(i);
+            transforms.clear();
+            for (int k = 0; k < gnss.size(); ++k) {
+                final Propagator prop = gnss.get(k);
+                final Frame      propFrame = prop.getFrame();
+                Transform        toBody    = transforms.get(propFrame);
+                if (toBody == null) {
+                    toBody = propFrame.getTransformTo(bodyFrame, date);
+                    transforms.put(propFrame, toBody);
+                }
+                final Vector3D pos = toBody.transformPosition(prop.getPVCoordinates(date, propFrame).getPosition());
+                satellites[3 * k]     = pos.getX();
+                satellites[3 * k + 1] = pos.getY();
+                satellites[3 * k + 2] = pos.getZ();
+            }
+
+            // evaluate all locations in parallel
+            final int dateIndex = i;
+            IntStream.range(0, locations.size()).parallel().forEach(j -> computeNode(grid, dateIndex, j, satellites));
+
+        }
+
+        return grid;
+
+    }
+
+    /**
+     * Compute the DOP at one grid node.
+     *
+     * @param grid grid to fill up
+     * @param dateIndex index of the date
+     * @param locationIndex index of the location
+     * @param satellites GNSS spacecrafts positions in body frame (flattened x, y, z)
+     */
+    private void computeNode(final DOPGrid grid, final int dateIndex, final int locationIndex,
+                             final double[] satellites) {
+
+        final int    p  = 3 * locationIndex;
+        final int    a  = 9 * locationIndex;
+        final double px = positions[p];
+        final double py = positions[p + 1];
+        final double pz = positions[p + 2];
+
+        // accumulate the normal matrix HᵀH directly, without building H
+        final double[][] normal = new double[4][4];
+        int satNb = 0;
+        for (int k = 0; k < satellites.length; k += 3) {
+
+            // line of sight in topocentric frame
+            final double dx = satellites[k]     - px;
+            final double dy = satellites[k + 1] - py;
+            final double dz = satellites[k + 2] - pz;
+            final double e  = dx * axes[a]     + dy * axes[a + 1] + dz * axes[a + 2];
+            final double n  = dx * axes[a + 3] + dy * axes[a + 4] + dz * axes[a + 5];
+            final double z  = dx * axes[a + 6] + dy * axes[a + 7] + dz * axes[a + 8];
+            final double d  = FastMath.sqrt(e * e + n * n + z * z);
+
+            final double elev  = FastMath.asin(z / d);
+            final double elMin;
+            if (elevationMask != null) {
+                double azimuth = FastMath.atan2(e, n);
+                if (azimuth < 0.) {
+                    azimuth += MathUtils.TWO_PI;
+                }
+                elMin = elevationMask.getElevation(azimuth);
+            } else {
+                elMin = minElevation;
+            }
+
+            // Only visible satellites are considered
+            if (elev > elMin) {
+                final double[] row = {
+                    e / d, n / d, z / d, -1.0
+                };
+                for (int r = 0; r < 4; ++r) {
+                    for (int c = 0; c <= r; ++c) {
+                        normal[r][c] += row[r] * row[c];
+                    }
+                }
+                satNb++;
+            }
+        }
+
+        // DOP values are computed only if at least 4 SV are visible from the location
+        if (satNb > 3) {
+            for (int r = 0; r < 4; ++r) {
+                for (int c = r + 1; c < 4; ++c) {
+                    normal[r][c] = normal[c][r];
+                }
+            }
+            final RealMatrix hInv = MatrixUtils.inverse(MatrixUtils.createRealMatrix(normal));
+            final double sx2 = hInv.getEntry(0, 0);
+            final double sy2 = hInv.getEntry(1, 1);
+            final double sz2 = hInv.getEntry(2, 2);
+            final double st2 = hInv.getEntry(3, 3);
+            grid.setValues(dateIndex, locationIndex, satNb,
+                           FastMath.sqrt(hInv.getTrace()),
+                           FastMath.sqrt(sx2 + sy2 + sz2),
+                           FastMath.sqrt(sx2 + sy2),
+                           FastMath.sqrt(sz2),
+                           FastMath.sqrt(st2));
+        } else {
+            grid.setValues(dateIndex, locationIndex, satNb,
+                           Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+        }
+
+    }
+
+    /**
+     * Get the locations.
+     *
+     * @return the locations where DOP is computed
+     */
+    public List<GeodeticPoint> getLocations() {
+        return Collections.unmodifiableList(locations);
+    }
+
+    /**
+     * Get the minimum elevation.
+     *
+     * @return the minimum elevation (rad)
+     */
+    public double getMinElevation() {
+        return minElevation;
+    }
+
+    /**
+     * Get the elevation mask.
+     *
+     * @return the elevation mask
+     */
+    public ElevationMask getElevationMask() {
+        return elevationMask;
+    }
+
+}
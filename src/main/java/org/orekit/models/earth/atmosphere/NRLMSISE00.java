@@ -117,7 +117,14 @@ import org.orekit.utils.PVCoordinatesProvider;
  *  Dominik Brodowski implemented a C version of the NRLMSISE-00 model available at:<br>
  *  http://www.brodo.de/space/nrlmsise/index.html
  *  <p>
- *  Instances of this class are immutable.
+ *  Instances of this class are immutable and thread-safe. Each thread
+ *  evaluating the model reuses its own work area, so the regular
+ *  {@link #getDensity(AbsoluteDate, Vector3D, Frame) getDensity()} method
+ *  does not allocate temporary arrays. Terms depending only on date
+ *  (calendar components, solar and magnetic activity, Sun position)
+ *  are also kept in this work area and computed only when date changes,
+ *  which is efficient when several positions are evaluated at the same
+ *  date.
  *  </p>
  *
  *  @author Mike Picone &amp; al (Naval Research Laboratory), 2001: FORTRAN routine
@@ -130,6 +137,12 @@ public class NRLMSISE00 implements Atmosphere {
     /** Serializable UID. */
     private static final long serialVersionUID = -7923498628122574334L;
 
+    /** Thermal diffusion coefficients for species. */
+    private static final double[] ALPHA = {-0.38, 0.0, 0.0, 0.0, 0.17, 0.0, -0.38, 0.0, 0.0};
+
+    /** Altitude limits for net density computation for species. */
+    private static final double[] ALTL  = {200.0, 300.0, 160.0, 250.0, 240.0, 450.0, 320.0, 450.0};
+
     // Constants
 
     /** Identifier for helium density. */
@@ -1018,6 +1031,9 @@ public class NRLMSISE00 implements Atmosphere {
     /** UT time scale. */
     private final TimeScale ut;
 
+    /** Work areas, one per thread. */
+    private final transient ThreadLocal<WorkArea> workAreas;
+
     /** Constructor.
      * <p>
      * The model is constructed with all switches set to 1.
@@ -1097,6 +1113,14 @@ public class NRLMSISE00 implements Atmosphere {
         this.sw          = sw;
         this.swc         = swc;
         this.ut = ut;
+        this.workAreas   = ThreadLocal.withInitial(() -> new WorkArea(parameters, sun, ut, sw, swc));
+    }
+
+    /** Replace the deserialized instance with a new one, with its own work areas.
+     * @return replacement instance
+     */
+    private Object readResolve() {
+        return new NRLMSISE00(inputParams, sun, earth, sw, swc, ut);
     }
 
     /** Change a switch.
@@ -1152,17 +1176,9 @@ public class NRLMSISE00 implements Atmosphere {
                              final Vector3D position,
                              final Frame frame) {
 
-        // check if data are available :
-        if ((date.compareTo(inputParams.getMaxDate()) > 0) ||
-            (date.compareTo(inputParams.getMinDate()) < 0)) {
-            throw new OrekitException(OrekitMessages.NO_SOLAR_ACTIVITY_AT_DATE,
-                                      date, inputParams.getMinDate(), inputParams.getMaxDate());
-        }
-
-        // compute day number in current year and the seconds within the day
-        final DateTimeComponents dtc = date.getComponents(ut);
-        final int    doy = dtc.getDate().getDayOfYear();
-        final double sec = dtc.getTime().getSecondsInLocalDay();
+        // date-dependent terms (day number, seconds within the day, solar activity, Sun position)
+        final WorkArea workArea = workAreas.get();
+        workArea.update(date, frame);
 
         // compute geodetic position (km and °)
         final GeodeticPoint inBody = earth.transform(position, frame, date);
@@ -1171,11 +1187,11 @@ public class NRLMSISE00 implements Atmosphere {
         final double lat = FastMath.toDegrees(inBody.getLatitude());
 
         // compute local solar time
-        final double lst = localSolarTime(date, position, frame);
+        final double lst = localSolarTime(workArea.sunPosition, position);
 
-        // get solar activity data and compute
-        final Output out = new Output(doy, sec, lat, lon, lst, inputParams.getAverageFlux(date),
-                                      inputParams.getDailyFlux(date), inputParams.getAp(date));
+        // compute using the thread work area
+        final Output out = workArea.output;
+        out.setUp(workArea.doy, workArea.sec, lat, lon, lst, workArea.f107a, workArea.f107, workArea.ap);
         out.gtd7d(alt);
 
         // return the local density
@@ -1188,18 +1204,14 @@ public class NRLMSISE00 implements Atmosphere {
     public <T extends RealFieldElement<T>> T getDensity(final FieldAbsoluteDate<T> date,
                                                         final FieldVector3D<T> position,
                                                         final Frame frame) {
-        // check if data are available :
+        // date-dependent terms (day number, solar activity, Sun position)
         final AbsoluteDate dateD = date.toAbsoluteDate();
-        if ((dateD.compareTo(inputParams.getMaxDate()) > 0) ||
-            (dateD.compareTo(inputParams.getMinDate()) < 0)) {
-            throw new OrekitException(OrekitMessages.NO_SOLAR_ACTIVITY_AT_DATE,
-                                      dateD, inputParams.getMinDate(), inputParams.getMaxDate());
-        }
+        final WorkArea workArea = workAreas.get();
+        workArea.update(dateD, frame);
 
         // compute day number in current year and the seconds within the day
-        final DateTimeComponents dtc = dateD.getComponents(ut);
-        final int    doy = dtc.getDate().getDayOfYear();
-        final T sec = date.durationFrom(new AbsoluteDate(dtc.getDate(), TimeComponents.H00, ut));
+        final int doy = workArea.doy;
+        final T   sec = date.durationFrom(workArea.dayStart);
 
         // compute geodetic position (km and °)
         final FieldGeodeticPoint<T> inBody = earth.transform(position, frame, date);
@@ -1208,12 +1220,11 @@ public class NRLMSISE00 implements Atmosphere {
         final T lat = inBody.getLatitude().multiply(180.0 / FastMath.PI);
 
         // compute local solar time
-        final T lst = localSolarTime(dateD, position, frame);
+        final T lst = localSolarTime(workArea.sunPosition, position);
 
         // get solar activity data and compute
         final FieldOutput<T> out = new FieldOutput<>(doy, sec, lat, lon, lst,
-                                                     inputParams.getAverageFlux(dateD),
-                                                     inputParams.getDailyFlux(dateD), inputParams.getAp(dateD));
+                                                     workArea.f107a, workArea.f107, workArea.ap);
         out.gtd7d(alt);
 
         // return the local density
@@ -1222,15 +1233,11 @@ public class NRLMSISE00 implements Atmosphere {
     }
 
     /** Get local solar time.
-     * @param date current date
+     * @param sunPos Sun position in the same frame as position
      * @param position current position in frame
-     * @param frame the frame in which is defined the position
      * @return the local solar time (hour in [0, 24[)
      */
-    private double localSolarTime(final AbsoluteDate date,
-                                  final Vector3D position,
-                                  final Frame frame) {
-        final Vector3D sunPos = sun.getPVCoordinates(date, frame).getPosition();
+    private double localSolarTime(final Vector3D sunPos, final Vector3D position) {
         final double lst = FastMath.PI + FastMath.atan2(
                 sunPos.getX() * position.getY() - sunPos.getY() * position.getX(),
                 sunPos.getX() * position.getX() + sunPos.getY() * position.getY());
@@ -1238,16 +1245,13 @@ public class NRLMSISE00 implements Atmosphere {
     }
 
     /** Get local solar time.
-     * @param date current date
+     * @param sunPos Sun position in the same frame as position
      * @param position current position in frame
-     * @param frame the frame in which is defined the position
      * @param <T> type of the filed elements
      * @return the local solar time (hour in [0, 24[)
      */
-    private <T extends RealFieldElement<T>> T localSolarTime(final AbsoluteDate date,
-                                                             final FieldVector3D<T> position,
-                                                             final Frame frame) {
-        final Vector3D sunPos = sun.getPVCoordinates(date, frame).getPosition();
+    private <T extends RealFieldElement<T>> T localSolarTime(final Vector3D sunPos,
+                                                             final FieldVector3D<T> position) {
         final T y  = position.getY().multiply(sunPos.getX()).subtract(position.getX().multiply(sunPos.getY()));
         final T x  = position.getX().multiply(sunPos.getX()).add(position.getY().multiply(sunPos.getY()));
         final T hl = y.atan2(x).add(FastMath.PI);
@@ -1256,6 +1260,114 @@ public class NRLMSISE00 implements Atmosphere {
 
     }
 
+    /** Work area for one thread.
+     * <p>
+     * The work area holds the terms depending only on date, which are
+     * updated only when date changes, and a reusable {@link Output}.
+     * </p>
+     * <p>
+     * This class is static and does not reference the model instance, so
+     * the thread-local entries of unreachable models can be reclaimed even
+     * on long-lived pooled threads.
+     * </p>
+     */
+    private static class WorkArea {
+
+        /** Solar and magnetic activity data. */
+        private final NRLMSISE00InputParameters inputParams;
+
+        /** Sun position provider. */
+        private final PVCoordinatesProvider sun;
+
+        /** UT time scale. */
+        private final TimeScale ut;
+
+        /** Reusable output. */
+        private final Output output;
+
+        /** Solar and magnetic activity (3 hr ap indices history). */
+        private final double[] ap;
+
+        /** Date of the current terms. */
+        private AbsoluteDate date;
+
+        /** Frame in which Sun position is computed. */
+        private Frame frame;
+
+        /** Start of current day (UT scale). */
+        private AbsoluteDate dayStart;
+
+        /** Day of year (from 1 to 365 or 366). */
+        private int doy;
+
+        /** Seconds in day (UT scale). */
+        private double sec;
+
+        /** 81 day average of F10.7 flux (centered on day). */
+        private double f107a;
+
+        /** Daily F10.7 flux for previous day. */
+        private double f107;
+
+        /** Sun position in frame. */
+        private Vector3D sunPosition;
+
+        /** Simple constructor.
+         * @param inputParams solar and magnetic activity data
+         * @param sun Sun position provider
+         * @param ut UT time scale
+         * @param sw switches for main effects
+         * @param swc switches for cross effects
+         */
+        WorkArea(final NRLMSISE00InputParameters inputParams, final PVCoordinatesProvider sun,
+                 final TimeScale ut, final int[] sw, final int[] swc) {
+            this.inputParams = inputParams;
+            this.sun         = sun;
+            this.ut          = ut;
+            this.output      = new Output(sw, swc);
+            this.ap          = new double[7];
+        }
+
+        /** Update the date-dependent terms if needed.
+         * @param newDate current date
+         * @param newFrame frame in which positions are defined
+         */
+        void update(final AbsoluteDate newDate, final Frame newFrame) {
+
+            if (!newDate.equals(date)) {
+
+                // check if data are available :
+                if ((newDate.compareTo(inputParams.getMaxDate()) > 0) ||
+                    (newDate.compareTo(inputParams.getMinDate()) < 0)) {
+                    throw new OrekitException(OrekitMessages.NO_SOLAR_ACTIVITY_AT_DATE,
+                                              newDate, inputParams.getMinDate(), inputParams.getMaxDate());
+                }
+
+                // compute day number in current year and the seconds within the day
+                final DateTimeComponents dtc = newDate.getComponents(ut);
+                dayStart = new AbsoluteDate(dtc.getDate(), TimeComponents.H00, ut);
+                doy      = dtc.getDate().getDayOfYear();
+                sec      = dtc.getTime().getSecondsInLocalDay();
+
+                // get solar activity data
+                f107a = inputParams.getAverageFlux(newDate);
+                f107  = inputParams.getDailyFlux(newDate);
+                System.arraycopy(inputParams.getAp(newDate), 0, ap, 0, ap.length);
+
+                date  = newDate;
+                frame = null;
+
+            }
+
+            if (newFrame != frame) {
+                sunPosition = sun.getPVCoordinates(newDate, newFrame).getPosition();
+                frame       = newFrame;
+            }
+
+        }
+
+    }
+
     /**
      * This class is a placeholder for the computed densities and temperatures.
      * <p>
@@ -1290,28 +1402,34 @@ public class NRLMSISE00 implements Atmosphere {
      * The 120 km gradient is left at global average value for altitudes below 72 km.
      * </p>
      */
-    private class Output {
+    private static class Output {
+
+        /** Switches for main effects. */
+        private final int[] sw;
+
+        /** Switches for cross effects. */
+        private final int[] swc;
 
         /** Day of year (from 1 to 365 or 366). */
-        private final int doy;
+        private int doy;
 
         /** Seconds in day (UT scale). */
-        private final double sec;
+        private double sec;
 
         /** Geodetic latitude (°). */
-        private final double lat;
+        private double lat;
 
         /** Geodetic longitude (°). */
-        private final double lon;
+        private double lon;
 
         /** Local apparent solar time (hours). */
-        private final double hl;
+        private double hl;
 
         /** 81 day average of F10.7 flux (centered on day). */
-        private final double f107a;
+        private double f107a;
 
         /** Daily F10.7 flux for previous day. */
-        private final double f107;
+        private double f107;
 
         /** Array containing:
         *  <ul>
@@ -1326,10 +1444,10 @@ public class NRLMSISE00 implements Atmosphere {
         private final double[] ap;
 
         /** Gravity at latitude (cm/s2). */
-        private final double glat;
+        private double glat;
 
         /** Effective Earth radius at latitude (km). */
-        private final double rlat;
+        private double rlat;
 
         /** N2 mixed density at alt. */
         private double dm28;
@@ -1338,17 +1456,17 @@ public class NRLMSISE00 implements Atmosphere {
         private final double[][] plg;
 
         /** Cosinus of local solar time. */
-        private final double ctloc;
+        private double ctloc;
         /** Sinus of local solar time. */
-        private final double stloc;
+        private double stloc;
         /** Square of ctloc. */
-        private final double c2tloc;
+        private double c2tloc;
         /** Square of stloc. */
-        private final double s2tloc;
+        private double s2tloc;
         /** Cube of ctloc. */
-        private final double c3tloc;
+        private double c3tloc;
         /** Cube of stloc. */
-        private final double s3tloc;
+        private double s3tloc;
 
         /** Magnetic activity based on daily ap. */
         private double apdf;
@@ -1380,7 +1498,47 @@ public class NRLMSISE00 implements Atmosphere {
         /** Temperatures. */
         private final double[] temperatures;
 
+        /** Work array for G(L) functions. */
+        private final double[] t;
+
+        /** Work array for spline abscissas on ZN1 nodes. */
+        private final double[] xs1;
+
+        /** Work array for spline ordinates on ZN1 nodes. */
+        private final double[] ys1;
+
+        /** Work array for spline second derivatives on ZN1 nodes. */
+        private final double[] y2s1;
+
+        /** Work array for spline decomposition on ZN1 nodes. */
+        private final double[] us1;
+
+        /** Work array for spline abscissas on ZN2 nodes. */
+        private final double[] xs2;
+
+        /** Work array for spline ordinates on ZN2 nodes. */
+        private final double[] ys2;
+
+        /** Work array for spline second derivatives on ZN2 nodes. */
+        private final double[] y2s2;
+
+        /** Work array for spline decomposition on ZN2 nodes. */
+        private final double[] us2;
+
+        /** Work array for spline abscissas on ZN3 nodes. */
+        private final double[] xs3;
+
+        /** Work array for spline ordinates on ZN3 nodes. */
+        private final double[] ys3;
+
+        /** Work array for spline second derivatives on ZN3 nodes. */
+        private final double[] y2s3;
+
+        /** Work array for spline decomposition on ZN3 nodes. */
+        private final double[] us3;
+
         /** Simple constructor.
+         *  @param model model providing the switches
          *  @param doy day of year (from 1 to 365 or 366)
          *  @param sec seconds in day (UT scale)
          *  @param lat geodetic latitude (°)
@@ -1399,18 +1557,27 @@ public class NRLMSISE00 implements Atmosphere {
          *  <li>6: average of eight 3 hr ap indices from 36 to 57 hrs prior to current time</li>
          *  </ul>
          */
-        Output(final int doy, final double sec,
+        Output(final NRLMSISE00 model, final int doy, final double sec,
                final double lat, final double lon, final double hl,
                final double f107a, final double f107, final double[] ap) {
+            this(model.sw, model.swc);
+            setUp(doy, sec, lat, lon, hl, f107a, f107, ap);
+        }
 
-            this.doy   = doy;
-            this.sec   = sec;
-            this.lat   = lat;
-            this.lon   = lon;
-            this.hl    = hl;
-            this.f107a = f107a;
-            this.f107  = f107;
-            this.ap    = ap.clone();
+        /** Constructor for a reusable output.
+         * <p>
+         * The instance must be {@link #setUp(int, double, double, double, double,
+         * double, double, double[]) set up} before being used.
+         * </p>
+         * @param sw switches for main effects
+         * @param swc switches for cross effects
+         */
+        Output(final int[] sw, final int[] swc) {
+
+            this.sw        = sw;
+            this.swc       = swc;
+
+            this.ap        = new double[7];
 
             this.plg       = new double[4][8];
 
@@ -1424,6 +1591,67 @@ public class NRLMSISE00 implements Atmosphere {
             densities       = new double[9];
             temperatures    = new double[2];
 
+            this.t          = new double[14];
+            this.xs1        = new double[ZN1.length];
+            this.ys1        = new double[ZN1.length];
+            this.y2s1       = new double[ZN1.length];
+            this.us1        = new double[ZN1.length];
+            this.xs2        = new double[ZN2.length];
+            this.ys2        = new double[ZN2.length];
+            this.y2s2       = new double[ZN2.length];
+            this.us2        = new double[ZN2.length];
+            this.xs3        = new double[ZN3.length];
+            this.ys3        = new double[ZN3.length];
+            this.y2s3       = new double[ZN3.length];
+            this.us3        = new double[ZN3.length];
+
+        }
+
+        /** Set up the output for a new evaluation.
+         *  @param newDoy day of year (from 1 to 365 or 366)
+         *  @param newSec seconds in day (UT scale)
+         *  @param newLat geodetic latitude (°)
+         *  @param newLon geodetic longitude (°)
+         *  @param newHl local apparent solar time (hours)
+         *  @param newF107a 81 day average of F10.7 flux (centered on day)
+         *  @param newF107 daily F10.7 flux for previous day
+         *  @param newAp array containing:
+         *  <ul>
+         *  <li>0: daily Ap</li>
+         *  <li>1: 3 hr ap index for current time</li>
+         *  <li>2: 3 hr ap index for 3 hrs before current time</li>
+         *  <li>3: 3 hr ap index for 6 hrs before current time</li>
+         *  <li>4: 3 hr ap index for FOR 9 hrs before current time</li>
+         *  <li>5: average of eight 3 hr ap indices from 12 to 33 hrs prior to current time</li>
+         *  <li>6: average of eight 3 hr ap indices from 36 to 57 hrs prior to current time</li>
+         *  </ul>
+         */
+        void setUp(final int newDoy, final double newSec,
+                   final double newLat, final double newLon, final double newHl,
+                   final double newF107a, final double newF107, final double[] newAp) {
+
+            this.doy   = newDoy;
+            this.sec   = newSec;
+            this.lat   = newLat;
+            this.lon   = newLon;
+            this.hl    = newHl;
+            this.f107a = newF107a;
+            this.f107  = newF107;
+            System.arraycopy(newAp, 0, ap, 0, ap.length);
+
+            // reset state from previous evaluation
+            dm28 = 0;
+            apdf = 0;
+            apt  = 0;
+            Arrays.fill(meso_tn1,     0.0);
+            Arrays.fill(meso_tn2,     0.0);
+            Arrays.fill(meso_tn3,     0.0);
+            Arrays.fill(meso_tgn1,    0.0);
+            Arrays.fill(meso_tgn2,    0.0);
+            Arrays.fill(meso_tgn3,    0.0);
+            Arrays.fill(densities,    0.0);
+            Arrays.fill(temperatures, 0.0);
+
             // Calculates latitude variable gravity and effective radius
             final double xlat = (sw[2] == 0) ? LAT_REF : lat;
             final double c2   = FastMath.cos(2 * DEG_TO_RAD * xlat);
@@ -1514,9 +1742,9 @@ public class NRLMSISE00 implements Atmosphere {
         void gts7(final double alt) {
 
             // Thermal diffusion coefficients for species
-            final double[] alpha = {-0.38, 0.0, 0.0, 0.0, 0.17, 0.0, -0.38, 0.0, 0.0};
+            final double[] alpha = ALPHA;
             // Altitude limits for net density computation for species
-            final double[] altl  = {200.0, 300.0, 160.0, 250.0, 240.0, 450.0, 320.0, 450.0};
+            final double[] altl  = ALTL;
             // N2 mixed density
             final double xmm = PDM[2][4];
 
@@ -1988,7 +2216,7 @@ public class NRLMSISE00 implements Atmosphere {
          */
         private double globe7(final double[] p) {
 
-            final double[] t = new double[14];
+            Arrays.fill(t, 0.0);
             final double cd32 = FastMath.cos(DAY_TO_RAD * (doy - p[31]));
             final double cd18 = FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[17]));
             final double cd14 = FastMath.cos(DAY_TO_RAD * (doy - p[13]));
@@ -2137,7 +2365,7 @@ public class NRLMSISE00 implements Atmosphere {
          */
         private double glob7s(final double[] p) {
 
-            final double[] t = new double[14];
+            Arrays.fill(t, 0.0);
             final double cd32 = FastMath.cos(DAY_TO_RAD * (doy - p[31]));
             final double cd18 = FastMath.cos(2.0 * DAY_TO_RAD * (doy - p[17]));
             final double cd14 = FastMath.cos(DAY_TO_RAD * (doy - p[13]));
@@ -2405,16 +2633,20 @@ public class NRLMSISE00 implements Atmosphere {
          * @param y array of ordinates in ascending order by x
          * @param yp1 derivative at x[0] (2nd derivatives null if > 1E30)
          * @param ypn derivative at x[n-1] (2nd derivatives null if > 1E30)
-         * @return array of second derivatives
+         * @param y2 placeholder for second derivatives (same length as x)
+         * @param u work array (same length as x)
+         * @return array of second derivatives (i.e. y2)
          */
-        private double[] spline(final double[] x, final double[] y, final double yp1, final double ypn) {
+        private double[] spline(final double[] x, final double[] y, final double yp1, final double ypn,
+                                final double[] y2, final double[] u) {
             final int n = x.length;
-            final double[] y2 = new double[n];
-            final double[] u  = new double[n];
 
             if (yp1 < 1e+30) {
                 y2[0] = -0.5;
                 u[0]  = (3.0 / (x[1] - x[0])) * ((y[1] - y[0]) / (x[1] - x[0]) - yp1);
+            } else {
+                y2[0] = 0.0;
+                u[0]  = 0.0;
             }
             for (int i = 1; i < n - 1; i++) {
                 final double sig = (x[i] - x[i - 1]) / (x[i + 1] - x[i - 1]);
@@ -2461,8 +2693,8 @@ public class NRLMSISE00 implements Atmosphere {
             double zgdif = zeta(z2, z1);
 
             /* set up spline nodes */
-            double[] xs = new double[mn];
-            double[] ys = new double[mn];
+            double[] xs = xs2;
+            double[] ys = ys2;
             for (int k = 0; k < mn; k++) {
                 xs[k] = zeta(ZN2[k], z1) / zgdif;
                 ys[k] = 1.0 / meso_tn2[k];
@@ -2472,7 +2704,7 @@ public class NRLMSISE00 implements Atmosphere {
             double yd2 = -meso_tgn2[1] / (t2 * t2) * zgdif * qSM * qSM;
 
             /* calculate spline coefficients */
-            double[] y2out = spline(xs, ys, yd1, yd2);
+            double[] y2out = spline(xs, ys, yd1, yd2, y2s2, us2);
             double x = zg / zgdif;
             double y = splint(xs, ys, y2out, x);
 
@@ -2507,8 +2739,8 @@ public class NRLMSISE00 implements Atmosphere {
             zgdif = zeta(z2, z1);
 
             /* set up spline nodes */
-            xs = new double[mn];
-            ys = new double[mn];
+            xs = xs3;
+            ys = ys3;
             for (int k = 0; k < mn; k++) {
                 xs[k] = zeta(ZN3[k], z1) / zgdif;
                 ys[k] = 1.0 / meso_tn3[k];
@@ -2518,7 +2750,7 @@ public class NRLMSISE00 implements Atmosphere {
             yd2 = -meso_tgn3[1] / (t2 * t2) * zgdif * qTS * qTS;
 
             /* calculate spline coefficients */
-            y2out = spline(xs, ys, yd1, yd2);
+            y2out = spline(xs, ys, yd1, yd2, y2s3, us3);
             x = zg / zgdif;
             y = splint(xs, ys, y2out, x);
 
@@ -2567,10 +2799,10 @@ public class NRLMSISE00 implements Atmosphere {
             double tz = tt;
 
             final int mn = ZN1.length;
-            final double[] xs = new double[mn];
-            final double[] ys = new double[mn];
+            final double[] xs = xs1;
+            final double[] ys = ys1;
             double x = 0.;
-            double[] y2out =  new double[mn];
+            double[] y2out = y2s1;
             double zgdif = 0.;
             if (alt < ZN1[0]) {
                 /* calculate temperature below ZA
@@ -2596,7 +2828,7 @@ public class NRLMSISE00 implements Atmosphere {
                 final double yd1 = -meso_tgn1[0] / (t1 * t1) * zgdif;
                 final double yd2 = -meso_tgn1[1] / (t2 * t2) * zgdif * q * q;
                 /* calculate spline coefficients */
-                y2out = spline(xs, ys, yd1, yd2);
+                y2out = spline(xs, ys, yd1, yd2, y2s1, us1);
                 x = zg / zgdif;
                 final double y = splint(xs, ys, y2out, x);
                 /* temperature at altitude */
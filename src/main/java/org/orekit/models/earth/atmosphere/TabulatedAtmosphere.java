@@ -0,0 +1,601 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.atmosphere;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.bodies.BodyShape;
+import org.orekit.bodies.FieldGeodeticPoint;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.utils.Constants;
+import org.orekit.utils.PVCoordinatesProvider;
+
+/** Atmosphere model interpolating densities from another model.
+ * <p>
+ * This class wraps a costly empirical model (typically {@link NRLMSISE00},
+ * {@link DTM2000} or {@link JB2008}) and replaces most calls to it by interpolation
+ * in a four-dimensional table built lazily from the wrapped model. The table
+ * dimensions are altitude, local solar time, latitude and time. The logarithm
+ * of density is interpolated linearly in all dimensions, which corresponds
+ * to an exponential profile in altitude.
+ * </p>
+ * <p>
+ * The table is split in time slabs, each slab covering all altitudes, local
+ * solar times and latitudes at one date. Slabs are created on demand and only
+ * a limited number of them is kept in memory, so a propagation only pays
+ * for the grid nodes it actually uses. Each grid cell is checked once, when
+ * it is used for the first time, by comparing the interpolated density at
+ * cell center with the wrapped model. Cells for which the relative error
+ * exceeds the tolerance are flagged and queries falling in them are delegated
+ * to the wrapped model. Queries outside of the tabulated altitude range are
+ * also delegated to the wrapped model.
+ * </p>
+ * <p>
+ * The time step should be small with respect to the variations of the
+ * wrapped model inputs (solar activity and geomagnetic indices) and it
+ * must be smaller than half a day as the Sun position between slabs is
+ * interpolated.
+ * </p>
+ * <p>
+ * This class is thread-safe if the wrapped model is thread-safe.
+ * </p>
+ * @author agent
+ * @since 11.0
+ */
+public class TabulatedAtmosphere implements Atmosphere {
+
+    /** Default maximum number of time slabs kept in memory. */
+    public static final int DEFAULT_MAX_SLABS = 8;
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20201019L;
+
+    /** Status for cells not checked yet. */
+    private static final byte UNKNOWN = 0;
+
+    /** Status for cells where interpolation is accurate enough. */
+    private static final byte VALID = 1;
+
+    /** Status for cells where the wrapped model must be used. */
+    private static final byte INVALID = 2;
+
+    /** Wrapped atmosphere model. */
+    private final Atmosphere atmosphere;
+
+    /** Body shape model. */
+    private final BodyShape shape;
+
+    /** Sun position provider. */
+    private final PVCoordinatesProvider sun;
+
+    /** Minimum tabulated altitude (m). */
+    private final double minAltitude;
+
+    /** Altitude step (m). */
+    private final double altitudeStep;
+
+    /** Number of altitude nodes. */
+    private final int altitudeNodes;
+
+    /** Local solar time step (rad). */
+    private final double localTimeStep;
+
+    /** Number of local solar time nodes. */
+    private final int localTimeNodes;
+
+    /** Latitude step (rad). */
+    private final double latitudeStep;
+
+    /** Number of latitude nodes. */
+    private final int latitudeNodes;
+
+    /** Time step between slabs (s). */
+    private final double timeStep;
+
+    /** Relative tolerance on density. */
+    private final double tolerance;
+
+    /** Cached time slabs, in least recently used order. */
+    private final Map<Long, Slab> slabs;
+
+    /** Simple constructor.
+     * <p>
+     * This constructor keeps at most {@link #DEFAULT_MAX_SLABS} time slabs in memory.
+     * </p>
+     * @param atmosphere wrapped atmosphere model
+     * @param shape body shape model
+     * @param sun Sun position provider
+     * @param minAltitude minimum tabulated altitude (m)
+     * @param maxAltitude maximum tabulated altitude (m)
+     * @param altitudeNodes number of altitude nodes (at least 2)
+     * @param localTimeNodes number of local solar time nodes over one day (at least 2)
+     * @param latitudeNodes number of latitude nodes from pole to pole (at least 2)
+     * @param timeStep time step between slabs (s)
+     * @param tolerance relative tolerance on density
+     */
+    public TabulatedAtmosphere(final Atmosphere atmosphere, final BodyShape shape,
+                               final PVCoordinatesProvider sun,
+                               final double minAltitude, final double maxAltitude, final int altitudeNodes,
+                               final int localTimeNodes, final int latitudeNodes,
+                               final double timeStep, final double tolerance) {
+        this(atmosphere, shape, sun, minAltitude, maxAltitude, altitudeNodes,
+             localTimeNodes, latitudeNodes, timeStep, tolerance, DEFAULT_MAX_SLABS);
+    }
+
+    /** Simple constructor.
+     * @param atmosphere wrapped atmosphere model
+     * @param shape body shape model
+     * @param sun Sun position provider
+     * @param minAltitude minimum tabulated altitude (m)
+     * @param maxAltitude maximum tabulated altitude (m, must be greater than minAltitude)
+     * @param altitudeNodes number of altitude nodes (at least 2)
+     * @param localTimeNodes number of local solar time nodes over one day (at least 2)
+     * @param latitudeNodes number of latitude nodes from pole to pole (at least 2)
+     * @param timeStep time step between slabs (s, strictly positive and smaller than half a day)
+     * @param tolerance relative tolerance on density (strictly positive)
+     * @param maxSlabs maximum number of time slabs kept in memory (at least 2)
+     */
+    public TabulatedAtmosphere(final Atmosphere atmosphere, final BodyShape shape,
+                               final PVCoordinatesProvider sun,
+                               final double minAltitude, final double maxAltitude, final int altitudeNodes,
+                               final int localTimeNodes, final int latitudeNodes,
+                               final double timeStep, final double tolerance, final int maxSlabs) {
+
+        checkNumber(altitudeNodes);
+        checkNumber(localTimeNodes);
+        checkNumber(latitudeNodes);
+        checkNumber(maxSlabs);
+        if (!(maxAltitude > minAltitude)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     maxAltitude, minAltitude);
+        }
+        if (!(timeStep > 0)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     timeStep, 0);
+        }
+        if (timeStep >= 0.5 * Constants.JULIAN_DAY) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_LARGE_BOUND_EXCLUDED,
+                                                     timeStep, 0.5 * Constants.JULIAN_DAY);
+        }
+        if (!(tolerance > 0)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     tolerance, 0);
+        }
+
+        this.atmosphere     = atmosphere;
+        this.shape          = shape;
+        this.sun            = sun;
+        this.minAltitude    = minAltitude;
+        this.altitudeStep   = (maxAltitude - minAltitude) / (altitudeNodes - 1);
+        this.altitudeNodes  = altitudeNodes;
+        this.localTimeStep  = MathUtils.TWO_PI / localTimeNodes;
+        this.localTimeNodes = localTimeNodes;
+        this.latitudeStep   = FastMath.PI / (latitudeNodes - 1);
+        this.latitudeNodes  = latitudeNodes;
+        this.timeStep       = timeStep;
+        this.tolerance      = tolerance;
+        this.slabs          = new SlabsMap(maxSlabs);
+
+    }
+
+    /** Check a number of nodes.
+     * @param n number to check
+     */
+    private static void checkNumber(final int n) {
+        if (n < 2) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL, n, 2);
+        }
+    }
+
+    /** Get the wrapped atmosphere model.
+     * @return wrapped atmosphere model
+     */
+    public Atmosphere getAtmosphere() {
+        return atmosphere;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Frame getFrame() {
+        return atmosphere.getFrame();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getDensity(final AbsoluteDate date, final Vector3D position, final Frame frame) {
+
+        final GeodeticPoint gp = shape.transform(position, frame, date);
+
+        // altitude
+        final double xa = (gp.getAltitude() - minAltitude) / altitudeStep;
+        if (xa < 0 || xa > altitudeNodes - 1) {
+            // outside of tabulated range
+            return atmosphere.getDensity(date, position, frame);
+        }
+        final int ia = cellIndex(xa, altitudeNodes);
+
+        // time
+        final double xt = date.durationFrom(AbsoluteDate.J2000_EPOCH) / timeStep;
+        final long   kt = (long) FastMath.floor(xt);
+        final double wt = xt - kt;
+        final Slab   s0 = getSlab(kt);
+        final Slab   s1 = getSlab(kt + 1);
+
+        // local solar time
+        final double xl = MathUtils.normalizeAngle(gp.getLongitude() - sunLongitude(s0, s1, wt), FastMath.PI) /
+                          localTimeStep;
+        final int    il = FastMath.min((int) FastMath.floor(xl), localTimeNodes - 1);
+
+        // latitude
+        final double xp = (gp.getLatitude() + 0.5 * FastMath.PI) / latitudeStep;
+        final int    ip = cellIndex(xp, latitudeNodes);
+
+        if (!isValid(s0, s1, ia, il, ip)) {
+            // interpolation is not accurate enough in this cell
+            return atmosphere.getDensity(date, position, frame);
+        }
+
+        return FastMath.exp(interpolate(s0, s1, ia, il, ip, xa - ia, xl - il, xp - ip, wt));
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends RealFieldElement<T>> T getDensity(final FieldAbsoluteDate<T> date,
+                                                       final FieldVector3D<T> position,
+                                                       final Frame frame) {
+
+        final FieldGeodeticPoint<T> gp = shape.transform(position, frame, date);
+
+        // altitude
+        final T xa = gp.getAltitude().subtract(minAltitude).divide(altitudeStep);
+        if (xa.getReal() < 0 || xa.getReal() > altitudeNodes - 1) {
+            // outside of tabulated range
+            return atmosphere.getDensity(date, position, frame);
+        }
+        final int ia = cellIndex(xa.getReal(), altitudeNodes);
+
+        // time
+        final T    xt = date.durationFrom(AbsoluteDate.J2000_EPOCH).divide(timeStep);
+        final long kt = (long) FastMath.floor(xt.getReal());
+        final T    wt = xt.subtract(kt);
+        final Slab s0 = getSlab(kt);
+        final Slab s1 = getSlab(kt + 1);
+
+        // local solar time
+        final T      angle = gp.getLongitude().
+                             subtract(wt.multiply(MathUtils.normalizeAngle(s1.sunLongitude - s0.sunLongitude, 0.0))).
+                             subtract(s0.sunLongitude);
+        final T      xl    = angle.add(MathUtils.normalizeAngle(angle.getReal(), FastMath.PI) - angle.getReal()).
+                             divide(localTimeStep);
+        final int    il    = FastMath.min((int) FastMath.floor(xl.getReal()), localTimeNodes - 1);
+
+        // latitude
+        final T   xp = gp.getLatitude().add(0.5 * FastMath.PI).divide(latitudeStep);
+        final int ip = cellIndex(xp.getReal(), latitudeNodes);
+
+        if (!isValid(s0, s1, ia, il, ip)) {
+            // interpolation is not accurate enough in this cell
+            return atmosphere.getDensity(date, position, frame);
+        }
+
+        // interpolate logarithm of density
+        final int il1 = (il + 1) % localTimeNodes;
+        final T   wa  = xa.subtract(ia);
+        final T   wl  = xl.subtract(il);
+        final T   wp  = xp.subtract(ip);
+        final T   v0  = interpolate(s0, ia, il, il1, ip, wa, wl, wp);
+        final T   v1  = interpolate(s1, ia, il, il1, ip, wa, wl, wp);
+        return FastMath.exp(lerp(v0, v1, wt));
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Vector3D getVelocity(final AbsoluteDate date, final Vector3D position, final Frame frame) {
+        return atmosphere.getVelocity(date, position, frame);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends RealFieldElement<T>> FieldVector3D<T> getVelocity(final FieldAbsoluteDate<T> date,
+                                                                        final FieldVector3D<T> position,
+                                                                        final Frame frame) {
+        return atmosphere.getVelocity(date, position, frame);
+    }
+
+    /** Get the index of the cell containing a normalized coordinate.
+     * @param x normalized coordinate (between 0 and n - 1)
+     * @param n number of nodes
+     * @return index of the cell lower node
+     */
+    private static int cellIndex(final double x, final int n) {
+        return FastMath.max(0, FastMath.min((int) FastMath.floor(x), n - 2));
+    }
+
+    /** Get the altitude of a node.
+     * @param x normalized altitude coordinate
+     * @return altitude (m)
+     */
+    private double altitude(final double x) {
+        return minAltitude + x * altitudeStep;
+    }
+
+    /** Get the latitude of a node.
+     * @param x normalized latitude coordinate
+     * @return latitude (rad)
+     */
+    private double latitude(final double x) {
+        return x * latitudeStep - 0.5 * FastMath.PI;
+    }
+
+    /** Interpolate Sun longitude between two slabs.
+     * @param s0 slab at start of time interval
+     * @param s1 slab at end of time interval
+     * @param wt weight of the slab at end of time interval
+     * @return Sun longitude in body frame (rad)
+     */
+    private static double sunLongitude(final Slab s0, final Slab s1, final double wt) {
+        return s0.sunLongitude + wt * MathUtils.normalizeAngle(s1.sunLongitude - s0.sunLongitude, 0.0);
+    }
+
+    /** Get a time slab, creating it if needed.
+     * @param index index of the slab
+     * @return time slab
+     */
+    private Slab getSlab(final long index) {
+        synchronized (slabs) {
+            Slab slab = slabs.get(index);
+            if (slab == null) {
+                slab = new Slab(AbsoluteDate.J2000_EPOCH.shiftedBy(index * timeStep));
+                slabs.put(index, slab);
+            }
+            return slab;
+        }
+    }
+
+    /** Check if interpolation is accurate enough in a cell.
+     * <p>
+     * The check is performed only the first time the cell is used.
+     * </p>
+     * @param s0 slab at start of time interval
+     * @param s1 slab at end of time interval
+     * @param ia index of the cell lower altitude node
+     * @param il index of the cell lower local solar time node
+     * @param ip index of the cell lower latitude node
+     * @return true if interpolation is accurate enough in the cell
+     */
+    private boolean isValid(final Slab s0, final Slab s1, final int ia, final int il, final int ip) {
+        final int cell   = (ia * localTimeNodes + il) * (latitudeNodes - 1) + ip;
+        byte      status = s0.getStatus(cell);
+        if (status == UNKNOWN) {
+
+            // compare interpolated and reference densities at cell center
+            final double interpolated = FastMath.exp(interpolate(s0, s1, ia, il, ip, 0.5, 0.5, 0.5, 0.5));
+            final GeodeticPoint center = new GeodeticPoint(latitude(ip + 0.5),
+                                                           sunLongitude(s0, s1, 0.5) + (il + 0.5) * localTimeStep,
+                                                           altitude(ia + 0.5));
+            final double reference = atmosphere.getDensity(s0.date.shiftedBy(0.5 * timeStep),
+                                                           shape.transform(center), shape.getBodyFrame());
+
+            status = FastMath.abs(interpolated - reference) <= tolerance * reference ? VALID : INVALID;
+            s0.setStatus(cell, status);
+
+        }
+        return status == VALID;
+    }
+
+    /** Interpolate logarithm of density in a four-dimensional cell.
+     * @param s0 slab at start of time interval
+     * @param s1 slab at end of time interval
+     * @param ia index of the cell lower altitude node
+     * @param il index of the cell lower local solar time node
+     * @param ip index of the cell lower latitude node
+     * @param wa altitude weight
+     * @param wl local solar time weight
+     * @param wp latitude weight
+     * @param wt time weight
+     * @return interpolated logarithm of density
+     */
+    private double interpolate(final Slab s0, final Slab s1, final int ia, final int il, final int ip,
+                               final double wa, final double wl, final double wp, final double wt) {
+        final int il1 = (il + 1) % localTimeNodes;
+        return lerp(interpolate(s0, ia, il, il1, ip, wa, wl, wp),
+                    interpolate(s1, ia, il, il1, ip, wa, wl, wp),
+                    wt);
+    }
+
+    /** Interpolate logarithm of density in a three-dimensional cell of one slab.
+     * @param slab time slab
+     * @param ia index of the cell lower altitude node
+     * @param il index of the cell lower local solar time node
+     * @param il1 index of the cell upper local solar time node
+     * @param ip index of the cell lower latitude node
+     * @param wa altitude weight
+     * @param wl local solar time weight
+     * @param wp latitude weight
+     * @return interpolated logarithm of density
+     */
+    private double interpolate(final Slab slab, final int ia, final int il, final int il1, final int ip,
+                               final double wa, final double wl, final double wp) {
+        final double v00 = lerp(slab.getLogDensity(ia,     il,  ip), slab.getLogDensity(ia,     il,  ip + 1), wp);
+        final double v01 = lerp(slab.getLogDensity(ia,     il1, ip), slab.getLogDensity(ia,     il1, ip + 1), wp);
+        final double v10 = lerp(slab.getLogDensity(ia + 1, il,  ip), slab.getLogDensity(ia + 1, il,  ip + 1), wp);
+        final double v11 = lerp(slab.getLogDensity(ia + 1, il1, ip), slab.getLogDensity(ia + 1, il1, ip + 1), wp);
+        return lerp(lerp(v00, v01, wl), lerp(v10, v11, wl), wa);
+    }
+
+    /** Interpolate logarithm of density in a three-dimensional cell of one slab.
+     * @param <T> type of the field elements
+     * @param slab time slab
+     * @param ia index of the cell lower altitude node
+     * @param il index of the cell lower local solar time node
+     * @param il1 index of the cell upper local solar time node
+     * @param ip index of the cell lower latitude node
+     * @param wa altitude weight
+     * @param wl local solar time weight
+     * @param wp latitude weight
+     * @return interpolated logarithm of density
+     */
+    private <T extends RealFieldElement<T>> T interpolate(final Slab slab,
+                                                          final int ia, final int il, final int il1, final int ip,
+                                                          final T wa, final T wl, final T wp) {
+        final T v00 = lerp(slab.getLogDensity(ia,     il,  ip), slab.getLogDensity(ia,     il,  ip + 1), wp);
+        final T v01 = lerp(slab.getLogDensity(ia,     il1, ip), slab.getLogDensity(ia,     il1, ip + 1), wp);
+        final T v10 = lerp(slab.getLogDensity(ia + 1, il,  ip), slab.getLogDensity(ia + 1, il,  ip + 1), wp);
+        final T v11 = lerp(slab.getLogDensity(ia + 1, il1, ip), slab.getLogDensity(ia + 1, il1, ip + 1), wp);
+        return lerp(lerp(v00, v01, wl), lerp(v10, v11, wl), wa);
+    }
+
+    /** Linear interpolation.
+     * @param a value for weight 0
+     * @param b value for weight 1
+     * @param w weight
+     * @return interpolated value
+     */
+    private static double lerp(final double a, final double b, final double w) {
+        return a + w * (b - a);
+    }
+
+    /** Linear interpolation.
+     * @param <T> type of the field elements
+     * @param a value for weight 0
+     * @param b value for weight 1
+     * @param w weight
+     * @return interpolated value
+     */
+    private static <T extends RealFieldElement<T>> T lerp(final double a, final double b, final T w) {
+        return w.multiply(b - a).add(a);
+    }
+
+    /** Linear interpolation.
+     * @param <T> type of the field elements
+     * @param a value for weight 0
+     * @param b value for weight 1
+     * @param w weight
+     * @return interpolated value
+     */
+    private static <T extends RealFieldElement<T>> T lerp(final T a, final T b, final T w) {
+        return w.multiply(b.subtract(a)).add(a);
+    }
+
+    /** Map for time slabs, evicting least recently used entries. */
+    private static class SlabsMap extends LinkedHashMap<Long, Slab> {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20201019L;
+
+        /** Maximum number of slabs. */
+        private final int maxSlabs;
+
+        /** Simple constructor.
+         * @param maxSlabs maximum number of slabs
+         */
+        SlabsMap(final int maxSlabs) {
+            super(maxSlabs + 1, 1.0f, true);
+            this.maxSlabs = maxSlabs;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Long, Slab> eldest) {
+            return size() > maxSlabs;
+        }
+
+    }
+
+    /** Densities at all altitudes, local solar times and latitudes for one date. */
+    private class Slab implements Serializable {
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20201019L;
+
+        /** Date of the slab. */
+        private final AbsoluteDate date;
+
+        /** Sun longitude in body frame at slab date (rad). */
+        private final double sunLongitude;
+
+        /** Logarithm of densities at grid nodes (NaN for nodes not computed yet). */
+        private final double[] logDensities;
+
+        /** Status of cells between this slab and the next one. */
+        private final byte[] status;
+
+        /** Simple constructor.
+         * @param date date of the slab
+         */
+        Slab(final AbsoluteDate date) {
+            final Vector3D sunPosition = sun.getPVCoordinates(date, shape.getBodyFrame()).getPosition();
+            this.date         = date;
+            this.sunLongitude = FastMath.atan2(sunPosition.getY(), sunPosition.getX());
+            this.logDensities = new double[altitudeNodes * localTimeNodes * latitudeNodes];
+            this.status       = new byte[(altitudeNodes - 1) * localTimeNodes * (latitudeNodes - 1)];
+            Arrays.fill(logDensities, Double.NaN);
+        }
+
+        /** Get the logarithm of density at one node, computing it if needed.
+         * @param ia index of the altitude node
+         * @param il index of the local solar time node
+         * @param ip index of the latitude node
+         * @return logarithm of density at node
+         */
+        synchronized double getLogDensity(final int ia, final int il, final int ip) {
+            final int index = (ia * localTimeNodes + il) * latitudeNodes + ip;
+            double logDensity = logDensities[index];
+            if (Double.isNaN(logDensity)) {
+                final GeodeticPoint node = new GeodeticPoint(latitude(ip),
+                                                             sunLongitude + il * localTimeStep,
+                                                             altitude(ia));
+                logDensity = FastMath.log(atmosphere.getDensity(date, shape.transform(node), shape.getBodyFrame()));
+                logDensities[index] = logDensity;
+            }
+            return logDensity;
+        }
+
+        /** Get the status of a cell.
+         * @param cell index of the cell
+         * @return status of the cell
+         */
+        synchronized byte getStatus(final int cell) {
+            return status[cell];
+        }
+
+        /** Set the status of a cell.
+         * @param cell index of the cell
+         * @param cellStatus status of the cell
+         */
+        synchronized void setStatus(final int cell, final byte cellStatus) {
+            status[cell] = cellStatus;
+        }
+
+    }
+
+}
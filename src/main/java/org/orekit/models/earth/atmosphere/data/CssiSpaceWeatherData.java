@@ -17,8 +17,8 @@
 
 package org.orekit.models.earth.atmosphere.data;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.orekit.annotation.DefaultDataContext;
 import org.orekit.data.AbstractSelfFeedingLoader;
@@ -33,7 +33,6 @@ import org.orekit.time.AbsoluteDate;
 import org.orekit.time.TimeScale;
 import org.orekit.time.TimeStamped;
 import org.orekit.utils.Constants;
-import org.orekit.utils.ImmutableTimeStampedCache;
 
 /**
  * This class provides three-hourly and daily solar activity data needed by atmospheric
@@ -47,6 +46,12 @@ import org.orekit.utils.ImmutableTimeStampedCache;
  * mentioned in the <a href="http://celestrak.com/SpaceData/SpaceWx-format.php">
  * Celestrak space weather data documentation</a>.
  * </p>
+ * <p>
+ * Entries are bracketed in constant time thanks to a day-indexed table,
+ * and the last assembled Ap array is memorized, as atmosphere models
+ * often request it several times for the same date. Instances of this
+ * class can therefore be shared between threads.
+ * </p>
  *
  * @author Clément Jonglez
  * @since 10.2
@@ -57,11 +62,11 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
     /** Serializable UID. */
     private static final long serialVersionUID = 4249411710645968978L;
 
-    /** Size of the list. */
-    private static final int N_NEIGHBORS = 2;
-
     /** Data set. */
-    private final transient ImmutableTimeStampedCache<TimeStamped> data;
+    private final LineParameters[] data;
+
+    /** Day-indexed table for bracketing dates. */
+    private final DailyDateIndex index;
 
     /** UTC time scale. */
     private final TimeScale utc;
@@ -78,11 +83,8 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
     /** Last available date. */
     private final AbsoluteDate lastDate;
 
-    /** Previous set of solar activity parameters. */
-    private LineParameters previousParam;
-
-    /** Current set of solar activity parameters. */
-    private LineParameters nextParam;
+    /** Last assembled Ap array. */
+    private transient volatile ApMemo apMemo;
 
     /**
      * Simple constructor. This constructor uses the default data context.
@@ -109,7 +111,9 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
         this.utc = utc;
         final CssiSpaceWeatherDataLoader loader = new CssiSpaceWeatherDataLoader(utc);
         this.feed(loader);
-        data = new ImmutableTimeStampedCache<>(N_NEIGHBORS, loader.getDataSet());
+        final List<TimeStamped> sorted = new ArrayList<>(loader.getDataSet());
+        data  = sorted.toArray(new LineParameters[sorted.size()]);
+        index = new DailyDateIndex(sorted);
         firstDate = loader.getMinDate();
         lastDate = loader.getMaxDate();
         lastObservedDate = loader.getLastObservedDate();
@@ -130,28 +134,11 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
      * Find the data bracketing a specified date.
      *
      * @param date date to bracket
+     * @return index of the previous set of solar activity parameters
+     * (the next set is at the following index)
      */
-    private void bracketDate(final AbsoluteDate date) {
-        if ((date.durationFrom(firstDate) < 0) || (date.durationFrom(lastDate) > 0)) {
-            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, date, firstDate, lastDate);
-        }
-
-        // don't search if the cached selection is fine
-        if ((previousParam != null) && (date.durationFrom(previousParam.getDate()) > 0) &&
-                        (date.durationFrom(nextParam.getDate()) <= 0)) {
-            return;
-        }
-
-        final List<TimeStamped> neigbors = data.getNeighbors(date).collect(Collectors.toList());
-        previousParam = (LineParameters) neigbors.get(0);
-        nextParam = (LineParameters) neigbors.get(1);
-        if (previousParam.getDate().compareTo(date) > 0) {
-            /**
-             * Throwing exception if neighbors are unbalanced because we are at the
-             * beginning of the data set
-             */
-            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE, date, firstDate, lastDate);
-        }
+    private int bracketDate(final AbsoluteDate date) {
+        return index.bracket(date);
     }
 
     /**
@@ -159,14 +146,16 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
      * from the time delta between previous date, current date, next date.
      *
      * @param date          the current date
+     * @param i             index of the previous set of solar activity parameters
      * @param previousValue the value at previous date
      * @param nextValue     the value at next date
      * @return the value interpolated for the current date
      */
-    private double getLinearInterpolation(final AbsoluteDate date, final double previousValue, final double nextValue) {
+    private double getLinearInterpolation(final AbsoluteDate date, final int i,
+                                          final double previousValue, final double nextValue) {
         // perform a linear interpolation
-        final AbsoluteDate previousDate = previousParam.getDate();
-        final AbsoluteDate currentDate = nextParam.getDate();
+        final AbsoluteDate previousDate = data[i].getDate();
+        final AbsoluteDate currentDate = data[i + 1].getDate();
         final double dt = currentDate.durationFrom(previousDate);
         final double previousWeight = currentDate.durationFrom(date) / dt;
         final double nextWeight = date.durationFrom(previousDate) / dt;
@@ -179,8 +168,8 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
     public double getInstantFlux(final AbsoluteDate date) {
         // Interpolating two neighboring daily fluxes
         // get the neighboring dates
-        bracketDate(date);
-        return getLinearInterpolation(date, previousParam.getF107Adj(), nextParam.getF107Adj());
+        final int i = bracketDate(date);
+        return getLinearInterpolation(date, i, data[i].getF107Adj(), data[i + 1].getF107Adj());
     }
 
     /** {@inheritDoc}
@@ -197,8 +186,8 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
             /**
              * If observation data is available, it contains three-hourly data
              */
-            bracketDate(date);
-            final double hourOfDay = date.offsetFrom(previousParam.getDate(), utc) / 3600;
+            final int i = bracketDate(date);
+            final double hourOfDay = date.offsetFrom(data[i].getDate(), utc) / 3600;
             int i_kp = (int) (hourOfDay / 3);
             if (i_kp >= 8) {
                 /**
@@ -208,7 +197,7 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
                  */
                 i_kp = 7;
             }
-            return previousParam.getThreeHourlyKp(i_kp);
+            return data[i].getThreeHourlyKp(i_kp);
         } else {
             /**
              * Only predictions are available, there are no three-hourly data
@@ -221,13 +210,13 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
     public double get24HoursKp(final AbsoluteDate date) {
         if (date.compareTo(lastDailyPredictedDate) <= 0) {
             // Daily data is available, just taking the daily average
-            bracketDate(date);
-            return previousParam.getKpSum() / 8;
+            final int i = bracketDate(date);
+            return data[i].getKpSum() / 8;
         } else {
             // Only monthly data is available, better interpolate between two months
             // get the neighboring dates
-            bracketDate(date);
-            return getLinearInterpolation(date, previousParam.getKpSum() / 8, nextParam.getKpSum() / 8);
+            final int i = bracketDate(date);
+            return getLinearInterpolation(date, i, data[i].getKpSum() / 8, data[i + 1].getKpSum() / 8);
         }
     }
 
@@ -246,31 +235,38 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
     private double getDailyFluxOnDay(final AbsoluteDate date) {
         if (date.compareTo(lastDailyPredictedDate) <= 0) {
             // Getting the value for the previous day
-            bracketDate(date);
-            return previousParam.getF107Adj();
+            final int i = bracketDate(date);
+            return data[i].getF107Adj();
         } else {
             // Only monthly data is available, better interpolate between two months
             // get the neighboring dates
-            bracketDate(date);
-            return getLinearInterpolation(date, previousParam.getF107Adj(), nextParam.getF107Adj());
+            final int i = bracketDate(date);
+            return getLinearInterpolation(date, i, data[i].getF107Adj(), data[i + 1].getF107Adj());
         }
     }
 
     /** {@inheritDoc} */
     public double getAverageFlux(final AbsoluteDate date) {
         if (date.compareTo(lastDailyPredictedDate) <= 0) {
-            bracketDate(date);
-            return previousParam.getCtr81Adj();
+            final int i = bracketDate(date);
+            return data[i].getCtr81Adj();
         } else {
             // Only monthly data is available, better interpolate between two months
             // get the neighboring dates
-            bracketDate(date);
-            return getLinearInterpolation(date, previousParam.getCtr81Adj(), nextParam.getCtr81Adj());
+            final int i = bracketDate(date);
+            return getLinearInterpolation(date, i, data[i].getCtr81Adj(), data[i + 1].getCtr81Adj());
         }
     }
 
     /** {@inheritDoc} */
     public double[] getAp(final AbsoluteDate date) {
+
+        // check if the array has already been assembled for this date
+        final ApMemo memo = apMemo;
+        if (memo != null && memo.date.equals(date)) {
+            return memo.ap.clone();
+        }
+
         final double[] apArray = new double[7];
         apArray[0] = getDailyAp(date);
         apArray[1] = getThreeHourlyAp(date);
@@ -279,7 +275,10 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
         apArray[4] = getThreeHourlyAp(date.shiftedBy(-9.0 * 3600.0));
         apArray[5] = get24HoursAverageAp(date.shiftedBy(-12.0 * 3600.0));
         apArray[6] = get24HoursAverageAp(date.shiftedBy(-36.0 * 3600.0));
+
+        apMemo = new ApMemo(date, apArray.clone());
         return apArray;
+
     }
 
     /**
@@ -293,8 +292,8 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
             /**
              * If observation data is available, it contains three-hourly data.
              */
-            bracketDate(date);
-            final double hourOfDay = date.offsetFrom(previousParam.getDate(), utc) / 3600;
+            final int i = bracketDate(date);
+            final double hourOfDay = date.offsetFrom(data[i].getDate(), utc) / 3600;
             int i_ap = (int) (hourOfDay / 3);
             if (i_ap >= 8) {
                 /**
@@ -304,7 +303,7 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
                  */
                 i_ap = 7;
             }
-            return previousParam.getThreeHourlyAp(i_ap);
+            return data[i].getThreeHourlyAp(i_ap);
         } else {
             /**
              * Only predictions are available, there are no three-hourly data
@@ -347,17 +346,38 @@ public class CssiSpaceWeatherData extends AbstractSelfFeedingLoader
     private double getDailyAp(final AbsoluteDate date) {
         if (date.compareTo(lastDailyPredictedDate) <= 0) {
             // Daily data is available, just taking the daily average
-            bracketDate(date);
-            return previousParam.getApAvg();
+            final int i = bracketDate(date);
+            return data[i].getApAvg();
         } else {
             // Only monthly data is available, better interpolate between two months
             // get the neighboring dates
-            bracketDate(date);
-            return getLinearInterpolation(date, previousParam.getApAvg(), nextParam.getApAvg());
+            final int i = bracketDate(date);
+            return getLinearInterpolation(date, i, data[i].getApAvg(), data[i + 1].getApAvg());
         }
     }
 
     public String getSupportedNames() {
         return super.getSupportedNames();
     }
+
+    /** Memorized Ap array. */
+    private static class ApMemo {
+
+        /** Date of the Ap array. */
+        private final AbsoluteDate date;
+
+        /** Ap array. */
+        private final double[] ap;
+
+        /** Simple constructor.
+         * @param date date of the Ap array
+         * @param ap Ap array
+         */
+        ApMemo(final AbsoluteDate date, final double[] ap) {
+            this.date = date;
+            this.ap   = ap;
+        }
+
+    }
+
 }
@@ -0,0 +1,143 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.atmosphere.data;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeStamped;
+import org.orekit.utils.Constants;
+
+/** Constant time index of chronologically sorted solar activity entries.
+ * <p>
+ * Solar activity files provide entries at 00:00 UTC, either daily or monthly.
+ * This index maps each day of the covered time span to the last entry at or
+ * before the beginning of that day, so bracketing a date requires only one
+ * array access and at most a couple of date comparisons (to cope with leap
+ * seconds), instead of a binary search or a sorted set traversal.
+ * </p>
+ * <p>
+ * Instances of this class are immutable and can be shared between threads.
+ * </p>
+ * @author agent
+ * @since 11.0
+ */
+class DailyDateIndex implements Serializable {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20201019L;
+
+    /** Entries dates. */
+    private final AbsoluteDate[] dates;
+
+    /** Index of the last entry at or before the start of each day. */
+    private final int[] dayToEntry;
+
+    /** Simple constructor.
+     * @param entries chronologically sorted entries (at least 2 entries are needed)
+     */
+    DailyDateIndex(final List<? extends TimeStamped> entries) {
+
+        dates = new AbsoluteDate[entries.size()];
+        for (int i = 0; i < dates.length; ++i) {
+            dates[i] = entries.get(i).getDate();
+        }
+
+        final int nbDays = dayNumber(dates[dates.length - 1]) + 1;
+        dayToEntry = new int[nbDays];
+        int entry = 0;
+        for (int day = 0; day < nbDays; ++day) {
+            while (entry + 1 < dates.length && dayNumber(dates[entry + 1]) <= day) {
+                ++entry;
+            }
+            dayToEntry[day] = entry;
+        }
+
+    }
+
+    /** Get the day number of a date with respect to first entry.
+     * @param date date to check
+     * @return day number (rounded to nearest integer, as entries are at 00:00)
+     */
+    private int dayNumber(final AbsoluteDate date) {
+        return (int) FastMath.rint(date.durationFrom(dates[0]) / Constants.JULIAN_DAY);
+    }
+
+    /** Get the number of entries.
+     * @return number of entries
+     */
+    int size() {
+        return dates.length;
+    }
+
+    /** Get the date of an entry.
+     * @param index index of the entry
+     * @return date of the entry
+     */
+    AbsoluteDate getDate(final int index) {
+        return dates[index];
+    }
+
+    /** Get the first date.
+     * @return first date
+     */
+    AbsoluteDate getFirstDate() {
+        return dates[0];
+    }
+
+    /** Get the last date.
+     * @return last date
+     */
+    AbsoluteDate getLastDate() {
+        return dates[dates.length - 1];
+    }
+
+    /** Find the entries bracketing a date.
+     * <p>
+     * The returned index i is such that {@code date(i) <= date}, and either
+     * {@code date < date(i + 1)} or i is the index of the last but one entry.
+     * </p>
+     * @param date date to bracket
+     * @return index i of the first bracketing entry (the second one is i + 1)
+     */
+    int bracket(final AbsoluteDate date) {
+
+        final double dt = date.durationFrom(dates[0]);
+        if (dt < 0 || date.durationFrom(dates[dates.length - 1]) > 0) {
+            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE,
+                                      date, dates[0], dates[dates.length - 1]);
+        }
+
+        // direct guess, leap seconds may shift it by one entry
+        final int day = FastMath.min((int) FastMath.floor(dt / Constants.JULIAN_DAY), dayToEntry.length - 1);
+        int i = dayToEntry[day];
+        while (i > 0 && date.compareTo(dates[i]) < 0) {
+            --i;
+        }
+        while (i + 1 < dates.length && date.compareTo(dates[i + 1]) >= 0) {
+            ++i;
+        }
+
+        return FastMath.min(i, dates.length - 2);
+
+    }
+
+}
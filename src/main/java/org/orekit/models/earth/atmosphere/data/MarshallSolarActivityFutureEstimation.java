@@ -23,7 +23,9 @@ import java.io.InputStreamReader;
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.regex.Matcher;
@@ -143,11 +145,8 @@ public class MarshallSolarActivityFutureEstimation extends AbstractSelfFeedingLo
     /** Last available date. */
     private AbsoluteDate lastDate;
 
-    /** Previous set of solar activity parameters. */
-    private LineParameters previousParam;
-
-    /** Current set of solar activity parameters. */
-    private LineParameters currentParam;
+    /** Day-indexed table for bracketing dates (built lazily after data loading). */
+    private transient volatile Index index;
 
     /** Simple constructor. This constructor uses the {@link DataContext#getDefault()
      * default data context}.
@@ -233,34 +232,25 @@ public class MarshallSolarActivityFutureEstimation extends AbstractSelfFeedingLo
         return strengthLevel;
     }
 
-    /** Find the data bracketing a specified date.
-     * @param date date to bracket
+    /** Get the day-indexed table for bracketing dates.
+     * @return day-indexed table
      */
-    private void bracketDate(final AbsoluteDate date) {
-
-        if ((date.durationFrom(firstDate) < 0) || (date.durationFrom(lastDate) > 0)) {
-            throw new OrekitException(OrekitMessages.OUT_OF_RANGE_EPHEMERIDES_DATE,
-                                      date, firstDate, lastDate);
-        }
-
-        // don't search if the cached selection is fine
-        if ((previousParam != null) &&
-            (date.durationFrom(previousParam.getDate()) > 0) &&
-            (date.durationFrom(currentParam.getDate()) <= 0 )) {
-            return;
-        }
-
-        if (date.equals(firstDate)) {
-            currentParam  = (LineParameters) data.tailSet(date.shiftedBy(1)).first();
-            previousParam = (LineParameters) data.first();
-        } else if (date.equals(lastDate)) {
-            currentParam  = (LineParameters) data.last();
-            previousParam = (LineParameters) data.headSet(date.shiftedBy(-1)).last();
-        } else {
-            currentParam  = (LineParameters) data.tailSet(date).first();
-            previousParam = (LineParameters) data.headSet(date).last();
+    private Index getIndex() {
+        Index current = index;
+        if (current == null) {
+            synchronized (this) {
+                // check again, another thread may have built the table while we were waiting
+                current = index;
+                if (current == null) {
+                    if (firstDate == null) {
+                        feed(this);
+                    }
+                    current = new Index(new ArrayList<>(data));
+                    index   = current;
+                }
+            }
         }
-
+        return current;
     }
 
     @Override
@@ -270,17 +260,15 @@ public class MarshallSolarActivityFutureEstimation extends AbstractSelfFeedingLo
 
     /** {@inheritDoc} */
     public AbsoluteDate getMinDate() {
-        if (firstDate == null) {
-            feed(this);
-        }
+        // make sure data has been loaded
+        getIndex();
         return firstDate;
     }
 
     /** {@inheritDoc} */
     public AbsoluteDate getMaxDate() {
-        if (lastDate == null) {
-            feed(this);
-        }
+        // make sure data has been loaded
+        getIndex();
         return lastDate;
     }
 
@@ -293,7 +281,10 @@ public class MarshallSolarActivityFutureEstimation extends AbstractSelfFeedingLo
     public double getMeanFlux(final AbsoluteDate date) {
 
         // get the neighboring dates
-        bracketDate(date);
+        final Index          current       = getIndex();
+        final int            i             = current.dates.bracket(date);
+        final LineParameters previousParam = current.entries[i];
+        final LineParameters currentParam  = current.entries[i + 1];
 
         // perform a linear interpolation
         final AbsoluteDate previousDate = previousParam.getDate();
@@ -329,7 +320,10 @@ public class MarshallSolarActivityFutureEstimation extends AbstractSelfFeedingLo
      * @return date of the file
      */
     public DateComponents getFileDate(final AbsoluteDate date) {
-        bracketDate(date);
+        final Index          current       = getIndex();
+        final int            i             = current.dates.bracket(date);
+        final LineParameters previousParam = current.entries[i];
+        final LineParameters currentParam  = current.entries[i + 1];
         final double dtP = date.durationFrom(previousParam.getDate());
         final double dtC = currentParam.getDate().durationFrom(date);
         return (dtP < dtC) ? previousParam.getFileDate() : currentParam.getFileDate();
@@ -410,7 +404,10 @@ public class MarshallSolarActivityFutureEstimation extends AbstractSelfFeedingLo
     private double getDailyAp(final AbsoluteDate date) {
 
         // get the neighboring dates
-        bracketDate(date);
+        final Index          current       = getIndex();
+        final int            i             = current.dates.bracket(date);
+        final LineParameters previousParam = current.entries[i];
+        final LineParameters currentParam  = current.entries[i + 1];
 
         // perform a linear interpolation
         final AbsoluteDate previousDate = previousParam.getDate();
@@ -425,6 +422,25 @@ public class MarshallSolarActivityFutureEstimation extends AbstractSelfFeedingLo
         return previousAp * previousWeight + currentAp * currentWeight;
     }
 
+    /** Day-indexed table of solar activity entries. */
+    private static class Index {
+
+        /** Entries. */
+        private final LineParameters[] entries;
+
+        /** Dates bracketing table. */
+        private final DailyDateIndex dates;
+
+        /** Simple constructor.
+         * @param sorted chronologically sorted entries
+         */
+        Index(final List<TimeStamped> sorted) {
+            this.entries = sorted.toArray(new LineParameters[sorted.size()]);
+            this.dates   = new DailyDateIndex(sorted);
+        }
+
+    }
+
     /** Container class for Solar activity indexes.  */
     private static class LineParameters implements TimeStamped, Serializable {
 
@@ -487,7 +503,7 @@ public class MarshallSolarActivityFutureEstimation extends AbstractSelfFeedingLo
     }
 
     /** {@inheritDoc} */
-    public void loadData(final InputStream input, final String name)
+    public synchronized void loadData(final InputStream input, final String name)
         throws IOException, ParseException, OrekitException {
 
         // select the groups we want to store
@@ -585,6 +601,9 @@ public class MarshallSolarActivityFutureEstimation extends AbstractSelfFeedingLo
         firstDate = data.first().getDate();
         lastDate  = data.last().getDate();
 
+        // the bracketing table will be rebuilt on next use
+        index = null;
+
     }
 
     /** {@inheritDoc} */
@@ -21,7 +21,6 @@ import org.hipparchus.RealFieldElement;
 import org.hipparchus.util.FastMath;
 import org.hipparchus.util.FieldSinCos;
 import org.hipparchus.util.MathArrays;
-import org.hipparchus.util.SinCos;
 import org.orekit.time.DateComponents;
 import org.orekit.time.DateTimeComponents;
 import org.orekit.time.TimeComponents;
@@ -77,18 +76,18 @@ class FieldNeQuickParameters <T extends RealFieldElement<T>> {
     /**
      * Build a new instance.
      * @param field field of the elements
-     * @param dateTime current date time components
-     * @param f2 F2 coefficients used by the F2 layer
-     * @param fm3 Fm3 coefficients used by the F2 layer
+     * @param fourier Fourier time series of the CCIR coefficients at current date
      * @param latitude latitude of a point along the integration path, in radians
      * @param longitude longitude of a point along the integration path, in radians
      * @param alpha effective ionisation level coefficients
      * @param modipGrip modip grid
      */
-    FieldNeQuickParameters(final Field<T> field, final DateTimeComponents dateTime, final double[][][] f2,
-                           final double[][][] fm3, final T latitude, final T longitude,
+    FieldNeQuickParameters(final Field<T> field, final FourierTimeSeries fourier,
+                           final T latitude, final T longitude,
                            final double[] alpha, final double[][] modipGrip) {
 
+        final DateTimeComponents dateTime = fourier.getDateTime();
+
         // Zero
         final T zero = field.getZero();
 
@@ -106,23 +105,6 @@ class FieldNeQuickParameters <T extends RealFieldElement<T>> {
         // Effective solar zenith angle in radians
         final T xeff = computeEffectiveSolarAngle(date.getMonth(), hours, latitude, longitude);
 
-        // Coefficients for F2 layer parameters
-        // Compute the array of interpolated coefficients for foF2 (Eq. 44)
-        final T[][] af2 = MathArrays.buildArray(field, 76, 13);
-        for (int j = 0; j < 76; j++) {
-            for (int k = 0; k < 13; k++ ) {
-                af2[j][k] = azr.multiply(0.01).negate().add(1.0).multiply(f2[0][j][k]).add(azr.multiply(0.01).multiply(f2[1][j][k]));
-            }
-        }
-
-        // Compute the array of interpolated coefficients for M(3000)F2 (Eq. 46)
-        final T[][] am3 = MathArrays.buildArray(field, 49, 9);
-        for (int j = 0; j < 49; j++) {
-            for (int k = 0; k < 9; k++ ) {
-                am3[j][k] = azr.multiply(0.01).negate().add(1.0).multiply(fm3[0][j][k]).add(azr.multiply(0.01).multiply(fm3[1][j][k]));
-            }
-        }
-
         // E layer maximum density height in km (Eq. 78)
         this.hmE = field.getZero().add(120.0);
         // E layer critical frequency in MHz
@@ -130,11 +112,10 @@ class FieldNeQuickParameters <T extends RealFieldElement<T>> {
         // E layer maximum density in 10^11 m-3 (Eq. 36)
         final T nmE = foE.multiply(foE).multiply(0.124);
 
-        // Time argument (Eq. 49)
-        final double t = FastMath.toRadians(15 * hours) - FastMath.PI;
-        // Compute Fourier time series for foF2 and M(3000)F2
-        final T[] cf2 = computeCF2(field, af2, t);
-        final T[] cm3 = computeCm3(field, am3, t);
+        // Fourier time series for foF2 and M(3000)F2 (Eq. 44 to 51),
+        // interpolated between low and high solar activity levels
+        final T[] cf2 = interpolateSeries(field, fourier.getCf2Reference(), azr.multiply(0.01));
+        final T[] cm3 = interpolateSeries(field, fourier.getCm3Reference(), azr.multiply(0.01));
         // F2 layer critical frequency in MHz
         final T foF2 = computefoF2(field, modip, cf2, latitude, longitude);
         // Maximum Usable Frequency factor
@@ -457,45 +438,21 @@ class FieldNeQuickParameters <T extends RealFieldElement<T>> {
     }
 
     /**
-     * Computes cf2 coefficients.
+     * Interpolates Fourier time series between low and high solar activity levels.
      * @param field field of the elements
-     * @param af2 interpolated coefficients for foF2
-     * @param t time argument
-     * @return the cf2 coefficients array
+     * @param series Fourier time series at low (index 0) and high (index 1) solar activity
+     * @param w interpolation weight for high solar activity
+     * @return interpolated series
      */
-    private T[] computeCF2(final Field<T> field, final T[][] af2, final double t) {
-        // Eq. 50
-        final T[] cf2 = MathArrays.buildArray(field, 76);
-        for (int i = 0; i < cf2.length; i++) {
-            T sum = field.getZero();
-            for (int k = 0; k < 6; k++) {
-                final SinCos sc = FastMath.sinCos((k + 1) * t);
-                sum = sum.add(af2[i][2 * k + 1].multiply(sc.sin()).add(af2[i][2 * (k + 1)].multiply(sc.cos())));
-            }
-            cf2[i] = af2[i][0].add(sum);
-        }
-        return cf2;
-    }
-
-    /**
-     * Computes Cm3 coefficients.
-     * @param field field of the elements
-     * @param am3 interpolated coefficients for foF2
-     * @param t time argument
-     * @return the Cm3 coefficients array
-     */
-    private T[] computeCm3(final Field<T> field, final T[][] am3, final double t) {
-        // Eq. 51
-        final T[] cm3 = MathArrays.buildArray(field, 49);
-        for (int i = 0; i < cm3.length; i++) {
-            T sum = field.getZero();
-            for (int k = 0; k < 4; k++) {
-                final SinCos sc = FastMath.sinCos((k + 1) * t);
-                sum = sum.add(am3[i][2 * k + 1].multiply(sc.sin()).add(am3[i][2 * (k + 1)].multiply(sc.cos())));
-            }
-            cm3[i] = am3[i][0].add(sum);
+    private T[] interpolateSeries(final Field<T> field, final double[][] series, final T w) {
+        final double[] low  = series[0];
+        final double[] high = series[1];
+        final T[] interpolated = MathArrays.buildArray(field, low.length);
+        final T oneMinusW = w.negate().add(1.0);
+        for (int i = 0; i < interpolated.length; i++) {
+            interpolated[i] = oneMinusW.multiply(low[i]).add(w.multiply(high[i]));
         }
-        return cm3;
+        return interpolated;
     }
 
     /**
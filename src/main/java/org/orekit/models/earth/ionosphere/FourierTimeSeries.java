@@ -0,0 +1,123 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.ionosphere;
+
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.SinCos;
+import org.orekit.time.DateTimeComponents;
+
+/**
+ * Fourier time series for the NeQuick model.
+ * <p>
+ * The Fourier time series of the CCIR coefficients depend only on the
+ * date and time, whereas the interpolation between the low and high solar
+ * activity coefficients depends on the effective sunspot number, which depends
+ * on the location. As the interpolation is linear, the time series are computed
+ * once for both solar activity levels and shared by all integration points
+ * of a slant TEC computation. The interpolation is performed at each point.
+ * </p>
+ * @author agent
+ * @since 11.0
+ */
+class FourierTimeSeries {
+
+    /** Date. */
+    private final DateTimeComponents dateTime;
+
+    /** Fourier time series for foF2 at low (index 0) and high (index 1) solar activity. */
+    private final double[][] cf2;
+
+    /** Fourier time series for M(3000)F2 at low (index 0) and high (index 1) solar activity. */
+    private final double[][] cm3;
+
+    /** Simple constructor.
+     * @param dateTime current date time components
+     * @param f2 F2 coefficients used by the F2 layer
+     * @param fm3 Fm3 coefficients used by the F2 layer
+     */
+    FourierTimeSeries(final DateTimeComponents dateTime, final double[][][] f2, final double[][][] fm3) {
+
+        this.dateTime = dateTime;
+
+        // Time argument (Eq. 49)
+        final double hours = dateTime.getTime().getSecondsInUTCDay() / 3600.0;
+        final double t     = FastMath.toRadians(15 * hours) - FastMath.PI;
+
+        // harmonics are shared by both series
+        final SinCos[] sc = new SinCos[6];
+        for (int k = 0; k < sc.length; ++k) {
+            sc[k] = FastMath.sinCos((k + 1) * t);
+        }
+
+        this.cf2 = new double[2][];
+        this.cm3 = new double[2][];
+        for (int i = 0; i < 2; ++i) {
+            cf2[i] = computeSeries(f2[i], sc, 6);
+            cm3[i] = computeSeries(fm3[i], sc, 4);
+        }
+
+    }
+
+    /** Compute one Fourier time series (Eq. 50 and 51).
+     * @param coefficients CCIR coefficients at one solar activity level
+     * @param sc harmonics of the time argument
+     * @param nbHarmonics number of harmonics to use
+     * @return Fourier time series
+     */
+    private static double[] computeSeries(final double[][] coefficients, final SinCos[] sc, final int nbHarmonics) {
+        final double[] series = new double[coefficients.length];
+        for (int i = 0; i < series.length; i++) {
+            final double[] ci = coefficients[i];
+            double sum = 0.0;
+            for (int k = 0; k < nbHarmonics; k++) {
+                sum += ci[2 * k + 1] * sc[k].sin() + ci[2 * (k + 1)] * sc[k].cos();
+            }
+            series[i] = ci[0] + sum;
+        }
+        return series;
+    }
+
+    /** Get the date.
+     * @return date
+     */
+    public DateTimeComponents getDateTime() {
+        return dateTime;
+    }
+
+    /** Get the Fourier time series for foF2.
+     * <p>
+     * Beware that for efficiency reasons, this method returns references
+     * to internal arrays, they should not be modified.
+     * </p>
+     * @return Fourier time series for foF2 at low (index 0) and high (index 1) solar activity
+     */
+    public double[][] getCf2Reference() {
+        return cf2;
+    }
+
+    /** Get the Fourier time series for M(3000)F2.
+     * <p>
+     * Beware that for efficiency reasons, this method returns references
+     * to internal arrays, they should not be modified.
+     * </p>
+     * @return Fourier time series for M(3000)F2 at low (index 0) and high (index 1) solar activity
+     */
+    public double[][] getCm3Reference() {
+        return cm3;
+    }
+
+}
@@ -0,0 +1,680 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.ionosphere;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.annotation.DefaultDataContext;
+import org.orekit.data.DataContext;
+import org.orekit.data.DataLoader;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.time.TimeScale;
+
+/** Store for Global Ionosphere Maps read from IONEX files.
+ * <p>
+ * Each IONEX file is parsed once and its complete Total Electron Content grids
+ * (epoch × latitude × longitude) are kept in a primitive array, so the TEC
+ * at any point can be interpolated with direct index arithmetic, in time, latitude
+ * and longitude. The same store can therefore be shared by the models of all
+ * stations, instead of parsing the files again for each station.
+ * </p>
+ * <p>
+ * Files can be added incrementally (for example as new daily IONEX files become
+ * available) by feeding the store again, either directly through {@link
+ * #loadData(InputStream, String)} or using a {@link org.orekit.data.DataProvidersManager}.
+ * A file whose first epoch is the same as an already loaded file replaces it.
+ * </p>
+ * <p>
+ * This class is thread-safe: lookups can be performed from several threads while
+ * new files are loaded, the loaded maps being published atomically.
+ * </p>
+ * @author agent
+ * @since 11.0
+ * @see GlobalIonosphereMapModel
+ */
+public class GlobalIonosphereMapStore implements DataLoader, Serializable {
+
+    /** Serializable UID. */
+    private static final long serialVersionUID = 20201019L;
+
+    /** Pattern for delimiting regular expressions. */
+    private static final Pattern SEPARATOR = Pattern.compile("\\s+");
+
+    /** String for the end of a TEC map. */
+    private static final String END = "END OF TEC MAP";
+
+    /** String for the epoch of a TEC map. */
+    private static final String EPOCH = "EPOCH OF CURRENT MAP";
+
+    /** Index of label in data lines. */
+    private static final int LABEL_START = 60;
+
+    /** Kilometers to meters conversion factor. */
+    private static final double KM_TO_M = 1000.0;
+
+    /** UTC time scale. */
+    private final TimeScale utc;
+
+    /** Loaded grids, sorted by first epoch. */
+    private volatile Grid[] grids;
+
+    /** Simple constructor. This constructor uses the {@link DataContext#getDefault()
+     * default data context}.
+     * @see #GlobalIonosphereMapStore(TimeScale)
+     */
+    @DefaultDataContext
+    public GlobalIonosphereMapStore() {
+        this(DataContext.getDefault().getTimeScales().getUTC());
+    }
+
+    /** Simple constructor.
+     * @param utc UTC time scale
+     */
+    public GlobalIonosphereMapStore(final TimeScale utc) {
+        this.utc   = utc;
+        this.grids = new Grid[0];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean stillAcceptsData() {
+        return true;
+    }
+
+    /** Check if the store is empty.
+     * @return true if no IONEX file has been loaded yet
+     */
+    public boolean isEmpty() {
+        return grids.length == 0;
+    }
+
+    /** Get the epoch of the first map.
+     * @return epoch of the first map, or null if store is empty
+     */
+    public AbsoluteDate getMinDate() {
+        final Grid[] current = grids;
+        return current.length == 0 ? null : current[0].getFirstDate();
+    }
+
+    /** Get the epoch of the last map.
+     * @return epoch of the last map, or null if store is empty
+     */
+    public AbsoluteDate getMaxDate() {
+        final Grid[] current = grids;
+        AbsoluteDate max = null;
+        for (final Grid grid : current) {
+            if (max == null || grid.getLastDate().compareTo(max) > 0) {
+                max = grid.getLastDate();
+            }
+        }
+        return max;
+    }
+
+    /** Compute the vertical Total Electron Content at a given date and location.
+     * @param date current date
+     * @param latitude geodetic latitude (rad)
+     * @param longitude geodetic longitude (rad)
+     * @return vertical TEC, in TECUnits
+     */
+    public double getTEC(final AbsoluteDate date, final double latitude, final double longitude) {
+        return getGrid(date, null).getTEC(date, latitude, longitude);
+    }
+
+    /** Compute the vertical Total Electron Content at a given date and location.
+     * @param <T> type of the elements
+     * @param date current date
+     * @param latitude geodetic latitude (rad)
+     * @param longitude geodetic longitude (rad)
+     * @return vertical TEC, in TECUnits
+     */
+    public <T extends RealFieldElement<T>> T getTEC(final FieldAbsoluteDate<T> date,
+                                                    final double latitude, final double longitude) {
+        return getGrid(date.toAbsoluteDate(), null).getTEC(date, latitude, longitude);
+    }
+
+    /** Get the grid covering a date.
+     * @param date current date
+     * @param names names to use in error messages (if null, names of loaded files will be used)
+     * @return grid covering the date
+     */
+    Grid getGrid(final AbsoluteDate date, final String names) {
+
+        final Grid[] current = grids;
+
+        // find the last grid starting before date
+        int low  = 0;
+        int high = current.length - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (current[mid].getFirstDate().compareTo(date) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (high >= 0 && current[high].getLastDate().compareTo(date) >= 0) {
+            return current[high];
+        }
+
+        // no grid covers the date
+        final StringBuilder builder = new StringBuilder();
+        if (names == null) {
+            for (final Grid grid : current) {
+                if (builder.length() > 0) {
+                    builder.append(", ");
+                }
+                builder.append(grid.getName());
+            }
+        } else {
+            builder.append(names);
+        }
+        throw new OrekitException(OrekitMessages.NO_TEC_DATA_IN_FILE_FOR_DATE, builder.toString(), date);
+
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void loadData(final InputStream input, final String name)
+        throws IOException {
+
+        final Grid grid = parse(input, name);
+
+        synchronized (this) {
+            // replace any previous grid with the same first epoch
+            final List<Grid> list = new ArrayList<>(grids.length + 1);
+            for (final Grid g : grids) {
+                if (!g.getFirstDate().equals(grid.getFirstDate())) {
+                    list.add(g);
+                }
+            }
+            list.add(grid);
+            final Grid[] updated = list.toArray(new Grid[list.size()]);
+            Arrays.sort(updated, (g1, g2) -> g1.getFirstDate().compareTo(g2.getFirstDate()));
+            grids = updated;
+        }
+
+    }
+
+    /** Parse one IONEX file.
+     * @param input data input stream
+     * @param name name of the file (or zip entry)
+     * @return parsed grid
+     * @exception IOException if data can't be read
+     */
+    private Grid parse(final InputStream input, final String name)
+        throws IOException {
+
+        // Open stream and parse data
+        int   lineNumber = 0;
+        String line      = null;
+        try (InputStreamReader isr = new InputStreamReader(input, StandardCharsets.UTF_8);
+             BufferedReader    br = new BufferedReader(isr)) {
+
+            // Placeholders for parsed data
+            int                interval    = 3600;
+            int                nbOfMaps    = 1;
+            int                exponent    = -1;
+            double             baseRadius  = 6371.0e3;
+            double             hIon        = 350e3;
+            boolean            mappingF    = false;
+            boolean            inTEC       = false;
+            double[]           latitudes   = null;
+            double[]           longitudes  = null;
+            AbsoluteDate       firstEpoch  = null;
+            AbsoluteDate       lastEpoch   = null;
+            AbsoluteDate       epoch       = null;
+            double[]           values      = null;
+            int                nbValues    = 0;
+            final List<AbsoluteDate> epochs = new ArrayList<>();
+            final List<double[]>     maps   = new ArrayList<>();
+
+            for (line = br.readLine(); line != null; line = br.readLine()) {
+                ++lineNumber;
+                if (line.length() > LABEL_START) {
+                    switch (line.substring(LABEL_START).trim()) {
+                        case "EPOCH OF FIRST MAP" :
+                            firstEpoch = parseDate(line);
+                            break;
+                        case "EPOCH OF LAST MAP" :
+                            lastEpoch = parseDate(line);
+                            break;
+                        case "INTERVAL" :
+                            interval = parseInt(line, 2, 4);
+                            break;
+                        case "# OF MAPS IN FILE" :
+                            nbOfMaps = parseInt(line, 2, 4);
+                            break;
+                        case "BASE RADIUS" :
+                            // Value is in kilometers
+                            baseRadius = parseDouble(line, 2, 6) * KM_TO_M;
+                            break;
+                        case "MAPPING FUNCTION" :
+                            mappingF = !parseString(line, 2, 4).equals("NONE");
+                            break;
+                        case "EXPONENT" :
+                            exponent = parseInt(line, 4, 2);
+                            break;
+                        case "HGT1 / HGT2 / DHGT" :
+                            if (parseDouble(line, 17, 3) == 0.0) {
+                                // Value is in kilometers
+                                hIon = parseDouble(line, 3, 5) * KM_TO_M;
+                            }
+                            break;
+                        case "LAT1 / LAT2 / DLAT" :
+                            latitudes = parseCoordinate(line);
+                            break;
+                        case "LON1 / LON2 / DLON" :
+                            longitudes = parseCoordinate(line);
+                            break;
+                        case "END OF HEADER" :
+                            // Check that latitude and longitude bondaries were found
+                            if (latitudes == null || longitudes == null) {
+                                throw new OrekitException(OrekitMessages.NO_LATITUDE_LONGITUDE_BONDARIES_IN_IONEX_HEADER, name);
+                            }
+                            // Check that first and last epochs were found
+                            if (firstEpoch == null || lastEpoch == null) {
+                                throw new OrekitException(OrekitMessages.NO_EPOCH_IN_IONEX_HEADER, name);
+                            }
+                            break;
+                        case "START OF TEC MAP" :
+                            inTEC    = true;
+                            values   = new double[(int) latitudes[3] * (int) longitudes[3]];
+                            nbValues = 0;
+                            break;
+                        case END :
+                            epochs.add(epoch);
+                            maps.add(reorder(values, exponent, latitudes, longitudes));
+                            // Reset parameters
+                            inTEC  = false;
+                            values = null;
+                            epoch  = null;
+                            break;
+                        default :
+                            if (inTEC) {
+                                // Date
+                                if (line.endsWith(EPOCH)) {
+                                    epoch = parseDate(line);
+                                }
+                                // Fill TEC values list
+                                if (!line.endsWith("LAT/LON1/LON2/DLON/H") &&
+                                    !line.endsWith(END) &&
+                                    !line.endsWith(EPOCH)) {
+                                    nbValues = parseValues(line, values, nbValues);
+                                }
+                            }
+                            break;
+                    }
+                } else {
+                    if (inTEC) {
+                        // Here, we are parsing the last line of TEC data for a given latitude
+                        // The size of this line is lower than 60.
+                        nbValues = parseValues(line, values, nbValues);
+                    }
+                }
+
+            }
+
+            if (epochs.size() != nbOfMaps) {
+                throw new OrekitException(OrekitMessages.INCONSISTENT_NUMBER_OF_TEC_MAPS_IN_FILE,
+                                          epochs.size(), nbOfMaps);
+            }
+
+            return new Grid(name, epochs.toArray(new AbsoluteDate[epochs.size()]), interval,
+                            latitudes, longitudes, maps, baseRadius, hIon, mappingF);
+
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                      lineNumber, name, line);
+        }
+
+    }
+
+    /** Parse the TEC values in a line.
+     * @param line line to parse
+     * @param values array where to store parsed values
+     * @param nbValues number of values already parsed
+     * @return updated number of values parsed
+     */
+    private int parseValues(final String line, final double[] values, final int nbValues) {
+        int n = nbValues;
+        for (final String s : SEPARATOR.split(line.trim())) {
+            values[n++] = Double.parseDouble(s);
+        }
+        return n;
+    }
+
+    /** Reorder TEC values from file order to increasing latitudes and longitudes.
+     * @param values TEC values in file order
+     * @param exponent exponent defining the unit of the values listed in the data blocks
+     * @param latitudes latitudes definition (first, last, step, number of values)
+     * @param longitudes longitudes definition (first, last, step, number of values)
+     * @return TEC values in TECUnits, with latitude index varying slowest
+     */
+    private double[] reorder(final double[] values, final int exponent,
+                             final double[] latitudes, final double[] longitudes) {
+        final int      nLat   = (int) latitudes[3];
+        final int      nLon   = (int) longitudes[3];
+        final double   scale  = FastMath.pow(10.0, exponent);
+        final double[] tec    = new double[nLat * nLon];
+        int index = 0;
+        for (int r = 0; r < nLat; ++r) {
+            final int iLat = latitudes[2] < 0 ? nLat - 1 - r : r;
+            for (int c = 0; c < nLon; ++c) {
+                final int iLon = longitudes[2] < 0 ? nLon - 1 - c : c;
+                tec[iLat * nLon + iLon] = values[index++] * scale;
+            }
+        }
+        return tec;
+    }
+
+    /** Extract a string from a line.
+     * @param line to parse
+     * @param start start index of the string
+     * @param length length of the string
+     * @return parsed string
+     */
+    private String parseString(final String line, final int start, final int length) {
+        return line.substring(start, FastMath.min(line.length(), start + length)).trim();
+    }
+
+    /** Extract an integer from a line.
+     * @param line to parse
+     * @param start start index of the integer
+     * @param length length of the integer
+     * @return parsed integer
+     */
+    private int parseInt(final String line, final int start, final int length) {
+        return Integer.parseInt(parseString(line, start, length));
+    }
+
+    /** Extract a double from a line.
+     * @param line to parse
+     * @param start start index of the real
+     * @param length length of the real
+     * @return parsed real
+     */
+    private double parseDouble(final String line, final int start, final int length) {
+        return Double.parseDouble(parseString(line, start, length));
+    }
+
+    /** Extract a date from a parsed line.
+     * @param line to parse
+     * @return an absolute date
+     */
+    private AbsoluteDate parseDate(final String line) {
+        return new AbsoluteDate(parseInt(line, 0, 6),
+                                parseInt(line, 6, 6),
+                                parseInt(line, 12, 6),
+                                parseInt(line, 18, 6),
+                                parseInt(line, 24, 6),
+                                parseDouble(line, 30, 13),
+                                utc);
+    }
+
+    /** Build the coordinate definition from a parsed line.
+     * @param line to parse
+     * @return first coordinate (rad), last coordinate (rad), signed step (rad) and number of values
+     */
+    private double[] parseCoordinate(final String line) {
+        final double a = parseDouble(line, 2, 6);
+        final double b = parseDouble(line, 8, 6);
+        final double c = parseDouble(line, 14, 6);
+        return new double[] {
+            FastMath.toRadians(a), FastMath.toRadians(b), FastMath.toRadians(c),
+            ((int) FastMath.rint(FastMath.abs((a - b) / c))) + 1
+        };
+    }
+
+    /** Container for the maps read from one IONEX file. */
+    static class Grid implements Serializable {
+
+        /** Inverse of the quantum for fractional grid indices. */
+        private static final double QUANTUM_INVERSE = FastMath.scalb(1.0, 32);
+
+        /** Serializable UID. */
+        private static final long serialVersionUID = 20201019L;
+
+        /** Name of the file. */
+        private final String name;
+
+        /** Epochs of the maps. */
+        private final AbsoluteDate[] epochs;
+
+        /** Nominal interval between maps. */
+        private final double interval;
+
+        /** Smallest latitude. */
+        private final double latMin;
+
+        /** Latitude step. */
+        private final double latStep;
+
+        /** Number of latitudes. */
+        private final int nLat;
+
+        /** Smallest longitude. */
+        private final double lonMin;
+
+        /** Longitude step. */
+        private final double lonStep;
+
+        /** Number of longitudes. */
+        private final int nLon;
+
+        /** Indicator for longitudes covering the full circle. */
+        private final boolean fullCircle;
+
+        /** TEC values in TECUnits (epoch index varying slowest, then latitude, then longitude). */
+        private final double[] tec;
+
+        /** Mean earth radius [m]. */
+        private final double baseRadius;
+
+        /** Height of the ionospheric single layer [m]. */
+        private final double hIon;
+
+        /** Flag for mapping function adopted for TEC determination. */
+        private final boolean mappingFunction;
+
+        /** Simple constructor.
+         * @param name name of the file
+         * @param epochs epochs of the maps
+         * @param interval nominal interval between maps (s)
+         * @param latitudes latitudes definition (first, last, step, number of values)
+         * @param longitudes longitudes definition (first, last, step, number of values)
+         * @param maps TEC values for each map, with increasing latitudes and longitudes
+         * @param baseRadius mean earth radius in meters
+         * @param hIon height of the ionospheric single layer in meters
+         * @param mappingFunction flag for mapping function adopted for TEC determination
+         */
+        Grid(final String name, final AbsoluteDate[] epochs, final double interval,
+             final double[] latitudes, final double[] longitudes, final List<double[]> maps,
+             final double baseRadius, final double hIon, final boolean mappingFunction) {
+            this.name            = name;
+            this.epochs          = epochs;
+            this.interval        = interval;
+            this.latMin          = FastMath.min(latitudes[0], latitudes[1]);
+            this.latStep         = FastMath.abs(latitudes[2]);
+            this.nLat            = (int) latitudes[3];
+            this.lonMin          = FastMath.min(longitudes[0], longitudes[1]);
+            this.lonStep         = FastMath.abs(longitudes[2]);
+            this.nLon            = (int) longitudes[3];
+            this.fullCircle      = (nLon - 1) * lonStep >= MathUtils.TWO_PI - 1.0e-10;
+            this.tec             = new double[maps.size() * nLat * nLon];
+            for (int m = 0; m < maps.size(); ++m) {
+                System.arraycopy(maps.get(m), 0, tec, m * nLat * nLon, nLat * nLon);
+            }
+            this.baseRadius      = baseRadius;
+            this.hIon            = hIon;
+            this.mappingFunction = mappingFunction;
+        }
+
+        /** Get the name of the file.
+         * @return name of the file
+         */
+        String getName() {
+            return name;
+        }
+
+        /** Get the epoch of the first map.
+         * @return epoch of the first map
+         */
+        AbsoluteDate getFirstDate() {
+            return epochs[0];
+        }
+
+        /** Get the epoch of the last map.
+         * @return epoch of the last map
+         */
+        AbsoluteDate getLastDate() {
+            return epochs[epochs.length - 1];
+        }
+
+        /** Get the mean earth radius.
+         * @return mean earth radius in meters
+         */
+        double getEarthRadius() {
+            return baseRadius;
+        }
+
+        /** Get the height of the ionospheric single layer.
+         * @return height of the ionospheric single layer in meters
+         */
+        double getHIon() {
+            return hIon;
+        }
+
+        /** Get the mapping function flag.
+         * @return false if mapping function computation is needed
+         */
+        boolean isMappingFunction() {
+            return mappingFunction;
+        }
+
+        /** Find the index of the map just before a date.
+         * @param date current date (must be within the grid time span)
+         * @return index i such that epochs[i] ≤ date ≤ epochs[i + 1]
+         */
+        private int findMap(final AbsoluteDate date) {
+            if (epochs.length < 2) {
+                return 0;
+            }
+            int i = (int) FastMath.floor(date.durationFrom(epochs[0]) / interval);
+            i = FastMath.max(0, FastMath.min(i, epochs.length - 2));
+            while (i > 0 && date.compareTo(epochs[i]) < 0) {
+                --i;
+            }
+            while (i < epochs.length - 2 && date.compareTo(epochs[i + 1]) > 0) {
+                ++i;
+            }
+            return i;
+        }
+
+        /** Interpolate TEC in latitude and longitude within one map.
+         * <p>
+         * Latitudes outside of the grid are clamped to the grid boundaries.
+         * </p>
+         * @param map index of the map
+         * @param latitude geodetic latitude (rad)
+         * @param longitude geodetic longitude (rad)
+         * @return TEC in TECUnits
+         */
+        private double interpolate(final int map, final double latitude, final double longitude) {
+
+            // latitude cell
+            final double x  = quantize(FastMath.max(0, FastMath.min((latitude - latMin) / latStep, nLat - 1)));
+            final int    i  = FastMath.min((int) x, nLat - 2);
+            final double fx = x - i;
+
+            // longitude cell
+            final double lon = fullCircle ? MathUtils.normalizeAngle(longitude, lonMin + FastMath.PI) : longitude;
+            final double y   = quantize(FastMath.max(0, FastMath.min((lon - lonMin) / lonStep, nLon - 1)));
+            final int    j   = FastMath.min((int) y, nLon - 2);
+            final double fy  = y - j;
+
+            // bilinear interpolation
+            final int    k00 = (map * nLat + i) * nLon + j;
+            final int    k10 = k00 + nLon;
+            return (1 - fx) * ((1 - fy) * tec[k00] + fy * tec[k00 + 1]) +
+                   fx       * ((1 - fy) * tec[k10] + fy * tec[k10 + 1]);
+
+        }
+
+        /** Quantize a fractional grid index.
+         * <p>
+         * Quantization removes rounding errors, so points equivalent modulo 2π
+         * or exactly on grid nodes give identical results.
+         * </p>
+         * @param x fractional grid index
+         * @return quantized index
+         */
+        private static double quantize(final double x) {
+            return FastMath.rint(x * QUANTUM_INVERSE) / QUANTUM_INVERSE;
+        }
+
+        /** Compute the vertical Total Electron Content at a given date and location.
+         * @param date current date
+         * @param latitude geodetic latitude (rad)
+         * @param longitude geodetic longitude (rad)
+         * @return vertical TEC, in TECUnits
+         */
+        double getTEC(final AbsoluteDate date, final double latitude, final double longitude) {
+            final int i = findMap(date);
+            if (epochs.length < 2) {
+                return interpolate(0, latitude, longitude);
+            }
+            final double dt = epochs[i + 1].durationFrom(epochs[i]);
+            return (epochs[i + 1].durationFrom(date) / dt) * interpolate(i, latitude, longitude) +
+                   (date.durationFrom(epochs[i]) / dt)     * interpolate(i + 1, latitude, longitude);
+        }
+
+        /** Compute the vertical Total Electron Content at a given date and location.
+         * @param <T> type of the elements
+         * @param date current date
+         * @param latitude geodetic latitude (rad)
+         * @param longitude geodetic longitude (rad)
+         * @return vertical TEC, in TECUnits
+         */
+        <T extends RealFieldElement<T>> T getTEC(final FieldAbsoluteDate<T> date,
+                                                 final double latitude, final double longitude) {
+            final int i = findMap(date.toAbsoluteDate());
+            if (epochs.length < 2) {
+                return date.getField().getZero().add(interpolate(0, latitude, longitude));
+            }
+            final double dt = epochs[i + 1].durationFrom(epochs[i]);
+            return date.durationFrom(epochs[i + 1]).divide(-dt).multiply(interpolate(i, latitude, longitude)).
+                   add(date.durationFrom(epochs[i]).divide(dt).multiply(interpolate(i + 1, latitude, longitude)));
+        }
+
+    }
+
+}
@@ -23,6 +23,8 @@ import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.regex.Pattern;
 
 import org.hipparchus.Field;
@@ -52,6 +54,11 @@ import org.orekit.utils.TimeStampedPVCoordinates;
 
 /**
  * NeQuick ionospheric delay model.
+ * <p>
+ * The MODIP grid and the monthly CCIR coefficients are parsed only once
+ * and shared by all instances, so the model is thread-safe and can be
+ * used by several estimation threads at once.
+ * </p>
  *
  * @author Bryan Cazabonne
  *
@@ -83,21 +90,18 @@ public class NeQuickModel implements IonosphericModel {
     /** Factor for the path delay computation. */
     private static final double DELAY_FACTOR = 40.3e16;
 
+    /** Process-wide cache for CCIR coefficients, indexed by month (0 for January). */
+    private static final AtomicReferenceArray<CCIRLoader> CCIR_CACHE = new AtomicReferenceArray<>(12);
+
+    /** Process-wide cache for MODIP grid. */
+    private static final AtomicReference<double[][]> MODIP_CACHE = new AtomicReference<>();
+
     /** The three ionospheric coefficients broadcast in the Galileo navigation message. */
     private final double[] alpha;
 
     /** MODIP grid. */
     private final double[][] stModip;
 
-    /** Month used for loading CCIR coefficients. */
-    private int month;
-
-    /** F2 coefficients used by the F2 layer. */
-    private double[][][] f2;
-
-    /** Fm3 coefficients used by the F2 layer. */
-    private double[][][] fm3;
-
     /** UTC time scale. */
     private final TimeScale utc;
 
@@ -122,14 +126,8 @@ public class NeQuickModel implements IonosphericModel {
      */
     public NeQuickModel(final double[] alpha,
                         final TimeScale utc) {
-        // F2 layer values
-        this.month = 0;
-        this.f2    = null;
-        this.fm3   = null;
         // Read modip grid
-        final MODIPLoader parser = new MODIPLoader();
-        parser.loadMODIPGrid();
-        this.stModip = parser.getMODIPGrid();
+        this.stModip = getMODIPGrid();
         // Ionisation level coefficients
         this.alpha = alpha.clone();
         this.utc = utc;
@@ -201,9 +199,8 @@ public class NeQuickModel implements IonosphericModel {
         // Ray-perigee parameters
         final Ray ray = new Ray(recP, satP);
 
-        // Load the correct CCIR file
-        final DateTimeComponents dateTime = date.getComponents(utc);
-        loadsIfNeeded(dateTime.getDate());
+        // Fourier time series of CCIR coefficients, shared by all integration points
+        final FourierTimeSeries fourier = getFourierTimeSeries(date.getComponents(utc));
 
         // Tolerance for the integration accuracy. Defined inside the reference document, section 2.5.8.1.
         final double h1 = recP.getAltitude();
@@ -216,18 +213,15 @@ public class NeQuickModel implements IonosphericModel {
 
         // Integration
         int n = 8;
-        final Segment seg1 = new Segment(n, ray);
-        double gn1 = stecIntegration(seg1, dateTime);
+        double gn1 = stecIntegration(n, ray, fourier);
         n *= 2;
-        final Segment seg2 = new Segment(n, ray);
-        double gn2 = stecIntegration(seg2, dateTime);
+        double gn2 = stecIntegration(n, ray, fourier);
 
         int count = 1;
         while (FastMath.abs(gn2 - gn1) > tolerance * FastMath.abs(gn1) && count < 20) {
             gn1 = gn2;
             n *= 2;
-            final Segment seg = new Segment(n, ray);
-            gn2 = stecIntegration(seg, dateTime);
+            gn2 = stecIntegration(n, ray, fourier);
             count += 1;
         }
 
@@ -238,6 +232,7 @@ public class NeQuickModel implements IonosphericModel {
 
         // Eq. 202
         return (gn2 + ((gn2 - gn1) / 15.0)) * 1.0e-16;
+
     }
 
     /**
@@ -262,9 +257,8 @@ public class NeQuickModel implements IonosphericModel {
         // Ray-perigee parameters
         final FieldRay<T> ray = new FieldRay<>(field, recP, satP);
 
-        // Load the correct CCIR file
-        final DateTimeComponents dateTime = date.getComponents(utc);
-        loadsIfNeeded(dateTime.getDate());
+        // Fourier time series of CCIR coefficients, shared by all integration points
+        final FourierTimeSeries fourier = getFourierTimeSeries(date.getComponents(utc));
 
         // Tolerance for the integration accuracy. Defined inside the reference document, section 2.5.8.1.
         final T h1 = recP.getAltitude();
@@ -277,18 +271,15 @@ public class NeQuickModel implements IonosphericModel {
 
         // Integration
         int n = 8;
-        final FieldSegment<T> seg1 = new FieldSegment<>(field, n, ray);
-        T gn1 = stecIntegration(field, seg1, dateTime);
+        T gn1 = stecIntegration(field, n, ray, fourier);
         n *= 2;
-        final FieldSegment<T> seg2 = new FieldSegment<>(field, n, ray);
-        T gn2 = stecIntegration(field, seg2, dateTime);
+        T gn2 = stecIntegration(field, n, ray, fourier);
 
         int count = 1;
         while (FastMath.abs(gn2.subtract(gn1)).getReal() > FastMath.abs(gn1).multiply(tolerance).getReal() && count < 20) {
             gn1 = gn2;
             n *= 2;
-            final FieldSegment<T> seg = new FieldSegment<>(field, n, ray);
-            gn2 = stecIntegration(field, seg, dateTime);
+            gn2 = stecIntegration(field, n, ray, fourier);
             count += 1;
         }
 
@@ -299,58 +290,143 @@ public class NeQuickModel implements IonosphericModel {
 
         // Eq. 202
         return gn2.add(gn2.subtract(gn1).divide(15.0)).multiply(1.0e-16);
+
     }
 
     /**
      * This method perfoms the STEC integration.
-     * @param seg coordinates along the integration path
-     * @param dateTime current date and time componentns
+     * @param n number of intervals used for the integration
+     * @param ray ray-perigee parameters
+     * @param fourier Fourier time series of CCIR coefficients
      * @return result of the integration
      */
-    private double stecIntegration(final Segment seg, final DateTimeComponents dateTime) {
-        // Integration points
-        final double[] heightS    = seg.getHeights();
-        final double[] latitudeS  = seg.getLatitudes();
-        final double[] longitudeS = seg.getLongitudes();
+    private double stecIntegration(final int n, final Ray ray, final FourierTimeSeries fourier) {
+
+        // Integration step (Eq. 195)
+        final double s1     = ray.getS1();
+        final double deltaN = (ray.getS2() - s1) / n;
+
+        // Eq. 196
+        final double g = 0.5773502691896 * deltaN;
+        // Eq. 197
+        final double y = s1 + (deltaN - g) * 0.5;
 
-        // Compute electron density
+        // Compute electron density at the two Gauss points of each interval (Eq. 198)
         double density = 0.0;
-        for (int i = 0; i < heightS.length; i++) {
-            final NeQuickParameters parameters = new NeQuickParameters(dateTime, f2, fm3,
-                                                                       latitudeS[i], longitudeS[i],
-                                                                       alpha, stModip);
-            density += electronDensity(heightS[i], parameters);
+        for (int i = 0; i < n; i++) {
+            final double si = y + i * deltaN;
+            density += electronDensity(si, ray, fourier) + electronDensity(si + g, ray, fourier);
         }
 
-        return 0.5 * seg.getInterval() * density;
+        return 0.5 * deltaN * density;
     }
 
     /**
      * This method perfoms the STEC integration.
      * @param <T> type of the elements
      * @param field field of the elements
-     * @param seg coordinates along the integration path
-     * @param dateTime current date and time componentns
+     * @param n number of intervals used for the integration
+     * @param ray ray-perigee parameters
+     * @param fourier Fourier time series of CCIR coefficients
      * @return result of the integration
      */
-    private <T extends RealFieldElement<T>> T stecIntegration(final Field<T> field,
-                                                              final FieldSegment<T> seg,
-                                                              final DateTimeComponents dateTime) {
-        // Integration points
-        final T[] heightS    = seg.getHeights();
-        final T[] latitudeS  = seg.getLatitudes();
-        final T[] longitudeS = seg.getLongitudes();
-
-        // Compute electron density
+    private <T extends RealFieldElement<T>> T stecIntegration(final Field<T> field, final int n,
+                                                              final FieldRay<T> ray,
+                                                              final FourierTimeSeries fourier) {
+
+        // Integration step (Eq. 195)
+        final T s1     = ray.getS1();
+        final T deltaN = ray.getS2().subtract(s1).divide(n);
+
+        // Eq. 196
+        final T g = deltaN.multiply(0.5773502691896);
+        // Eq. 197
+        final T y = s1.add(deltaN.subtract(g).multiply(0.5));
+
+        // Compute electron density at the two Gauss points of each interval (Eq. 198)
         T density = field.getZero();
-        for (int i = 0; i < heightS.length; i++) {
-            final FieldNeQuickParameters<T> parameters = new FieldNeQuickParameters<>(field, dateTime, f2, fm3,
-                                                                                      latitudeS[i], longitudeS[i],
-                                                                                      alpha, stModip);
-            density = density.add(electronDensity(field, heightS[i], parameters));
+        for (int i = 0; i < n; i++) {
+            final T si = y.add(deltaN.multiply(i));
+            density = density.add(electronDensity(field, si, ray, fourier)).
+                      add(electronDensity(field, si.add(g), ray, fourier));
         }
 
-        return seg.getInterval().multiply(density).multiply(0.5);
+        return deltaN.multiply(density).multiply(0.5);
+    }
+
+    /**
+     * Computes the electron density at a given point along the ray.
+     * @param s distance from ray perigee [m]
+     * @param ray ray-perigee parameters
+     * @param fourier Fourier time series of CCIR coefficients
+     * @return electron density [m^-3]
+     */
+    private double electronDensity(final double s, final Ray ray, final FourierTimeSeries fourier) {
+
+        // Useful parameters
+        final double rp     = ray.getRadius();
+        final SinCos scLatP = ray.getScLatP();
+
+        // Height (Eq. 178)
+        final double h = FastMath.sqrt(s * s + rp * rp) - RE;
+
+        // Great circle parameters (Eq. 179 to 181)
+        final double tanDs = s / rp;
+        final double cosDs = 1.0 / FastMath.sqrt(1.0 + tanDs * tanDs);
+        final double sinDs = tanDs * cosDs;
+
+        // Latitude (Eq. 182 to 183)
+        final double sinLatS  = scLatP.sin() * cosDs + scLatP.cos() * sinDs * ray.getCosineAz();
+        final double cosLatS  = FastMath.sqrt(1.0 - sinLatS * sinLatS);
+        final double latitude = FastMath.atan2(sinLatS, cosLatS);
+
+        // Longitude (Eq. 184 to 187)
+        final double sinLonS   = sinDs * ray.getSineAz() * scLatP.cos();
+        final double cosLonS   = cosDs - scLatP.sin() * sinLatS;
+        final double longitude = FastMath.atan2(sinLonS, cosLonS) + ray.getLongitude();
+
+        return electronDensity(h, new NeQuickParameters(fourier, latitude, longitude, alpha, stModip));
+
+    }
+
+    /**
+     * Computes the electron density at a given point along the ray.
+     * @param <T> type of the elements
+     * @param field field of the elements
+     * @param s distance from ray perigee [m]
+     * @param ray ray-perigee parameters
+     * @param fourier Fourier time series of CCIR coefficients
+     * @return electron density [m^-3]
+     */
+    private <T extends RealFieldElement<T>> T electronDensity(final Field<T> field, final T s,
+                                                              final FieldRay<T> ray,
+                                                              final FourierTimeSeries fourier) {
+
+        // Useful parameters
+        final T              rp     = ray.getRadius();
+        final FieldSinCos<T> scLatP = ray.getScLatP();
+
+        // Height (Eq. 178)
+        final T h = FastMath.sqrt(s.multiply(s).add(rp.multiply(rp))).subtract(RE);
+
+        // Great circle parameters (Eq. 179 to 181)
+        final T tanDs = s.divide(rp);
+        final T cosDs = FastMath.sqrt(tanDs.multiply(tanDs).add(1.0)).reciprocal();
+        final T sinDs = tanDs.multiply(cosDs);
+
+        // Latitude (Eq. 182 to 183)
+        final T sinLatS  = scLatP.sin().multiply(cosDs).add(scLatP.cos().multiply(sinDs).multiply(ray.getCosineAz()));
+        final T cosLatS  = FastMath.sqrt(sinLatS.multiply(sinLatS).negate().add(1.0));
+        final T latitude = FastMath.atan2(sinLatS, cosLatS);
+
+        // Longitude (Eq. 184 to 187)
+        final T sinLonS   = sinDs.multiply(ray.getSineAz()).multiply(scLatP.cos());
+        final T cosLonS   = cosDs.subtract(scLatP.sin().multiply(sinLatS));
+        final T longitude = FastMath.atan2(sinLonS, cosLonS).add(ray.getLongitude());
+
+        return electronDensity(field, h,
+                               new FieldNeQuickParameters<>(field, fourier, latitude, longitude, alpha, stModip));
+
     }
 
     /**
@@ -607,26 +683,49 @@ public class NeQuickModel implements IonosphericModel {
     }
 
     /**
-     * Lazy loading of CCIR data.
-     * @param date current date components
+     * Get the Fourier time series of CCIR coefficients at a given date.
+     * <p>
+     * The CCIR coefficients for each month are loaded lazily and
+     * cached for the whole process, as they are immutable.
+     * </p>
+     * @param dateTime current date and time components
+     * @return Fourier time series of CCIR coefficients
      */
-    private void loadsIfNeeded(final DateComponents date) {
+    private static FourierTimeSeries getFourierTimeSeries(final DateTimeComponents dateTime) {
 
         // Current month
-        final int currentMonth = date.getMonth();
+        final int index = dateTime.getDate().getMonth() - 1;
+
+        CCIRLoader loader = CCIR_CACHE.get(index);
+        if (loader == null) {
+            // Read file, several threads may do it at the same time, but only one result will be kept
+            final CCIRLoader newLoader = new CCIRLoader();
+            newLoader.loadCCIRCoefficients(dateTime.getDate());
+            CCIR_CACHE.compareAndSet(index, null, newLoader);
+            loader = CCIR_CACHE.get(index);
+        }
 
-        // Check if date have changed or if f2 and fm3 arrays are null
-        if (currentMonth != month || f2 == null || fm3 == null) {
-            this.month = currentMonth;
+        return new FourierTimeSeries(dateTime, loader.getF2(), loader.getFm3());
 
-            // Read file
-            final CCIRLoader loader = new CCIRLoader();
-            loader.loadCCIRCoefficients(date);
+    }
 
-            // Update arrays
-            this.f2 = loader.getF2();
-            this.fm3 = loader.getFm3();
+    /**
+     * Get the MODIP grid.
+     * <p>
+     * The grid is loaded lazily and cached for the whole process, as it is immutable.
+     * </p>
+     * @return MODIP grid
+     */
+    private static double[][] getMODIPGrid() {
+        double[][] grid = MODIP_CACHE.get();
+        if (grid == null) {
+            // Read file, several threads may do it at the same time, but only one result will be kept
+            final MODIPLoader parser = new MODIPLoader();
+            parser.loadMODIPGrid();
+            MODIP_CACHE.compareAndSet(null, parser.getMODIPGrid());
+            grid = MODIP_CACHE.get();
         }
+        return grid;
     }
 
     /**
@@ -1108,6 +1207,14 @@ public class NeQuickModel implements IonosphericModel {
             return lonP;
         }
 
+        /**
+         * Get the sine and cosine of ray-perigee latitude.
+         * @return the sine and cosine of ray-perigee latitude
+         */
+        public SinCos getScLatP() {
+            return scLatP;
+        }
+
         /**
          * Get the sine of azimuth of satellite as seen from ray-perigee.
          * @return the sine of azimuth
@@ -1308,6 +1415,14 @@ public class NeQuickModel implements IonosphericModel {
             return lonP;
         }
 
+        /**
+         * Get the sine and cosine of ray-perigee latitude.
+         * @return the sine and cosine of ray-perigee latitude
+         */
+        public FieldSinCos<T> getScLatP() {
+            return scLatP;
+        }
+
         /**
          * Get the sine of azimuth of satellite as seen from ray-perigee.
          * @return the sine of azimuth
@@ -1345,242 +1460,4 @@ public class NeQuickModel implements IonosphericModel {
         }
     }
 
-    /** Performs the computation of the coordinates along the integration path. */
-    private static class Segment {
-
-        /** Latitudes [rad]. */
-        private final double[] latitudes;
-
-        /** Longitudes [rad]. */
-        private final double[] longitudes;
-
-        /** Heights [m]. */
-        private final double[] heights;
-
-        /** Integration step [m]. */
-        private final double deltaN;
-
-        /**
-         * Constructor.
-         * @param n number of points used for the integration
-         * @param ray ray-perigee parameters
-         */
-        Segment(final int n, final Ray ray) {
-            // Integration en points
-            final double s1 = ray.getS1();
-            final double s2 = ray.getS2();
-
-            // Integration step (Eq. 195)
-            this.deltaN = (s2 - s1) / n;
-
-            // Segments
-            final double[] s = getSegments(n, s1, s2);
-
-            // Useful parameters
-            final double rp = ray.getRadius();
-            final SinCos scLatP = FastMath.sinCos(ray.getLatitude());
-
-            // Geodetic coordinates
-            final int size = s.length;
-            heights    = new double[size];
-            latitudes  = new double[size];
-            longitudes = new double[size];
-            for (int i = 0; i < size; i++) {
-                // Heights (Eq. 178)
-                heights[i] = FastMath.sqrt(s[i] * s[i] + rp * rp) - RE;
-
-                // Great circle parameters (Eq. 179 to 181)
-                final double tanDs = s[i] / rp;
-                final double cosDs = 1.0 / FastMath.sqrt(1.0 + tanDs * tanDs);
-                final double sinDs = tanDs * cosDs;
-
-                // Latitude (Eq. 182 to 183)
-                final double sinLatS = scLatP.sin() * cosDs + scLatP.cos() * sinDs * ray.getCosineAz();
-                final double cosLatS = FastMath.sqrt(1.0 - sinLatS * sinLatS);
-                latitudes[i] = FastMath.atan2(sinLatS, cosLatS);
-
-                // Longitude (Eq. 184 to 187)
-                final double sinLonS = sinDs * ray.getSineAz() * scLatP.cos();
-                final double cosLonS = cosDs - scLatP.sin() * sinLatS;
-                longitudes[i] = FastMath.atan2(sinLonS, cosLonS) + ray.getLongitude();
-            }
-        }
-
-        /**
-         * Computes the distance of a point from the ray-perigee.
-         * @param n number of points used for the integration
-         * @param s1 lower boundary
-         * @param s2 upper boundary
-         * @return the distance of a point from the ray-perigee in km
-         */
-        private double[] getSegments(final int n, final double s1, final double s2) {
-            // Eq. 196
-            final double g = 0.5773502691896 * deltaN;
-            // Eq. 197
-            final double y = s1 + (deltaN - g) * 0.5;
-            final double[] segments = new double[2 * n];
-            int index = 0;
-            for (int i = 0; i < n; i++) {
-                // Eq. 198
-                segments[index] = y + i * deltaN;
-                index++;
-                segments[index] = y + i * deltaN + g;
-                index++;
-            }
-            return segments;
-        }
-
-        /**
-         * Get the latitudes of the coordinates along the integration path.
-         * @return the latitudes in radians
-         */
-        public double[] getLatitudes() {
-            return latitudes;
-        }
-
-        /**
-         * Get the longitudes of the coordinates along the integration path.
-         * @return the longitudes in radians
-         */
-        public double[] getLongitudes() {
-            return longitudes;
-        }
-
-        /**
-         * Get the heights of the coordinates along the integration path.
-         * @return the heights in m
-         */
-        public double[] getHeights() {
-            return heights;
-        }
-
-        /**
-         * Get the integration step.
-         * @return the integration step in meters
-         */
-        public double getInterval() {
-            return deltaN;
-        }
-    }
-
-    /** Performs the computation of the coordinates along the integration path. */
-    private static class FieldSegment <T extends RealFieldElement<T>> {
-
-        /** Latitudes [rad]. */
-        private final T[] latitudes;
-
-        /** Longitudes [rad]. */
-        private final T[] longitudes;
-
-        /** Heights [m]. */
-        private final T[] heights;
-
-        /** Integration step [m]. */
-        private final T deltaN;
-
-        /**
-         * Constructor.
-         * @param field field of the elements
-         * @param n number of points used for the integration
-         * @param ray ray-perigee parameters
-         */
-        FieldSegment(final Field<T> field, final int n, final FieldRay<T> ray) {
-            // Integration en points
-            final T s1 = ray.getS1();
-            final T s2 = ray.getS2();
-
-            // Integration step (Eq. 195)
-            this.deltaN = s2.subtract(s1).divide(n);
-
-            // Segments
-            final T[] s = getSegments(field, n, s1, s2);
-
-            // Useful parameters
-            final T rp = ray.getRadius();
-            final FieldSinCos<T> scLatP = FastMath.sinCos(ray.getLatitude());
-
-            // Geodetic coordinates
-            final int size = s.length;
-            heights    = MathArrays.buildArray(field, size);
-            latitudes  = MathArrays.buildArray(field, size);
-            longitudes = MathArrays.buildArray(field, size);
-            for (int i = 0; i < size; i++) {
-                // Heights (Eq. 178)
-                heights[i] = FastMath.sqrt(s[i].multiply(s[i]).add(rp.multiply(rp))).subtract(RE);
-
-                // Great circle parameters (Eq. 179 to 181)
-                final T tanDs = s[i].divide(rp);
-                final T cosDs = FastMath.sqrt(tanDs.multiply(tanDs).add(1.0)).reciprocal();
-                final T sinDs = tanDs.multiply(cosDs);
-
-                // Latitude (Eq. 182 to 183)
-                final T sinLatS = scLatP.sin().multiply(cosDs).add(scLatP.cos().multiply(sinDs).multiply(ray.getCosineAz()));
-                final T cosLatS = FastMath.sqrt(sinLatS.multiply(sinLatS).negate().add(1.0));
-                latitudes[i] = FastMath.atan2(sinLatS, cosLatS);
-
-                // Longitude (Eq. 184 to 187)
-                final T sinLonS = sinDs.multiply(ray.getSineAz()).multiply(scLatP.cos());
-                final T cosLonS = cosDs.subtract(scLatP.sin().multiply(sinLatS));
-                longitudes[i] = FastMath.atan2(sinLonS, cosLonS).add(ray.getLongitude());
-            }
-        }
-
-        /**
-         * Computes the distance of a point from the ray-perigee.
-         * @param field field of the elements
-         * @param n number of points used for the integration
-         * @param s1 lower boundary
-         * @param s2 upper boundary
-         * @return the distance of a point from the ray-perigee in km
-         */
-        private T[] getSegments(final Field<T> field, final int n, final T s1, final T s2) {
-            // Eq. 196
-            final T g = deltaN.multiply(0.5773502691896);
-            // Eq. 197
-            final T y = s1.add(deltaN.subtract(g).multiply(0.5));
-            final T[] segments = MathArrays.buildArray(field, 2 * n);
-            int index = 0;
-            for (int i = 0; i < n; i++) {
-                // Eq. 198
-                segments[index] = y.add(deltaN.multiply(i));
-                index++;
-                segments[index] = y.add(deltaN.multiply(i)).add(g);
-                index++;
-            }
-            return segments;
-        }
-
-        /**
-         * Get the latitudes of the coordinates along the integration path.
-         * @return the latitudes in radians
-         */
-        public T[] getLatitudes() {
-            return latitudes;
-        }
-
-        /**
-         * Get the longitudes of the coordinates along the integration path.
-         * @return the longitudes in radians
-         */
-        public T[] getLongitudes() {
-            return longitudes;
-        }
-
-        /**
-         * Get the heights of the coordinates along the integration path.
-         * @return the heights in m
-         */
-        public T[] getHeights() {
-            return heights;
-        }
-
-        /**
-         * Get the integration step.
-         * @return the integration step in meters
-         */
-        public T getInterval() {
-            return deltaN;
-        }
-    }
-
 }
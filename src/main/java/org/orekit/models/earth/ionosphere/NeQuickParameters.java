@@ -73,18 +73,17 @@ class NeQuickParameters {
 
     /**
      * Build a new instance.
-     * @param dateTime current date time components
-     * @param f2 F2 coefficients used by the F2 layer
-     * @param fm3 Fm3 coefficients used by the F2 layer
+     * @param fourier Fourier time series of the CCIR coefficients at current date
      * @param latitude latitude of a point along the integration path, in radians
      * @param longitude longitude of a point along the integration path, in radians
      * @param alpha effective ionisation level coefficients
      * @param modipGrip modip grid
      */
-    NeQuickParameters(final DateTimeComponents dateTime, final double[][][] f2,
-                      final double[][][] fm3, final double latitude, final double longitude,
+    NeQuickParameters(final FourierTimeSeries fourier, final double latitude, final double longitude,
                       final double[] alpha, final double[][] modipGrip) {
 
+        final DateTimeComponents dateTime = fourier.getDateTime();
+
         // MODIP in degrees
         final double modip = computeMODIP(latitude, longitude, modipGrip);
         // Effective ionisation level Az
@@ -99,23 +98,6 @@ class NeQuickParameters {
         // Effective solar zenith angle in radians
         final double xeff = computeEffectiveSolarAngle(date.getMonth(), hours, latitude, longitude);
 
-        // Coefficients for F2 layer parameters
-        // Compute the array of interpolated coefficients for foF2 (Eq. 44)
-        final double[][] af2 = new double[76][13];
-        for (int j = 0; j < 76; j++) {
-            for (int k = 0; k < 13; k++ ) {
-                af2[j][k] = f2[0][j][k] * (1.0 - (azr * 0.01)) + f2[1][j][k] * (azr * 0.01);
-            }
-        }
-
-        // Compute the array of interpolated coefficients for M(3000)F2 (Eq. 46)
-        final  double[][] am3 = new double[49][9];
-        for (int j = 0; j < 49; j++) {
-            for (int k = 0; k < 9; k++ ) {
-                am3[j][k] = fm3[0][j][k] * (1.0 - (azr * 0.01)) + fm3[1][j][k] * (azr * 0.01);
-            }
-        }
-
         // E layer maximum density height in km (Eq. 78)
         this.hmE = 120.0;
         // E layer critical frequency in MHz
@@ -123,11 +105,10 @@ class NeQuickParameters {
         // E layer maximum density in 10^11 m-3 (Eq. 36)
         final double nmE = 0.124 * foE * foE;
 
-        // Time argument (Eq. 49)
-        final double t = FastMath.toRadians(15 * hours) - FastMath.PI;
-        // Compute Fourier time series for foF2 and M(3000)F2
-        final double[] cf2 = computeCF2(af2, t);
-        final double[] cm3 = computeCm3(am3, t);
+        // Fourier time series for foF2 and M(3000)F2 (Eq. 44 to 51),
+        // interpolated between low and high solar activity levels
+        final double[] cf2 = interpolateSeries(fourier.getCf2Reference(), azr * 0.01);
+        final double[] cm3 = interpolateSeries(fourier.getCm3Reference(), azr * 0.01);
         // F2 layer critical frequency in MHz
         final double foF2 = computefoF2(modip, cf2, latitude, longitude);
         // Maximum Usable Frequency factor
@@ -434,43 +415,19 @@ class NeQuickParameters {
     }
 
     /**
-     * Computes cf2 coefficients.
-     * @param af2 interpolated coefficients for foF2
-     * @param t time argument
-     * @return the cf2 coefficients array
+     * Interpolates Fourier time series between low and high solar activity levels.
+     * @param series Fourier time series at low (index 0) and high (index 1) solar activity
+     * @param w interpolation weight for high solar activity
+     * @return interpolated series
      */
-    private double[] computeCF2(final double[][] af2, final double t) {
-        // Eq. 50
-        final double[] cf2 = new double[76];
-        for (int i = 0; i < cf2.length; i++) {
-            double sum = 0.0;
-            for (int k = 0; k < 6; k++) {
-                final SinCos sc = FastMath.sinCos((k + 1) * t);
-                sum += af2[i][2 * k + 1] * sc.sin() + af2[i][2 * (k + 1)] * sc.cos();
-            }
-            cf2[i] = af2[i][0] + sum;
-        }
-        return cf2;
-    }
-
-    /**
-     * Computes Cm3 coefficients.
-     * @param am3 interpolated coefficients for foF2
-     * @param t time argument
-     * @return the Cm3 coefficients array
-     */
-    private double[] computeCm3(final double[][] am3, final double t) {
-        // Eq. 51
-        final double[] cm3 = new double[49];
-        for (int i = 0; i < cm3.length; i++) {
-            double sum = 0.0;
-            for (int k = 0; k < 4; k++) {
-                final SinCos sc = FastMath.sinCos((k + 1) * t);
-                sum += am3[i][2 * k + 1] * sc.sin() + am3[i][2 * (k + 1)] * sc.cos();
-            }
-            cm3[i] = am3[i][0] + sum;
+    private double[] interpolateSeries(final double[][] series, final double w) {
+        final double[] low  = series[0];
+        final double[] high = series[1];
+        final double[] interpolated = new double[low.length];
+        for (int i = 0; i < interpolated.length; i++) {
+            interpolated[i] = low[i] * (1.0 - w) + high[i] * w;
         }
-        return cm3;
+        return interpolated;
     }
 
     /**
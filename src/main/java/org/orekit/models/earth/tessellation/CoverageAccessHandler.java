@@ -0,0 +1,50 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.tessellation;
+
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.time.AbsoluteDate;
+
+/** Handler for access intervals streamed by {@link CoverageComputer}.
+ * <p>
+ * Access intervals are provided as they are completed, so they do not need
+ * to be stored by the computer itself and arbitrarily long analyses can be
+ * performed in bounded memory. All calls are performed from the thread that
+ * called {@link CoverageComputer#compute(java.util.List, AbsoluteDate, AbsoluteDate,
+ * double, CoverageAccessHandler) compute}, in chronological order of access end.
+ * </p>
+ * @author agent
+ * @since 11.0
+ */
+@FunctionalInterface
+public interface CoverageAccessHandler {
+
+    /** Handle one access interval.
+     * <p>
+     * An access interval starts at the first sample date for which at least one
+     * satellite sees the point and ends at the last consecutive sample date for
+     * which at least one satellite sees the point. It may therefore have a zero
+     * duration if the point is seen at one isolated sample only.
+     * </p>
+     * @param pointIndex index of the point in the computer grid
+     * @param point grid point
+     * @param start access start
+     * @param end access end
+     */
+    void handleAccess(int pointIndex, GeodeticPoint point, AbsoluteDate start, AbsoluteDate end);
+
+}
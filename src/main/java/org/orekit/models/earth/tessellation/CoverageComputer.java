@@ -0,0 +1,308 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.tessellation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.frames.Frame;
+import org.orekit.frames.Transform;
+import org.orekit.geometry.fov.FieldOfView;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.events.VisibilityTrigger;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.HorizonConeIndex;
+
+/** Computer for coverage statistics of satellites constellations over grids of points.
+ * <p>
+ * The grid is typically built by {@link EllipsoidTessellator#sample(org.hipparchus.geometry.spherical.twod.SphericalPolygonsSet,
+ * double, double) sampling} a zone of interest, but any list of points may be used. A point is
+ * covered at some date if at least one satellite sees it above the minimum elevation and, if
+ * a {@link FieldOfView} has been configured, within the Field Of View of the satellite.
+ * </p>
+ * <p>
+ * Coverage is evaluated on a regular time grid, without attaching any event detector to
+ * the propagators. At each sample date, each satellite is propagated only once, the points
+ * that cannot see it are pruned using a conservative horizon cone around the sub-satellite
+ * direction and an index of the points sorted by latitude, and only the remaining candidate
+ * points are checked. Satellites are processed in parallel for each date. The statistics are
+ * accumulated on the fly in a {@link CoverageStatistics} instance, and the access intervals
+ * may be streamed to a {@link CoverageAccessHandler}, so memory consumption depends on the
+ * number of points and satellites but not on the analysis duration.
+ * </p>
+ * <p>
+ * The propagators are called from the calling thread only, so they do not need to be
+ * thread-safe, and they are called in chronological order.
+ * </p>
+ * @author agent
+ * @since 11.0
+ * @see CoverageStatistics
+ */
+public class CoverageComputer {
+
+    /** Body shape on which points are defined. */
+    private final OneAxisEllipsoid shape;
+
+    /** Grid points. */
+    private final List<GeodeticPoint> points;
+
+    /** Minimum elevation (rad). */
+    private final double minElevation;
+
+    /** Field Of View of the satellites, if defined. */
+    private final FieldOfView fov;
+
+    /** Index of points for horizon cone pruning. */
+    private final HorizonConeIndex index;
+
+    /** Simple constructor.
+     * @param shape body shape on which points are defined
+     * @param points grid points
+     * @param minElevation minimum elevation for visibility (rad)
+     * @param fov Field Of View of the satellites (may be null)
+     */
+    private CoverageComputer(final OneAxisEllipsoid shape, final List<GeodeticPoint> points,
+                             final double minElevation, final FieldOfView fov) {
+
+        this.shape        = shape;
+        this.points       = points;
+        this.minElevation = minElevation;
+        this.fov          = fov;
+
+        final List<Vector3D> positions = new ArrayList<>(points.size());
+        final List<Vector3D> zeniths   = new ArrayList<>(points.size());
+        for (final GeodeticPoint point : points) {
+            positions.add(shape.transform(point));
+            zeniths.add(point.getZenith());
+        }
+        this.index = new HorizonConeIndex(positions, zeniths, minElevation);
+
+    }
+
+    /** Store a vector in a primitive array.
+     * @param v vector to store
+     * @param array array where to store the vector
+     * @param index index of the first component
+     */
+    private static void store(final Vector3D v, final double[] array, final int index) {
+        array[index]     = v.getX();
+        array[index + 1] = v.getY();
+        array[index + 2] = v.getZ();
+    }
+
+    /** Create a coverage computer for a grid of points.
+     * <p>
+     * A minimum elevation of 0° is used and no Field Of View is configured.
+     * </p>
+     * @param shape body shape on which points are defined
+     * @param points grid points
+     * @return a configured coverage computer
+     */
+    public static CoverageComputer create(final OneAxisEllipsoid shape, final List<GeodeticPoint> points) {
+        return new CoverageComputer(shape, new ArrayList<>(points), 0.0, null);
+    }
+
+    /** Set the minimum elevation.
+     * @param newMinElevation minimum elevation for visibility (rad)
+     * @return a new coverage computer with updated configuration (the instance is not changed)
+     * @see #getMinElevation()
+     */
+    public CoverageComputer withMinElevation(final double newMinElevation) {
+        return new CoverageComputer(shape, points, newMinElevation, fov);
+    }
+
+    /** Set the Field Of View of the satellites.
+     * <p>
+     * The Field Of View is defined in spacecraft frame, and the attitude of the
+     * states produced by the propagators is used to orient it.
+     * </p>
+     * @param newFov Field Of View of the satellites (null to consider elevation only)
+     * @return a new coverage computer with updated configuration (the instance is not changed)
+     * @see #getFieldOfView()
+     */
+    public CoverageComputer withFieldOfView(final FieldOfView newFov) {
+        return new CoverageComputer(shape, points, minElevation, newFov);
+    }
+
+    /** Get the grid points.
+     * @return grid points
+     */
+    public List<GeodeticPoint> getPoints() {
+        return Collections.unmodifiableList(points);
+    }
+
+    /** Get the minimum elevation.
+     * @return minimum elevation (rad)
+     */
+    public double getMinElevation() {
+        return minElevation;
+    }
+
+    /** Get the Field Of View of the satellites.
+     * @return Field Of View of the satellites (null if only elevation is considered)
+     */
+    public FieldOfView getFieldOfView() {
+        return fov;
+    }
+
+    /** Compute coverage statistics.
+     * @param satellites propagators for all satellites
+     * @param start start of the analysis
+     * @param end end of the analysis (must be after start)
+     * @param step sampling step (s, must be strictly positive)
+     * @param handler handler for access intervals (may be null)
+     * @return coverage statistics for all points
+     */
+    public CoverageStatistics compute(final List<? extends Propagator> satellites,
+                                      final AbsoluteDate start, final AbsoluteDate end,
+                                      final double step, final CoverageAccessHandler handler) {
+
+        if (!(step > 0) || Double.isInfinite(step)) {
+            throw new OrekitException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, step, 0.0);
+        }
+        if (end.durationFrom(start) < 0) {
+            throw new OrekitException(LocalizedCoreFormats.ENDPOINTS_NOT_AN_INTERVAL, start, end);
+        }
+
+        final CoverageStatistics    statistics  = new CoverageStatistics(start, end, points);
+        final Frame                 bodyFrame   = shape.getBodyFrame();
+        final Map<Frame, Transform> transforms  = new IdentityHashMap<>();
+        final Vector3D[]            sub         = new Vector3D[satellites.size()];
+        final Transform[]           bodyToSc    = new Transform[satellites.size()];
+        final boolean[]             covered     = new boolean[points.size()];
+        final boolean[]             inAccess    = new boolean[points.size()];
+        final double[]              accessStart = new double[points.size()];
+        final double[]              lastCovered = new double[points.size()];
+
+        final double duration = end.durationFrom(start);
+        final int    n        = (int) FastMath.ceil(duration / step);
+        for (int k = 0; k <= n; ++k) {
+
+            // propagate each satellite only once for all points
+            final AbsoluteDate date = k == n ? end : start.shiftedBy(k * step);
+            final double       t    = k == n ? duration : k * step;
+            transforms.clear();
+            for (int j = 0; j < satellites.size(); ++j) {
+                final SpacecraftState state  = satellites.get(j).propagate(date);
+                Transform             toBody = transforms.get(state.getFrame());
+                if (toBody == null) {
+                    toBody = state.getFrame().getTransformTo(bodyFrame, date);
+                    transforms.put(state.getFrame(), toBody);
+                }
+                sub[j] = toBody.transformPosition(state.getPVCoordinates().getPosition());
+                if (fov != null) {
+                    bodyToSc[j] = new Transform(date, toBody.getInverse(), state.toTransform());
+                }
+            }
+
+            // evaluate all satellites in parallel
+            Arrays.fill(covered, false);
+            IntStream.range(0, satellites.size()).parallel().forEach(j -> cover(sub[j], bodyToSc[j], covered));
+
+            // update statistics
+            statistics.addSample();
+            for (int i = 0; i < covered.length; ++i) {
+                if (covered[i]) {
+                    statistics.addCoveredSample(i);
+                    if (!inAccess[i]) {
+                        // start of a new access
+                        statistics.addAccess(i);
+                        if (k > 0) {
+                            statistics.addGap(i, t - lastCovered[i]);
+                        }
+                        inAccess[i]    = true;
+                        accessStart[i] = t;
+                    }
+                    lastCovered[i] = t;
+                } else if (inAccess[i]) {
+                    // end of an access
+                    inAccess[i] = false;
+                    if (handler != null) {
+                        handler.handleAccess(i, points.get(i),
+                                             start.shiftedBy(accessStart[i]), start.shiftedBy(lastCovered[i]));
+                    }
+                }
+            }
+
+        }
+
+        // close accesses and gaps still open at analysis end
+        for (int i = 0; i < points.size(); ++i) {
+            if (inAccess[i]) {
+                if (handler != null) {
+                    handler.handleAccess(i, points.get(i), start.shiftedBy(accessStart[i]), end);
+                }
+            } else {
+                statistics.addGap(i, duration - lastCovered[i]);
+            }
+        }
+
+        return statistics;
+
+    }
+
+    /** Mark the points covered by one satellite.
+     * @param s satellite position in body frame
+     * @param bodyToSc transform from body frame to spacecraft frame (null if no Field Of View is used)
+     * @param covered array where to mark covered points (only true values are written)
+     */
+    private void cover(final Vector3D s, final Transform bodyToSc, final boolean[] covered) {
+
+        // select candidates above minimum elevation
+        final int[] candidates   = index.getCandidates(s);
+        int         nbCandidates = 0;
+        for (final int i : candidates) {
+            if (index.getElevationMargin(s, i) > 0) {
+                candidates[nbCandidates++] = i;
+            }
+        }
+
+        if (fov == null) {
+            for (int c = 0; c < nbCandidates; ++c) {
+                covered[candidates[c]] = true;
+            }
+        } else {
+            // check all candidates at once against the Field Of View
+            final double[]  linesOfSight = new double[3 * nbCandidates];
+            final boolean[] visible      = new boolean[nbCandidates];
+            for (int c = 0; c < nbCandidates; ++c) {
+                final int i = candidates[c];
+                store(bodyToSc.transformPosition(index.getPosition(i)), linesOfSight, 3 * c);
+            }
+            fov.checkVisibility(linesOfSight, null, VisibilityTrigger.VISIBLE_ONLY_WHEN_FULLY_IN_FOV, visible);
+            for (int c = 0; c < nbCandidates; ++c) {
+                if (visible[c]) {
+                    covered[candidates[c]] = true;
+                }
+            }
+        }
+
+    }
+
+}
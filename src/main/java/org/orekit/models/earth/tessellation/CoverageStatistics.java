@@ -0,0 +1,219 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.tessellation;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.hipparchus.util.FastMath;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.time.AbsoluteDate;
+
+/** Container for coverage statistics computed over a grid of points.
+ * <p>
+ * The statistics are stored in primitive arrays indexed by point, their size
+ * does not depend on the duration of the analysis.
+ * </p>
+ * <p>
+ * Coverage is evaluated at sample dates only. Gaps are the intervals between
+ * the last sample date of one access and the first sample date of the next
+ * access, including the initial gap from analysis start to the first access and
+ * the final gap from the last access to analysis end, if they are not empty.
+ * The revisit time of a point is therefore its maximum gap, and the accuracy of all
+ * durations is limited by the sampling step.
+ * </p>
+ * @author agent
+ * @since 11.0
+ * @see CoverageComputer
+ */
+public class CoverageStatistics {
+
+    /** Analysis start. */
+    private final AbsoluteDate start;
+
+    /** Analysis end. */
+    private final AbsoluteDate end;
+
+    /** Grid points. */
+    private final List<GeodeticPoint> points;
+
+    /** Number of sample dates. */
+    private int samplesNumber;
+
+    /** Number of covered samples for each point. */
+    private final int[] coveredSamples;
+
+    /** Number of accesses for each point. */
+    private final int[] accesses;
+
+    /** Number of gaps for each point. */
+    private final int[] gapsNumber;
+
+    /** Sum of gaps durations for each point. */
+    private final double[] gapsSum;
+
+    /** Maximum gap duration for each point. */
+    private final double[] maxGap;
+
+    /** Simple constructor.
+     * @param start analysis start
+     * @param end analysis end
+     * @param points grid points
+     */
+    CoverageStatistics(final AbsoluteDate start, final AbsoluteDate end, final List<GeodeticPoint> points) {
+        this.start          = start;
+        this.end            = end;
+        this.points         = points;
+        this.samplesNumber  = 0;
+        this.coveredSamples = new int[points.size()];
+        this.accesses       = new int[points.size()];
+        this.gapsNumber     = new int[points.size()];
+        this.gapsSum        = new double[points.size()];
+        this.maxGap         = new double[points.size()];
+    }
+
+    /** Add one sample date.
+     */
+    void addSample() {
+        ++samplesNumber;
+    }
+
+    /** Add one covered sample for a point.
+     * @param pointIndex index of the point
+     */
+    void addCoveredSample(final int pointIndex) {
+        ++coveredSamples[pointIndex];
+    }
+
+    /** Add one access for a point.
+     * @param pointIndex index of the point
+     */
+    void addAccess(final int pointIndex) {
+        ++accesses[pointIndex];
+    }
+
+    /** Add one gap for a point.
+     * @param pointIndex index of the point
+     * @param duration gap duration
+     */
+    void addGap(final int pointIndex, final double duration) {
+        ++gapsNumber[pointIndex];
+        gapsSum[pointIndex] += duration;
+        maxGap[pointIndex]   = FastMath.max(maxGap[pointIndex], duration);
+    }
+
+    /** Get the analysis start.
+     * @return analysis start
+     */
+    public AbsoluteDate getStart() {
+        return start;
+    }
+
+    /** Get the analysis end.
+     * @return analysis end
+     */
+    public AbsoluteDate getEnd() {
+        return end;
+    }
+
+    /** Get the grid points.
+     * @return grid points
+     */
+    public List<GeodeticPoint> getPoints() {
+        return Collections.unmodifiableList(points);
+    }
+
+    /** Get the number of sample dates.
+     * @return number of sample dates
+     */
+    public int getSamplesNumber() {
+        return samplesNumber;
+    }
+
+    /** Get the coverage ratio of one point.
+     * @param pointIndex index of the point
+     * @return ratio of sample dates at which the point is covered (between 0 and 1)
+     */
+    public double getCoverageRatio(final int pointIndex) {
+        return ((double) coveredSamples[pointIndex]) / samplesNumber;
+    }
+
+    /** Get the number of accesses of one point.
+     * @param pointIndex index of the point
+     * @return number of accesses
+     */
+    public int getAccessesNumber(final int pointIndex) {
+        return accesses[pointIndex];
+    }
+
+    /** Get the number of gaps of one point.
+     * @param pointIndex index of the point
+     * @return number of gaps
+     */
+    public int getGapsNumber(final int pointIndex) {
+        return gapsNumber[pointIndex];
+    }
+
+    /** Get the maximum gap of one point.
+     * @param pointIndex index of the point
+     * @return maximum gap duration (s), 0 if point is always covered
+     */
+    public double getMaxGap(final int pointIndex) {
+        return maxGap[pointIndex];
+    }
+
+    /** Get the mean gap of one point.
+     * @param pointIndex index of the point
+     * @return mean gap duration (s), {@link Double#NaN NaN} if point is always covered
+     */
+    public double getMeanGap(final int pointIndex) {
+        return gapsNumber[pointIndex] == 0 ? Double.NaN : gapsSum[pointIndex] / gapsNumber[pointIndex];
+    }
+
+    /** Get the coverage ratios of all points.
+     * @return coverage ratios of all points (a new array is allocated at each call)
+     * @see #getCoverageRatio(int)
+     */
+    public double[] getCoverageRatios() {
+        final double[] ratios = new double[points.size()];
+        for (int i = 0; i < ratios.length; ++i) {
+            ratios[i] = getCoverageRatio(i);
+        }
+        return ratios;
+    }
+
+    /** Get the maximum gaps of all points.
+     * @return maximum gaps of all points (a new array is allocated at each call)
+     * @see #getMaxGap(int)
+     */
+    public double[] getMaxGaps() {
+        return maxGap.clone();
+    }
+
+    /** Get the mean gaps of all points.
+     * @return mean gaps of all points (a new array is allocated at each call)
+     * @see #getMeanGap(int)
+     */
+    public double[] getMeanGaps() {
+        final double[] gaps = new double[points.size()];
+        for (int i = 0; i < gaps.length; ++i) {
+            gaps[i] = getMeanGap(i);
+        }
+        return gaps;
+    }
+
+}
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Queue;
+import java.util.stream.IntStream;
 
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
 import org.hipparchus.geometry.partitioning.BSPTree;
@@ -60,6 +61,15 @@ import org.orekit.errors.OrekitInternalError;
  * that the tesselation will always be distorted, and distortion increases as
  * the size of the zone to be tessellated increases.
  * </p>
+ * <p>
+ * Tessellation can be performed in parallel mode. In this mode, the mesh
+ * itself is still grown sequentially, as its nodes are built from their
+ * neighbors, but the costly geometric checks that do not change the mesh
+ * (checking if the mesh boundary still meets the zone and checking if
+ * candidate tiles intersect the zone) are performed in parallel. The
+ * tiles and samples produced are therefore exactly the same as in
+ * sequential mode.
+ * </p>
  * @author Luc Maisonobe
  * @since 7.1
  */
@@ -74,6 +84,9 @@ public class EllipsoidTessellator {
     /** Underlying ellipsoid. */
     private final OneAxisEllipsoid ellipsoid;
 
+    /** Indicator for parallel mode. */
+    private final boolean parallel;
+
     /** Simple constructor.
      * <p>
      * The {@code quantization} parameter is used internally to adjust points positioning.
@@ -97,12 +110,42 @@ public class EllipsoidTessellator {
      * @param ellipsoid underlying ellipsoid
      * @param aiming aiming used for orienting tiles
      * @param quantization number of segments tiles sides are split into for tiles fine positioning
+     * @see #EllipsoidTessellator(OneAxisEllipsoid, TileAiming, int, boolean)
      */
     public EllipsoidTessellator(final OneAxisEllipsoid ellipsoid, final TileAiming aiming,
                                 final int quantization) {
+        this(ellipsoid, aiming, quantization, false);
+    }
+
+    /** Simple constructor.
+     * <p>
+     * The {@code quantization} parameter is explained in the {@link
+     * #EllipsoidTessellator(OneAxisEllipsoid, TileAiming, int) sequential constructor}.
+     * </p>
+     * <p>
+     * In parallel mode, the geometric checks are performed using the common fork-join pool.
+     * The {@link TileAiming aiming} is not used in these checks, it does not need to be thread-safe.
+     * </p>
+     * @param ellipsoid underlying ellipsoid
+     * @param aiming aiming used for orienting tiles
+     * @param quantization number of segments tiles sides are split into for tiles fine positioning
+     * @param parallel if true, geometric checks are performed in parallel
+     * @since 11.0
+     */
+    public EllipsoidTessellator(final OneAxisEllipsoid ellipsoid, final TileAiming aiming,
+                                final int quantization, final boolean parallel) {
         this.ellipsoid    = ellipsoid;
         this.aiming       = aiming;
         this.quantization = quantization;
+        this.parallel     = parallel;
+    }
+
+    /** Check if tessellation is performed in parallel mode.
+     * @return true if tessellation is performed in parallel mode
+     * @since 11.0
+     */
+    public boolean isParallel() {
+        return parallel;
     }
 
     /** Tessellate a zone of interest into tiles.
@@ -340,9 +383,18 @@ public class EllipsoidTessellator {
             expanding = false;
             final List<Mesh.Node> boundary = mesh.getTaxicabBoundary(false);
             if (boundary.size() > 1) {
-                Mesh.Node previous = boundary.get(boundary.size() - 1);
-                for (final Mesh.Node node : boundary) {
-                    if (meetInside(previous.getS2P(), node.getS2P(), zone)) {
+
+                // checking the arcs does not change the mesh, it can be done beforehand
+                final int       n    = boundary.size();
+                final boolean[] meet = new boolean[n];
+                indices(n).forEach(i -> meet[i] = meetInside(boundary.get((i + n - 1) % n).getS2P(),
+                                                             boundary.get(i).getS2P(),
+                                                             zone));
+
+                Mesh.Node previous = boundary.get(n - 1);
+                for (int i = 0; i < n; ++i) {
+                    final Mesh.Node node = boundary.get(i);
+                    if (meet[i]) {
                         // part of the mesh boundary is still inside the zone!
                         // the mesh must be expanded again
                         addAllNeighborsIfNeeded(previous, mesh, newNodes);
@@ -372,6 +424,7 @@ public class EllipsoidTessellator {
 
         final List<Tile>      tiles = new ArrayList<Tile>();
         final List<RangePair> rangePairs = new ArrayList<RangePair>();
+        final List<Candidate> candidates = new ArrayList<Candidate>();
 
         final int minAcross = mesh.getMinAcrossIndex();
         final int maxAcross = mesh.getMaxAcrossIndex();
@@ -402,18 +455,22 @@ public class EllipsoidTessellator {
                 final S2Point s2p3 = node3.move(new Vector3D(-0.5 * lengthOverlap, node2.getAlong(),
                                                              +0.5 * widthOverlap,  node2.getAcross()));
 
-                // create a quadrilateral region corresponding to the candidate tile
-                final SphericalPolygonsSet quadrilateral =
-                        new SphericalPolygonsSet(zone.getTolerance(), s2p0, s2p1, s2p2, s2p3);
-
-                if (!new RegionFactory<Sphere2D>().intersection(zone.copySelf(), quadrilateral).isEmpty()) {
-
-                    // the tile does cover part of the zone, it contributes to the tessellation
-                    tiles.add(new Tile(toGeodetic(s2p0), toGeodetic(s2p1), toGeodetic(s2p2), toGeodetic(s2p3)));
-                    rangePairs.add(new RangePair(acrossPair, alongPair));
+                candidates.add(new Candidate(new RangePair(acrossPair, alongPair), s2p0, s2p1, s2p2, s2p3));
 
-                }
+            }
+        }
 
+        // checking candidate tiles does not change the mesh, it can be done beforehand
+        final boolean[] covering = new boolean[candidates.size()];
+        indices(candidates.size()).forEach(i -> covering[i] = candidates.get(i).intersects(zone));
+
+        for (int i = 0; i < covering.length; ++i) {
+            if (covering[i]) {
+                // the tile does cover part of the zone, it contributes to the tessellation
+                final Candidate candidate = candidates.get(i);
+                tiles.add(new Tile(toGeodetic(candidate.s2p0), toGeodetic(candidate.s2p1),
+                                   toGeodetic(candidate.s2p2), toGeodetic(candidate.s2p3)));
+                rangePairs.add(candidate.rangePair);
             }
         }
 
@@ -601,6 +658,15 @@ public class EllipsoidTessellator {
 
     }
 
+    /** Get a stream over indices, parallel if tessellator is in parallel mode.
+     * @param n number of indices
+     * @return stream over indices from 0 to n-1
+     */
+    private IntStream indices(final int n) {
+        final IntStream stream = IntStream.range(0, n);
+        return parallel ? stream.parallel() : stream;
+    }
+
     /** Convert a point on the unit 2-sphere to geodetic coordinates.
      * @param point point on the unit 2-sphere
      * @return geodetic point (arbitrarily set at altitude 0)
@@ -863,4 +929,57 @@ public class EllipsoidTessellator {
 
     }
 
+    /** Local class for a candidate tile. */
+    private static class Candidate {
+
+        /** Indices ranges of the tile. */
+        private final RangePair rangePair;
+
+        /** First vertex. */
+        private final S2Point s2p0;
+
+        /** Second vertex. */
+        private final S2Point s2p1;
+
+        /** Third vertex. */
+        private final S2Point s2p2;
+
+        /** Fourth vertex. */
+        private final S2Point s2p3;
+
+        /** Simple constructor.
+         * @param rangePair indices ranges of the tile
+         * @param s2p0 first vertex
+         * @param s2p1 second vertex
+         * @param s2p2 third vertex
+         * @param s2p3 fourth vertex
+         */
+        Candidate(final RangePair rangePair,
+                  final S2Point s2p0, final S2Point s2p1, final S2Point s2p2, final S2Point s2p3) {
+            this.rangePair = rangePair;
+            this.s2p0      = s2p0;
+            this.s2p1      = s2p1;
+            this.s2p2      = s2p2;
+            this.s2p3      = s2p3;
+        }
+
+        /** Check if the candidate tile intersects a zone.
+         * <p>
+         * The zone is not modified, so this method can be called from several threads.
+         * </p>
+         * @param zone zone to check
+         * @return true if the candidate tile intersects the zone
+         */
+        boolean intersects(final SphericalPolygonsSet zone) {
+
+            // create a quadrilateral region corresponding to the candidate tile
+            final SphericalPolygonsSet quadrilateral =
+                    new SphericalPolygonsSet(zone.getTolerance(), s2p0, s2p1, s2p2, s2p3);
+
+            return !new RegionFactory<Sphere2D>().intersection(zone.copySelf(), quadrilateral).isEmpty();
+
+        }
+
+    }
+
 }
@@ -0,0 +1,292 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.troposphere;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.analysis.interpolation.SplineInterpolator;
+import org.hipparchus.analysis.polynomials.PolynomialSplineFunction;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.utils.ParameterDriver;
+
+/** Caching wrapper around a tropospheric model, intended to be used for one station.
+ * <p>
+ * Measurements processing calls the tropospheric model for each measurement, and
+ * models like {@link ViennaThreeModel} or {@link GlobalMappingFunctionModel} recompute
+ * all their weather-dependent terms at each call, even if the epoch changed by
+ * a few seconds only and the station did not move at all. This wrapper splits time
+ * into bins of fixed duration. For each bin, the wrapped model is evaluated at the bin
+ * middle date only, to get zenith delays and to tabulate path delay and mapping
+ * functions over an elevation grid. All calls with a date in the same bin then
+ * only interpolate these tables.
+ * </p>
+ * <p>
+ * Time bins are aligned with {@link AbsoluteDate#ARBITRARY_EPOCH}. As mapping functions
+ * behave roughly as 1/sin(elevation), path delay and mapping functions are tabulated
+ * with respect to the cosecant of elevation, on regularly spaced nodes, and interpolated
+ * using natural cubic splines. Below the minimum tabulated elevation, the wrapped model
+ * is called directly.
+ * </p>
+ * <p>
+ * The tables are keyed by time bin, station height and model parameters, and only the
+ * last table is kept. A separate instance should therefore be used for each station
+ * (which is already needed for models depending on station location like {@link
+ * ViennaThreeModel}), and measurements should be processed roughly in chronological
+ * order. Methods using {@link RealFieldElement field elements} are not cached, they
+ * delegate directly to the wrapped model so derivatives are preserved.
+ * </p>
+ * <p>
+ * This class is thread-safe if the wrapped model is thread-safe.
+ * </p>
+ * @author agent
+ * @since 11.0
+ */
+public class CachedTroposphericModel implements DiscreteTroposphericModel {
+
+    /** Default duration of time bins (s). */
+    public static final double DEFAULT_EPOCH_STEP = 900.0;
+
+    /** Default minimum tabulated elevation (rad). */
+    public static final double DEFAULT_MIN_ELEVATION = FastMath.toRadians(3.0);
+
+    /** Default number of elevation nodes. */
+    public static final int DEFAULT_ELEVATION_NODES = 88;
+
+    /** Wrapped model. */
+    private final DiscreteTroposphericModel model;
+
+    /** Duration of time bins. */
+    private final double epochStep;
+
+    /** Minimum tabulated elevation. */
+    private final double minElevation;
+
+    /** Elevation nodes. */
+    private final double[] elevations;
+
+    /** Cosecant of elevation nodes. */
+    private final double[] cosecants;
+
+    /** Last table computed. */
+    private volatile Table last;
+
+    /** Simple constructor with default settings.
+     * @param model wrapped model
+     * @see #DEFAULT_EPOCH_STEP
+     * @see #DEFAULT_MIN_ELEVATION
+     * @see #DEFAULT_ELEVATION_NODES
+     */
+    public CachedTroposphericModel(final DiscreteTroposphericModel model) {
+        this(model, DEFAULT_EPOCH_STEP, DEFAULT_MIN_ELEVATION, DEFAULT_ELEVATION_NODES);
+    }
+
+    /** Simple constructor.
+     * @param model wrapped model
+     * @param epochStep duration of time bins (s)
+     * @param minElevation minimum tabulated elevation (rad), the maximum is always π/2
+     * @param elevationNodes number of elevation nodes (at least 3)
+     */
+    public CachedTroposphericModel(final DiscreteTroposphericModel model, final double epochStep,
+                                   final double minElevation, final int elevationNodes) {
+
+        if (!(epochStep > 0) || Double.isInfinite(epochStep)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     epochStep, 0.0);
+        }
+        if (!(minElevation >= 0 && minElevation < 0.5 * FastMath.PI)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE,
+                                                     minElevation, 0.0, 0.5 * FastMath.PI);
+        }
+        if (elevationNodes < 3) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     elevationNodes, 3);
+        }
+
+        this.model        = model;
+        this.epochStep    = epochStep;
+        this.minElevation = minElevation;
+        this.elevations   = new double[elevationNodes];
+        this.cosecants    = new double[elevationNodes];
+
+        // nodes are regularly spaced in cosecant, from 1 at zenith to 1/sin(minElevation)
+        final double maxCosecant = 1.0 / FastMath.sin(minElevation);
+        final double delta       = (maxCosecant - 1.0) / (elevationNodes - 1);
+        for (int i = 0; i < elevationNodes; ++i) {
+            cosecants[i]  = (i == elevationNodes - 1) ? maxCosecant : 1.0 + i * delta;
+            elevations[i] = (i == elevationNodes - 1) ? minElevation : FastMath.asin(1.0 / cosecants[i]);
+        }
+
+    }
+
+    /** Get the wrapped model.
+     * @return wrapped model
+     */
+    public DiscreteTroposphericModel getModel() {
+        return model;
+    }
+
+    /** Get the table for a date, station height and model parameters.
+     * @param height the height of the station in m above sea level
+     * @param parameters tropospheric model parameters
+     * @param date current date
+     * @return table for the time bin containing the date
+     */
+    private Table getTable(final double height, final double[] parameters, final AbsoluteDate date) {
+        final long bin = (long) FastMath.floor(date.durationFrom(AbsoluteDate.ARBITRARY_EPOCH) / epochStep);
+        Table table = last;
+        if (table == null || !table.matches(bin, height, parameters)) {
+            table = new Table(bin, height, parameters);
+            last  = table;
+        }
+        return table;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double pathDelay(final double elevation, final double height,
+                            final double[] parameters, final AbsoluteDate date) {
+        if (elevation < minElevation || elevation > 0.5 * FastMath.PI) {
+            return model.pathDelay(elevation, height, parameters, date);
+        }
+        return getTable(height, parameters, date).delay.value(1.0 / FastMath.sin(elevation));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends RealFieldElement<T>> T pathDelay(final T elevation, final T height,
+                                                       final T[] parameters, final FieldAbsoluteDate<T> date) {
+        return model.pathDelay(elevation, height, parameters, date);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] computeZenithDelay(final double height, final double[] parameters, final AbsoluteDate date) {
+        return getTable(height, parameters, date).zenith.clone();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends RealFieldElement<T>> T[] computeZenithDelay(final T height, final T[] parameters,
+                                                                  final FieldAbsoluteDate<T> date) {
+        return model.computeZenithDelay(height, parameters, date);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double[] mappingFactors(final double elevation, final double height,
+                                   final double[] parameters, final AbsoluteDate date) {
+        if (elevation < minElevation || elevation > 0.5 * FastMath.PI) {
+            return model.mappingFactors(elevation, height, parameters, date);
+        }
+        final Table  table     = getTable(height, parameters, date);
+        final double cosecant  = 1.0 / FastMath.sin(elevation);
+        return new double[] {
+            table.hydrostatic.value(cosecant),
+            table.wet.value(cosecant)
+        };
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public <T extends RealFieldElement<T>> T[] mappingFactors(final T elevation, final T height,
+                                                              final T[] parameters, final FieldAbsoluteDate<T> date) {
+        return model.mappingFactors(elevation, height, parameters, date);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<ParameterDriver> getParametersDrivers() {
+        return model.getParametersDrivers();
+    }
+
+    /** Tables for one time bin. */
+    private class Table {
+
+        /** Index of the time bin. */
+        private final long bin;
+
+        /** Station height. */
+        private final double height;
+
+        /** Model parameters. */
+        private final double[] parameters;
+
+        /** Zenith delays. */
+        private final double[] zenith;
+
+        /** Path delay as a function of elevation cosecant. */
+        private final PolynomialSplineFunction delay;
+
+        /** Hydrostatic mapping function as a function of elevation cosecant. */
+        private final PolynomialSplineFunction hydrostatic;
+
+        /** Wet mapping function as a function of elevation cosecant. */
+        private final PolynomialSplineFunction wet;
+
+        /** Simple constructor.
+         * @param bin index of the time bin
+         * @param height station height
+         * @param parameters model parameters
+         */
+        Table(final long bin, final double height, final double[] parameters) {
+
+            this.bin        = bin;
+            this.height     = height;
+            this.parameters = parameters.clone();
+
+            // all values are computed at bin middle
+            final AbsoluteDate date = AbsoluteDate.ARBITRARY_EPOCH.shiftedBy((bin + 0.5) * epochStep);
+            this.zenith = model.computeZenithDelay(height, this.parameters, date);
+
+            final double[] d = new double[elevations.length];
+            final double[] h = new double[elevations.length];
+            final double[] w = new double[elevations.length];
+            for (int i = 0; i < elevations.length; ++i) {
+                final double[] factors = model.mappingFactors(elevations[i], height, this.parameters, date);
+                d[i] = model.pathDelay(elevations[i], height, this.parameters, date);
+                h[i] = factors[0];
+                w[i] = factors[1];
+            }
+
+            final SplineInterpolator interpolator = new SplineInterpolator();
+            this.delay       = interpolator.interpolate(cosecants, d);
+            this.hydrostatic = interpolator.interpolate(cosecants, h);
+            this.wet         = interpolator.interpolate(cosecants, w);
+
+        }
+
+        /** Check if the table matches a time bin, station height and model parameters.
+         * @param otherBin index of the time bin
+         * @param otherHeight station height
+         * @param otherParameters model parameters
+         * @return true if the table can be used
+         */
+        boolean matches(final long otherBin, final double otherHeight, final double[] otherParameters) {
+            return bin == otherBin &&
+                   Double.doubleToLongBits(height) == Double.doubleToLongBits(otherHeight) &&
+                   Arrays.equals(parameters, otherParameters);
+        }
+
+    }
+
+}
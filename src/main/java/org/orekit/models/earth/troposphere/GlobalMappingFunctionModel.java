@@ -68,6 +68,18 @@ public class GlobalMappingFunctionModel implements MappingFunction {
     /** UTC time scale. */
     private final TimeScale utc;
 
+    /** Mean value of the hydrostatic coefficient a<sub>h</sub>. */
+    private final double a0Hydro;
+
+    /** Annual amplitude of the hydrostatic coefficient a<sub>h</sub>. */
+    private final double amplHydro;
+
+    /** Mean value of the wet coefficient a<sub>w</sub>. */
+    private final double a0Wet;
+
+    /** Annual amplitude of the wet coefficient a<sub>w</sub>. */
+    private final double amplWet;
+
     /** Build a new instance.
      *
      * <p>This constructor uses the {@link DataContext#getDefault() default data context}.
@@ -93,6 +105,46 @@ public class GlobalMappingFunctionModel implements MappingFunction {
         this.latitude  = latitude;
         this.longitude = longitude;
         this.utc = utc;
+
+        // Compute coefficients ah and aw with spherical harmonics Eq. 3 (Ref 1)
+        // these coefficients depend only on the station location, so they are computed once
+
+        // Compute Legendre Polynomials Pnm(sin(phi))
+        final int degree = 9;
+        final int order  = 9;
+        final LegendrePolynomials p = new LegendrePolynomials(degree, order);
+
+        double a0H   = 0.;
+        double amplH = 0.;
+        double a0W   = 0.;
+        double amplW = 0.;
+        final ABCoefficients abCoef = new ABCoefficients();
+        int j = 0;
+        for (int n = 0; n <= 9; n++) {
+            for (int m = 0; m <= n; m++) {
+                // Sine and cosine of m * longitude
+                final SinCos sc = FastMath.sinCos(m * longitude);
+                // Compute coefficients
+                a0H   = a0H + (abCoef.getAHMean(j) * p.getPnm(n, m) * sc.cos() +
+                               abCoef.getBHMean(j) * p.getPnm(n, m) * sc.sin()) * FACTOR;
+
+                a0W   = a0W + (abCoef.getAWMean(j) * p.getPnm(n, m) * sc.cos() +
+                               abCoef.getBWMean(j) * p.getPnm(n, m) * sc.sin()) * FACTOR;
+
+                amplH = amplH + (abCoef.getAHAmplitude(j) * p.getPnm(n, m) * sc.cos() +
+                                 abCoef.getBHAmplitude(j) * p.getPnm(n, m) * sc.sin()) * FACTOR;
+
+                amplW = amplW + (abCoef.getAWAmplitude(j) * p.getPnm(n, m) * sc.cos() +
+                                 abCoef.getBWAmplitude(j) * p.getPnm(n, m) * sc.sin()) * FACTOR;
+
+                j = j + 1;
+            }
+        }
+        this.a0Hydro   = a0H;
+        this.amplHydro = amplH;
+        this.a0Wet     = a0W;
+        this.amplWet   = amplW;
+
     }
 
     /** {@inheritDoc} */
@@ -134,40 +186,6 @@ public class GlobalMappingFunctionModel implements MappingFunction {
         final double bw = 0.00146;
         final double cw = 0.04391;
 
-        // Compute coefficients ah and aw with spherical harmonics Eq. 3 (Ref 1)
-
-        // Compute Legendre Polynomials Pnm(sin(phi))
-        final int degree = 9;
-        final int order  = 9;
-        final LegendrePolynomials p = new LegendrePolynomials(degree, order);
-
-        double a0Hydro   = 0.;
-        double amplHydro = 0.;
-        double a0Wet   = 0.;
-        double amplWet = 0.;
-        final ABCoefficients abCoef = new ABCoefficients();
-        int j = 0;
-        for (int n = 0; n <= 9; n++) {
-            for (int m = 0; m <= n; m++) {
-                // Sine and cosine of m * longitude
-                final SinCos sc = FastMath.sinCos(m * longitude);
-                // Compute coefficients
-                a0Hydro   = a0Hydro + (abCoef.getAHMean(j) * p.getPnm(n, m) * sc.cos() +
-                                       abCoef.getBHMean(j) * p.getPnm(n, m) * sc.sin()) * FACTOR;
-
-                a0Wet     = a0Wet + (abCoef.getAWMean(j) * p.getPnm(n, m) * sc.cos() +
-                                     abCoef.getBWMean(j) * p.getPnm(n, m) * sc.sin()) * FACTOR;
-
-                amplHydro = amplHydro + (abCoef.getAHAmplitude(j) * p.getPnm(n, m) * sc.cos() +
-                                         abCoef.getBHAmplitude(j) * p.getPnm(n, m) * sc.sin()) * FACTOR;
-
-                amplWet   = amplWet + (abCoef.getAWAmplitude(j) * p.getPnm(n, m) * sc.cos() +
-                                       abCoef.getBWAmplitude(j) * p.getPnm(n, m) * sc.sin()) * FACTOR;
-
-                j = j + 1;
-            }
-        }
-
         // Eq. 2 (Ref 1)
         final double ah = a0Hydro + amplHydro * FastMath.cos(coef - psi);
         final double aw = a0Wet + amplWet * FastMath.cos(coef - psi);
@@ -224,43 +242,9 @@ public class GlobalMappingFunctionModel implements MappingFunction {
         final T bw = zero.add(0.00146);
         final T cw = zero.add(0.04391);
 
-        // Compute coefficients ah and aw with spherical harmonics Eq. 3 (Ref 1)
-
-        // Compute Legendre Polynomials Pnm(sin(phi))
-        final int degree = 9;
-        final int order  = 9;
-        final LegendrePolynomials p = new LegendrePolynomials(degree, order);
-
-        T a0Hydro   = zero;
-        T amplHydro = zero;
-        T a0Wet     = zero;
-        T amplWet   = zero;
-        final ABCoefficients abCoef = new ABCoefficients();
-        int j = 0;
-        for (int n = 0; n <= 9; n++) {
-            for (int m = 0; m <= n; m++) {
-                // Sine and cosine of m * longitude
-                final SinCos sc = FastMath.sinCos(m * longitude);
-                // Compute coefficients
-                a0Hydro   = a0Hydro.add((abCoef.getAHMean(j) * p.getPnm(n, m) * sc.cos() +
-                                         abCoef.getBHMean(j) * p.getPnm(n, m) * sc.sin()) * FACTOR);
-
-                a0Wet     = a0Wet.add((abCoef.getAWMean(j) * p.getPnm(n, m) * sc.cos() +
-                                       abCoef.getBWMean(j) * p.getPnm(n, m) * sc.sin()) * FACTOR);
-
-                amplHydro = amplHydro.add((abCoef.getAHAmplitude(j) * p.getPnm(n, m) * sc.cos() +
-                                           abCoef.getBHAmplitude(j) * p.getPnm(n, m) * sc.sin()) * FACTOR);
-
-                amplWet   = amplWet.add((abCoef.getAWAmplitude(j) * p.getPnm(n, m) * sc.cos() +
-                                         abCoef.getBWAmplitude(j) * p.getPnm(n, m) * sc.sin()) * FACTOR);
-
-                j = j + 1;
-            }
-        }
-
         // Eq. 2 (Ref 1)
-        final T ah = a0Hydro.add(amplHydro.multiply(FastMath.cos(coef.subtract(psi))));
-        final T aw = a0Wet.add(amplWet.multiply(FastMath.cos(coef.subtract(psi))));
+        final T ah = FastMath.cos(coef.subtract(psi)).multiply(amplHydro).add(a0Hydro);
+        final T aw = FastMath.cos(coef.subtract(psi)).multiply(amplWet).add(a0Wet);
 
         final T[] function = MathArrays.buildArray(field, 2);
         function[0] = computeFunction(ah, bh, ch, elevation);
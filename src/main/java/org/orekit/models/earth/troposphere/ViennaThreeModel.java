@@ -69,6 +69,9 @@ public class ViennaThreeModel implements DiscreteTroposphericModel {
     /** UTC time scale. */
     private final TimeScale utc;
 
+    /** Seasonal fit coefficients for b<sub>h</sub>, b<sub>w</sub>, c<sub>h</sub> and c<sub>w</sub>. */
+    private final double[][] seasonalCoefficients;
+
     /** Build a new instance.
      *
      * <p>This constructor uses the {@link DataContext#getDefault() default data context}.
@@ -104,6 +107,7 @@ public class ViennaThreeModel implements DiscreteTroposphericModel {
         this.latitude      = latitude;
         this.longitude     = longitude;
         this.utc = utc;
+        this.seasonalCoefficients = computeSeasonalCoefficients();
     }
 
     /** {@inheritDoc} */
@@ -114,74 +118,11 @@ public class ViennaThreeModel implements DiscreteTroposphericModel {
         final DateTimeComponents dtc = date.getComponents(utc);
         final int dofyear = dtc.getDate().getDayOfYear();
 
-        // Compute Legendre Polynomials Pnm(cos(0.5 * pi - phi))
-        final int degree = 12;
-        final int order  = 12;
-        final LegendrePolynomials p = new LegendrePolynomials(degree, order);
-
-        // Compute coefficients bh, bw, ch and cw with spherical harmonics
-        double a0Bh = 0.;
-        double a0Bw = 0.;
-        double a0Ch = 0.;
-        double a0Cw = 0.;
-        double a1Bh = 0.;
-        double a1Bw = 0.;
-        double a1Ch = 0.;
-        double a1Cw = 0.;
-        double b1Bh = 0.;
-        double b1Bw = 0.;
-        double b1Ch = 0.;
-        double b1Cw = 0.;
-        double a2Bh = 0.;
-        double a2Bw = 0.;
-        double a2Ch = 0.;
-        double a2Cw = 0.;
-        double b2Bh = 0.;
-        double b2Bw = 0.;
-        double b2Ch = 0.;
-        double b2Cw = 0.;
-        final LegendreFunctions AnmBnm = new LegendreFunctions();
-        int j = 0;
-        for (int n = 0; n <= 12; n++) {
-            for (int m = 0; m <= n; m++) {
-                final SinCos sc = FastMath.sinCos(m * longitude);
-                final double pCosmLambda = p.getPnm(n, m) * sc.cos();
-                final double pSinmLambda = p.getPnm(n, m) * sc.sin();
-
-                a0Bh = a0Bh + (AnmBnm.getAnmBh(j, 0) * pCosmLambda + AnmBnm.getBnmBh(j, 0) * pSinmLambda);
-                a0Bw = a0Bw + (AnmBnm.getAnmBw(j, 0) * pCosmLambda + AnmBnm.getBnmBw(j, 0) * pSinmLambda);
-                a0Ch = a0Ch + (AnmBnm.getAnmCh(j, 0) * pCosmLambda + AnmBnm.getBnmCh(j, 0) * pSinmLambda);
-                a0Cw = a0Cw + (AnmBnm.getAnmCw(j, 0) * pCosmLambda + AnmBnm.getBnmCw(j, 0) * pSinmLambda);
-
-                a1Bh = a1Bh + (AnmBnm.getAnmBh(j, 1) * pCosmLambda + AnmBnm.getBnmBh(j, 1) * pSinmLambda);
-                a1Bw = a1Bw + (AnmBnm.getAnmBw(j, 1) * pCosmLambda + AnmBnm.getBnmBw(j, 1) * pSinmLambda);
-                a1Ch = a1Ch + (AnmBnm.getAnmCh(j, 1) * pCosmLambda + AnmBnm.getBnmCh(j, 1) * pSinmLambda);
-                a1Cw = a1Cw + (AnmBnm.getAnmCw(j, 1) * pCosmLambda + AnmBnm.getBnmCw(j, 1) * pSinmLambda);
-
-                b1Bh = b1Bh + (AnmBnm.getAnmBh(j, 2) * pCosmLambda + AnmBnm.getBnmBh(j, 2) * pSinmLambda);
-                b1Bw = b1Bw + (AnmBnm.getAnmBw(j, 2) * pCosmLambda + AnmBnm.getBnmBw(j, 2) * pSinmLambda);
-                b1Ch = b1Ch + (AnmBnm.getAnmCh(j, 2) * pCosmLambda + AnmBnm.getBnmCh(j, 2) * pSinmLambda);
-                b1Cw = b1Cw + (AnmBnm.getAnmCw(j, 2) * pCosmLambda + AnmBnm.getBnmCw(j, 2) * pSinmLambda);
-
-                a2Bh = a2Bh + (AnmBnm.getAnmBh(j, 3) * pCosmLambda + AnmBnm.getBnmBh(j, 3) * pSinmLambda);
-                a2Bw = a2Bw + (AnmBnm.getAnmBw(j, 3) * pCosmLambda + AnmBnm.getBnmBw(j, 3) * pSinmLambda);
-                a2Ch = a2Ch + (AnmBnm.getAnmCh(j, 3) * pCosmLambda + AnmBnm.getBnmCh(j, 3) * pSinmLambda);
-                a2Cw = a2Cw + (AnmBnm.getAnmCw(j, 3) * pCosmLambda + AnmBnm.getBnmCw(j, 3) * pSinmLambda);
-
-                b2Bh = b2Bh + (AnmBnm.getAnmBh(j, 4) * pCosmLambda + AnmBnm.getBnmBh(j, 4) * pSinmLambda);
-                b2Bw = b2Bw + (AnmBnm.getAnmBw(j, 4) * pCosmLambda + AnmBnm.getBnmBw(j, 4) * pSinmLambda);
-                b2Ch = b2Ch + (AnmBnm.getAnmCh(j, 4) * pCosmLambda + AnmBnm.getBnmCh(j, 4) * pSinmLambda);
-                b2Cw = b2Cw + (AnmBnm.getAnmCw(j, 4) * pCosmLambda + AnmBnm.getBnmCw(j, 4) * pSinmLambda);
-
-                j = j + 1;
-            }
-        }
-
         // Eq. 6
-        final double bh = computeSeasonalFit(dofyear, a0Bh, a1Bh, a2Bh, b1Bh, b2Bh);
-        final double bw = computeSeasonalFit(dofyear, a0Bw, a1Bw, a2Bw, b1Bw, b2Bw);
-        final double ch = computeSeasonalFit(dofyear, a0Ch, a1Ch, a2Ch, b1Ch, b2Ch);
-        final double cw = computeSeasonalFit(dofyear, a0Cw, a1Cw, a2Cw, b1Cw, b2Cw);
+        final double bh = computeSeasonalFit(dofyear, seasonalCoefficients[0]);
+        final double bw = computeSeasonalFit(dofyear, seasonalCoefficients[1]);
+        final double ch = computeSeasonalFit(dofyear, seasonalCoefficients[2]);
+        final double cw = computeSeasonalFit(dofyear, seasonalCoefficients[3]);
 
         // Compute Mapping Function Eq. 4
         final double[] function = new double[2];
@@ -202,74 +143,11 @@ public class ViennaThreeModel implements DiscreteTroposphericModel {
         final DateTimeComponents dtc = date.getComponents(utc);
         final int dofyear = dtc.getDate().getDayOfYear();
 
-        // Compute Legendre Polynomials Pnm(cos(0.5 * pi - phi))
-        final int degree = 12;
-        final int order  = 12;
-        final LegendrePolynomials p = new LegendrePolynomials(degree, order);
-
-        // Compute coefficients bh, bw, ch and cw with spherical harmonics
-        T a0Bh = zero;
-        T a0Bw = zero;
-        T a0Ch = zero;
-        T a0Cw = zero;
-        T a1Bh = zero;
-        T a1Bw = zero;
-        T a1Ch = zero;
-        T a1Cw = zero;
-        T b1Bh = zero;
-        T b1Bw = zero;
-        T b1Ch = zero;
-        T b1Cw = zero;
-        T a2Bh = zero;
-        T a2Bw = zero;
-        T a2Ch = zero;
-        T a2Cw = zero;
-        T b2Bh = zero;
-        T b2Bw = zero;
-        T b2Ch = zero;
-        T b2Cw = zero;
-        final LegendreFunctions AnmBnm = new LegendreFunctions();
-        int j = 0;
-        for (int n = 0; n <= 12; n++) {
-            for (int m = 0; m <= n; m++) {
-                final SinCos sc = FastMath.sinCos(m * longitude);
-                final T pCosmLambda = zero.add(p.getPnm(n, m) * sc.cos());
-                final T pSinmLambda = zero.add(p.getPnm(n, m) * sc.sin());
-
-                a0Bh = a0Bh.add(pCosmLambda.multiply(AnmBnm.getAnmBh(j, 0)).add(pSinmLambda.multiply(AnmBnm.getBnmBh(j, 0))));
-                a0Bw = a0Bw.add(pCosmLambda.multiply(AnmBnm.getAnmBw(j, 0)).add(pSinmLambda.multiply(AnmBnm.getBnmBw(j, 0))));
-                a0Ch = a0Ch.add(pCosmLambda.multiply(AnmBnm.getAnmCh(j, 0)).add(pSinmLambda.multiply(AnmBnm.getBnmCh(j, 0))));
-                a0Cw = a0Cw.add(pCosmLambda.multiply(AnmBnm.getAnmCw(j, 0)).add(pSinmLambda.multiply(AnmBnm.getBnmCw(j, 0))));
-
-                a1Bh = a1Bh.add(pCosmLambda.multiply(AnmBnm.getAnmBh(j, 1)).add(pSinmLambda.multiply(AnmBnm.getBnmBh(j, 1))));
-                a1Bw = a1Bw.add(pCosmLambda.multiply(AnmBnm.getAnmBw(j, 1)).add(pSinmLambda.multiply(AnmBnm.getBnmBw(j, 1))));
-                a1Ch = a1Ch.add(pCosmLambda.multiply(AnmBnm.getAnmCh(j, 1)).add(pSinmLambda.multiply(AnmBnm.getBnmCh(j, 1))));
-                a1Cw = a1Cw.add(pCosmLambda.multiply(AnmBnm.getAnmCw(j, 1)).add(pSinmLambda.multiply(AnmBnm.getBnmCw(j, 1))));
-
-                b1Bh = b1Bh.add(pCosmLambda.multiply(AnmBnm.getAnmBh(j, 2)).add(pSinmLambda.multiply(AnmBnm.getBnmBh(j, 2))));
-                b1Bw = b1Bw.add(pCosmLambda.multiply(AnmBnm.getAnmBw(j, 2)).add(pSinmLambda.multiply(AnmBnm.getBnmBw(j, 2))));
-                b1Ch = b1Ch.add(pCosmLambda.multiply(AnmBnm.getAnmCh(j, 2)).add(pSinmLambda.multiply(AnmBnm.getBnmCh(j, 2))));
-                b1Cw = b1Cw.add(pCosmLambda.multiply(AnmBnm.getAnmCw(j, 2)).add(pSinmLambda.multiply(AnmBnm.getBnmCw(j, 2))));
-
-                a2Bh = a2Bh.add(pCosmLambda.multiply(AnmBnm.getAnmBh(j, 3)).add(pSinmLambda.multiply(AnmBnm.getBnmBh(j, 3))));
-                a2Bw = a2Bw.add(pCosmLambda.multiply(AnmBnm.getAnmBw(j, 3)).add(pSinmLambda.multiply(AnmBnm.getBnmBw(j, 3))));
-                a2Ch = a2Ch.add(pCosmLambda.multiply(AnmBnm.getAnmCh(j, 3)).add(pSinmLambda.multiply(AnmBnm.getBnmCh(j, 3))));
-                a2Cw = a2Cw.add(pCosmLambda.multiply(AnmBnm.getAnmCw(j, 3)).add(pSinmLambda.multiply(AnmBnm.getBnmCw(j, 3))));
-
-                b2Bh = b2Bh.add(pCosmLambda.multiply(AnmBnm.getAnmBh(j, 4)).add(pSinmLambda.multiply(AnmBnm.getBnmBh(j, 4))));
-                b2Bw = b2Bw.add(pCosmLambda.multiply(AnmBnm.getAnmBw(j, 4)).add(pSinmLambda.multiply(AnmBnm.getBnmBw(j, 4))));
-                b2Ch = b2Ch.add(pCosmLambda.multiply(AnmBnm.getAnmCh(j, 4)).add(pSinmLambda.multiply(AnmBnm.getBnmCh(j, 4))));
-                b2Cw = b2Cw.add(pCosmLambda.multiply(AnmBnm.getAnmCw(j, 4)).add(pSinmLambda.multiply(AnmBnm.getBnmCw(j, 4))));
-
-                j = j + 1;
-            }
-        }
-
         // Eq. 6
-        final T bh = computeSeasonalFit(dofyear, a0Bh, a1Bh, a2Bh, b1Bh, b2Bh);
-        final T bw = computeSeasonalFit(dofyear, a0Bw, a1Bw, a2Bw, b1Bw, b2Bw);
-        final T ch = computeSeasonalFit(dofyear, a0Ch, a1Ch, a2Ch, b1Ch, b2Ch);
-        final T cw = computeSeasonalFit(dofyear, a0Cw, a1Cw, a2Cw, b1Cw, b2Cw);
+        final T bh = zero.add(computeSeasonalFit(dofyear, seasonalCoefficients[0]));
+        final T bw = zero.add(computeSeasonalFit(dofyear, seasonalCoefficients[1]));
+        final T ch = zero.add(computeSeasonalFit(dofyear, seasonalCoefficients[2]));
+        final T cw = zero.add(computeSeasonalFit(dofyear, seasonalCoefficients[3]));
 
         // Compute Mapping Function Eq. 4
         final T[] function = MathArrays.buildArray(field, 2);
@@ -369,45 +247,58 @@ public class ViennaThreeModel implements DiscreteTroposphericModel {
     /** Computes the empirical temporal information for the mapping function
      * coefficients b and c. A seasonal fit formula is performed.
      * @param doy day of year
-     * @param A0 Mean value of the coefficient
-     * @param A1 Annual amplitude of the coefficient
-     * @param A2 Semi-annual amplitude of the coefficient
-     * @param B1 Annual amplitude of the coefficient
-     * @param B2 Semi-annual amplitude of the coefficient
+     * @param coefficients mean value A0, annual amplitudes A1 and B1
+     * and semi-annual amplitudes A2 and B2 of the coefficient
      * @return the mapping function coefficient at a given day.
      */
-    private double computeSeasonalFit(final int doy, final double A0, final double A1,
-                                      final double A2, final double B1, final double B2) {
+    private double computeSeasonalFit(final int doy, final double[] coefficients) {
 
         final double coef = (doy / 365.25) * 2 * FastMath.PI;
         final SinCos sc1  = FastMath.sinCos(coef);
         final SinCos sc2  = FastMath.sinCos(2.0 * coef);
 
-        return A0 +
-               A1 * sc1.cos() + B1 * sc1.sin() +
-               A2 * sc2.cos() + B2 * sc2.sin();
+        return coefficients[0] +
+               coefficients[1] * sc1.cos() + coefficients[2] * sc1.sin() +
+               coefficients[3] * sc2.cos() + coefficients[4] * sc2.sin();
     }
 
-    /** Computes the empirical temporal information for the mapping function
-     * coefficients b and c. A seasonal fit formula is performed.
-     * @param <T> type of the elements
-     * @param doy day of year
-     * @param A0 Mean value of the coefficient
-     * @param A1 Annual amplitude of the coefficient
-     * @param A2 Semi-annual amplitude of the coefficient
-     * @param B1 Annual amplitude of the coefficient
-     * @param B2 Semi-annual amplitude of the coefficient
-     * @return the mapping function coefficient at a given day.
+    /** Compute the spherical harmonics expansions of the seasonal fit coefficients.
+     * <p>
+     * These expansions depend only on the station location, so they are computed
+     * once at construction rather than for each mapping function evaluation.
+     * </p>
+     * @return seasonal fit coefficients (A0, A1, B1, A2, B2) for b<sub>h</sub>,
+     * b<sub>w</sub>, c<sub>h</sub> and c<sub>w</sub>
      */
-    private <T extends RealFieldElement<T>> T computeSeasonalFit(final int doy, final T A0, final T A1,
-                                                                 final T A2, final T B1, final T B2) {
-        final double coef = (doy / 365.25) * 2 * FastMath.PI;
-        final SinCos sc1  = FastMath.sinCos(coef);
-        final SinCos sc2  = FastMath.sinCos(2.0 * coef);
+    private double[][] computeSeasonalCoefficients() {
+
+        // Compute Legendre Polynomials Pnm(cos(0.5 * pi - phi))
+        final int degree = 12;
+        final int order  = 12;
+        final LegendrePolynomials p = new LegendrePolynomials(degree, order);
+
+        // Compute coefficients bh, bw, ch and cw with spherical harmonics
+        // (the second index of the Legendre functions is 0 for A0, 1 for A1, 2 for B1, 3 for A2 and 4 for B2)
+        final double[][] coefficients = new double[4][5];
+        final LegendreFunctions AnmBnm = new LegendreFunctions();
+        int j = 0;
+        for (int n = 0; n <= 12; n++) {
+            for (int m = 0; m <= n; m++) {
+                final SinCos sc = FastMath.sinCos(m * longitude);
+                final double pCosmLambda = p.getPnm(n, m) * sc.cos();
+                final double pSinmLambda = p.getPnm(n, m) * sc.sin();
+                for (int k = 0; k < 5; ++k) {
+                    coefficients[0][k] += AnmBnm.getAnmBh(j, k) * pCosmLambda + AnmBnm.getBnmBh(j, k) * pSinmLambda;
+                    coefficients[1][k] += AnmBnm.getAnmBw(j, k) * pCosmLambda + AnmBnm.getBnmBw(j, k) * pSinmLambda;
+                    coefficients[2][k] += AnmBnm.getAnmCh(j, k) * pCosmLambda + AnmBnm.getBnmCh(j, k) * pSinmLambda;
+                    coefficients[3][k] += AnmBnm.getAnmCw(j, k) * pCosmLambda + AnmBnm.getBnmCw(j, k) * pSinmLambda;
+                }
+                j = j + 1;
+            }
+        }
+
+        return coefficients;
 
-        return A0.add(
-               A1.multiply(sc1.cos())).add(B1.multiply(sc1.sin())).add(
-               A2.multiply(sc2.cos())).add(B2.multiply(sc2.sin()));
     }
 
     /** Computes the P<sub>nm</sub>(cos(polarDist)) coefficients.
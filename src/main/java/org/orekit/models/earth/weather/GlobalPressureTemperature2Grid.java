@@ -0,0 +1,490 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.weather;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.hipparchus.util.SinCos;
+import org.orekit.annotation.DefaultDataContext;
+import org.orekit.data.DataContext;
+import org.orekit.data.DataLoader;
+import org.orekit.data.DataProvidersManager;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.utils.Constants;
+
+/** Loaded grid for the Global Pressure and Temperature 2 (GPT2) model.
+ * <p>
+ * The grid is loaded once at construction and stored in primitive arrays.
+ * It is immutable and can therefore be shared by all the {@link GlobalPressureTemperature2Model
+ * single station models} and {@link GlobalPressureTemperature2Network station networks},
+ * from several threads.
+ * </p>
+ * <p>
+ * As bilinear interpolation is linear with respect to the model coefficients, the
+ * coefficients of the annual and semi-annual terms are interpolated only once for
+ * each station, when the station is set up. Evaluating the weather parameters at
+ * some day then only involves combining these interpolated coefficients with the
+ * seasonal terms of the day, which are shared by all stations.
+ * </p>
+ * @author agent
+ * @since 11.0
+ * @see GlobalPressureTemperature2Model
+ * @see GlobalPressureTemperature2Network
+ */
+public class GlobalPressureTemperature2Grid {
+
+    /** Default supported files name pattern. */
+    public static final String DEFAULT_SUPPORTED_NAMES = "gpt2_\\d+.grd";
+
+    /** Index of temperature in weather parameters arrays. */
+    static final int TEMPERATURE = 0;
+
+    /** Index of pressure in weather parameters arrays. */
+    static final int PRESSURE = 1;
+
+    /** Index of water vapor pressure in weather parameters arrays. */
+    static final int WATER_VAPOR_PRESSURE = 2;
+
+    /** Index of ah coefficient in weather parameters arrays. */
+    static final int AH = 3;
+
+    /** Index of aw coefficient in weather parameters arrays. */
+    static final int AW = 4;
+
+    /** Number of weather parameters. */
+    static final int NB_PARAMETERS = 5;
+
+    /** Number of seasonal terms (mean, annual cos/sin, semi-annual cos/sin). */
+    static final int NB_TERMS = 5;
+
+    /** Index of pressure model in station coefficients. */
+    private static final int PRESSURE_MODEL = 1;
+
+    /** Index of temperature model in station coefficients. */
+    private static final int TEMPERATURE_MODEL = PRESSURE_MODEL + NB_TERMS;
+
+    /** Index of specific humidity model in station coefficients. */
+    private static final int QV_MODEL = TEMPERATURE_MODEL + NB_TERMS;
+
+    /** Index of temperature gradient model in station coefficients. */
+    private static final int DT_MODEL = QV_MODEL + NB_TERMS;
+
+    /** Index of ah model in station coefficients. */
+    private static final int AH_MODEL = DT_MODEL + NB_TERMS;
+
+    /** Index of aw model in station coefficients. */
+    private static final int AW_MODEL = AH_MODEL + NB_TERMS;
+
+    /** Number of coefficients per grid node (height correction and six seasonal models). */
+    static final int NB_COEFFICIENTS = AW_MODEL + NB_TERMS;
+
+    /** Pattern for delimiting regular expressions. */
+    private static final Pattern SEPARATOR = Pattern.compile("\\s+");
+
+    /** Standard gravity constant [m/s²]. */
+    private static final double G = Constants.G0_STANDARD_GRAVITY;
+
+    /** Ideal gas constant for dry air [J/kg/K]. */
+    private static final double R = 287.0;
+
+    /** Conversion factor from degrees to mill arcseconds. */
+    private static final int DEG_TO_MAS = 3600000;
+
+    /** Latitude keys of grid nodes (mas). */
+    private final int[] latKeys;
+
+    /** Longitude keys of grid nodes (mas), including the wrapping column. */
+    private final int[] lonKeys;
+
+    /** Latitudes of grid nodes (rad). */
+    private final double[] latitudes;
+
+    /** Longitudes of grid nodes (rad), including the wrapping column. */
+    private final double[] longitudes;
+
+    /** Coefficients of all grid nodes, the coefficients of node (i, j) start at
+     * index {@code (i * longitudes.length + j) * NB_COEFFICIENTS}. */
+    private final double[] coefficients;
+
+    /** Constructor with default supported names. This constructor uses the {@link
+     * DataContext#getDefault() default data context}.
+     * @see #GlobalPressureTemperature2Grid(String, DataProvidersManager)
+     */
+    @DefaultDataContext
+    public GlobalPressureTemperature2Grid() {
+        this(DEFAULT_SUPPORTED_NAMES);
+    }
+
+    /** Constructor with supported names given by user. This constructor uses the {@link
+     * DataContext#getDefault() default data context}.
+     * @param supportedNames supported names
+     * @see #GlobalPressureTemperature2Grid(String, DataProvidersManager)
+     */
+    @DefaultDataContext
+    public GlobalPressureTemperature2Grid(final String supportedNames) {
+        this(supportedNames, DataContext.getDefault().getDataProvidersManager());
+    }
+
+    /** Constructor with supported names and source of GPT2 auxiliary data given by user.
+     * @param supportedNames supported names
+     * @param dataProvidersManager provides access to auxiliary data.
+     */
+    public GlobalPressureTemperature2Grid(final String supportedNames,
+                                          final DataProvidersManager dataProvidersManager) {
+
+        final Parser parser = new Parser();
+        dataProvidersManager.feed(supportedNames, parser);
+        if (parser.entries == null) {
+            throw new OrekitException(OrekitMessages.UNABLE_TO_FIND_FILE, supportedNames);
+        }
+
+        final int nA = parser.latSample.size();
+        final int nO = parser.lonSample.size() + 1; // we add one here for wrapping the grid
+        this.latKeys      = new int[nA];
+        this.lonKeys      = new int[nO];
+        this.latitudes    = new double[nA];
+        this.longitudes   = new double[nO];
+        this.coefficients = new double[nA * nO * NB_COEFFICIENTS];
+
+        int i = 0;
+        for (final int latKey : parser.latSample) {
+            latKeys[i]   = latKey;
+            latitudes[i] = FastMath.toRadians(latKey / (double) DEG_TO_MAS);
+            ++i;
+        }
+        int j = 0;
+        for (final int lonKey : parser.lonSample) {
+            lonKeys[j]    = lonKey;
+            longitudes[j] = FastMath.toRadians(lonKey / (double) DEG_TO_MAS);
+            ++j;
+        }
+        lonKeys[nO - 1]    = lonKeys[0] + DEG_TO_MAS * 360;
+        longitudes[nO - 1] = longitudes[0] + 2 * FastMath.PI;
+
+        // organize entries in the regular grid
+        final boolean[] found = new boolean[nA * nO];
+        for (final double[] entry : parser.entries) {
+            final int latitudeIndex  = Arrays.binarySearch(latKeys, (int) entry[0]);
+            final int longitudeIndex = Arrays.binarySearch(lonKeys, 0, nO - 1, (int) entry[1]);
+            final int node           = latitudeIndex * nO + longitudeIndex;
+            found[node] = true;
+            System.arraycopy(entry, 2, coefficients, node * NB_COEFFICIENTS, NB_COEFFICIENTS);
+        }
+
+        // finalize the grid
+        for (int latitudeIndex = 0; latitudeIndex < nA; ++latitudeIndex) {
+
+            // check for missing entries
+            for (int longitudeIndex = 0; longitudeIndex < nO - 1; ++longitudeIndex) {
+                if (!found[latitudeIndex * nO + longitudeIndex]) {
+                    throw new OrekitException(OrekitMessages.IRREGULAR_OR_INCOMPLETE_GRID, parser.name);
+                }
+            }
+
+            // wrap the grid around the Earth in longitude
+            System.arraycopy(coefficients, latitudeIndex * nO * NB_COEFFICIENTS,
+                             coefficients, (latitudeIndex * nO + nO - 1) * NB_COEFFICIENTS,
+                             NB_COEFFICIENTS);
+
+        }
+
+    }
+
+    /** Get the number of grid nodes in latitude.
+     * @return number of grid nodes in latitude
+     */
+    public int getLatitudeNodes() {
+        return latitudes.length;
+    }
+
+    /** Get the number of grid nodes in longitude.
+     * @return number of grid nodes in longitude (not counting the wrapping column)
+     */
+    public int getLongitudeNodes() {
+        return longitudes.length - 1;
+    }
+
+    /** Normalize a longitude according to the grid.
+     * @param longitude longitude (rad)
+     * @return normalized longitude, between first grid longitude and first grid longitude + 2π
+     */
+    double normalizeLongitude(final double longitude) {
+        return MathUtils.normalizeAngle(longitude, longitudes[0] + FastMath.PI);
+    }
+
+    /** Interpolate the grid coefficients at one station.
+     * @param latitude geodetic latitude of the station (rad)
+     * @param longitude longitude of the station (rad), already {@link
+     * #normalizeLongitude(double) normalized}
+     * @param stationCoefficients array where to store the interpolated coefficients
+     * @param offset offset of the first coefficient in the array
+     */
+    void interpolate(final double latitude, final double longitude,
+                     final double[] stationCoefficients, final int offset) {
+
+        // cell surrounding the point
+        final int southIndex = getSouthIndex(latitude);
+        final int westIndex  = getWestIndex(longitude);
+        final double fx = (longitude - longitudes[westIndex]) /
+                          (longitudes[westIndex + 1] - longitudes[westIndex]);
+        final double fy = (latitude - latitudes[southIndex]) /
+                          (latitudes[southIndex + 1] - latitudes[southIndex]);
+
+        // weights of the four cell corners
+        final double wSW = (1 - fx) * (1 - fy);
+        final double wSE = fx       * (1 - fy);
+        final double wNW = (1 - fx) * fy;
+        final double wNE = fx       * fy;
+
+        // bilinear interpolation is linear with respect to the values at cell corners,
+        // so we interpolate the seasonal model coefficients themselves
+        final int nO = longitudes.length;
+        final int sw = (southIndex * nO + westIndex) * NB_COEFFICIENTS;
+        final int se = sw + NB_COEFFICIENTS;
+        final int nw = sw + nO * NB_COEFFICIENTS;
+        final int ne = nw + NB_COEFFICIENTS;
+        for (int k = 0; k < NB_COEFFICIENTS; ++k) {
+            stationCoefficients[offset + k] = wSW * coefficients[sw + k] + wSE * coefficients[se + k] +
+                                              wNW * coefficients[nw + k] + wNE * coefficients[ne + k];
+        }
+
+    }
+
+    /** Get index of South entries in the grid.
+     * @param latitude latitude to locate (radians)
+     * @return index of South entries in the grid
+     */
+    private int getSouthIndex(final double latitude) {
+
+        final int latKey = (int) FastMath.rint(FastMath.toDegrees(latitude) * DEG_TO_MAS);
+        final int index  = floorIndex(latKeys, latKeys.length, latKey);
+
+        // make sure we have at least one point remaining on North by clipping to size - 2
+        return FastMath.max(0, FastMath.min(index, latKeys.length - 2));
+
+    }
+
+    /** Get index of West entries in the grid.
+     * @param longitude longitude to locate (radians)
+     * @return index of West entries in the grid
+     */
+    private int getWestIndex(final double longitude) {
+
+        final int lonKey = (int) FastMath.rint(FastMath.toDegrees(longitude) * DEG_TO_MAS);
+
+        // we don't need to clip on East because we have added a column to wrap around the Earth
+        return FastMath.max(0, FastMath.min(floorIndex(lonKeys, lonKeys.length - 1, lonKey), lonKeys.length - 2));
+
+    }
+
+    /** Find the index of the last key lower than or equal to a specified key.
+     * @param keys sorted keys
+     * @param n number of keys to consider
+     * @param key key to locate
+     * @return index of the last key lower than or equal to key (may be -1)
+     */
+    private static int floorIndex(final int[] keys, final int n, final int key) {
+        final int index = Arrays.binarySearch(keys, 0, n, key);
+        return index >= 0 ? index : -(index + 1) - 1;
+    }
+
+    /** Compute the seasonal terms for one day.
+     * @param dayOfYear day of year
+     * @param terms array where to store the mean, annual and semi-annual terms
+     */
+    static void seasonalTerms(final int dayOfYear, final double[] terms) {
+        final double coef = (dayOfYear / 365.25) * 2 * FastMath.PI;
+        final SinCos sc1  = FastMath.sinCos(coef);
+        final SinCos sc2  = FastMath.sinCos(2.0 * coef);
+        terms[0] = 1.0;
+        terms[1] = sc1.cos();
+        terms[2] = sc1.sin();
+        terms[3] = sc2.cos();
+        terms[4] = sc2.sin();
+    }
+
+    /** Compute weather parameters for one station.
+     * @param stationCoefficients interpolated station coefficients
+     * @param offset offset of the first station coefficient in the array
+     * @param terms seasonal terms for the current day
+     * @param height height of the station (m)
+     * @param undulation geoid undulation at station (m)
+     * @param parameters array where to store temperature [K], pressure [hPa],
+     * water vapor pressure [hPa], a<sub>h</sub> and a<sub>w</sub>
+     * @param parametersOffset offset of the first parameter in the array
+     */
+    static void weatherParameters(final double[] stationCoefficients, final int offset,
+                                  final double[] terms, final double height, final double undulation,
+                                  final double[] parameters, final int parametersOffset) {
+
+        // ah and aw coefficients
+        final double ah = evaluate(stationCoefficients, offset + AH_MODEL, terms) * 0.001;
+        final double aw = evaluate(stationCoefficients, offset + AW_MODEL, terms) * 0.001;
+
+        // Corrected height (can be negative)
+        final double correctedheight = height - undulation - stationCoefficients[offset];
+
+        // Temperature gradient [K/m]
+        final double dTdH = evaluate(stationCoefficients, offset + DT_MODEL, terms) * 0.001;
+
+        // Specific humidity
+        final double qv = evaluate(stationCoefficients, offset + QV_MODEL, terms) * 0.001;
+
+        // For the computation of the temperature and the pressure, we use
+        // the standard ICAO atmosphere formulas.
+
+        // Temperature [K]
+        final double t0 = evaluate(stationCoefficients, offset + TEMPERATURE_MODEL, terms);
+        final double temperature = t0 + dTdH * correctedheight;
+
+        // Pressure [hPa]
+        final double p0 = evaluate(stationCoefficients, offset + PRESSURE_MODEL, terms);
+        final double exponent = G / (dTdH * R);
+        final double pressure = p0 * FastMath.pow(1 - (dTdH / t0) * correctedheight, exponent) * 0.01;
+
+        // Water vapor pressure [hPa]
+        final double e0 = qv * pressure / (0.622 + 0.378 * qv);
+
+        parameters[parametersOffset + TEMPERATURE]          = temperature;
+        parameters[parametersOffset + PRESSURE]             = pressure;
+        parameters[parametersOffset + WATER_VAPOR_PRESSURE] = e0;
+        parameters[parametersOffset + AH]                   = ah;
+        parameters[parametersOffset + AW]                   = aw;
+
+    }
+
+    /** Evaluate a seasonal model.
+     * @param stationCoefficients interpolated station coefficients
+     * @param start index of the first model coefficient
+     * @param terms seasonal terms for the current day
+     * @return model value
+     */
+    private static double evaluate(final double[] stationCoefficients, final int start, final double[] terms) {
+        return stationCoefficients[start]     * terms[0] +
+               stationCoefficients[start + 1] * terms[1] + stationCoefficients[start + 2] * terms[2] +
+               stationCoefficients[start + 3] * terms[3] + stationCoefficients[start + 4] * terms[4];
+    }
+
+    /** Parser for GPT2 grid files. */
+    private static class Parser implements DataLoader {
+
+        /** Latitude sample (mas). */
+        private final SortedSet<Integer> latSample;
+
+        /** Longitude sample (mas). */
+        private final SortedSet<Integer> lonSample;
+
+        /** Parsed entries: latitude key, longitude key, then node coefficients. */
+        private List<double[]> entries;
+
+        /** Name of the parsed file. */
+        private String name;
+
+        /** Simple constructor.
+         */
+        Parser() {
+            this.latSample = new TreeSet<>();
+            this.lonSample = new TreeSet<>();
+        }
+
+        @Override
+        public boolean stillAcceptsData() {
+            return entries == null;
+        }
+
+        @Override
+        public void loadData(final InputStream input, final String fileName)
+            throws IOException {
+
+            final List<double[]> loaded = new ArrayList<>();
+
+            // Open stream and parse data
+            int   lineNumber = 0;
+            String line      = null;
+            try (InputStreamReader isr = new InputStreamReader(input, StandardCharsets.UTF_8);
+                 BufferedReader    br = new BufferedReader(isr)) {
+
+                for (line = br.readLine(); line != null; line = br.readLine()) {
+                    ++lineNumber;
+                    line = line.trim();
+
+                    // read grid data
+                    if (line.length() > 0 && !line.startsWith("%")) {
+                        final double[] entry = parseEntry(SEPARATOR.split(line));
+                        latSample.add((int) entry[0]);
+                        lonSample.add((int) entry[1]);
+                        loaded.add(entry);
+                    }
+
+                }
+            } catch (NumberFormatException nfe) {
+                throw new OrekitException(OrekitMessages.UNABLE_TO_PARSE_LINE_IN_FILE,
+                                          lineNumber, fileName, line);
+            }
+
+            entries = loaded;
+            name    = fileName;
+
+        }
+
+        /** Build an entry from a parsed line.
+         * @param fields line fields
+         * @return latitude key, longitude key, then node coefficients
+         */
+        private double[] parseEntry(final String[] fields) {
+            final double[] entry = new double[2 + NB_COEFFICIENTS];
+            entry[0] = FastMath.rint(Double.parseDouble(fields[0]) * DEG_TO_MAS);
+            entry[1] = FastMath.rint(Double.parseDouble(fields[1]) * DEG_TO_MAS);
+            entry[2] = Double.parseDouble(fields[23]);
+            parseModel(fields,  2, entry, 2 + PRESSURE_MODEL);
+            parseModel(fields,  7, entry, 2 + TEMPERATURE_MODEL);
+            parseModel(fields, 12, entry, 2 + QV_MODEL);
+            parseModel(fields, 17, entry, 2 + DT_MODEL);
+            parseModel(fields, 24, entry, 2 + AH_MODEL);
+            parseModel(fields, 29, entry, 2 + AW_MODEL);
+            return entry;
+        }
+
+        /** Parse a seasonal model.
+         * @param fields line fields
+         * @param first index of the first component of the model
+         * @param entry entry where to store the model
+         * @param start index of the first model coefficient in the entry
+         */
+        private void parseModel(final String[] fields, final int first,
+                                final double[] entry, final int start) {
+            for (int k = 0; k < NB_TERMS; ++k) {
+                entry[start + k] = Double.parseDouble(fields[first + k]);
+            }
+        }
+
+    }
+
+}
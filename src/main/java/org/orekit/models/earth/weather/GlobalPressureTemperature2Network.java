@@ -0,0 +1,172 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.weather;
+
+import java.util.stream.IntStream;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.annotation.DefaultDataContext;
+import org.orekit.data.DataContext;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.models.earth.Geoid;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+
+/** Batch evaluation of the Global Pressure and Temperature 2 (GPT2) model for a network of stations.
+ * <p>
+ * This class provides the same results as one {@link GlobalPressureTemperature2Model} per station,
+ * but all stations share the same {@link GlobalPressureTemperature2Grid grid}, the grid
+ * coefficients are interpolated only once per station at construction, and the seasonal
+ * terms are computed only once per evaluation date for all stations.
+ * </p>
+ * <p>
+ * For each station k, the weather parameters are stored in the {@code parameters} array
+ * starting at index {@code 5 * k}, in the following order: temperature [K], pressure [hPa],
+ * water vapor pressure [hPa], a<sub>h</sub> and a<sub>w</sub>.
+ * </p>
+ * <p>
+ * This class is immutable and can be used from several threads, as long as the
+ * {@link Geoid geoid} can.
+ * </p>
+ * @author agent
+ * @since 11.0
+ * @see GlobalPressureTemperature2Model
+ */
+public class GlobalPressureTemperature2Network {
+
+    /** Number of weather parameters per station. */
+    private static final int NB_PARAMETERS = GlobalPressureTemperature2Grid.NB_PARAMETERS;
+
+    /** Number of grid coefficients per station. */
+    private static final int NB_COEFFICIENTS = GlobalPressureTemperature2Grid.NB_COEFFICIENTS;
+
+    /** Geodetic latitudes of the stations (rad). */
+    private final double[] latitudes;
+
+    /** Normalized longitudes of the stations (rad). */
+    private final double[] longitudes;
+
+    /** Grid coefficients interpolated at all stations. */
+    private final double[] stationsCoefficients;
+
+    /** Geoid used to compute the undulations. */
+    private final Geoid geoid;
+
+    /** UTC time scale. */
+    private final TimeScale utc;
+
+    /** Simple constructor. This constructor uses the {@link DataContext#getDefault()
+     * default data context}.
+     * @param grid loaded GPT2 grid
+     * @param latitudes geodetic latitudes of the stations (rad)
+     * @param longitudes longitudes of the stations (rad)
+     * @param geoid level surface of the gravity potential of a body
+     * @see #GlobalPressureTemperature2Network(GlobalPressureTemperature2Grid, double[], double[], Geoid, TimeScale)
+     */
+    @DefaultDataContext
+    public GlobalPressureTemperature2Network(final GlobalPressureTemperature2Grid grid,
+                                             final double[] latitudes, final double[] longitudes,
+                                             final Geoid geoid) {
+        this(grid, latitudes, longitudes, geoid, DataContext.getDefault().getTimeScales().getUTC());
+    }
+
+    /** Simple constructor.
+     * @param grid loaded GPT2 grid
+     * @param latitudes geodetic latitudes of the stations (rad)
+     * @param longitudes longitudes of the stations (rad)
+     * @param geoid level surface of the gravity potential of a body
+     * @param utc UTC time scale
+     */
+    public GlobalPressureTemperature2Network(final GlobalPressureTemperature2Grid grid,
+                                             final double[] latitudes, final double[] longitudes,
+                                             final Geoid geoid, final TimeScale utc) {
+
+        checkSize(longitudes, latitudes.length);
+
+        this.latitudes            = latitudes.clone();
+        this.longitudes           = new double[latitudes.length];
+        this.stationsCoefficients = new double[latitudes.length * NB_COEFFICIENTS];
+        this.geoid                = geoid;
+        this.utc                  = utc;
+
+        // interpolate once the grid coefficients at all stations
+        for (int k = 0; k < latitudes.length; ++k) {
+            this.longitudes[k] = grid.normalizeLongitude(longitudes[k]);
+            grid.interpolate(latitudes[k], this.longitudes[k], stationsCoefficients, k * NB_COEFFICIENTS);
+        }
+
+    }
+
+    /** Get the number of stations.
+     * @return number of stations
+     */
+    public int getStationsNumber() {
+        return latitudes.length;
+    }
+
+    /** Compute the weather parameters for all stations at one date.
+     * @param date evaluation date
+     * @param heights heights of the stations (m)
+     * @param parameters array where to store the weather parameters,
+     * its length must be at least 5 times the number of stations
+     */
+    public void weatherParameters(final AbsoluteDate date, final double[] heights, final double[] parameters) {
+
+        checkSize(heights, latitudes.length);
+        checkSize(parameters, NB_PARAMETERS * latitudes.length);
+
+        // seasonal terms are shared by all stations
+        final double[] terms = new double[GlobalPressureTemperature2Grid.NB_TERMS];
+        GlobalPressureTemperature2Grid.seasonalTerms(date.getComponents(utc).getDate().getDayOfYear(), terms);
+
+        for (int k = 0; k < latitudes.length; ++k) {
+            final double undu = geoid.getUndulation(latitudes[k], longitudes[k], date);
+            GlobalPressureTemperature2Grid.weatherParameters(stationsCoefficients, k * NB_COEFFICIENTS, terms,
+                                                             heights[k], undu, parameters, k * NB_PARAMETERS);
+        }
+
+    }
+
+    /** Compute the weather parameters for all stations at several dates.
+     * <p>
+     * Dates are processed in parallel.
+     * </p>
+     * @param dates evaluation dates
+     * @param heights heights of the stations (m)
+     * @return weather parameters, the first index corresponds to the date index
+     * and the second index to {@code 5 * k + p} where k is the station index and
+     * p the parameter index
+     */
+    public double[][] weatherParameters(final AbsoluteDate[] dates, final double[] heights) {
+        final double[][] parameters = new double[dates.length][NB_PARAMETERS * latitudes.length];
+        IntStream.range(0, dates.length).parallel().
+            forEach(i -> weatherParameters(dates[i], heights, parameters[i]));
+        return parameters;
+    }
+
+    /** Check an array size.
+     * @param array array to check
+     * @param min minimum size
+     */
+    private static void checkSize(final double[] array, final int min) {
+        if (array.length < min) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     array.length, min);
+        }
+    }
+
+}
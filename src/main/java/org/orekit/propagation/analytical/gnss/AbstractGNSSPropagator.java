@@ -27,6 +27,7 @@ import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.Frame;
 import org.orekit.orbits.CartesianOrbit;
+import org.orekit.orbits.KeplerianOrbit;
 import org.orekit.orbits.Orbit;
 import org.orekit.propagation.SpacecraftState;
 import org.orekit.propagation.analytical.AbstractAnalyticalPropagator;
@@ -184,6 +185,102 @@ public abstract class AbstractGNSSPropagator extends AbstractAnalyticalPropagato
                                               positionwithDerivatives.getZ().getSecondDerivative()));
     }
 
+    /**
+     * Gets the position and velocity of the GNSS SV in {@link #getECEF() ECEF frame}.
+     *
+     * <p>This method computes the same position and velocity as {@link #propagateInEcef(AbsoluteDate)},
+     * but it uses primitive doubles and closed-form derivatives instead of automatic
+     * differentiation, and it does not build any object. It is intended for computing
+     * large numbers of positions, for example when evaluating whole constellations at
+     * many dates (see {@link GNSSConstellationPropagator}). Acceleration is not computed.</p>
+     *
+     * <p>This method does not change the propagator state, it can be called from several threads.</p>
+     *
+     * @param date the computation date
+     * @param pv array where to store position (at indices {@code offset} to {@code offset + 2})
+     * and velocity (at indices {@code offset + 3} to {@code offset + 5}) in ECEF frame
+     * @param offset index of the first element to store in the array
+     * @since 11.0
+     */
+    public void propagateInEcef(final AbsoluteDate date, final double[] pv, final int offset) {
+
+        final double e  = gnssOrbit.getE();
+        final double tk = getTk(date);
+
+        // Mean anomaly and eccentric anomaly
+        final double mk    = gnssOrbit.getM0() + tk * gnssOrbit.getMeanMotion();
+        final double ek    = KeplerianOrbit.meanToEllipticEccentric(mk, e);
+        final double cosEk = FastMath.cos(ek);
+        final double sinEk = FastMath.sin(ek);
+        final double oMeCosEk = 1.0 - e * cosEk;
+        final double ekDot    = gnssOrbit.getMeanMotion() / oMeCosEk;
+
+        // True anomaly
+        final double sqrtOmE2 = FastMath.sqrt(1.0 - e * e);
+        final double vk       = FastMath.atan2(sqrtOmE2 * sinEk, cosEk - e);
+        final double vkDot    = ekDot * sqrtOmE2 / oMeCosEk;
+
+        // Argument of Latitude and second harmonic perturbations
+        final double phik  = vk + gnssOrbit.getPa();
+        final double c2phi = FastMath.cos(2 * phik);
+        final double s2phi = FastMath.sin(2 * phik);
+
+        // Corrected argument of latitude, radius and inclination
+        final double uk    = phik + gnssOrbit.getCuc() * c2phi + gnssOrbit.getCus() * s2phi;
+        final double ukDot = vkDot * (1 + 2 * (gnssOrbit.getCus() * c2phi - gnssOrbit.getCuc() * s2phi));
+        final double rk    = gnssOrbit.getSma() * oMeCosEk + gnssOrbit.getCrc() * c2phi + gnssOrbit.getCrs() * s2phi;
+        final double rkDot = gnssOrbit.getSma() * e * sinEk * ekDot +
+                             2 * vkDot * (gnssOrbit.getCrs() * c2phi - gnssOrbit.getCrc() * s2phi);
+        final double ik    = gnssOrbit.getI0() + gnssOrbit.getIDot() * tk +
+                             gnssOrbit.getCic() * c2phi + gnssOrbit.getCis() * s2phi;
+        final double ikDot = gnssOrbit.getIDot() + 2 * vkDot * (gnssOrbit.getCis() * c2phi - gnssOrbit.getCic() * s2phi);
+        final double cik   = FastMath.cos(ik);
+        final double sik   = FastMath.sin(ik);
+
+        // Positions and velocities in orbital plane
+        final double cuk   = FastMath.cos(uk);
+        final double suk   = FastMath.sin(uk);
+        final double xk    = rk * cuk;
+        final double yk    = rk * suk;
+        final double xkDot = rkDot * cuk - yk * ukDot;
+        final double ykDot = rkDot * suk + xk * ukDot;
+
+        // Corrected longitude of ascending node
+        final double omkDot = gnssOrbit.getOmegaDot() - av;
+        final double omk    = gnssOrbit.getOmega0() - av * gnssOrbit.getTime() + omkDot * tk;
+        final double comk   = FastMath.cos(omk);
+        final double somk   = FastMath.sin(omk);
+
+        // Earth-fixed coordinates
+        final double x = xk * comk - yk * cik * somk;
+        final double y = xk * somk + yk * cik * comk;
+        pv[offset]     = x;
+        pv[offset + 1] = y;
+        pv[offset + 2] = yk * sik;
+        pv[offset + 3] = xkDot * comk - (ykDot * cik - yk * sik * ikDot) * somk - y * omkDot;
+        pv[offset + 4] = xkDot * somk + (ykDot * cik - yk * sik * ikDot) * comk + x * omkDot;
+        pv[offset + 5] = ykDot * sik + yk * cik * ikDot;
+
+    }
+
+    /**
+     * Gets the polynomial clock offset of the GNSS SV.
+     *
+     * <p>The clock model is Δtₛₐₜ = {@link GNSSOrbitalElements#getAf0() a₀} +
+     * {@link GNSSOrbitalElements#getAf1() a₁} (t - t₀) +
+     * {@link GNSSOrbitalElements#getAf2() a₂} (t - t₀)², where
+     * t₀ is the orbital elements reference date, consistently with
+     * {@link ClockCorrectionsProvider}.</p>
+     *
+     * @param date the computation date
+     * @return polynomial clock offset (s)
+     * @since 11.0
+     */
+    public double getClockOffset(final AbsoluteDate date) {
+        final double dt = getTk(date);
+        return gnssOrbit.getAf0() + dt * (gnssOrbit.getAf1() + dt * gnssOrbit.getAf2());
+    }
+
     /**
      * Gets eccentric anomaly from mean anomaly.
      * <p>The algorithm used to solve the Kepler equation has been published in:
@@ -297,6 +394,15 @@ public abstract class AbstractGNSSPropagator extends AbstractAnalyticalPropagato
         return new CartesianOrbit(pvaInECI, eci, date, mu);
     }
 
+    /**
+     * Get the GNSS orbital elements used for propagation.
+     * @return the GNSS orbital elements
+     * @since 11.0
+     */
+    public GNSSOrbitalElements getOrbitalElements() {
+        return gnssOrbit;
+    }
+
     /**
      * Get the Earth gravity coefficient used for GNSS propagation.
      * @return the Earth gravity coefficient.
@@ -0,0 +1,176 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.gnss;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.Constants;
+
+/** Batch propagator for whole GNSS constellations based on broadcast ephemerides.
+ * <p>
+ * This class evaluates all satellites from one or several GNSS systems
+ * (GPS, Galileo, Beidou, QZSS, IRNSS, SBAS…) at once, storing Earth-fixed
+ * positions, velocities and clock offsets in primitive arrays. It relies on
+ * {@link AbstractGNSSPropagator#propagateInEcef(AbsoluteDate, double[], int)}
+ * and therefore skips the orbit, attitude and spacecraft state construction
+ * performed by regular propagation. It is intended for receiver simulation,
+ * visibility or dilution of precision studies that need huge numbers of
+ * satellites positions.
+ * </p>
+ * <p>
+ * For each satellite, the six components of position and velocity are stored
+ * in the {@code pv} array starting at index {@code 6 * k} where k is the index of
+ * the satellite in the list provided at construction. The clock offset of satellite k
+ * is stored at index k in the {@code clock} array. It is the sum of the polynomial
+ * clock model and of the relativistic clock correction due to eccentricity, as the
+ * two first elements provided by {@link ClockCorrectionsProvider}.
+ * </p>
+ * <p>
+ * All satellites are expressed in their own {@link AbstractGNSSPropagator#getECEF()
+ * ECEF frame}, which is the same for all satellites in the common case where they
+ * were built with the same frames.
+ * </p>
+ * <p>
+ * This class is immutable and can be used from several threads.
+ * </p>
+ * @author agent
+ * @since 11.0
+ */
+public class GNSSConstellationPropagator {
+
+    /** Number of components for one satellite position-velocity. */
+    private static final int PV_SIZE = 6;
+
+    /** Propagators for all satellites. */
+    private final List<AbstractGNSSPropagator> propagators;
+
+    /** Simple constructor.
+     * @param propagators propagators for all satellites
+     */
+    public GNSSConstellationPropagator(final List<? extends AbstractGNSSPropagator> propagators) {
+        this.propagators = new ArrayList<>(propagators);
+    }
+
+    /** Get the propagators for all satellites.
+     * @return propagators for all satellites
+     */
+    public List<AbstractGNSSPropagator> getPropagators() {
+        return Collections.unmodifiableList(propagators);
+    }
+
+    /** Get the number of satellites.
+     * @return number of satellites
+     */
+    public int getSatellitesNumber() {
+        return propagators.size();
+    }
+
+    /** Evaluate all satellites at one date.
+     * @param date evaluation date
+     * @param pv array where to store positions and velocities in ECEF frame,
+     * its length must be at least 6 times the number of satellites
+     * @param clock array where to store clock offsets in seconds (may be null
+     * if clock offsets are not needed), its length must be at least the number of satellites
+     */
+    public void propagate(final AbsoluteDate date, final double[] pv, final double[] clock) {
+
+        checkSize(pv, PV_SIZE * propagators.size());
+        if (clock != null) {
+            checkSize(clock, propagators.size());
+        }
+
+        for (int k = 0; k < propagators.size(); ++k) {
+            final AbstractGNSSPropagator propagator = propagators.get(k);
+            final int offset = PV_SIZE * k;
+            propagator.propagateInEcef(date, pv, offset);
+            if (clock != null) {
+                // relativistic effect due to eccentricity, r.v is invariant between ECEF and ECI
+                final double rDotV = pv[offset]     * pv[offset + 3] +
+                                     pv[offset + 1] * pv[offset + 4] +
+                                     pv[offset + 2] * pv[offset + 5];
+                clock[k] = propagator.getClockOffset(date) -
+                           2 * rDotV / (Constants.SPEED_OF_LIGHT * Constants.SPEED_OF_LIGHT);
+            }
+        }
+
+    }
+
+    /** Evaluate all satellites at several dates.
+     * <p>
+     * Dates are processed in parallel.
+     * </p>
+     * @param dates evaluation dates
+     * @param pv array where to store positions and velocities in ECEF frame,
+     * the first index corresponds to the date index, and the length of
+     * each row must be at least 6 times the number of satellites
+     * @param clock array where to store clock offsets in seconds (may be null
+     * if clock offsets are not needed), the first index corresponds to the date index,
+     * and the length of each row must be at least the number of satellites
+     */
+    public void propagate(final List<AbsoluteDate> dates, final double[][] pv, final double[][] clock) {
+        checkSize(pv, dates.size());
+        if (clock != null) {
+            checkSize(clock, dates.size());
+        }
+        IntStream.range(0, dates.size()).parallel().
+            forEach(i -> propagate(dates.get(i), pv[i], clock == null ? null : clock[i]));
+    }
+
+    /** Evaluate all satellites at several dates, allocating the result arrays.
+     * <p>
+     * Dates are processed in parallel.
+     * </p>
+     * @param dates evaluation dates
+     * @return positions and velocities in ECEF frame, the first index corresponds
+     * to the date index and the second index to {@code 6 * k + c} where k is the
+     * satellite index and c the component index (0 to 2 for position, 3 to 5 for velocity)
+     */
+    public double[][] propagate(final List<AbsoluteDate> dates) {
+        final double[][] pv = new double[dates.size()][PV_SIZE * propagators.size()];
+        propagate(dates, pv, null);
+        return pv;
+    }
+
+    /** Check an array size.
+     * @param array array to check
+     * @param min minimum size
+     */
+    private static void checkSize(final Object[] array, final int min) {
+        if (array.length < min) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     array.length, min);
+        }
+    }
+
+    /** Check an array size.
+     * @param array array to check
+     * @param min minimum size
+     */
+    private static void checkSize(final double[] array, final int min) {
+        if (array.length < min) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     array.length, min);
+        }
+    }
+
+}
@@ -0,0 +1,819 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.AllowedSolution;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.PVCoordinatesProvider;
+
+/** Screener for close approaches between all objects of a catalog.
+ * <p>
+ * This class finds all times of closest approach (TCA) between pairs of objects
+ * for which the miss distance is below a screening threshold. It is intended for
+ * all-vs-all screening of large catalogs, where checking every pair at every date
+ * is not possible. All objects are sampled on a common time grid, and at each grid date:
+ * </p>
+ * <ul>
+ *   <li>objects positions are stored in a spatial hash with cubic cells, so only
+ *   pairs in neighboring cells are compared,</li>
+ *   <li>pairs close enough to possibly have a close approach within the
+ *   surrounding steps are kept as candidates,</li>
+ *   <li>candidates are filtered by the apogee/perigee filter (the radial
+ *   shells of the osculating orbits must overlap) and by the orbit path
+ *   filter (the radial shells restricted to the vicinity of the orbital
+ *   planes intersection line must overlap),</li>
+ *   <li>the remaining candidates with a relative range-rate changing from negative
+ *   to positive between grid dates are screened on a cubic Hermite interpolation
+ *   of the relative motion,</li>
+ *   <li>the few candidates whose approximate miss distance is close to the threshold
+ *   are refined by root finding on the relative range-rate, using the objects
+ *   coordinates providers.</li>
+ * </ul>
+ * <p>
+ * The approximate miss distance is considered close to the threshold if it is below
+ * the threshold plus a margin. This margin is the {@code pad} distance plus the
+ * error bound of cubic Hermite interpolation, h⁴/384 max|d⁴r/dt⁴|, where the fourth
+ * derivative of each object position is estimated from Keplerian motion at the
+ * osculating perigee, i.e. v<sub>p</sub>⁴/r<sub>p</sub>³. This interpolation error
+ * grows as the fourth power of the step (about 1 m for a 60 s step and 8 km for a
+ * 600 s step in low Earth orbit), so large steps increase the number of refined
+ * candidates but do not miss close approaches, as long as Keplerian motion is
+ * a fair estimate of the objects dynamics over one step.
+ * </p>
+ * <p>
+ * The filters rely on osculating Keplerian orbits computed at each grid date, the
+ * {@code pad} distance is added to the threshold to account for perturbations between
+ * grid dates. The maximum speed used for candidates selection is the perigee speed of
+ * the osculating orbits, so the grid step can be of the order of one minute for low
+ * Earth orbits without missing close approaches, but it must remain small with respect
+ * to the relative orbital period of the objects, as only one close approach per pair
+ * and per step can be found.
+ * </p>
+ * <p>
+ * In parallel mode, objects are sampled in parallel, each coordinates provider being
+ * called by only one thread at a time, so different objects must have different providers
+ * but these providers do not need to be thread-safe. Candidates selection and screening
+ * are also performed in parallel, but the final refinement is always performed from the
+ * calling thread.
+ * </p>
+ * @author agent
+ * @since 11.0
+ */
+public class ConjunctionScreener {
+
+    /** Factor for cubic Hermite interpolation error bound. */
+    private static final double HERMITE_ERROR_FACTOR = 1.0 / 384.0;
+
+    /** Convergence threshold on times of closest approach (s). */
+    private static final double TCA_ACCURACY = 1.0e-6;
+
+    /** Maximum number of evaluations for times of closest approach refinement. */
+    private static final int MAX_EVALUATIONS = 100;
+
+    /** Offset for cell indices packing. */
+    private static final long CELL_OFFSET = 1L << 20;
+
+    /** Mask for cell indices packing. */
+    private static final long CELL_MASK = (1L << 21) - 1;
+
+    /** Number of elements for one osculating orbit. */
+    private static final int ELEMENTS_SIZE = 13;
+
+    /** Screening threshold (m). */
+    private final double threshold;
+
+    /** Grid step (s). */
+    private final double step;
+
+    /** Filters pad (m). */
+    private final double pad;
+
+    /** Central attraction coefficient (m³/s²). */
+    private final double mu;
+
+    /** Parallel mode. */
+    private final boolean parallel;
+
+    /** Simple constructor.
+     * @param threshold screening threshold on miss distance (m)
+     * @param step grid step (s)
+     * @param pad distance added to the threshold in filters to account for perturbations (m)
+     * @param mu central attraction coefficient used for osculating orbits (m³/s²)
+     * @param parallel if true, sampling and screening are performed in parallel
+     */
+    public ConjunctionScreener(final double threshold, final double step, final double pad,
+                               final double mu, final boolean parallel) {
+        if (!(threshold >= 0)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     threshold, 0.0);
+        }
+        if (!(step > 0) || Double.isInfinite(step)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     step, 0.0);
+        }
+        if (!(pad >= 0)) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL,
+                                                     pad, 0.0);
+        }
+        this.threshold = threshold;
+        this.step      = step;
+        this.pad       = pad;
+        this.mu        = mu;
+        this.parallel  = parallel;
+    }
+
+    /** Get the screening threshold.
+     * @return screening threshold on miss distance (m)
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /** Get the grid step.
+     * @return grid step (s)
+     */
+    public double getStep() {
+        return step;
+    }
+
+    /** Get the filters pad.
+     * @return distance added to the threshold in filters (m)
+     */
+    public double getPad() {
+        return pad;
+    }
+
+    /** Check if parallel mode is enabled.
+     * @return true if parallel mode is enabled
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /** Screen all pairs of objects.
+     * @param objects coordinates providers for all objects (typically
+     * {@link org.orekit.propagation.analytical.tle.TLEPropagator TLE propagators}
+     * or {@link org.orekit.propagation.BoundedPropagator ephemerides})
+     * @param frame inertial frame in which objects coordinates are requested
+     * @param start start of the screening range
+     * @param end end of the screening range (must be after start)
+     * @return close approaches with miss distance below threshold, in chronological order
+     */
+    public List<Conjunction> screen(final List<? extends PVCoordinatesProvider> objects, final Frame frame,
+                                    final AbsoluteDate start, final AbsoluteDate end) {
+
+        final int         nObj        = objects.size();
+        final double      d           = threshold + pad;
+        final List<Conjunction> conjunctions = new ArrayList<>();
+
+        double[]     previous      = new double[6 * nObj];
+        double[]     current       = new double[6 * nObj];
+        long[]       previousPairs = new long[0];
+        AbsoluteDate previousDate  = null;
+        final int    n             = (int) FastMath.ceil(end.durationFrom(start) / step);
+        for (int k = 0; k <= n; ++k) {
+
+            // sample all objects
+            final AbsoluteDate date = k == n ? end : start.shiftedBy(k * step);
+            final double[]     pv   = current;
+            stream(nObj).forEach(i -> store(objects.get(i).getPVCoordinates(date, frame), pv, 6 * i));
+
+            // osculating orbits and maximum speed
+            final double[] elements = new double[ELEMENTS_SIZE * nObj];
+            double vMax = 0;
+            for (int i = 0; i < nObj; ++i) {
+                vMax = FastMath.max(vMax, elements(current, i, elements));
+            }
+
+            // pairs that may have a close approach within one step before or after current date
+            final long[] currentPairs = closePairs(current, threshold + pad + vMax * step);
+
+            if (previousDate != null) {
+
+                // screen candidates on interpolated relative motion
+                final double[]     p0    = previous;
+                final double[]     p1    = current;
+                final double       h     = date.durationFrom(previousDate);
+                final List<double[]> approximated =
+                        (parallel ? LongStream.of(merge(previousPairs, currentPairs)).parallel() :
+                                    LongStream.of(merge(previousPairs, currentPairs))).
+                        mapToObj(pair -> screenPair(pair, nObj, p0, p1, h, elements, d)).
+                        filter(Objects::nonNull).
+                        collect(Collectors.toList());
+
+                // refine remaining candidates using the providers
+                final BracketedUnivariateSolver<UnivariateFunction> solver =
+                        new BracketingNthOrderBrentSolver(0, TCA_ACCURACY, 0, 5);
+                for (final double[] candidate : approximated) {
+                    final int i = (int) candidate[0];
+                    final int j = (int) candidate[1];
+                    final Conjunction conjunction = refine(solver, objects, frame, previousDate, h, i, j);
+                    if (conjunction.getMissDistance() <= threshold) {
+                        conjunctions.add(conjunction);
+                    }
+                }
+
+            }
+
+            previous      = current;
+            current       = new double[6 * nObj];
+            previousPairs = currentPairs;
+            previousDate  = date;
+
+        }
+
+        conjunctions.sort(Comparator.comparing(Conjunction::getTCA));
+        return conjunctions;
+
+    }
+
+    /** Create a stream over objects indices, parallel or not depending on configuration.
+     * @param size number of objects
+     * @return stream over objects indices
+     */
+    private IntStream stream(final int size) {
+        return parallel ? IntStream.range(0, size).parallel() : IntStream.range(0, size);
+    }
+
+    /** Store position-velocity in a primitive array.
+     * @param pv position-velocity to store
+     * @param array array where to store the position-velocity
+     * @param index index of the first component
+     */
+    private static void store(final PVCoordinates pv, final double[] array, final int index) {
+        array[index]     = pv.getPosition().getX();
+        array[index + 1] = pv.getPosition().getY();
+        array[index + 2] = pv.getPosition().getZ();
+        array[index + 3] = pv.getVelocity().getX();
+        array[index + 4] = pv.getVelocity().getY();
+        array[index + 5] = pv.getVelocity().getZ();
+    }
+
+    /** Compute osculating orbit of one object.
+     * <p>
+     * The elements stored are semi-latus rectum, eccentricity, perigee radius,
+     * apogee radius, unit momentum, unit perigee direction and unit direction
+     * completing the orbital plane frame.
+     * </p>
+     * @param pv positions-velocities of all objects
+     * @param i index of the object
+     * @param elements array where to store the elements
+     * @return perigee speed
+     */
+    private double elements(final double[] pv, final int i, final double[] elements) {
+
+        final double rx = pv[6 * i];
+        final double ry = pv[6 * i + 1];
+        final double rz = pv[6 * i + 2];
+        final double vx = pv[6 * i + 3];
+        final double vy = pv[6 * i + 4];
+        final double vz = pv[6 * i + 5];
+        final double r  = FastMath.sqrt(rx * rx + ry * ry + rz * rz);
+
+        // momentum and eccentricity vector
+        final double hx = ry * vz - rz * vy;
+        final double hy = rz * vx - rx * vz;
+        final double hz = rx * vy - ry * vx;
+        final double h  = FastMath.sqrt(hx * hx + hy * hy + hz * hz);
+        final double ex = (vy * hz - vz * hy) / mu - rx / r;
+        final double ey = (vz * hx - vx * hz) / mu - ry / r;
+        final double ez = (vx * hy - vy * hx) / mu - rz / r;
+        final double e  = FastMath.sqrt(ex * ex + ey * ey + ez * ez);
+        final double p  = h * h / mu;
+        final double rp = p / (1 + e);
+
+        // orbital plane frame, perigee is arbitrary for circular orbits
+        final double px = e > 0 ? ex / e : rx / r;
+        final double py = e > 0 ? ey / e : ry / r;
+        final double pz = e > 0 ? ez / e : rz / r;
+        final double ux = hx / h;
+        final double uy = hy / h;
+        final double uz = hz / h;
+
+        final int offset = ELEMENTS_SIZE * i;
+        elements[offset]      = p;
+        elements[offset + 1]  = e;
+        elements[offset + 2]  = rp;
+        elements[offset + 3]  = e < 1 ? p / (1 - e) : Double.POSITIVE_INFINITY;
+        elements[offset + 4]  = ux;
+        elements[offset + 5]  = uy;
+        elements[offset + 6]  = uz;
+        elements[offset + 7]  = px;
+        elements[offset + 8]  = py;
+        elements[offset + 9]  = pz;
+        elements[offset + 10] = uy * pz - uz * py;
+        elements[offset + 11] = uz * px - ux * pz;
+        elements[offset + 12] = ux * py - uy * px;
+
+        return h / rp;
+
+    }
+
+    /** Find all pairs of objects closer than a limit distance.
+     * @param pv positions-velocities of all objects
+     * @param limit limit distance, also used as the spatial hash cell size
+     * @return sorted pairs codes ({@code i * n + j} with {@code i < j})
+     */
+    private long[] closePairs(final double[] pv, final double limit) {
+
+        // spatial hash: sort objects by cell key
+        final int    nObj  = pv.length / 6;
+        final long[] keyed = new long[nObj];
+        final long[] keys  = new long[nObj];
+        final int[]  index = new int[nObj];
+        final List<Integer> order = new ArrayList<>(nObj);
+        for (int i = 0; i < nObj; ++i) {
+            keyed[i] = key(cell(pv[6 * i], limit), cell(pv[6 * i + 1], limit), cell(pv[6 * i + 2], limit));
+            order.add(i);
+        }
+        order.sort(Comparator.comparingLong(i -> keyed[i]));
+        for (int k = 0; k < nObj; ++k) {
+            index[k] = order.get(k);
+            keys[k]  = keyed[index[k]];
+        }
+
+        // look for close objects in neighboring cells
+        final double limit2 = limit * limit;
+        return stream(nObj).
+               mapToObj(i -> {
+                   final long cx = cell(pv[6 * i],     limit);
+                   final long cy = cell(pv[6 * i + 1], limit);
+                   final long cz = cell(pv[6 * i + 2], limit);
+                   final List<Long> found = new ArrayList<>();
+                   for (long dx = -1; dx <= 1; ++dx) {
+                       for (long dy = -1; dy <= 1; ++dy) {
+                           for (long dz = -1; dz <= 1; ++dz) {
+                               final long key = key(cx + dx, cy + dy, cz + dz);
+                               for (int k = firstAtLeast(keys, key); k < nObj && keys[k] == key; ++k) {
+                                   final int j = index[k];
+                                   if (j > i) {
+                                       final double x = pv[6 * j]     - pv[6 * i];
+                                       final double y = pv[6 * j + 1] - pv[6 * i + 1];
+                                       final double z = pv[6 * j + 2] - pv[6 * i + 2];
+                                       if (x * x + y * y + z * z <= limit2) {
+                                           found.add(((long) i) * nObj + j);
+                                       }
+                                   }
+                               }
+                           }
+                       }
+                   }
+                   return found;
+               }).
+               flatMap(List::stream).
+               mapToLong(Long::longValue).
+               sorted().
+               distinct().
+               toArray();
+
+    }
+
+    /** Compute cell index along one axis.
+     * @param x coordinate
+     * @param size cell size
+     * @return cell index
+     */
+    private static long cell(final double x, final double size) {
+        return (long) FastMath.floor(x / size);
+    }
+
+    /** Pack cell indices into a key.
+     * <p>
+     * Indices are wrapped, which may put far away objects in the same cell,
+     * but never close objects in non-neighboring cells.
+     * </p>
+     * @param cx cell index along X
+     * @param cy cell index along Y
+     * @param cz cell index along Z
+     * @return cell key
+     */
+    private static long key(final long cx, final long cy, final long cz) {
+        return (((cx + CELL_OFFSET) & CELL_MASK) << 42) |
+               (((cy + CELL_OFFSET) & CELL_MASK) << 21) |
+               ((cz + CELL_OFFSET) & CELL_MASK);
+    }
+
+    /** Find the first index of a sorted array with value at least equal to a limit.
+     * @param sorted sorted array
+     * @param limit limit value
+     * @return first index with value at least equal to limit
+     */
+    private static int firstAtLeast(final long[] sorted, final long limit) {
+        int inf = 0;
+        int sup = sorted.length;
+        while (inf < sup) {
+            final int middle = (inf + sup) >>> 1;
+            if (sorted[middle] < limit) {
+                inf = middle + 1;
+            } else {
+                sup = middle;
+            }
+        }
+        return inf;
+    }
+
+    /** Merge two sorted arrays, removing duplicates.
+     * @param a first sorted array
+     * @param b second sorted array
+     * @return merged sorted array
+     */
+    private static long[] merge(final long[] a, final long[] b) {
+        final long[] merged = new long[a.length + b.length];
+        int ia = 0;
+        int ib = 0;
+        int im = 0;
+        while (ia < a.length || ib < b.length) {
+            final long next;
+            if (ib >= b.length || ia < a.length && a[ia] <= b[ib]) {
+                next = a[ia++];
+            } else {
+                next = b[ib++];
+            }
+            if (im == 0 || merged[im - 1] != next) {
+                merged[im++] = next;
+            }
+        }
+        return Arrays.copyOf(merged, im);
+    }
+
+    /** Screen one candidate pair.
+     * @param pair pair code
+     * @param nObj number of objects
+     * @param p0 positions-velocities of all objects at step start
+     * @param p1 positions-velocities of all objects at step end
+     * @param h step duration
+     * @param elements osculating orbits of all objects at step end
+     * @param d filters distance
+     * @return pair indices if the pair may have a close approach, null otherwise
+     */
+    private double[] screenPair(final long pair, final int nObj,
+                                final double[] p0, final double[] p1, final double h,
+                                final double[] elements, final double d) {
+
+        final int i = (int) (pair / nObj);
+        final int j = (int) (pair % nObj);
+
+        // relative motion at step boundaries
+        final double[] rel0 = relative(p0, i, j);
+        final double[] rel1 = relative(p1, i, j);
+        if (rangeRate(rel0) >= 0 || rangeRate(rel1) < 0) {
+            // no minimum distance within the step
+            return null;
+        }
+
+        // sieve filters
+        if (!apogeePerigeeFilter(elements, i, j, d) || !orbitPathFilter(elements, i, j, d)) {
+            return null;
+        }
+
+        // approximate closest approach on interpolated relative motion
+        final double tau = new BracketingNthOrderBrentSolver(0, TCA_ACCURACY, 0, 5).
+                           solve(MAX_EVALUATIONS, t -> rangeRate(hermite(rel0, rel1, h, t)), 0, h, AllowedSolution.ANY_SIDE);
+        final double[] rel = hermite(rel0, rel1, h, tau);
+        final double miss = FastMath.sqrt(rel[0] * rel[0] + rel[1] * rel[1] + rel[2] * rel[2]);
+        return miss <= threshold + approximationMargin(elements, i, j, h) ? new double[] { i, j } : null;
+
+    }
+
+    /** Compute the margin on approximate miss distance before refinement.
+     * @param elements osculating orbits of all objects
+     * @param i index of first object
+     * @param j index of second object
+     * @param h step duration
+     * @return pad plus cubic Hermite interpolation error bound on relative position (m)
+     */
+    private double approximationMargin(final double[] elements, final int i, final int j, final double h) {
+        final double h2 = h * h;
+        return pad + HERMITE_ERROR_FACTOR * h2 * h2 * (fourthDerivative(elements, i) + fourthDerivative(elements, j));
+    }
+
+    /** Estimate the magnitude of the fourth time derivative of position at perigee.
+     * @param elements osculating orbits of all objects
+     * @param i index of the object
+     * @return estimated magnitude of the fourth time derivative of position (m/s⁴)
+     */
+    private double fourthDerivative(final double[] elements, final int i) {
+        // on a Keplerian orbit, the fourth derivative at perigee is about vp⁴ / rp³ = μ² p² / rp⁷
+        final double p  = elements[ELEMENTS_SIZE * i];
+        final double rp = elements[ELEMENTS_SIZE * i + 2];
+        final double rp2 = rp * rp;
+        return mu * mu * p * p / (rp2 * rp2 * rp2 * rp);
+
+    }
+
+    /** Compute relative position-velocity between two objects.
+     * @param pv positions-velocities of all objects
+     * @param i index of first object
+     * @param j index of second object
+     * @return position-velocity of second object with respect to first object
+     */
+    private static double[] relative(final double[] pv, final int i, final int j) {
+        final double[] rel = new double[6];
+        for (int c = 0; c < 6; ++c) {
+            rel[c] = pv[6 * j + c] - pv[6 * i + c];
+        }
+        return rel;
+    }
+
+    /** Compute range-rate sign function.
+     * @param rel relative position-velocity
+     * @return dot product of relative position and velocity (same sign as range-rate)
+     */
+    private static double rangeRate(final double[] rel) {
+        return rel[0] * rel[3] + rel[1] * rel[4] + rel[2] * rel[5];
+    }
+
+    /** Interpolate relative motion within one step using cubic Hermite polynomials.
+     * @param rel0 relative position-velocity at step start
+     * @param rel1 relative position-velocity at step end
+     * @param h step duration
+     * @param t time since step start
+     * @return interpolated relative position-velocity
+     */
+    private static double[] hermite(final double[] rel0, final double[] rel1, final double h, final double t) {
+        final double s   = t / h;
+        final double s2  = s * s;
+        final double s3  = s2 * s;
+        final double h00 = 2 * s3 - 3 * s2 + 1;
+        final double h10 = (s3 - 2 * s2 + s) * h;
+        final double h01 = 3 * s2 - 2 * s3;
+        final double h11 = (s3 - s2) * h;
+        final double d00 = 6 * (s2 - s) / h;
+        final double d10 = 3 * s2 - 4 * s + 1;
+        final double d11 = 3 * s2 - 2 * s;
+        final double[] rel = new double[6];
+        for (int c = 0; c < 3; ++c) {
+            rel[c]     = h00 * rel0[c] + h10 * rel0[c + 3] + h01 * rel1[c] + h11 * rel1[c + 3];
+            rel[c + 3] = d00 * (rel0[c] - rel1[c]) + d10 * rel0[c + 3] + d11 * rel1[c + 3];
+        }
+        return rel;
+    }
+
+    /** Apogee/perigee filter.
+     * @param elements osculating orbits of all objects
+     * @param i index of first object
+     * @param j index of second object
+     * @param d filter distance
+     * @return true if the radial shells of the two orbits are closer than filter distance
+     */
+    private static boolean apogeePerigeeFilter(final double[] elements, final int i, final int j, final double d) {
+        return overlap(elements[ELEMENTS_SIZE * i + 2], elements[ELEMENTS_SIZE * i + 3],
+                       elements[ELEMENTS_SIZE * j + 2], elements[ELEMENTS_SIZE * j + 3],
+                       d);
+    }
+
+    /** Orbit path filter.
+     * <p>
+     * A point on orbit i at angle φ from the planes intersection line lies at distance
+     * r |sin φ| sin I from the plane of orbit j, where I is the relative inclination.
+     * Close approaches can therefore only occur in small windows around the intersection
+     * line, and the radial shells restricted to these windows must be closer than
+     * filter distance.
+     * </p>
+     * @param elements osculating orbits of all objects
+     * @param i index of first object
+     * @param j index of second object
+     * @param d filter distance
+     * @return true if the two orbits may have a close approach
+     */
+    private static boolean orbitPathFilter(final double[] elements, final int i, final int j, final double d) {
+
+        final int oi = ELEMENTS_SIZE * i;
+        final int oj = ELEMENTS_SIZE * j;
+
+        // planes intersection line
+        final double nx   = elements[oi + 5] * elements[oj + 6] - elements[oi + 6] * elements[oj + 5];
+        final double ny   = elements[oi + 6] * elements[oj + 4] - elements[oi + 4] * elements[oj + 6];
+        final double nz   = elements[oi + 4] * elements[oj + 5] - elements[oi + 5] * elements[oj + 4];
+        final double sinI = FastMath.sqrt(nx * nx + ny * ny + nz * nz);
+
+        // half-width of the windows around the intersection line
+        final double sinPhiI = d / (elements[oi + 2] * sinI);
+        final double sinPhiJ = d / (elements[oj + 2] * sinI);
+        if (!(sinPhiI <= 0.5 && sinPhiJ <= 0.5)) {
+            // planes are too close to each other for the filter to be reliable
+            return true;
+        }
+        final double phiI = FastMath.asin(sinPhiI);
+        final double phiJ = FastMath.asin(sinPhiJ);
+
+        // check both ascending and descending windows
+        final double nuI = anomaly(elements, oi, nx, ny, nz);
+        final double nuJ = anomaly(elements, oj, nx, ny, nz);
+        return overlap(minRadius(elements, oi, nuI, phiI), maxRadius(elements, oi, nuI, phiI),
+                       minRadius(elements, oj, nuJ, phiJ), maxRadius(elements, oj, nuJ, phiJ),
+                       d) ||
+               overlap(minRadius(elements, oi, nuI + FastMath.PI, phiI), maxRadius(elements, oi, nuI + FastMath.PI, phiI),
+                       minRadius(elements, oj, nuJ + FastMath.PI, phiJ), maxRadius(elements, oj, nuJ + FastMath.PI, phiJ),
+                       d);
+
+    }
+
+    /** Check if two radial shells are closer than a distance.
+     * @param min1 minimum radius of first shell
+     * @param max1 maximum radius of first shell
+     * @param min2 minimum radius of second shell
+     * @param max2 maximum radius of second shell
+     * @param d distance
+     * @return true if shells are closer than distance
+     */
+    private static boolean overlap(final double min1, final double max1,
+                                   final double min2, final double max2,
+                                   final double d) {
+        return min1 <= max2 + d && min2 <= max1 + d;
+    }
+
+    /** Compute the true anomaly of a direction in an orbit plane.
+     * @param elements osculating orbits of all objects
+     * @param offset offset of the orbit in the elements array
+     * @param x direction X component
+     * @param y direction Y component
+     * @param z direction Z component
+     * @return true anomaly
+     */
+    private static double anomaly(final double[] elements, final int offset,
+                                  final double x, final double y, final double z) {
+        return FastMath.atan2(x * elements[offset + 10] + y * elements[offset + 11] + z * elements[offset + 12],
+                              x * elements[offset + 7]  + y * elements[offset + 8]  + z * elements[offset + 9]);
+    }
+
+    /** Compute the radius at some true anomaly.
+     * @param elements osculating orbits of all objects
+     * @param offset offset of the orbit in the elements array
+     * @param nu true anomaly
+     * @return radius (infinite for unreachable anomalies on hyperbolic orbits)
+     */
+    private static double radius(final double[] elements, final int offset, final double nu) {
+        final double denominator = 1 + elements[offset + 1] * FastMath.cos(nu);
+        return denominator > 0 ? elements[offset] / denominator : Double.POSITIVE_INFINITY;
+    }
+
+    /** Compute the minimum radius within a true anomaly window.
+     * @param elements osculating orbits of all objects
+     * @param offset offset of the orbit in the elements array
+     * @param nu true anomaly at window center
+     * @param phi window half-width
+     * @return minimum radius within window
+     */
+    private static double minRadius(final double[] elements, final int offset, final double nu, final double phi) {
+        if (FastMath.abs(MathUtils.normalizeAngle(nu, 0.0)) <= phi) {
+            // the window contains perigee
+            return elements[offset + 2];
+        }
+        return FastMath.min(radius(elements, offset, nu - phi), radius(elements, offset, nu + phi));
+    }
+
+    /** Compute the maximum radius within a true anomaly window.
+     * @param elements osculating orbits of all objects
+     * @param offset offset of the orbit in the elements array
+     * @param nu true anomaly at window center
+     * @param phi window half-width
+     * @return maximum radius within window
+     */
+    private static double maxRadius(final double[] elements, final int offset, final double nu, final double phi) {
+        if (FastMath.abs(MathUtils.normalizeAngle(nu, FastMath.PI) - FastMath.PI) <= phi) {
+            // the window contains apogee
+            return elements[offset + 3];
+        }
+        return FastMath.max(radius(elements, offset, nu - phi), radius(elements, offset, nu + phi));
+    }
+
+    /** Refine a close approach using the objects coordinates providers.
+     * @param solver solver to use
+     * @param objects coordinates providers for all objects
+     * @param frame inertial frame in which objects coordinates are requested
+     * @param t0 step start
+     * @param h step duration
+     * @param i index of first object
+     * @param j index of second object
+     * @return refined close approach
+     */
+    private Conjunction refine(final BracketedUnivariateSolver<UnivariateFunction> solver,
+                               final List<? extends PVCoordinatesProvider> objects, final Frame frame,
+                               final AbsoluteDate t0, final double h, final int i, final int j) {
+        final PVCoordinatesProvider pi = objects.get(i);
+        final PVCoordinatesProvider pj = objects.get(j);
+        final UnivariateFunction g = dt -> {
+            final AbsoluteDate t = t0.shiftedBy(dt);
+            final PVCoordinates rel = new PVCoordinates(pi.getPVCoordinates(t, frame), pj.getPVCoordinates(t, frame));
+            return rel.getPosition().dotProduct(rel.getVelocity());
+        };
+        final double dt;
+        if (g.value(0) >= 0) {
+            // numerical noise at grid date, the closest approach is at step start
+            dt = 0;
+        } else if (g.value(h) < 0) {
+            // numerical noise at grid date, the closest approach is at step end
+            dt = h;
+        } else {
+            dt = solver.solve(MAX_EVALUATIONS, g, 0, h, AllowedSolution.ANY_SIDE);
+        }
+        final AbsoluteDate  tca = t0.shiftedBy(dt);
+        final PVCoordinates rel = new PVCoordinates(pi.getPVCoordinates(tca, frame), pj.getPVCoordinates(tca, frame));
+        return new Conjunction(i, j, tca, rel.getPosition().getNorm(), rel.getVelocity().getNorm());
+    }
+
+    /** Container for one close approach between two objects. */
+    public static class Conjunction {
+
+        /** Index of the primary object. */
+        private final int primaryIndex;
+
+        /** Index of the secondary object. */
+        private final int secondaryIndex;
+
+        /** Time of closest approach. */
+        private final AbsoluteDate tca;
+
+        /** Miss distance. */
+        private final double missDistance;
+
+        /** Relative speed at time of closest approach. */
+        private final double relativeSpeed;
+
+        /** Simple constructor.
+         * @param primaryIndex index of the primary object
+         * @param secondaryIndex index of the secondary object
+         * @param tca time of closest approach
+         * @param missDistance miss distance
+         * @param relativeSpeed relative speed at time of closest approach
+         */
+        Conjunction(final int primaryIndex, final int secondaryIndex, final AbsoluteDate tca,
+                    final double missDistance, final double relativeSpeed) {
+            this.primaryIndex   = primaryIndex;
+            this.secondaryIndex = secondaryIndex;
+            this.tca            = tca;
+            this.missDistance   = missDistance;
+            this.relativeSpeed  = relativeSpeed;
+        }
+
+        /** Get the index of the primary object.
+         * @return index of the primary object (always lower than secondary index)
+         */
+        public int getPrimaryIndex() {
+            return primaryIndex;
+        }
+
+        /** Get the index of the secondary object.
+         * @return index of the secondary object (always higher than primary index)
+         */
+        public int getSecondaryIndex() {
+            return secondaryIndex;
+        }
+
+        /** Get the time of closest approach.
+         * @return time of closest approach
+         */
+        public AbsoluteDate getTCA() {
+            return tca;
+        }
+
+        /** Get the miss distance.
+         * @return miss distance (m)
+         */
+        public double getMissDistance() {
+            return missDistance;
+        }
+
+        /** Get the relative speed at time of closest approach.
+         * @return relative speed at time of closest approach (m/s)
+         */
+        public double getRelativeSpeed() {
+            return relativeSpeed;
+        }
+
+    }
+
+}
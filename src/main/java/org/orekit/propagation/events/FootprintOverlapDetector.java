@@ -17,7 +17,9 @@
 package org.orekit.propagation.events;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.hipparchus.geometry.enclosing.EnclosingBall;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
@@ -53,6 +55,12 @@ import org.orekit.propagation.events.handlers.StopOnIncreasing;
  * This detector is typically used for ground observation missions with agile
  * satellites than can look away from nadir.
  * </p>
+ * <p>
+ * For large zones sampled with many points, the sampling points can be grouped
+ * in cells using {@link #withGridCellSize(double)}. Cells that are proven to lie
+ * entirely outside of the Field Of View without improving the current minimum
+ * offset are then skipped as a whole.
+ * </p>
  * <p>The default implementation behavior is to {@link Action#CONTINUE continue}
  * propagation at FOV entry and to {@link Action#STOP stop} propagation
  * at FOV exit. This can be changed by calling
@@ -89,6 +97,12 @@ public class FootprintOverlapDetector extends AbstractDetector<FootprintOverlapD
     /** Sine of the radius of the spherical cap surrounding the zone. */
     private final double capSin;
 
+    /** Size of the cells grouping sampling points (in meters, NaN if cells are not used). */
+    private final double cellSize;
+
+    /** Cells grouping sampling points (null if cells are not used). */
+    private final List<SamplingCell> cells;
+
     /** Build a new instance.
      * <p>The maximal interval between distance to FOV boundary checks should
      * be smaller than the half duration of the minimal pass to handle,
@@ -106,7 +120,7 @@ public class FootprintOverlapDetector extends AbstractDetector<FootprintOverlapD
                                     final double samplingStep) {
         this(DEFAULT_MAXCHECK, DEFAULT_THRESHOLD, DEFAULT_MAX_ITER,
              new StopOnIncreasing<FootprintOverlapDetector>(),
-             fov, body, zone, samplingStep, sample(body, zone, samplingStep));
+             fov, body, zone, samplingStep, sample(body, zone, samplingStep), Double.NaN, null);
     }
 
     /** Build a new instance.
@@ -125,7 +139,7 @@ public class FootprintOverlapDetector extends AbstractDetector<FootprintOverlapD
                                     final double samplingStep) {
         this(DEFAULT_MAXCHECK, DEFAULT_THRESHOLD, DEFAULT_MAX_ITER,
              new StopOnIncreasing<FootprintOverlapDetector>(),
-             fov, body, zone, samplingStep, sample(body, zone, samplingStep));
+             fov, body, zone, samplingStep, sample(body, zone, samplingStep), Double.NaN, null);
     }
 
     /** Private constructor with full parameters.
@@ -143,6 +157,8 @@ public class FootprintOverlapDetector extends AbstractDetector<FootprintOverlapD
      * @param fov sensor field of view
      * @param sampledZone sampling of the geographic zone
      * @param samplingStep linear step used for sampling the geographic zone (in meters)
+     * @param cellSize size of the cells grouping sampling points (in meters, NaN if cells are not used)
+     * @param cells cells grouping sampling points (null if cells are not used)
      */
     private FootprintOverlapDetector(final double maxCheck, final double threshold,
                                      final int maxIter, final EventHandler<? super FootprintOverlapDetector> handler,
@@ -150,7 +166,9 @@ public class FootprintOverlapDetector extends AbstractDetector<FootprintOverlapD
                                      final OneAxisEllipsoid body,
                                      final SphericalPolygonsSet zone,
                                      final double samplingStep,
-                                     final List<SamplingPoint> sampledZone) {
+                                     final List<SamplingPoint> sampledZone,
+                                     final double cellSize,
+                                     final List<SamplingCell> cells) {
 
         super(maxCheck, threshold, maxIter, handler);
         this.fov          = fov;
@@ -158,6 +176,8 @@ public class FootprintOverlapDetector extends AbstractDetector<FootprintOverlapD
         this.samplingStep = samplingStep;
         this.zone         = zone;
         this.sampledZone  = sampledZone;
+        this.cellSize     = cellSize;
+        this.cells        = cells;
 
         final EnclosingBall<Sphere2D, S2Point> cap = zone.getEnclosingCap();
         final SinCos sc = FastMath.sinCos(cap.getRadius());
@@ -216,7 +236,66 @@ public class FootprintOverlapDetector extends AbstractDetector<FootprintOverlapD
                                               final int newMaxIter,
                                               final EventHandler<? super FootprintOverlapDetector> newHandler) {
         return new FootprintOverlapDetector(newMaxCheck, newThreshold, newMaxIter, newHandler,
-                                            fov, body, zone, samplingStep, sampledZone);
+                                            fov, body, zone, samplingStep, sampledZone, cellSize, cells);
+    }
+
+    /** Setup cells grouping the sampling points.
+     * <p>
+     * Sampling points are grouped in cells of approximately {@code cellSize} in
+     * latitude and longitude. During {@link #g(SpacecraftState) g} function
+     * evaluation, each cell is first checked as a whole, using a disk enclosing
+     * all its points as seen from the spacecraft. If this disk is outside of the
+     * Field Of View and does not improve the current minimum offset, all the points
+     * of the cell are skipped. The sign of the g function is never changed by this
+     * optimization.
+     * </p>
+     * @param newCellSize size of the cells (in meters), if not strictly positive,
+     * points are not grouped in cells
+     * @return a new detector with updated configuration (the instance is not changed)
+     * @since 11.0
+     */
+    public FootprintOverlapDetector withGridCellSize(final double newCellSize) {
+        return new FootprintOverlapDetector(getMaxCheckInterval(), getThreshold(), getMaxIterationCount(), getHandler(),
+                                            fov, body, zone, samplingStep, sampledZone,
+                                            newCellSize > 0 ? newCellSize : Double.NaN,
+                                            newCellSize > 0 ? group(body, sampledZone, newCellSize) : null);
+    }
+
+    /** Get the size of the cells grouping the sampling points.
+     * @return size of the cells (in meters), or {@code Double.NaN} if points are not grouped in cells
+     * @see #withGridCellSize(double)
+     * @since 11.0
+     */
+    public double getGridCellSize() {
+        return cellSize;
+    }
+
+    /** Group sampling points in cells.
+     * @param body body on which the geographic zone is defined
+     * @param sampledZone sampling of the geographic zone
+     * @param size size of the cells (in meters)
+     * @return cells
+     */
+    private static List<SamplingCell> group(final OneAxisEllipsoid body,
+                                            final List<SamplingPoint> sampledZone,
+                                            final double size) {
+
+        // distribute points in latitude/longitude bins
+        final double delta = size / body.getEquatorialRadius();
+        final Map<Long, List<SamplingPoint>> bins = new LinkedHashMap<>();
+        for (final SamplingPoint point : sampledZone) {
+            final Vector3D zenith = point.getZenith();
+            final long     i      = (long) FastMath.floor((zenith.getDelta() + 0.5 * FastMath.PI) / delta);
+            final long     j      = (long) FastMath.floor((zenith.getAlpha() + FastMath.PI) / delta);
+            bins.computeIfAbsent((i << 32) | j, k -> new ArrayList<>()).add(point);
+        }
+
+        final List<SamplingCell> grouped = new ArrayList<>(bins.size());
+        for (final List<SamplingPoint> points : bins.values()) {
+            grouped.add(new SamplingCell(points));
+        }
+        return grouped;
+
     }
 
     /** Get the geographic zone triggering the events.
@@ -308,7 +387,42 @@ public class FootprintOverlapDetector extends AbstractDetector<FootprintOverlapD
         final Transform bodyToSc = new Transform(s.getDate(),
                                                  body.getBodyFrame().getTransformTo(s.getFrame(), s.getDate()),
                                                  s.toTransform());
-        for (final SamplingPoint point : sampledZone) {
+        if (cells == null) {
+            return minOffset(sampledZone, scBody, bodyToSc, value);
+        }
+
+        for (final SamplingCell cell : cells) {
+            final Vector3D lineOfSightBody = cell.getCenter().subtract(scBody);
+            final double   distance        = lineOfSightBody.getNorm();
+            if (distance > cell.getRadius()) {
+                // check the disk enclosing all cell points as seen from spacecraft
+                final double angularRadius = FastMath.asin(cell.getRadius() / distance);
+                final double lowerBound    = fov.offsetFromBoundary(bodyToSc.transformVector(lineOfSightBody),
+                                                                    angularRadius,
+                                                                    VisibilityTrigger.VISIBLE_AS_SOON_AS_PARTIALLY_IN_FOV);
+                if (lowerBound > 0 && lowerBound >= value) {
+                    // the whole cell is outside of the Field Of View and cannot reduce the offset
+                    continue;
+                }
+            }
+            value = minOffset(cell.getPoints(), scBody, bodyToSc, value);
+        }
+
+        return value;
+
+    }
+
+    /** Compute the minimum offset among sampling points.
+     * @param points sampling points to check
+     * @param scBody spacecraft position in body frame
+     * @param bodyToSc transform from body frame to spacecraft frame
+     * @param initial initial value for the minimum
+     * @return minimum offset among initial value and points for which spacecraft is above horizon
+     */
+    private double minOffset(final List<SamplingPoint> points, final Vector3D scBody,
+                             final Transform bodyToSc, final double initial) {
+        double value = initial;
+        for (final SamplingPoint point : points) {
             final Vector3D lineOfSightBody = point.getPosition().subtract(scBody);
             if (Vector3D.dotProduct(lineOfSightBody, point.getZenith()) <= 0) {
                 // spacecraft is above this sample point local horizon
@@ -318,9 +432,7 @@ public class FootprintOverlapDetector extends AbstractDetector<FootprintOverlapD
                 value = FastMath.min(value, offset);
             }
         }
-
         return value;
-
     }
 
     /** Container for sampling points. */
@@ -357,4 +469,57 @@ public class FootprintOverlapDetector extends AbstractDetector<FootprintOverlapD
 
     }
 
+    /** Container for cells grouping sampling points. */
+    private static class SamplingCell {
+
+        /** Points of the cell. */
+        private final List<SamplingPoint> points;
+
+        /** Center of the cell. */
+        private final Vector3D center;
+
+        /** Radius of the sphere centered on cell center enclosing all cell points. */
+        private final double radius;
+
+        /** Simple constructor.
+         * @param points points of the cell
+         */
+        SamplingCell(final List<SamplingPoint> points) {
+            Vector3D sum = Vector3D.ZERO;
+            for (final SamplingPoint point : points) {
+                sum = sum.add(point.getPosition());
+            }
+            final Vector3D c = new Vector3D(1.0 / points.size(), sum);
+            double r = 0;
+            for (final SamplingPoint point : points) {
+                r = FastMath.max(r, Vector3D.distance(c, point.getPosition()));
+            }
+            this.points = points;
+            this.center = c;
+            this.radius = r;
+        }
+
+        /** Get the points of the cell.
+         * @return points of the cell
+         */
+        public List<SamplingPoint> getPoints() {
+            return points;
+        }
+
+        /** Get the center of the cell.
+         * @return center of the cell
+         */
+        public Vector3D getCenter() {
+            return center;
+        }
+
+        /** Get the radius of the sphere enclosing all cell points.
+         * @return radius of the sphere enclosing all cell points
+         */
+        public double getRadius() {
+            return radius;
+        }
+
+    }
+
 }
@@ -36,6 +36,10 @@ import org.orekit.propagation.events.handlers.StopOnIncreasing;
  * they can include poles, they can have holes like the Caspian Sea (this
  * would be a hole only if one is interested in land masses, of course).
  * Complex shapes involve of course more computing time than simple shapes.</p>
+ * <p>For complex shapes, a grid caching offsets to the zone boundary can be
+ * set up using {@link #withGridCellSize(double)}. Most evaluations are then
+ * answered by a simple lookup, only points close to the zone boundary
+ * involving the exact geometry.</p>
  * @see FootprintOverlapDetector
  * @author Luc Maisonobe
  * @since 6.2
@@ -54,6 +58,9 @@ public class GeographicZoneDetector extends AbstractDetector<GeographicZoneDetec
     /** Margin to apply to the zone. */
     private final double margin;
 
+    /** Grid caching offsets to the zone boundary (null if not used). */
+    private final GeographicZoneGrid grid;
+
     /** Build a new detector.
      * <p>The new instance uses default values for maximal checking interval
      * ({@link #DEFAULT_MAXCHECK}) and convergence threshold ({@link
@@ -78,7 +85,7 @@ public class GeographicZoneDetector extends AbstractDetector<GeographicZoneDetec
                                   final BodyShape body,
                                   final SphericalPolygonsSet zone,  final double margin) {
         this(maxCheck, threshold, DEFAULT_MAX_ITER, new StopOnIncreasing<GeographicZoneDetector>(),
-             body, zone, zone.getEnclosingCap(), margin);
+             body, zone, zone.getEnclosingCap(), margin, null);
     }
 
     /** Private constructor with full parameters.
@@ -95,18 +102,20 @@ public class GeographicZoneDetector extends AbstractDetector<GeographicZoneDetec
      * @param zone geographic zone to consider
      * @param cap spherical cap surrounding the zone
      * @param margin angular margin to apply to the zone
+     * @param grid grid caching offsets to the zone boundary (null if not used)
      */
     private GeographicZoneDetector(final double maxCheck, final double threshold,
                                    final int maxIter, final EventHandler<? super GeographicZoneDetector> handler,
                                    final BodyShape body,
                                    final SphericalPolygonsSet zone,
                                    final EnclosingBall<Sphere2D, S2Point> cap,
-                                   final double margin) {
+                                   final double margin, final GeographicZoneGrid grid) {
         super(maxCheck, threshold, maxIter, handler);
         this.body   = body;
         this.zone   = zone;
         this.cap    = cap;
         this.margin = margin;
+        this.grid   = grid;
     }
 
     /** {@inheritDoc} */
@@ -114,7 +123,7 @@ public class GeographicZoneDetector extends AbstractDetector<GeographicZoneDetec
     protected GeographicZoneDetector create(final double newMaxCheck, final double newThreshold,
                                             final int newMaxIter, final EventHandler<? super GeographicZoneDetector> newHandler) {
         return new GeographicZoneDetector(newMaxCheck, newThreshold, newMaxIter, newHandler,
-                                          body, zone, cap, margin);
+                                          body, zone, cap, margin, grid);
     }
 
     /**
@@ -124,7 +133,34 @@ public class GeographicZoneDetector extends AbstractDetector<GeographicZoneDetec
      */
     public GeographicZoneDetector withMargin(final double newMargin) {
         return new GeographicZoneDetector(getMaxCheckInterval(), getThreshold(), getMaxIterationCount(), getHandler(),
-                                          body, zone, cap, newMargin);
+                                          body, zone, cap, newMargin, grid);
+    }
+
+    /**
+     * Setup a grid caching offsets to the zone boundary.
+     * <p>
+     * The grid covers the spherical cap surrounding the zone. Its cells are
+     * approximately square in latitude and longitude. For points within cells
+     * that are far enough from the zone boundary (taking margin into account),
+     * the {@link #g(SpacecraftState) g} function returns the offset of the cell
+     * center, which has the same sign as the exact offset. For points within
+     * cells close to the boundary, the exact offset is computed. Event dates are
+     * therefore not changed, only the g function values far from the boundary are.
+     * </p>
+     * <p>
+     * Setting up the grid involves computing the exact offset for all cells
+     * centers, so the cell size should be chosen as a trade-off between set
+     * up time and the fraction of evaluations answered by the grid.
+     * </p>
+     * @param cellSize maximum angular size of the grid cells (rad), if not
+     * strictly positive, no grid is used
+     * @return a new detector with updated configuration (the instance is not changed)
+     * @since 11.0
+     */
+    public GeographicZoneDetector withGridCellSize(final double cellSize) {
+        return new GeographicZoneDetector(getMaxCheckInterval(), getThreshold(), getMaxIterationCount(), getHandler(),
+                                          body, zone, cap, margin,
+                                          cellSize > 0 ? new GeographicZoneGrid(zone, cap, cellSize) : null);
     }
 
     /** Get the body on which the geographic zone is defined.
@@ -148,6 +184,15 @@ public class GeographicZoneDetector extends AbstractDetector<GeographicZoneDetec
         return margin;
     }
 
+    /** Get the maximum angular size of the cells of the grid caching offsets to the zone boundary.
+     * @return maximum angular size of the grid cells (rad), or {@code Double.NaN} if no grid is used
+     * @see #withGridCellSize(double)
+     * @since 11.0
+     */
+    public double getGridCellSize() {
+        return grid == null ? Double.NaN : grid.getCellSize();
+    }
+
     /** Compute the value of the detection function.
      * <p>
      * The value is the signed distance to boundary, minus the margin. It is
@@ -174,6 +219,11 @@ public class GeographicZoneDetector extends AbstractDetector<GeographicZoneDetec
             return crudeDistance - margin;
         }
 
+        if (grid != null) {
+            // use the grid, which computes the exact offset only close to the boundary
+            return grid.offset(gp.getLatitude(), gp.getLongitude(), margin);
+        }
+
         // we are close, we need to compute carefully the exact offset
         // project the point to the closest zone boundary
         return zone.projectToBoundary(s2p).getOffset() - margin;
@@ -0,0 +1,184 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import org.hipparchus.geometry.enclosing.EnclosingBall;
+import org.hipparchus.geometry.spherical.twod.S2Point;
+import org.hipparchus.geometry.spherical.twod.Sphere2D;
+import org.hipparchus.geometry.spherical.twod.SphericalPolygonsSet;
+import org.hipparchus.util.FastMath;
+import org.hipparchus.util.MathUtils;
+
+/** Latitude/longitude grid caching offsets to a geographic zone boundary.
+ * <p>
+ * The grid covers the spherical cap surrounding the zone. For each cell,
+ * the signed offset of the cell center with respect to the zone boundary
+ * and the angular radius of the cell are stored. As the offset to the
+ * boundary changes by at most the angular distance between two points, the
+ * points of a cell whose center is farther from the boundary than the cell
+ * radius are known to be on the same side as the center, and the center
+ * offset can be used instead of projecting the point to the boundary.
+ * </p>
+ * <p>
+ * This class is immutable.
+ * </p>
+ * @author agent
+ * @since 11.0
+ */
+class GeographicZoneGrid {
+
+    /** Safety factor on cells radii. */
+    private static final double SAFETY = 1.0 + 1.0e-10;
+
+    /** Zone definition. */
+    private final SphericalPolygonsSet zone;
+
+    /** Maximum cell size (rad). */
+    private final double cellSize;
+
+    /** Minimum latitude of the grid (rad). */
+    private final double latMin;
+
+    /** Cells size in latitude (rad). */
+    private final double latStep;
+
+    /** Number of cells in latitude. */
+    private final int nLat;
+
+    /** Minimum longitude of the grid (rad). */
+    private final double lonMin;
+
+    /** Cells size in longitude (rad). */
+    private final double lonStep;
+
+    /** Number of cells in longitude. */
+    private final int nLon;
+
+    /** Angular radius of cells, per latitude row (rad). */
+    private final double[] radius;
+
+    /** Offsets of cells centers, row by row (rad). */
+    private final double[] offsets;
+
+    /** Simple constructor.
+     * @param zone zone definition
+     * @param cap spherical cap surrounding the zone
+     * @param cellSize maximum cell size, in both latitude and longitude (rad)
+     */
+    GeographicZoneGrid(final SphericalPolygonsSet zone, final EnclosingBall<Sphere2D, S2Point> cap,
+                       final double cellSize) {
+
+        this.zone     = zone;
+        this.cellSize = cellSize;
+
+        // grid extent, slightly larger than the cap
+        final double capLat = 0.5 * FastMath.PI - cap.getCenter().getPhi();
+        final double capLon = cap.getCenter().getTheta();
+        final double r      = cap.getRadius() + cellSize;
+        final double south  = FastMath.max(-0.5 * FastMath.PI, capLat - r);
+        final double north  = FastMath.min(+0.5 * FastMath.PI, capLat + r);
+        this.latMin  = south;
+        this.nLat    = FastMath.max(1, (int) FastMath.ceil((north - south) / cellSize));
+        this.latStep = (north - south) / nLat;
+        final double width;
+        if (r >= 0.5 * FastMath.PI - FastMath.abs(capLat)) {
+            // the cap contains a pole
+            this.lonMin = -FastMath.PI;
+            width       = MathUtils.TWO_PI;
+        } else {
+            final double halfWidth = FastMath.asin(FastMath.sin(r) / FastMath.cos(capLat));
+            this.lonMin = capLon - halfWidth;
+            width       = 2 * halfWidth;
+        }
+        this.nLon    = FastMath.max(1, (int) FastMath.ceil(width / cellSize));
+        this.lonStep = width / nLon;
+
+        // cells radii, which depend only on latitude
+        // (the farthest points from a cell center are cell corners)
+        this.radius = new double[nLat];
+        for (int i = 0; i < nLat; ++i) {
+            final double  lat0   = latMin + i * latStep;
+            final S2Point center = toS2Point(lat0 + 0.5 * latStep, lonMin + 0.5 * lonStep);
+            double maxDistance = 0;
+            for (final double lat : new double[] { lat0, FastMath.min(0.5 * FastMath.PI, lat0 + latStep) }) {
+                for (final double lon : new double[] { lonMin, lonMin + lonStep }) {
+                    maxDistance = FastMath.max(maxDistance, center.distance(toS2Point(lat, lon)));
+                }
+            }
+            radius[i] = SAFETY * maxDistance;
+        }
+
+        // offsets of cells centers
+        this.offsets = new double[nLat * nLon];
+        for (int i = 0; i < nLat; ++i) {
+            for (int j = 0; j < nLon; ++j) {
+                final S2Point center = toS2Point(latMin + (i + 0.5) * latStep, lonMin + (j + 0.5) * lonStep);
+                offsets[i * nLon + j] = zone.projectToBoundary(center).getOffset();
+            }
+        }
+
+    }
+
+    /** Get the maximum cell size.
+     * @return maximum cell size (rad)
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /** Compute the signed offset of a point with respect to the zone boundary, minus a margin.
+     * <p>
+     * The sign of the returned value is always the same as the sign of the exact
+     * offset minus margin. The returned value is the exact value when the point
+     * is within one cell radius of the boundary shifted by the margin, and the
+     * offset of the cell center minus margin otherwise.
+     * </p>
+     * @param latitude point latitude (rad)
+     * @param longitude point longitude (rad)
+     * @param margin angular margin to apply to the zone
+     * @return signed offset (positive outside of the zone) minus margin
+     */
+    public double offset(final double latitude, final double longitude, final double margin) {
+
+        final int i = (int) FastMath.floor((latitude - latMin) / latStep);
+        if (i >= 0 && i < nLat) {
+            final double lon = MathUtils.normalizeAngle(longitude, lonMin + FastMath.PI);
+            final int    j   = (int) FastMath.floor((lon - lonMin) / lonStep);
+            if (j >= 0 && j < nLon) {
+                final double cellOffset = offsets[i * nLon + j] - margin;
+                if (FastMath.abs(cellOffset) > radius[i]) {
+                    // the whole cell is on the same side of the boundary as its center
+                    return cellOffset;
+                }
+            }
+        }
+
+        // we are close to the boundary or outside of the grid, we need the exact offset
+        return zone.projectToBoundary(toS2Point(latitude, longitude)).getOffset() - margin;
+
+    }
+
+    /** Convert geodetic coordinates to a point on the unit 2-sphere.
+     * @param latitude latitude (rad)
+     * @param longitude longitude (rad)
+     * @return point on the unit 2-sphere
+     */
+    private static S2Point toS2Point(final double latitude, final double longitude) {
+        return new S2Point(longitude, 0.5 * FastMath.PI - latitude);
+    }
+
+}
@@ -0,0 +1,333 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.AllowedSolution;
+import org.hipparchus.analysis.solvers.BracketedUnivariateSolver;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.frames.Transform;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.utils.HorizonConeIndex;
+import org.orekit.utils.PVCoordinatesProvider;
+
+/** Computer for visibility windows between many ground stations and many satellites.
+ * <p>
+ * This class provides the same passes as one {@link ElevationDetector} per
+ * station-satellite pair, but it is intended for large networks and constellations,
+ * where the number of pairs makes regular event detection too costly. The satellites
+ * are sampled on a common time grid, and at each grid date:
+ * </p>
+ * <ul>
+ *   <li>the transform from the satellites frame to the body frame is computed
+ *   only once and shared by all satellites,</li>
+ *   <li>for each satellite, the stations that cannot see it are pruned using
+ *   a conservative horizon cone around the sub-satellite direction and an index
+ *   of the stations sorted by latitude,</li>
+ *   <li>elevations are computed only for the remaining candidate stations.</li>
+ * </ul>
+ * <p>
+ * Rise and set times are refined only for the pairs for which the elevation crosses
+ * the threshold between two grid dates. As with regular event detection, the grid
+ * step plays the role of the {@link EventDetector#getMaxCheckInterval() max check
+ * interval}: passes shorter than the step may be missed.
+ * </p>
+ * <p>
+ * The satellites coordinates providers are called at grid dates in chronological
+ * order, and also at intermediate dates during refinement, so analytical propagators
+ * or ephemerides are better suited than numerical propagators.
+ * </p>
+ * @author agent
+ * @since 11.0
+ * @see ElevationDetector
+ */
+public class GroundVisibilityComputer {
+
+    /** Maximum number of evaluations for rise and set times refinement. */
+    private static final int MAX_EVALUATIONS = 100;
+
+    /** Ground stations. */
+    private final List<TopocentricFrame> stations;
+
+    /** Minimum elevation (rad). */
+    private final double minElevation;
+
+    /** Body frame in which stations are defined. */
+    private final Frame bodyFrame;
+
+    /** Index of stations for horizon cone pruning. */
+    private final HorizonConeIndex index;
+
+    /** Simple constructor.
+     * @param stations ground stations (at least one, they must all be defined with respect to the same body frame)
+     * @param minElevation minimum elevation for visibility (rad)
+     */
+    public GroundVisibilityComputer(final List<TopocentricFrame> stations, final double minElevation) {
+
+        if (stations.isEmpty()) {
+            throw new OrekitException(LocalizedCoreFormats.NO_DATA);
+        }
+
+        this.stations     = new ArrayList<>(stations);
+        this.minElevation = minElevation;
+        this.bodyFrame    = stations.get(0).getParentShape().getBodyFrame();
+
+        final List<Vector3D> positions = new ArrayList<>(stations.size());
+        final List<Vector3D> zeniths   = new ArrayList<>(stations.size());
+        for (final TopocentricFrame station : stations) {
+            if (station.getParentShape().getBodyFrame() != bodyFrame) {
+                throw new OrekitIllegalArgumentException(OrekitMessages.FRAMES_MISMATCH,
+                                                         station.getParentShape().getBodyFrame().getName(),
+                                                         bodyFrame.getName());
+            }
+            positions.add(station.getParentShape().transform(station.getPoint()));
+            zeniths.add(station.getZenith());
+        }
+        this.index = new HorizonConeIndex(positions, zeniths, minElevation);
+
+    }
+
+    /** Get the ground stations.
+     * @return ground stations
+     */
+    public List<TopocentricFrame> getStations() {
+        return Collections.unmodifiableList(stations);
+    }
+
+    /** Get the minimum elevation.
+     * @return minimum elevation (rad)
+     */
+    public double getMinElevation() {
+        return minElevation;
+    }
+
+    /** Compute the visibility windows between all stations and all satellites.
+     * @param satellites coordinates providers for all satellites
+     * @param frame frame in which satellites coordinates are requested (the transform
+     * from this frame to body frame is shared by all satellites at each grid date)
+     * @param start start of the computation range
+     * @param end end of the computation range (must be after start)
+     * @param step grid step (s, must be strictly positive), which acts as the max check interval of event detection
+     * @param threshold convergence threshold for rise and set times (s)
+     * @return visibility windows for all station-satellite pairs, in chronological order
+     * of window start (windows already open at range start start at {@code start} and
+     * windows still open at range end end at {@code end})
+     */
+    public List<Pass> compute(final List<? extends PVCoordinatesProvider> satellites, final Frame frame,
+                              final AbsoluteDate start, final AbsoluteDate end,
+                              final double step, final double threshold) {
+
+        if (!(step > 0) || Double.isInfinite(step)) {
+            throw new OrekitException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, step, 0.0);
+        }
+        if (end.durationFrom(start) < 0) {
+            throw new OrekitException(LocalizedCoreFormats.ENDPOINTS_NOT_AN_INTERVAL, start, end);
+        }
+
+        final int            nSta     = stations.size();
+        final int            nSat     = satellites.size();
+        final double[]       previous = new double[nSat * nSta];
+        final double[]       current  = new double[nSat * nSta];
+        final AbsoluteDate[] opened   = new AbsoluteDate[nSat * nSta];
+        final List<Pass>     passes   = new ArrayList<>();
+        final BracketedUnivariateSolver<UnivariateFunction> solver =
+                new BracketingNthOrderBrentSolver(0, threshold, 0, 5);
+
+        final int    n              = (int) FastMath.ceil(end.durationFrom(start) / step);
+        AbsoluteDate previousDate   = null;
+        Transform    previousToBody = null;
+        for (int k = 0; k <= n; ++k) {
+
+            // transform shared by all satellites
+            final AbsoluteDate date   = k == n ? end : start.shiftedBy(k * step);
+            final Transform    toBody = frame.getTransformTo(bodyFrame, date);
+
+            for (int j = 0; j < nSat; ++j) {
+                final Vector3D s = toBody.transformPosition(satellites.get(j).getPVCoordinates(date, frame).getPosition());
+                elevations(s, current, j * nSta);
+            }
+
+            if (previousDate == null) {
+                // open windows already visible at range start
+                for (int ij = 0; ij < current.length; ++ij) {
+                    if (current[ij] > 0) {
+                        opened[ij] = start;
+                    }
+                }
+            } else {
+                for (int ij = 0; ij < current.length; ++ij) {
+                    if ((previous[ij] > 0) != (current[ij] > 0)) {
+                        // the elevation crosses the threshold, refine crossing time
+                        final PVCoordinatesProvider satellite = satellites.get(ij / nSta);
+                        final int                   i         = ij % nSta;
+                        final AbsoluteDate          t0        = previousDate;
+                        final Transform             t0ToBody  = previousToBody;
+                        final UnivariateFunction g = dt -> {
+                            final AbsoluteDate t = t0.shiftedBy(dt);
+                            final Vector3D     s = t0ToBody.shiftedBy(dt).
+                                                   transformPosition(satellite.getPVCoordinates(t, frame).getPosition());
+                            return index.getElevationMargin(s, i);
+                        };
+                        final double h = date.durationFrom(t0);
+                        final double root;
+                        if ((g.value(0) > 0) == (current[ij] > 0)) {
+                            // numerical noise at grid date, the crossing is at interval start
+                            root = 0;
+                        } else if ((g.value(h) > 0) != (current[ij] > 0)) {
+                            // numerical noise at grid date, the crossing is at interval end
+                            root = h;
+                        } else {
+                            root = solver.solve(MAX_EVALUATIONS, g, 0, h, AllowedSolution.ANY_SIDE);
+                        }
+                        if (current[ij] > 0) {
+                            opened[ij] = t0.shiftedBy(root);
+                        } else {
+                            passes.add(new Pass(stations.get(i), i, ij / nSta, opened[ij], t0.shiftedBy(root)));
+                            opened[ij] = null;
+                        }
+                    }
+                }
+            }
+
+            System.arraycopy(current, 0, previous, 0, current.length);
+            previousDate   = date;
+            previousToBody = toBody;
+
+        }
+
+        // close windows still open at range end
+        for (int ij = 0; ij < opened.length; ++ij) {
+            if (opened[ij] != null) {
+                passes.add(new Pass(stations.get(ij % nSta), ij % nSta, ij / nSta, opened[ij], end));
+            }
+        }
+
+        passes.sort(Comparator.comparing(Pass::getStart));
+        return passes;
+
+    }
+
+    /** Compute the elevation margins of one satellite for all stations.
+     * <p>
+     * The margin is the elevation minus the minimum elevation for candidate
+     * stations, and -1 for pruned stations (which are known to be below
+     * minimum elevation).
+     * </p>
+     * @param s satellite position in body frame
+     * @param margins array where to store the margins
+     * @param offset index of the first station in the array
+     */
+    private void elevations(final Vector3D s, final double[] margins, final int offset) {
+        Arrays.fill(margins, offset, offset + stations.size(), -1.0);
+        for (final int i : index.getCandidates(s)) {
+            margins[offset + i] = index.getElevationMargin(s, i);
+        }
+    }
+
+    /** Container for one visibility window between a station and a satellite. */
+    public static class Pass {
+
+        /** Station. */
+        private final TopocentricFrame station;
+
+        /** Index of the station. */
+        private final int stationIndex;
+
+        /** Index of the satellite. */
+        private final int satelliteIndex;
+
+        /** Window start. */
+        private final AbsoluteDate start;
+
+        /** Window end. */
+        private final AbsoluteDate end;
+
+        /** Simple constructor.
+         * @param station station
+         * @param stationIndex index of the station
+         * @param satelliteIndex index of the satellite
+         * @param start window start
+         * @param end window end
+         */
+        Pass(final TopocentricFrame station, final int stationIndex, final int satelliteIndex,
+             final AbsoluteDate start, final AbsoluteDate end) {
+            this.station        = station;
+            this.stationIndex   = stationIndex;
+            this.satelliteIndex = satelliteIndex;
+            this.start          = start;
+            this.end            = end;
+        }
+
+        /** Get the station.
+         * @return station
+         */
+        public TopocentricFrame getStation() {
+            return station;
+        }
+
+        /** Get the index of the station in the computer stations list.
+         * @return index of the station
+         */
+        public int getStationIndex() {
+            return stationIndex;
+        }
+
+        /** Get the index of the satellite in the list provided for computation.
+         * @return index of the satellite
+         */
+        public int getSatelliteIndex() {
+            return satelliteIndex;
+        }
+
+        /** Get the window start.
+         * @return window start
+         */
+        public AbsoluteDate getStart() {
+            return start;
+        }
+
+        /** Get the window end.
+         * @return window end
+         */
+        public AbsoluteDate getEnd() {
+            return end;
+        }
+
+        /** Get the window duration.
+         * @return window duration (s)
+         */
+        public double getDuration() {
+            return end.durationFrom(start);
+        }
+
+    }
+
+}
@@ -18,6 +18,7 @@ package org.orekit.time;
 
 import java.io.Serializable;
 import java.util.Date;
+import java.util.List;
 import java.util.TimeZone;
 
 import org.hipparchus.util.FastMath;
@@ -524,6 +525,36 @@ public class AbsoluteDate
         return offset;
     }
 
+    /** Parse a set of locations in a {@link TimeScale time scale}.
+     * <p>
+     * This is a bulk version of {@link #AbsoluteDate(String, TimeScale)} intended for
+     * parsing columns of timestamps, for example when loading data files. Only the
+     * characters between {@code start} (included) and {@code end} (excluded) are
+     * parsed in each sequence, and no intermediate strings are created for the
+     * formats handled by the fast path of {@link
+     * DateTimeComponents#parseDateTime(CharSequence, int, int)}.
+     * </p>
+     * @param locations locations in the time scale (for example lines read from a file)
+     * @param start index of the first character of the dates in each sequence
+     * @param end index after the last character of the dates in each sequence,
+     * if negative, dates extend up to the end of each sequence
+     * @param timeScale time scale
+     * @return parsed dates, in the same order as the locations
+     * @exception IllegalArgumentException if some location is not in a supported format
+     * @since 11.0
+     */
+    public static AbsoluteDate[] parseDates(final List<? extends CharSequence> locations,
+                                            final int start, final int end,
+                                            final TimeScale timeScale) {
+        final AbsoluteDate[] dates = new AbsoluteDate[locations.size()];
+        int i = 0;
+        for (final CharSequence location : locations) {
+            final int locationEnd = end < 0 ? location.length() : end;
+            dates[i++] = new AbsoluteDate(DateTimeComponents.parseDateTime(location, start, locationEnd), timeScale);
+        }
+        return dates;
+    }
+
     /** Build an instance from a CCSDS Unsegmented Time Code (CUC).
      * <p>
      * CCSDS Unsegmented Time Code is defined in the blue book:
@@ -1358,6 +1389,21 @@ public class AbsoluteDate
         return getComponents(timeScale).toString(timeScale.minuteDuration(this));
     }
 
+    /** Append a String representation of the instant location to a builder.
+     * <p>
+     * The appended characters are the same as the ones returned by
+     * {@link #toString(TimeScale)}, this method is intended to
+     * write many dates without creating intermediate strings.
+     * </p>
+     * @param builder builder where to append the date
+     * @param timeScale time scale to use
+     * @return the builder
+     * @since 11.0
+     */
+    public StringBuilder appendTo(final StringBuilder builder, final TimeScale timeScale) {
+        return getComponents(timeScale).appendTo(builder, timeScale.minuteDuration(this));
+    }
+
     /** Get a String representation of the instant location for a local time.
      *
      * <p>This method uses the {@link DataContext#getDefault() default data context}.
@@ -0,0 +1,435 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.time;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.orekit.errors.OrekitIllegalArgumentException;
+
+/** Compact container for large sets of dates.
+ * <p>
+ * {@link AbsoluteDate} instances are small immutable objects, but grids of
+ * millions of dates (sampling grids, measurements schedules, ephemerides outputs…)
+ * spend more memory in objects headers and references than in the dates themselves.
+ * This class stores the internal representation of the dates (a long epoch and a
+ * double offset) in two primitive arrays, and provides bulk operations on them.
+ * All operations give exactly the same results as the corresponding operations
+ * on {@link AbsoluteDate} instances.
+ * </p>
+ * <p>
+ * {@link AbsoluteDate} instances are built only on demand, by {@link #get(int)}
+ * or by the {@link #asList() list view}, which allows to drive any API expecting a
+ * {@code List<AbsoluteDate>} without storing all dates as objects. The {@link
+ * #getSelector()} method allows to drive measurements generation.
+ * </p>
+ * <p>
+ * This class is immutable and can be used from several threads.
+ * </p>
+ * @author agent
+ * @since 11.0
+ */
+public class AbsoluteDateArray {
+
+    /** Reference epochs of the dates, in seconds from 2000-01-01T12:00:00 TAI. */
+    private final long[] epochs;
+
+    /** Offsets of the dates from their reference epochs, in seconds. */
+    private final double[] offsets;
+
+    /** Simple constructor.
+     * @param dates dates to store
+     */
+    public AbsoluteDateArray(final List<? extends TimeStamped> dates) {
+        this(dates.size());
+        for (int i = 0; i < dates.size(); ++i) {
+            final AbsoluteDate date = dates.get(i).getDate();
+            epochs[i]  = date.getEpoch();
+            offsets[i] = date.getOffset();
+        }
+    }
+
+    /** Private constructor for uninitialized arrays.
+     * @param size number of dates
+     */
+    private AbsoluteDateArray(final int size) {
+        this.epochs  = new long[size];
+        this.offsets = new double[size];
+    }
+
+    /** Create an array of regularly spaced dates.
+     * <p>
+     * Date i is {@code start.shiftedBy(i * step)}.
+     * </p>
+     * @param start first date
+     * @param step step between consecutive dates (s), may be negative
+     * @param size number of dates
+     * @return array of regularly spaced dates
+     */
+    public static AbsoluteDateArray regularSampling(final AbsoluteDate start, final double step, final int size) {
+        final AbsoluteDateArray array = new AbsoluteDateArray(size);
+        for (int i = 0; i < size; ++i) {
+            array.shift(i, start.getEpoch(), start.getOffset(), i * step);
+        }
+        return array;
+    }
+
+    /** Create an array of dates from durations with respect to a reference date.
+     * <p>
+     * Date i is {@code reference.shiftedBy(durations[i])}.
+     * </p>
+     * @param reference reference date
+     * @param durations durations of the dates with respect to reference date (s)
+     * @return array of dates
+     */
+    public static AbsoluteDateArray fromDurations(final AbsoluteDate reference, final double[] durations) {
+        final AbsoluteDateArray array = new AbsoluteDateArray(durations.length);
+        for (int i = 0; i < durations.length; ++i) {
+            array.shift(i, reference.getEpoch(), reference.getOffset(), durations[i]);
+        }
+        return array;
+    }
+
+    /** Get the number of dates.
+     * @return number of dates
+     */
+    public int size() {
+        return epochs.length;
+    }
+
+    /** Get one date.
+     * @param i index of the date
+     * @return date at index i (a new instance is built at each call)
+     */
+    public AbsoluteDate get(final int i) {
+        return new AbsoluteDate(epochs[i], offsets[i]);
+    }
+
+    /** Get a view of the dates as a list.
+     * <p>
+     * The list is unmodifiable, and its elements are built on the fly
+     * as they are retrieved, they are not stored.
+     * </p>
+     * @return view of the dates as a list
+     */
+    public List<AbsoluteDate> asList() {
+        return new ListView();
+    }
+
+    /** Compute the duration between one date and a reference date.
+     * @param i index of the date
+     * @param reference reference date
+     * @return {@code get(i).durationFrom(reference)}
+     */
+    public double durationFrom(final int i, final AbsoluteDate reference) {
+        return (epochs[i] - reference.getEpoch()) + (offsets[i] - reference.getOffset());
+    }
+
+    /** Compute the durations between all dates and a reference date.
+     * @param reference reference date
+     * @return durations, element i being {@code get(i).durationFrom(reference)}
+     */
+    public double[] durationFrom(final AbsoluteDate reference) {
+        final double[] durations = new double[epochs.length];
+        durationFrom(reference, durations);
+        return durations;
+    }
+
+    /** Compute the durations between all dates and a reference date.
+     * @param reference reference date
+     * @param durations array where to store the durations, element i being
+     * {@code get(i).durationFrom(reference)}, its length must be at least {@link #size()}
+     */
+    public void durationFrom(final AbsoluteDate reference, final double[] durations) {
+        checkSize(durations.length);
+        final long   referenceEpoch  = reference.getEpoch();
+        final double referenceOffset = reference.getOffset();
+        for (int i = 0; i < epochs.length; ++i) {
+            durations[i] = (epochs[i] - referenceEpoch) + (offsets[i] - referenceOffset);
+        }
+    }
+
+    /** Shift all dates by the same duration.
+     * @param dt time shift in seconds
+     * @return a new array, element i being {@code get(i).shiftedBy(dt)}
+     */
+    public AbsoluteDateArray shiftedBy(final double dt) {
+        final AbsoluteDateArray shifted = new AbsoluteDateArray(epochs.length);
+        for (int i = 0; i < epochs.length; ++i) {
+            shifted.shift(i, epochs[i], offsets[i], dt);
+        }
+        return shifted;
+    }
+
+    /** Shift all dates by individual durations.
+     * @param dt time shifts in seconds, its length must be at least {@link #size()}
+     * @return a new array, element i being {@code get(i).shiftedBy(dt[i])}
+     */
+    public AbsoluteDateArray shiftedBy(final double[] dt) {
+        checkSize(dt.length);
+        final AbsoluteDateArray shifted = new AbsoluteDateArray(epochs.length);
+        for (int i = 0; i < epochs.length; ++i) {
+            shifted.shift(i, epochs[i], offsets[i], dt[i]);
+        }
+        return shifted;
+    }
+
+    /** Check if the dates are sorted in chronological order.
+     * @return true if dates are sorted in chronological order (consecutive equal dates are allowed)
+     */
+    public boolean isChronological() {
+        for (int i = 1; i < epochs.length; ++i) {
+            if (compare(i, epochs[i - 1], offsets[i - 1]) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Search a date using binary search.
+     * <p>
+     * The dates must be sorted in {@link #isChronological() chronological order},
+     * otherwise the result is undefined. The semantics of the returned value are
+     * the same as in {@link java.util.Arrays#binarySearch(long[], long)}.
+     * </p>
+     * @param date date to search
+     * @return index of the date, if it is contained in the array, otherwise
+     * (-(<i>insertion point</i>) - 1), where the insertion point is the index of
+     * the first date later than the searched date, or {@link #size()} if all dates
+     * are earlier than the searched date
+     */
+    public int binarySearch(final AbsoluteDate date) {
+        int low  = 0;
+        int high = epochs.length - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int cmp    = compare(middle, date.getEpoch(), date.getOffset());
+            if (cmp < 0) {
+                low = middle + 1;
+            } else if (cmp > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /** Compute the offsets between a time scale and TAI for all dates.
+     * <p>
+     * For {@link UTCScale UTC}, the offsets are computed without building
+     * any {@link AbsoluteDate}.
+     * </p>
+     * @param timeScale time scale
+     * @return offsets, element i being {@code timeScale.offsetFromTAI(get(i))}
+     */
+    public double[] offsetsFromTAI(final TimeScale timeScale) {
+        final double[] result = new double[epochs.length];
+        if (timeScale instanceof UTCScale) {
+            final UTCScale utc = (UTCScale) timeScale;
+            for (int i = 0; i < epochs.length; ++i) {
+                result[i] = utc.offsetFromTAI(epochs[i], offsets[i]);
+            }
+        } else {
+            for (int i = 0; i < epochs.length; ++i) {
+                result[i] = timeScale.offsetFromTAI(get(i));
+            }
+        }
+        return result;
+    }
+
+    /** Get the components of one date in a time scale.
+     * @param i index of the date
+     * @param timeScale time scale
+     * @return {@code get(i).getComponents(timeScale)}
+     */
+    public DateTimeComponents getComponents(final int i, final TimeScale timeScale) {
+        return get(i).getComponents(timeScale);
+    }
+
+    /** Get a dates selector backed by this array.
+     * <p>
+     * The selector returns the dates of this array within the intervals it is called
+     * with, intervals bounds included. The dates must be sorted in {@link #isChronological()
+     * chronological order}. The selector remembers the last selected date so a date
+     * that is the common boundary of two consecutive intervals is selected only once.
+     * As it stores this state, a separate selector must be used for each scheduler
+     * and for each thread, but they can all share the same array.
+     * </p>
+     * @return a new dates selector
+     */
+    public DatesSelector getSelector() {
+        return new Selector();
+    }
+
+    /** Compare one date with another date given by its internal representation.
+     * @param i index of the date
+     * @param epoch reference epoch of the other date
+     * @param offset offset of the other date
+     * @return same as {@code get(i).compareTo(other)}
+     */
+    private int compare(final int i, final long epoch, final double offset) {
+        final double duration = (epochs[i] - epoch) + (offsets[i] - offset);
+        if (!Double.isNaN(duration)) {
+            return Double.compare(duration, 0.0);
+        }
+        // both dates are infinity or one is NaN or both are NaN
+        return Double.compare(offsets[i], offset);
+    }
+
+    /** Store a shifted date.
+     * <p>
+     * The date is normalized exactly as in {@link AbsoluteDate#AbsoluteDate(AbsoluteDate, double)}.
+     * </p>
+     * @param i index where to store the date
+     * @param epoch reference epoch of the date to shift
+     * @param offset offset of the date to shift
+     * @param elapsedDuration time shift in seconds
+     */
+    private void shift(final int i, final long epoch, final double offset, final double elapsedDuration) {
+        final double sum = offset + elapsedDuration;
+        if (Double.isInfinite(sum)) {
+            offsets[i] = sum;
+            epochs[i]  = (sum < 0) ? Long.MIN_VALUE : Long.MAX_VALUE;
+        } else {
+            // compute sum exactly, using Møller-Knuth TwoSum algorithm without branching
+            // (see AbsoluteDate constructor, the statements must NOT be simplified)
+            final double oPrime   = sum - elapsedDuration;
+            final double dPrime   = sum - oPrime;
+            final double deltaO   = offset - oPrime;
+            final double deltaD   = elapsedDuration - dPrime;
+            final double residual = deltaO + deltaD;
+            final long   dl       = (long) FastMath.floor(sum);
+            offsets[i] = (sum - dl) + residual;
+            epochs[i]  = epoch + dl;
+        }
+    }
+
+    /** Check the size of an array.
+     * @param length length of the array
+     */
+    private void checkSize(final int length) {
+        if (length < epochs.length) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     length, epochs.length);
+        }
+    }
+
+    /** List view of the dates. */
+    private class ListView extends AbstractList<AbsoluteDate> implements RandomAccess {
+
+        /** {@inheritDoc} */
+        @Override
+        public AbsoluteDate get(final int index) {
+            return AbsoluteDateArray.this.get(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return epochs.length;
+        }
+
+    }
+
+    /** Dates selector backed by the array. */
+    private class Selector implements DatesSelector {
+
+        /** Index of the last selected date (-1 if no dates have been selected yet). */
+        private int last;
+
+        /** Simple constructor.
+         */
+        Selector() {
+            this.last = -1;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public List<AbsoluteDate> selectDates(final AbsoluteDate start, final AbsoluteDate end) {
+
+            final boolean forward = start.compareTo(end) <= 0;
+            final AbsoluteDate earliest = forward ? start : end;
+            final AbsoluteDate latest   = forward ? end   : start;
+
+            // indices range of dates within [earliest, latest]
+            final int searchLow  = binarySearch(earliest);
+            int low              = searchLow < 0 ? -(searchLow + 1) : firstEqual(searchLow);
+            final int searchHigh = binarySearch(latest);
+            int high             = searchHigh < 0 ? -(searchHigh + 1) - 1 : lastEqual(searchHigh);
+
+            // avoid selecting twice the same date at intervals boundaries
+            if (last >= low && last <= high) {
+                if (forward) {
+                    low = last + 1;
+                } else {
+                    high = last - 1;
+                }
+            }
+
+            final List<AbsoluteDate> selected = new ArrayList<>(FastMath.max(0, high - low + 1));
+            if (forward) {
+                for (int i = low; i <= high; ++i) {
+                    selected.add(get(i));
+                }
+                if (high >= low) {
+                    last = high;
+                }
+            } else {
+                for (int i = high; i >= low; --i) {
+                    selected.add(get(i));
+                }
+                if (high >= low) {
+                    last = low;
+                }
+            }
+
+            return selected;
+
+        }
+
+        /** Find the first index of a run of equal dates.
+         * @param index index of one date in the run
+         * @return first index of the run
+         */
+        private int firstEqual(final int index) {
+            int i = index;
+            while (i > 0 && compare(i - 1, epochs[index], offsets[index]) == 0) {
+                --i;
+            }
+            return i;
+        }
+
+        /** Find the last index of a run of equal dates.
+         * @param index index of one date in the run
+         * @return last index of the run
+         */
+        private int lastEqual(final int index) {
+            int i = index;
+            while (i < epochs.length - 1 && compare(i + 1, epochs[index], offsets[index]) == 0) {
+                ++i;
+            }
+            return i;
+        }
+
+    }
+
+}
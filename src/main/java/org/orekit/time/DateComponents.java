@@ -17,10 +17,10 @@
 package org.orekit.time;
 
 import java.io.Serializable;
-import java.text.DecimalFormat;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.hipparchus.util.FastMath;
 import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 
@@ -119,12 +119,6 @@ public class DateComponents implements Serializable, Comparable<DateComponents>
     /** Factory for non-leap years. */
     private static final MonthDayFactory COMMON_YEAR_FACTORY  = new CommonYearFactory();
 
-    /** Format for years. */
-    private static final DecimalFormat FOUR_DIGITS = new DecimalFormat("0000");
-
-    /** Format for months and days. */
-    private static final DecimalFormat TWO_DIGITS  = new DecimalFormat("00");
-
     /** Offset between J2000 epoch and modified julian day epoch. */
     private static final int MJD_TO_J2000 = 51544;
 
@@ -327,6 +321,54 @@ public class DateComponents implements Serializable, Comparable<DateComponents>
      * @exception IllegalArgumentException if string cannot be parsed
      */
     public static  DateComponents parseDate(final String string) {
+        return parseDate(string, 0, string.length());
+    }
+
+    /** Parse a part of a characters sequence in ISO-8601 format to build a date.
+     * <p>
+     * The supported formats are the same as in {@link #parseDate(String)}. The
+     * extended calendar (YYYY-MM-DD) and ordinal (YYYY-DDD) formats, which are
+     * also the CCSDS ASCII time codes formats, are parsed directly from the
+     * characters sequence without creating any intermediate objects.
+     * </p>
+     * @param s characters sequence containing the date
+     * @param start index of the first character of the date
+     * @param end index after the last character of the date
+     * @return a parsed date
+     * @exception IllegalArgumentException if string cannot be parsed
+     * @since 11.0
+     */
+    public static DateComponents parseDate(final CharSequence s, final int start, final int end) {
+
+        // fast path for extended calendar and ordinal formats
+        if (end - start >= 8 && s.charAt(start + 4) == '-') {
+            final int year = DateTimeDigits.parseDigits(s, start, 4);
+            if (year >= 0) {
+                if (end - start == 10 && s.charAt(start + 7) == '-') {
+                    final int month = DateTimeDigits.parseDigits(s, start + 5, 2);
+                    final int day   = DateTimeDigits.parseDigits(s, start + 8, 2);
+                    if (month >= 0 && day >= 0) {
+                        return new DateComponents(year, month, day);
+                    }
+                } else if (end - start == 8) {
+                    final int dayNumber = DateTimeDigits.parseDigits(s, start + 5, 3);
+                    if (dayNumber >= 0) {
+                        return new DateComponents(year, dayNumber);
+                    }
+                }
+            }
+        }
+
+        return parseDateUsingPatterns(s.subSequence(start, end).toString());
+
+    }
+
+    /** Parse a string in ISO-8601 format to build a date, using regular expressions.
+     * @param string string to parse
+     * @return a parsed date
+     * @exception IllegalArgumentException if string cannot be parsed
+     */
+    private static DateComponents parseDateUsingPatterns(final String string) {
 
         // is the date a calendar date ?
         final Matcher calendarMatcher = CALENDAR_FORMAT.matcher(string);
@@ -468,11 +510,21 @@ public class DateComponents implements Serializable, Comparable<DateComponents>
      * @return string representation of the date.
      */
     public String toString() {
-        return new StringBuffer().
-               append(FOUR_DIGITS.format(year)).append('-').
-               append(TWO_DIGITS.format(month)).append('-').
-               append(TWO_DIGITS.format(day)).
-               toString();
+        return appendTo(new StringBuilder(10)).toString();
+    }
+
+    /** Append a string representation (ISO-8601) of the date to a builder.
+     * @param builder builder where to append the date
+     * @return the builder
+     * @since 11.0
+     */
+    public StringBuilder appendTo(final StringBuilder builder) {
+        if (year < 0) {
+            builder.append('-');
+        }
+        DateTimeDigits.appendDigits(builder, FastMath.abs(year), 4).append('-');
+        DateTimeDigits.appendDigits(builder, month, 2).append('-');
+        return DateTimeDigits.appendDigits(builder, day, 2);
     }
 
     /** {@inheritDoc} */
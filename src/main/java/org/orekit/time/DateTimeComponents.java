@@ -165,15 +165,35 @@ public class DateTimeComponents implements Serializable, Comparable<DateTimeComp
      * @exception IllegalArgumentException if string cannot be parsed
      */
     public static DateTimeComponents parseDateTime(final String string) {
+        return parseDateTime(string, 0, string.length());
+    }
+
+    /** Parse a part of a characters sequence in ISO-8601 format to build a date/time.
+     * <p>
+     * The supported formats are the same as in {@link #parseDateTime(String)}. The
+     * common extended formats, which include CCSDS ASCII time codes (for example
+     * 2000-01-01T12:00:00.000Z or 2000-001T12:00:00.000), are parsed directly from
+     * the characters sequence, which allows for example to parse dates from a
+     * column of a line read from a file without extracting a substring first.
+     * </p>
+     * @param s characters sequence containing the date/time
+     * @param start index of the first character of the date/time
+     * @param end index after the last character of the date/time
+     * @return a parsed date/time
+     * @exception IllegalArgumentException if string cannot be parsed
+     * @since 11.0
+     */
+    public static DateTimeComponents parseDateTime(final CharSequence s, final int start, final int end) {
 
         // is there a time ?
-        final int tIndex = string.indexOf('T');
-        if (tIndex > 0) {
-            return new DateTimeComponents(DateComponents.parseDate(string.substring(0, tIndex)),
-                                          TimeComponents.parseTime(string.substring(tIndex + 1)));
+        for (int tIndex = start + 1; tIndex < end; ++tIndex) {
+            if (s.charAt(tIndex) == 'T') {
+                return new DateTimeComponents(DateComponents.parseDate(s, start, tIndex),
+                                              TimeComponents.parseTime(s, tIndex + 1, end));
+            }
         }
 
-        return new DateTimeComponents(DateComponents.parseDate(string), TimeComponents.H00);
+        return new DateTimeComponents(DateComponents.parseDate(s, start, end), TimeComponents.H00);
 
     }
 
@@ -245,6 +265,19 @@ public class DateTimeComponents implements Serializable, Comparable<DateTimeComp
      * @return string representation of this pair
      */
     public String toString(final int minuteDuration) {
+        return appendTo(new StringBuilder(23), minuteDuration).toString();
+    }
+
+    /** Append a string representation of this pair to a builder.
+     * <p>The format used is ISO8601, the appended characters are
+     * the same as the ones returned by {@link #toString(int)}.</p>
+     * @param builder builder where to append the date/time
+     * @param minuteDuration 60 or 61 depending on the date being
+     * close to a leap second introduction
+     * @return the builder
+     * @since 11.0
+     */
+    public StringBuilder appendTo(final StringBuilder builder, final int minuteDuration) {
         double second = time.getSecond();
         final double wrap = minuteDuration - 0.0005;
         if (second >= wrap) {
@@ -262,9 +295,11 @@ public class DateTimeComponents implements Serializable, Comparable<DateTimeComp
                     ++j2000;
                 }
             }
-            return new DateComponents(j2000).toString() + 'T' + new TimeComponents(hour, minute, second).toString();
+            new DateComponents(j2000).appendTo(builder).append('T');
+            return new TimeComponents(hour, minute, second).appendTo(builder);
         }
-        return date.toString() + 'T' + time.toString();
+        date.appendTo(builder).append('T');
+        return time.appendTo(builder);
     }
 
     /**
@@ -0,0 +1,150 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.time;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.hipparchus.util.FastMath;
+
+/** Low level helpers for fast dates and times parsing and formatting.
+ * <p>
+ * These helpers handle only fixed-width fields of ASCII digits, the
+ * parsing and formatting methods of {@link DateComponents}, {@link TimeComponents}
+ * and {@link DateTimeComponents} use them as a fast path and fall back to regular
+ * expressions and {@link java.text.DecimalFormat} for all other cases.
+ * </p>
+ * @author agent
+ * @since 11.0
+ */
+class DateTimeDigits {
+
+    /** Largest number of digits that can be parsed exactly in a long mantissa for seconds. */
+    private static final int MAX_SECONDS_DIGITS = 15;
+
+    /** Exact powers of ten. */
+    private static final double[] POWERS_OF_TEN = {
+        1.0e0, 1.0e1, 1.0e2, 1.0e3, 1.0e4, 1.0e5, 1.0e6, 1.0e7,
+        1.0e8, 1.0e9, 1.0e10, 1.0e11, 1.0e12, 1.0e13, 1.0e14, 1.0e15
+    };
+
+    /** Private constructor for a utility class.
+     */
+    private DateTimeDigits() {
+        // nothing to do
+    }
+
+    /** Parse a fixed width field of ASCII digits.
+     * @param s characters sequence
+     * @param start index of the first digit
+     * @param n number of digits (must be less than 10)
+     * @return parsed value, or -1 if some characters are not digits
+     */
+    static int parseDigits(final CharSequence s, final int start, final int n) {
+        int value = 0;
+        for (int i = start; i < start + n; ++i) {
+            final int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /** Parse seconds with an optional fractional part.
+     * <p>
+     * The expected format is two digits, optionally followed by either '.'
+     * or ',' and at least one digit. The result is the same as the one of
+     * {@link Double#parseDouble(String)}, as the mantissa and the power of ten
+     * are both exactly representable, so the division is correctly rounded.
+     * </p>
+     * @param s characters sequence
+     * @param start index of the first digit
+     * @param end index after the last digit
+     * @return parsed value, or NaN if the fast path cannot be used
+     */
+    static double parseSeconds(final CharSequence s, final int start, final int end) {
+        final int integer = parseDigits(s, start, 2);
+        if (integer < 0) {
+            return Double.NaN;
+        }
+        if (end == start + 2) {
+            return integer;
+        }
+        final char separator = s.charAt(start + 2);
+        final int  n         = end - start - 3;
+        if ((separator != '.' && separator != ',') || n < 1 || n + 2 > MAX_SECONDS_DIGITS) {
+            return Double.NaN;
+        }
+        long mantissa = integer;
+        for (int i = start + 3; i < end; ++i) {
+            final int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return Double.NaN;
+            }
+            mantissa = mantissa * 10 + digit;
+        }
+        return mantissa / POWERS_OF_TEN[n];
+    }
+
+    /** Append a non-negative integer with at least the specified number of digits.
+     * @param builder builder where to append the digits
+     * @param value value to append
+     * @param n minimum number of digits (zero-padded)
+     * @return the builder
+     */
+    static StringBuilder appendDigits(final StringBuilder builder, final int value, final int n) {
+        int threshold = 10;
+        for (int i = 1; i < n; ++i) {
+            if (value < threshold) {
+                builder.append('0');
+            }
+            threshold *= 10;
+        }
+        return builder.append(value);
+    }
+
+    /** Append seconds with exactly three decimals, the same way a {@code 00.000} decimal format does.
+     * <p>
+     * Rounding is half-even, based on the exact binary value of the seconds.
+     * </p>
+     * @param builder builder where to append the seconds
+     * @param second seconds, must be non-negative and lower than 99.9995
+     * @return the builder
+     */
+    static StringBuilder appendSeconds(final StringBuilder builder, final double second) {
+
+        final double scaled = second * 1000;
+        final double floor  = FastMath.floor(scaled);
+        final long   millis;
+        if (FastMath.abs(scaled - floor - 0.5) > FastMath.ulp(scaled)) {
+            // rounding direction is not ambiguous despite product rounding error
+            millis = FastMath.round(scaled);
+        } else {
+            // we are very close to a tie, we need exact computation
+            millis = new BigDecimal(second).setScale(3, RoundingMode.HALF_EVEN).movePointRight(3).longValueExact();
+        }
+
+        final int integer  = (int) (millis / 1000);
+        final int fraction = (int) (millis % 1000);
+        appendDigits(builder, integer, 2).append('.');
+        return appendDigits(builder, fraction, 3);
+
+    }
+
+}
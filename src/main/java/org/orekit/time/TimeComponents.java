@@ -47,8 +47,8 @@ public class TimeComponents implements Serializable, Comparable<TimeComponents>
     /** Serializable UID. */
     private static final long serialVersionUID = 20160331L;
 
-    /** Format for hours and minutes. */
-    private static final DecimalFormat TWO_DIGITS = new DecimalFormat("00");
+    /** Limit of seconds for fast formatting (excluded). */
+    private static final double MAX_FAST_SECOND = 99.9995;
 
     /** Format for seconds. */
     private static final DecimalFormat SECONDS_FORMAT =
@@ -340,6 +340,47 @@ public class TimeComponents implements Serializable, Comparable<TimeComponents>
      * @exception IllegalArgumentException if string cannot be parsed
      */
     public static TimeComponents parseTime(final String string) {
+        return parseTime(string, 0, string.length());
+    }
+
+    /** Parse a part of a characters sequence in ISO-8601 format to build a time.
+     * <p>
+     * The supported formats are the same as in {@link #parseTime(String)}. The
+     * extended format without offset from UTC (hh:mm:ss with optional decimals
+     * in seconds and optional Z), which is also the CCSDS ASCII time codes format,
+     * is parsed directly from the characters sequence without creating any
+     * intermediate objects.
+     * </p>
+     * @param s characters sequence containing the time
+     * @param start index of the first character of the time
+     * @param end index after the last character of the time
+     * @return a parsed time
+     * @exception IllegalArgumentException if string cannot be parsed
+     * @since 11.0
+     */
+    public static TimeComponents parseTime(final CharSequence s, final int start, final int end) {
+
+        // fast path for extended format without offset
+        if (end - start >= 8 && s.charAt(start + 2) == ':' && s.charAt(start + 5) == ':') {
+            final int    hour      = DateTimeDigits.parseDigits(s, start, 2);
+            final int    minute    = DateTimeDigits.parseDigits(s, start + 3, 2);
+            final int    secondEnd = s.charAt(end - 1) == 'Z' ? end - 1 : end;
+            final double second    = DateTimeDigits.parseSeconds(s, start + 6, secondEnd);
+            if (hour >= 0 && minute >= 0 && !Double.isNaN(second)) {
+                return new TimeComponents(hour, minute, second, 0);
+            }
+        }
+
+        return parseTimeUsingPatterns(s.subSequence(start, end).toString());
+
+    }
+
+    /** Parse a string in ISO-8601 format to build a time, using regular expressions.
+     * @param string string to parse
+     * @return a parsed time
+     * @exception IllegalArgumentException if string cannot be parsed
+     */
+    private static TimeComponents parseTimeUsingPatterns(final String string) {
 
         // is the date a calendar date ?
         final Matcher timeMatcher = ISO8601_FORMATS.matcher(string);
@@ -424,17 +465,31 @@ public class TimeComponents implements Serializable, Comparable<TimeComponents>
      * @return string representation of the time
      */
     public String toString() {
-        StringBuilder builder  = new StringBuilder().
-                                 append(TWO_DIGITS.format(hour)).append(':').
-                                 append(TWO_DIGITS.format(minute)).append(':').
-                                 append(SECONDS_FORMAT.format(second));
+        return appendTo(new StringBuilder(12)).toString();
+    }
+
+    /** Append a string representation of the time to a builder.
+     * @param builder builder where to append the time
+     * @return the builder
+     * @since 11.0
+     */
+    public StringBuilder appendTo(final StringBuilder builder) {
+        DateTimeDigits.appendDigits(builder, hour, 2).append(':');
+        DateTimeDigits.appendDigits(builder, minute, 2).append(':');
+        if (Double.doubleToLongBits(second) >= 0 && second < MAX_FAST_SECOND) {
+            DateTimeDigits.appendSeconds(builder, second);
+        } else {
+            // negative zero, NaN or more than 99 seconds, which should not happen
+            synchronized (SECONDS_FORMAT) {
+                builder.append(SECONDS_FORMAT.format(second));
+            }
+        }
         if (minutesFromUTC != 0) {
-            builder = builder.
-                      append(minutesFromUTC < 0 ? '-' : '+').
-                      append(TWO_DIGITS.format(FastMath.abs(minutesFromUTC) / 60)).append(':').
-                      append(TWO_DIGITS.format(FastMath.abs(minutesFromUTC) % 60));
+            builder.append(minutesFromUTC < 0 ? '-' : '+');
+            DateTimeDigits.appendDigits(builder, FastMath.abs(minutesFromUTC) / 60, 2).append(':');
+            DateTimeDigits.appendDigits(builder, FastMath.abs(minutesFromUTC) % 60, 2);
         }
-        return builder.toString();
+        return builder;
     }
 
     /** {@inheritDoc} */
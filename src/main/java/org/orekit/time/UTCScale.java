@@ -23,10 +23,12 @@ import java.util.Comparator;
 import java.util.List;
 
 import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.util.FastMath;
 import org.orekit.annotation.DefaultDataContext;
 import org.orekit.data.DataContext;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitInternalError;
 import org.orekit.utils.Constants;
 
@@ -42,6 +44,12 @@ import org.orekit.utils.Constants;
  * one second leap was introduced at the end of 2005, the UTC time sequence was
  * 2005-12-31T23:59:59 UTC, followed by 2005-12-31T23:59:60 UTC, followed by
  * 2006-01-01T00:00:00 UTC.</p>
+ * <p>Offsets lookups remember the leap interval found by the previous lookup,
+ * so the common case of many dates within the same interval is handled in
+ * constant time, a binary search on a flat table of leap epochs being used
+ * only when dates move to another interval. The {@link #offsetsFromTAI(AbsoluteDate,
+ * double[], double[]) bulk} methods convert arrays of timestamps without building
+ * any {@link AbsoluteDate}.</p>
  * <p>This is intended to be accessed thanks to {@link TimeScales},
  * so there is no public constructor.</p>
  * @author Luc Maisonobe
@@ -55,6 +63,26 @@ public class UTCScale implements TimeScale {
     /** UTC-TAI offsets. */
     private UTCTAIOffset[] offsets;
 
+    /** Reference epochs of the leaps start dates. */
+    private final long[] leapEpochs;
+
+    /** Offsets of the leaps start dates from their reference epochs. */
+    private final double[] leapFractions;
+
+    /** Leaps start dates as Modified Julian Days. */
+    private final int[] leapMJDs;
+
+    /** Index of the offset found by the last search by date.
+     * <p>
+     * This is only a hint for the next search, so it is neither volatile
+     * nor synchronized: any index read by any thread is a valid hint.
+     * </p>
+     */
+    private int lastIndex;
+
+    /** Index of the offset found by the last search by Modified Julian Day. */
+    private int lastMJDIndex;
+
     /** Package private constructor for the factory.
      * Used to create the prototype instance of this class that is used to
      * clone all subsequent instances of {@link UTCScale}. Initializes the offset
@@ -131,17 +159,124 @@ public class UTCScale implements TimeScale {
 
         }
 
+        // flat copy of leaps dates, for fast searches
+        this.leapEpochs    = new long[this.offsets.length];
+        this.leapFractions = new double[this.offsets.length];
+        this.leapMJDs      = new int[this.offsets.length];
+        for (int i = 0; i < this.offsets.length; ++i) {
+            leapEpochs[i]    = this.offsets[i].getDate().getEpoch();
+            leapFractions[i] = this.offsets[i].getDate().getOffset();
+            leapMJDs[i]      = this.offsets[i].getMJD();
+        }
+
     }
 
     /** {@inheritDoc} */
     @Override
     public double offsetFromTAI(final AbsoluteDate date) {
-        final int offsetIndex = findOffsetIndex(date);
+        return offsetFromTAI(date.getEpoch(), date.getOffset());
+    }
+
+    /** Get the offsets from TAI for a set of dates.
+     * <p>
+     * Element i of the result is the same as {@code offsetFromTAI(reference.shiftedBy(durations[i]))},
+     * but no {@link AbsoluteDate} is built. As dates are converted one after the other,
+     * this method is faster when durations are sorted.
+     * </p>
+     * @param reference reference date
+     * @param durations durations of the dates from the reference date (s)
+     * @param result array where to store the offsets (s), its length must be at least the
+     * length of the {@code durations} array (it may be the {@code durations} array itself)
+     */
+    public void offsetsFromTAI(final AbsoluteDate reference, final double[] durations, final double[] result) {
+        checkSize(durations.length, result);
+        final long   epoch  = reference.getEpoch();
+        final double offset = reference.getOffset();
+        for (int i = 0; i < durations.length; ++i) {
+            result[i] = offsetFromTAI(epoch, offset, durations[i]);
+        }
+    }
+
+    /** Get the offsets from TAI for a set of dates given as integer counts of ticks.
+     * <p>
+     * Element i of the result is the same as {@code offsetFromTAI(reference.shiftedBy(s).shiftedBy(f))},
+     * where s and f are respectively the integer number of seconds and the fractional part
+     * of a second contained in {@code ticks[i]}, but no {@link AbsoluteDate} is built. This allows
+     * to convert timestamps such as microseconds or nanoseconds counters without losing accuracy
+     * on large counts. As dates are converted one after the other, this method is faster when
+     * ticks are sorted.
+     * </p>
+     * @param reference reference date
+     * @param ticks number of ticks of the dates since reference date
+     * @param ticksPerSecond number of ticks per second
+     * @param result array where to store the offsets (s), its length must be at least the
+     * length of the {@code ticks} array
+     */
+    public void offsetsFromTAI(final AbsoluteDate reference, final long[] ticks, final long ticksPerSecond,
+                               final double[] result) {
+        if (ticksPerSecond <= 0) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED,
+                                                     ticksPerSecond, 0);
+        }
+        checkSize(ticks.length, result);
+        final double tickDuration = 1.0 / ticksPerSecond;
+        for (int i = 0; i < ticks.length; ++i) {
+            final long seconds   = Math.floorDiv(ticks[i], ticksPerSecond);
+            final long remaining = Math.floorMod(ticks[i], ticksPerSecond);
+            result[i] = offsetFromTAI(reference.getEpoch() + seconds, reference.getOffset(),
+                                      remaining * tickDuration);
+        }
+    }
+
+    /** Check the size of a result array.
+     * @param size expected size
+     * @param result result array
+     */
+    private static void checkSize(final int size, final double[] result) {
+        if (result.length < size) {
+            throw new OrekitIllegalArgumentException(LocalizedCoreFormats.DIMENSIONS_MISMATCH,
+                                                     result.length, size);
+        }
+    }
+
+    /** Get the offset from TAI for a date shifted from a reference.
+     * <p>
+     * The date is normalized exactly as in {@link AbsoluteDate#AbsoluteDate(AbsoluteDate, double)}.
+     * </p>
+     * @param epoch reference epoch of the reference date
+     * @param offset offset of the reference date from its reference epoch
+     * @param elapsedDuration elapsed duration since reference date
+     * @return offset in seconds from TAI
+     */
+    private double offsetFromTAI(final long epoch, final double offset, final double elapsedDuration) {
+        final double sum = offset + elapsedDuration;
+        if (Double.isInfinite(sum)) {
+            return offsetFromTAI((sum < 0) ? Long.MIN_VALUE : Long.MAX_VALUE, sum);
+        } else {
+            // compute sum exactly, using Møller-Knuth TwoSum algorithm without branching
+            // (see AbsoluteDate constructor, the statements must NOT be simplified)
+            final double oPrime   = sum - elapsedDuration;
+            final double dPrime   = sum - oPrime;
+            final double deltaO   = offset - oPrime;
+            final double deltaD   = elapsedDuration - dPrime;
+            final double residual = deltaO + deltaD;
+            final long   dl       = (long) FastMath.floor(sum);
+            return offsetFromTAI(epoch + dl, (sum - dl) + residual);
+        }
+    }
+
+    /** Get the offset from TAI for a date given by its internal representation.
+     * @param epoch reference epoch of the date
+     * @param fraction offset of the date from its reference epoch
+     * @return offset in seconds from TAI
+     */
+    double offsetFromTAI(final long epoch, final double fraction) {
+        final int offsetIndex = findOffsetIndex(epoch, fraction);
         if (offsetIndex < 0) {
             // the date is before the first known leap
             return 0;
         } else {
-            return -offsets[offsetIndex].getOffset(date);
+            return -offsets[offsetIndex].getOffset(epoch, fraction);
         }
     }
 
@@ -277,25 +412,60 @@ public class UTCScale implements TimeScale {
      * @return index of the offset valid at this date, or -1 if date is before first offset.
      */
     private int findOffsetIndex(final AbsoluteDate date) {
+        return findOffsetIndex(date.getEpoch(), date.getOffset());
+    }
+
+    /** Find the index of the offset valid at some date.
+     * @param epoch reference epoch of the date
+     * @param fraction offset of the date from its reference epoch
+     * @return index of the offset valid at this date, or -1 if date is before first offset.
+     */
+    private int findOffsetIndex(final long epoch, final double fraction) {
+
+        // most dates are in the same interval as the previous one
+        final int hint = lastIndex;
+        if ((hint < 0 || !isBeforeLeap(epoch, fraction, hint)) &&
+            (hint + 1 == offsets.length || isBeforeLeap(epoch, fraction, hint + 1))) {
+            return hint;
+        }
+
         int inf = 0;
         int sup = offsets.length;
         while (sup - inf > 1) {
             final int middle = (inf + sup) >>> 1;
-            if (date.compareTo(offsets[middle].getDate()) < 0) {
+            if (isBeforeLeap(epoch, fraction, middle)) {
                 sup = middle;
             } else {
                 inf = middle;
             }
         }
+        final int index;
         if (sup == offsets.length) {
             // the date is after the last known leap second
-            return offsets.length - 1;
-        } else if (date.compareTo(offsets[inf].getDate()) < 0) {
+            index = offsets.length - 1;
+        } else if (isBeforeLeap(epoch, fraction, inf)) {
             // the date is before the first known leap
-            return -1;
+            index = -1;
         } else {
-            return inf;
+            index = inf;
         }
+
+        lastIndex = index;
+        return index;
+
+    }
+
+    /** Check if a date is before the start of a leap.
+     * <p>
+     * This method gives the same result as {@code date.compareTo(offsets[i].getDate()) < 0}.
+     * </p>
+     * @param epoch reference epoch of the date
+     * @param fraction offset of the date from its reference epoch
+     * @param i index of the leap
+     * @return true if date is before the start of the leap
+     */
+    private boolean isBeforeLeap(final long epoch, final double fraction, final int i) {
+        return (epoch - leapEpochs[i]) + (fraction - leapFractions[i]) < 0;
     }
 
     /** Find the offset valid at some date.
@@ -303,25 +473,38 @@ public class UTCScale implements TimeScale {
      * @return offset valid at this date, or null if date is before first offset.
      */
     private UTCTAIOffset findOffset(final int mjd) {
+
+        // most dates are in the same interval as the previous one
+        final int hint = lastMJDIndex;
+        if ((hint < 0 || mjd >= leapMJDs[hint]) &&
+            (hint + 1 == leapMJDs.length || mjd < leapMJDs[hint + 1])) {
+            return hint < 0 ? null : offsets[hint];
+        }
+
         int inf = 0;
-        int sup = offsets.length;
+        int sup = leapMJDs.length;
         while (sup - inf > 1) {
             final int middle = (inf + sup) >>> 1;
-            if (mjd < offsets[middle].getMJD()) {
+            if (mjd < leapMJDs[middle]) {
                 sup = middle;
             } else {
                 inf = middle;
             }
         }
-        if (sup == offsets.length) {
+        final int index;
+        if (sup == leapMJDs.length) {
             // the date is after the last known leap second
-            return offsets[offsets.length - 1];
-        } else if (mjd < offsets[inf].getMJD()) {
+            index = leapMJDs.length - 1;
+        } else if (mjd < leapMJDs[inf]) {
             // the date is before the first known leap
-            return null;
+            index = -1;
         } else {
-            return offsets[inf];
+            index = inf;
         }
+
+        lastMJDIndex = index;
+        return index < 0 ? null : offsets[index];
+
     }
 
     /** Replace the instance with a data transfer object for serialization.
@@ -138,6 +138,27 @@ class UTCTAIOffset implements TimeStamped, Serializable {
         }
     }
 
+    /** Get the TAI - UTC offset in seconds.
+     * <p>
+     * This method gives the same result as {@link #getOffset(AbsoluteDate)}
+     * for a date with the same internal representation, without requiring
+     * the date to be built.
+     * </p>
+     * @param epoch reference epoch of the date in seconds from 2000-01-01T12:00:00 TAI
+     * @param fraction offset of the date from its reference epoch in seconds
+     * @return TAI - UTC offset in seconds.
+     * @since 11.0
+     */
+    double getOffset(final long epoch, final double fraction) {
+        if (slopeTAI == 0) {
+            // see comment in getOffset(AbsoluteDate)
+            return offset;
+        } else {
+            final double duration = (epoch - reference.getEpoch()) + (fraction - reference.getOffset());
+            return offset + duration * slopeTAI;
+        }
+    }
+
     /** Get the TAI - UTC offset in seconds.
      * @param date date at which the offset is requested
      * @param <T> type of the filed elements
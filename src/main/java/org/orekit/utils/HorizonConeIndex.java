@@ -0,0 +1,222 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+
+/** Index of ground points for fast pruning of points that cannot see a satellite.
+ * <p>
+ * The points are indexed by geocentric latitude. For a satellite position, a
+ * conservative horizon cone around the sub-satellite direction is computed,
+ * taking into account the lowest point and the largest angle between points
+ * zenith and geocentric directions, so all points outside of this cone are
+ * known to be below minimum elevation. Only the points in the latitude band
+ * spanned by the cone are checked against it.
+ * </p>
+ * <p>
+ * All positions and directions are expressed in the body frame. Instances
+ * are immutable and can be shared between threads.
+ * </p>
+ * @author agent
+ * @since 11.0
+ */
+public class HorizonConeIndex {
+
+    /** Safety margin for horizon cone pruning (rad). */
+    private static final double PRUNING_MARGIN = 1.0e-3;
+
+    /** Minimum elevation (rad). */
+    private final double minElevation;
+
+    /** Points indices, sorted by increasing geocentric latitude. */
+    private final int[] sorted;
+
+    /** Geocentric latitudes of points, sorted by increasing values. */
+    private final double[] sortedLatitudes;
+
+    /** Points positions in body frame (flattened x, y, z). */
+    private final double[] positions;
+
+    /** Points zenith directions in body frame (flattened x, y, z). */
+    private final double[] zeniths;
+
+    /** Points geocentric directions in body frame (flattened x, y, z). */
+    private final double[] directions;
+
+    /** Minimum distance between points and body center. */
+    private final double minRadius;
+
+    /** Maximum angle between points zenith and geocentric directions. */
+    private final double maxDeflection;
+
+    /** Simple constructor.
+     * @param positions points positions in body frame
+     * @param zeniths points zenith directions in body frame (normalized, in the same order as positions)
+     * @param minElevation minimum elevation for visibility (rad)
+     */
+    public HorizonConeIndex(final List<Vector3D> positions, final List<Vector3D> zeniths,
+                            final double minElevation) {
+
+        final int n = positions.size();
+        this.minElevation = minElevation;
+        this.positions    = new double[3 * n];
+        this.zeniths      = new double[3 * n];
+        this.directions   = new double[3 * n];
+
+        double rMin = Double.POSITIVE_INFINITY;
+        double dMax = 0;
+        final double[] latitudes = new double[n];
+        for (int i = 0; i < n; ++i) {
+            final Vector3D p = positions.get(i);
+            final Vector3D z = zeniths.get(i);
+            store(p, this.positions, 3 * i);
+            store(z, this.zeniths, 3 * i);
+            store(p.normalize(), directions, 3 * i);
+            latitudes[i] = p.getDelta();
+            rMin = FastMath.min(rMin, p.getNorm());
+            dMax = FastMath.max(dMax, Vector3D.angle(p, z));
+        }
+        this.minRadius     = rMin;
+        this.maxDeflection = dMax;
+
+        // sort points by latitude
+        final List<Integer> indices = new ArrayList<>(n);
+        for (int i = 0; i < n; ++i) {
+            indices.add(i);
+        }
+        indices.sort(Comparator.comparingDouble(i -> latitudes[i]));
+        this.sorted          = new int[n];
+        this.sortedLatitudes = new double[n];
+        for (int k = 0; k < n; ++k) {
+            sorted[k]          = indices.get(k);
+            sortedLatitudes[k] = latitudes[sorted[k]];
+        }
+
+    }
+
+    /** Store a vector in a primitive array.
+     * @param v vector to store
+     * @param array array where to store the vector
+     * @param index index of the first component
+     */
+    private static void store(final Vector3D v, final double[] array, final int index) {
+        array[index]     = v.getX();
+        array[index + 1] = v.getY();
+        array[index + 2] = v.getZ();
+    }
+
+    /** Get the number of indexed points.
+     * @return number of indexed points
+     */
+    public int size() {
+        return sorted.length;
+    }
+
+    /** Get the minimum elevation.
+     * @return minimum elevation (rad)
+     */
+    public double getMinElevation() {
+        return minElevation;
+    }
+
+    /** Get the position of one point.
+     * @param i index of the point
+     * @return position of the point in body frame
+     */
+    public Vector3D getPosition(final int i) {
+        return new Vector3D(positions[3 * i], positions[3 * i + 1], positions[3 * i + 2]);
+    }
+
+    /** Get the candidate points that may see a satellite.
+     * <p>
+     * The selection is conservative: all points that see the satellite above minimum
+     * elevation are selected, but some selected points may be below minimum elevation,
+     * so {@link #getElevationMargin(Vector3D, int)} must still be checked.
+     * </p>
+     * @param s satellite position in body frame
+     * @return indices of the candidate points, by increasing latitude
+     */
+    public int[] getCandidates(final Vector3D s) {
+
+        // conservative horizon cone: points farther than maxAngle from
+        // the sub-satellite direction cannot see the satellite
+        final double r        = s.getNorm();
+        final double e        = minElevation - maxDeflection;
+        final double cosRatio = minRadius * FastMath.cos(e) / r;
+        final double maxAngle = cosRatio >= 1 ?
+                                FastMath.PI :
+                                FastMath.min(FastMath.PI, FastMath.acos(cosRatio) - e + PRUNING_MARGIN);
+        final double cosMax   = FastMath.cos(maxAngle);
+
+        // select candidates in the latitude band
+        final double ux         = s.getX() / r;
+        final double uy         = s.getY() / r;
+        final double uz         = s.getZ() / r;
+        final double latitude   = FastMath.asin(FastMath.max(-1.0, FastMath.min(1.0, uz)));
+        final int    first      = firstAbove(latitude - maxAngle);
+        final int    last       = firstAbove(FastMath.nextUp(latitude + maxAngle));
+        final int[]  candidates = new int[last - first];
+        int nbCandidates = 0;
+        for (int k = first; k < last; ++k) {
+            final int i = sorted[k];
+            if (ux * directions[3 * i] + uy * directions[3 * i + 1] + uz * directions[3 * i + 2] >= cosMax) {
+                candidates[nbCandidates++] = i;
+            }
+        }
+
+        return nbCandidates == candidates.length ? candidates : Arrays.copyOf(candidates, nbCandidates);
+
+    }
+
+    /** Find the first sorted point with latitude above a limit.
+     * @param limit latitude limit
+     * @return index of first point in sorted order with latitude above limit
+     */
+    private int firstAbove(final double limit) {
+        int inf = 0;
+        int sup = sortedLatitudes.length;
+        while (inf < sup) {
+            final int middle = (inf + sup) >>> 1;
+            if (sortedLatitudes[middle] < limit) {
+                inf = middle + 1;
+            } else {
+                sup = middle;
+            }
+        }
+        return inf;
+    }
+
+    /** Compute the elevation margin of a satellite for one point.
+     * @param s satellite position in body frame
+     * @param i index of the point
+     * @return elevation minus minimum elevation (rad)
+     */
+    public double getElevationMargin(final Vector3D s, final int i) {
+        final double dx = s.getX() - positions[3 * i];
+        final double dy = s.getY() - positions[3 * i + 1];
+        final double dz = s.getZ() - positions[3 * i + 2];
+        final double up = dx * zeniths[3 * i] + dy * zeniths[3 * i + 1] + dz * zeniths[3 * i + 2];
+        return FastMath.asin(up / FastMath.sqrt(dx * dx + dy * dy + dz * dz)) - minElevation;
+    }
+
+}
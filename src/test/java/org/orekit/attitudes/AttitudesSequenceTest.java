@@ -351,6 +351,95 @@ public class AttitudesSequenceTest {
 
     }
 
+    @Test
+    public void testSchedule() {
+
+        final AbsoluteDate initialDate = new AbsoluteDate(2017, 03, 27, 0, 0, 00.000, TimeScalesFactory.getUTC());
+        final Orbit initialOrbit = new KeplerianOrbit(new PVCoordinates(new Vector3D(-39098981.4866597, -15784239.3610601, 78908.2289853595),
+                                                                        new Vector3D(1151.00321021175, -2851.14864755189, -2.02133248357321)),
+                                                      FramesFactory.getGCRF(), initialDate,
+                                                      Constants.WGS84_EARTH_MU);
+        final AttitudeProvider before  = new InertialProvider(new Rotation(0, 0, 0, 1, false));
+        final AttitudeProvider current = new InertialProvider(Rotation.IDENTITY);
+        final AttitudeProvider after   = new InertialProvider(new Rotation(0, 0, 0, -1, false));
+
+        final AttitudesSequence sequence = new AttitudesSequence();
+        sequence.resetActiveProvider(current);
+        sequence.addSwitchingCondition(before, current,
+                                       new DateDetector(initialDate.shiftedBy(-600)).withHandler(new ContinueOnEvent<DateDetector>()),
+                                       true, true, 60, AngularDerivativesFilter.USE_RR, null);
+        sequence.addSwitchingCondition(current, after,
+                                       new DateDetector(initialDate.shiftedBy(600)).withHandler(new ContinueOnEvent<DateDetector>()),
+                                       true, true, 60, AngularDerivativesFilter.USE_RR, null);
+
+        // before any propagation, there are no switches
+        AttitudesSchedule schedule = sequence.getSchedule();
+        Assert.assertTrue(schedule.getSwitchDates().isEmpty());
+        Assert.assertEquals(1, schedule.getProviders().size());
+        Assert.assertSame(current, schedule.getProvider(initialDate.shiftedBy(1.0e6)));
+
+        // reference propagation
+        final Propagator reference = new KeplerianPropagator(initialOrbit);
+        reference.setAttitudeProvider(sequence);
+        sequence.registerSwitchEvents(reference);
+        reference.propagate(initialDate, initialDate.shiftedBy(1200));
+        reference.propagate(initialDate, initialDate.shiftedBy(-1200));
+
+        // frozen schedule
+        schedule = sequence.getSchedule();
+        final List<AbsoluteDate> switchDates = schedule.getSwitchDates();
+        Assert.assertEquals(4, switchDates.size());
+        Assert.assertEquals(-600.0, switchDates.get(0).durationFrom(initialDate), 1.0e-3);
+        Assert.assertEquals(-540.0, switchDates.get(1).durationFrom(initialDate), 1.0e-3);
+        Assert.assertEquals( 600.0, switchDates.get(2).durationFrom(initialDate), 1.0e-3);
+        Assert.assertEquals( 660.0, switchDates.get(3).durationFrom(initialDate), 1.0e-3);
+        Assert.assertEquals(5, schedule.getProviders().size());
+        Assert.assertSame(before,  schedule.getProviders().get(0));
+        Assert.assertSame(current, schedule.getProviders().get(2));
+        Assert.assertSame(after,   schedule.getProviders().get(4));
+        for (int i = 0; i < switchDates.size(); ++i) {
+            // providers become active at the switch date
+            Assert.assertSame(schedule.getProviders().get(i + 1), schedule.getProvider(switchDates.get(i)));
+            Assert.assertSame(schedule.getProviders().get(i),     schedule.getProvider(switchDates.get(i).shiftedBy(-1.0e-10)));
+        }
+
+        // the schedule gives the same attitudes as the sequence, in any order
+        final List<AbsoluteDate> dates = new ArrayList<>();
+        for (double dt = -1200; dt <= 1200; dt += 7) {
+            dates.add(initialDate.shiftedBy(dt));
+        }
+        for (double dt = 1200; dt >= -1200; dt -= 13) {
+            dates.add(initialDate.shiftedBy(dt));
+        }
+        for (double dt = -1100; dt <= 1200; dt += 1000) {
+            dates.add(initialDate.shiftedBy(dt));
+        }
+        for (final AbsoluteDate date : dates) {
+            final Attitude a1 = sequence.getAttitude(initialOrbit, date, initialOrbit.getFrame());
+            final Attitude a2 = schedule.getAttitude(initialOrbit, date, initialOrbit.getFrame());
+            Assert.assertEquals(0.0, Rotation.distance(a1.getRotation(), a2.getRotation()), 0.0);
+            Assert.assertEquals(0.0, Vector3D.distance(a1.getSpin(), a2.getSpin()), 0.0);
+        }
+
+        // replay without switch detection
+        final Propagator replay = new KeplerianPropagator(initialOrbit);
+        replay.setAttitudeProvider(schedule);
+        Assert.assertTrue(replay.getEventsDetectors().isEmpty());
+        final SpacecraftState stateAfter = replay.propagate(initialDate.shiftedBy(1200));
+        Assert.assertEquals(0.0,
+                            Rotation.distance(after.getAttitude(stateAfter.getOrbit(), stateAfter.getDate(), stateAfter.getFrame()).getRotation(),
+                                              stateAfter.getAttitude().getRotation()),
+                            1.0e-15);
+        final SpacecraftState stateMid = replay.propagate(initialDate.shiftedBy(630));
+        final Attitude expectedMid = sequence.getAttitude(stateMid.getOrbit(), stateMid.getDate(), stateMid.getFrame());
+        Assert.assertEquals(0.0, Rotation.distance(expectedMid.getRotation(), stateMid.getAttitude().getRotation()), 1.0e-15);
+
+        // the schedule is not affected by later use of the sequence
+        sequence.resetActiveProvider(after);
+        Assert.assertSame(before, schedule.getProvider(initialDate.shiftedBy(-1200)));
+
+    }
+
     @Test
     public void testTooShortTransition() {
         double threshold      = 1.5;
@@ -54,6 +54,7 @@ import org.orekit.time.TimeScalesFactory;
 import org.orekit.utils.AngularCoordinates;
 import org.orekit.utils.CartesianDerivativesFilter;
 import org.orekit.utils.IERSConventions;
+import org.orekit.utils.TimeStampedAngularCoordinates;
 import org.orekit.utils.TimeStampedFieldPVCoordinates;
 import org.orekit.utils.TimeStampedPVCoordinates;
 
@@ -339,6 +340,52 @@ public class NadirPointingTest {
 
     }
 
+    @Test
+    public void testBatchAttitudes() {
+
+        OneAxisEllipsoid earthShape = new OneAxisEllipsoid(6378136.460, 1 / 298.257222101, itrf);
+        Frame eme2000 = FramesFactory.getEME2000();
+        KeplerianOrbit kep =
+            new KeplerianOrbit(7178000.0, 1.e-3, FastMath.toRadians(50.), FastMath.toRadians(10.), FastMath.toRadians(20.),
+                               FastMath.toRadians(30.), PositionAngle.MEAN, eme2000, date, mu);
+        Propagator propagator = new KeplerianPropagator(kep);
+        List<AbsoluteDate> dates = new ArrayList<>();
+        for (int i = 0; i < 3000; ++i) {
+            dates.add(date.shiftedBy(0.1 * i));
+        }
+
+        NadirPointing nadir = new NadirPointing(eme2000, earthShape);
+        for (final GroundPointing law : new GroundPointing[] { nadir, new YawCompensation(eme2000, nadir) }) {
+            TimeStampedAngularCoordinates[] sequential = law.getAttitudes(propagator, dates, eme2000, false);
+            TimeStampedAngularCoordinates[] parallel   = law.getAttitudes(propagator, dates, eme2000, true);
+            Assert.assertEquals(dates.size(), sequential.length);
+            for (int i = 0; i < dates.size(); ++i) {
+                // the batch computation extrapolates spacecraft coordinates around each date
+                // instead of propagating them, hence the small differences
+                Attitude reference = law.getAttitude(propagator, dates.get(i), eme2000);
+                Assert.assertEquals(0.0, reference.getDate().durationFrom(sequential[i].getDate()), 1.0e-15);
+                Assert.assertEquals(0.0,
+                                    Rotation.distance(reference.getRotation(), sequential[i].getRotation()),
+                                    1.0e-10);
+                Assert.assertEquals(0.0,
+                                    Vector3D.distance(reference.getSpin(), sequential[i].getRotationRate()),
+                                    2.0e-8);
+                Assert.assertEquals(0.0,
+                                    Rotation.distance(sequential[i].getRotation(), parallel[i].getRotation()),
+                                    0.0);
+            }
+        }
+
+        // attitude with respect to another frame than the one of the pointing law
+        Frame gcrf = FramesFactory.getGCRF();
+        TimeStampedAngularCoordinates[] inGCRF = nadir.getAttitudes(propagator, dates, gcrf, true);
+        for (int i = 0; i < dates.size(); i += 100) {
+            Attitude reference = nadir.getAttitude(propagator, dates.get(i), gcrf);
+            Assert.assertEquals(0.0, Rotation.distance(reference.getRotation(), inGCRF[i].getRotation()), 1.0e-13);
+        }
+
+    }
+
     @Before
     public void setUp() {
         try {
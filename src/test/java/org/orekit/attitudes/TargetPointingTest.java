@@ -17,8 +17,12 @@
 package org.orekit.attitudes;
 
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.hipparchus.Field;
 import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.Line;
 import org.hipparchus.geometry.euclidean.threed.Rotation;
 import org.hipparchus.geometry.euclidean.threed.RotationConvention;
@@ -33,6 +37,7 @@ import org.orekit.Utils;
 import org.orekit.bodies.GeodeticPoint;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.Frame;
 import org.orekit.frames.FramesFactory;
@@ -55,6 +60,7 @@ import org.orekit.utils.AngularCoordinates;
 import org.orekit.utils.Constants;
 import org.orekit.utils.IERSConventions;
 import org.orekit.utils.PVCoordinates;
+import org.orekit.utils.TimeStampedAngularCoordinates;
 import org.orekit.utils.TimeStampedFieldPVCoordinates;
 import org.orekit.utils.TimeStampedPVCoordinates;
 
@@ -437,6 +443,52 @@ public class TargetPointingTest {
 
     }
 
+    @Test
+    public void testBatchAttitudes() {
+
+        OneAxisEllipsoid earthShape = new OneAxisEllipsoid(6378136.460, 1 / 298.257222101, itrf);
+        Frame eme2000 = FramesFactory.getEME2000();
+        TargetPointing law = new TargetPointing(eme2000, new GeodeticPoint(FastMath.toRadians(43.36),
+                                                                           FastMath.toRadians(1.26),
+                                                                           600.0),
+                                                earthShape);
+        CircularOrbit circ =
+            new CircularOrbit(7178000.0, 0.5e-4, -0.5e-4, FastMath.toRadians(50.), FastMath.toRadians(270.),
+                              FastMath.toRadians(5.300), PositionAngle.MEAN, eme2000, date, mu);
+        Propagator propagator = new KeplerianPropagator(circ);
+
+        // primitive coordinates array
+        final int n = 500;
+        List<AbsoluteDate> dates = new ArrayList<>();
+        double[] pva = new double[9 * n];
+        for (int i = 0; i < n; ++i) {
+            dates.add(date.shiftedBy(0.5 * i));
+            PVCoordinates pv = propagator.getPVCoordinates(dates.get(i), eme2000);
+            System.arraycopy(pv.getPosition().toArray(),     0, pva, 9 * i,     3);
+            System.arraycopy(pv.getVelocity().toArray(),     0, pva, 9 * i + 3, 3);
+            System.arraycopy(pv.getAcceleration().toArray(), 0, pva, 9 * i + 6, 3);
+        }
+
+        // target pointing only needs spacecraft coordinates at the current date,
+        // so batch computation gives exactly the same results as regular computation
+        TimeStampedAngularCoordinates[] attitudes = law.getAttitudes(dates, pva, eme2000, true);
+        for (int i = 0; i < n; ++i) {
+            Attitude reference = law.getAttitude(propagator, dates.get(i), eme2000);
+            Assert.assertEquals(0.0, Rotation.distance(reference.getRotation(), attitudes[i].getRotation()), 1.0e-15);
+            Assert.assertEquals(0.0, Vector3D.distance(reference.getSpin(), attitudes[i].getRotationRate()), 1.0e-15);
+        }
+
+        try {
+            law.getAttitudes(dates, new double[9 * n - 1], eme2000, false);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+            Assert.assertEquals(9 * n - 1, ((Integer) oiae.getParts()[0]).intValue());
+            Assert.assertEquals(9 * n,     ((Integer) oiae.getParts()[1]).intValue());
+        }
+
+    }
+
     @Before
     public void setUp() {
         try {
@@ -32,6 +32,7 @@ import org.hipparchus.analysis.differentiation.DSFactory;
 import org.hipparchus.analysis.differentiation.DerivativeStructure;
 import org.hipparchus.analysis.differentiation.FiniteDifferencesDifferentiator;
 import org.hipparchus.analysis.differentiation.UnivariateDifferentiableFunction;
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.oned.Vector1D;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
 import org.hipparchus.geometry.euclidean.threed.Line;
@@ -47,6 +48,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.orekit.Utils;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.frames.Frame;
 import org.orekit.frames.FramesFactory;
 import org.orekit.orbits.CircularOrbit;
@@ -872,6 +874,84 @@ public class OneAxisEllipsoidTest {
 
     }
 
+    @Test
+    public void testBatchConversions() {
+
+        final OneAxisEllipsoid earth =
+                new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     Constants.WGS84_EARTH_FLATTENING,
+                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        final Frame        eme2000 = FramesFactory.getEME2000();
+        final AbsoluteDate date    = new AbsoluteDate(2003, 9, 16, TimeScalesFactory.getUTC());
+
+        // points everywhere, including inside the ellipsoid and near the equatorial plane
+        final SobolSequenceGenerator sobol = new SobolSequenceGenerator(3);
+        final int n = 5000;
+        final double[] cartesian = new double[3 * n];
+        for (int k = 0; k < n; ++k) {
+            final double[] v = sobol.nextVector();
+            final double   s = (k % 7 == 0) ? 0.3 : 1.0;
+            cartesian[3 * k]     = 4.0e7 * (v[0] - 0.5) * s;
+            cartesian[3 * k + 1] = 4.0e7 * (v[1] - 0.5) * s;
+            cartesian[3 * k + 2] = 4.0e7 * (v[2] - 0.5) * ((k % 11 == 0) ? 1.0e-8 : 1.0);
+        }
+
+        for (final boolean parallel : new boolean[] { false, true }) {
+
+            final double[] geodetic = new double[3 * n];
+            earth.toGeodetic(cartesian, eme2000, date, geodetic, parallel);
+            final double[] back = new double[3 * n];
+            earth.toCartesian(geodetic, eme2000, date, back, parallel);
+
+            for (int k = 0; k < n; ++k) {
+                final Vector3D      p  = new Vector3D(cartesian[3 * k], cartesian[3 * k + 1], cartesian[3 * k + 2]);
+                final GeodeticPoint gp = earth.transform(p, eme2000, date);
+                Assert.assertEquals(gp.getLatitude(),  geodetic[3 * k],     0.0);
+                Assert.assertEquals(gp.getLongitude(), geodetic[3 * k + 1], 0.0);
+                Assert.assertEquals(gp.getAltitude(),  geodetic[3 * k + 2], 0.0);
+                final Vector3D expected = earth.getBodyFrame().getTransformTo(eme2000, date).
+                                          transformPosition(earth.transform(gp));
+                Assert.assertEquals(expected.getX(), back[3 * k],     0.0);
+                Assert.assertEquals(expected.getY(), back[3 * k + 1], 0.0);
+                Assert.assertEquals(expected.getZ(), back[3 * k + 2], 0.0);
+                Assert.assertEquals(0.0, Vector3D.distance(p, expected), 1.0e-7);
+            }
+
+            // in place conversion
+            final double[] inPlace = cartesian.clone();
+            earth.toGeodetic(inPlace, eme2000, date, inPlace, parallel);
+            Assert.assertArrayEquals(geodetic, inPlace, 0.0);
+            earth.toCartesian(inPlace, eme2000, date, inPlace, parallel);
+            Assert.assertArrayEquals(back, inPlace, 0.0);
+
+        }
+
+    }
+
+    @Test
+    public void testBatchConversionsWrongSizes() {
+        final OneAxisEllipsoid earth =
+                new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     Constants.WGS84_EARTH_FLATTENING,
+                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        final Frame frame = earth.getBodyFrame();
+        try {
+            earth.toGeodetic(new double[7], frame, AbsoluteDate.J2000_EPOCH, new double[9], false);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+            Assert.assertEquals(7, ((Integer) oiae.getParts()[0]).intValue());
+        }
+        try {
+            earth.toCartesian(new double[9], frame, AbsoluteDate.J2000_EPOCH, new double[6], false);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+            Assert.assertEquals(6, ((Integer) oiae.getParts()[0]).intValue());
+            Assert.assertEquals(9, ((Integer) oiae.getParts()[1]).intValue());
+        }
+    }
+
     @Before
     public void setUp() {
         Utils.setDataRoot("regular-data");
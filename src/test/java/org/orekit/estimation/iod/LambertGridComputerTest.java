@@ -0,0 +1,208 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.iod;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBody;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.PVCoordinates;
+
+public class LambertGridComputerTest {
+
+    private CelestialBody sun;
+    private CelestialBody earth;
+    private CelestialBody mars;
+    private Frame         frame;
+
+    @Test
+    public void testMars2003() {
+
+        // 2003 Earth-Mars opportunity (Mars Express, Spirit and Opportunity)
+        final List<AbsoluteDate> departures = dates(new AbsoluteDate(2003, 5, 15, TimeScalesFactory.getTDB()), 13);
+        final List<AbsoluteDate> arrivals   = dates(new AbsoluteDate(2003, 11, 15, TimeScalesFactory.getTDB()), 16);
+        final LambertGrid grid = new LambertGridComputer(sun.getGM()).compute(earth, mars, frame, departures, arrivals, 1);
+        Assert.assertEquals(13, grid.getDepartureDates().size());
+        Assert.assertEquals(16, grid.getArrivalDates().size());
+
+        // compare with single Lambert problems
+        final IodLambert lambert = new IodLambert(sun.getGM());
+        double minC3 = Double.POSITIVE_INFINITY;
+        int    bestI = -1;
+        int    bestJ = -1;
+        for (int i = 0; i < departures.size(); ++i) {
+            final PVCoordinates e = earth.getPVCoordinates(departures.get(i), frame);
+            for (int j = 0; j < arrivals.size(); ++j) {
+                final PVCoordinates  m     = mars.getPVCoordinates(arrivals.get(j), frame);
+                final boolean        pg    = Vector3D.dotProduct(e.getPosition().crossProduct(m.getPosition()),
+                                                                 e.getMomentum()) >= 0;
+                final KeplerianOrbit orbit = lambert.estimate(frame, pg, 0,
+                                                              e.getPosition(), departures.get(i),
+                                                              m.getPosition(), arrivals.get(j));
+                final double tau = arrivals.get(j).durationFrom(departures.get(i));
+                final double dV1 = Vector3D.distance(orbit.getPVCoordinates().getVelocity(), e.getVelocity());
+                final double dV2 = Vector3D.distance(orbit.shiftedBy(tau).getPVCoordinates().getVelocity(), m.getVelocity());
+                Assert.assertEquals(0, grid.getRevolutions(i, j));
+                Assert.assertEquals(dV1,       grid.getDepartureDeltaV(i, j),    1.0e-7);
+                Assert.assertEquals(dV2,       grid.getArrivalDeltaV(i, j),      1.0e-7);
+                Assert.assertEquals(dV1 + dV2, grid.getTotalDeltaV(i, j),        2.0e-7);
+                Assert.assertEquals(dV1,       grid.getDepartureDeltaV(i)[j],    1.0e-7);
+                Assert.assertEquals(dV2,       grid.getArrivalDeltaV(i)[j],      1.0e-7);
+                Assert.assertEquals(dV1 + dV2, grid.getTotalDeltaV(i)[j],        2.0e-7);
+                final double c3 = dV1 * dV1;
+                if (c3 < minC3) {
+                    minC3 = c3;
+                    bestI = i;
+                    bestJ = j;
+                }
+            }
+        }
+
+        // minimum launch energy, for a transfer from early June to late December
+        Assert.assertEquals(8.806, minC3 * 1.0e-6, 1.0e-3);
+        Assert.assertEquals(4,  bestI);
+        Assert.assertEquals(8,  bestJ);
+
+    }
+
+    @Test
+    public void testLongWayMultiRevolution() {
+
+        // Keplerian Earth-like and Mars-like orbits, with times of flight from 1.8 to 2.3 years
+        final Frame          gcrf  = FramesFactory.getGCRF();
+        final double         mu    = Constants.JPL_SSD_SUN_GM;
+        final double         au    = Constants.IAU_2012_ASTRONOMICAL_UNIT;
+        final AbsoluteDate   t0    = new AbsoluteDate(2020, 1, 1, TimeScalesFactory.getTDB());
+        final KeplerianPropagator inner =
+                        new KeplerianPropagator(new KeplerianOrbit(au, 0.0167, 0.0, 0.0, 0.0, 0.0,
+                                                                   PositionAngle.MEAN, gcrf, t0, mu));
+        final KeplerianPropagator outer =
+                        new KeplerianPropagator(new KeplerianOrbit(1.524 * au, 0.0934, FastMath.toRadians(1.85),
+                                                                   0.0, FastMath.toRadians(49.6), FastMath.PI,
+                                                                   PositionAngle.MEAN, gcrf, t0, mu));
+        final List<AbsoluteDate> departures = new ArrayList<>();
+        for (int i = 0; i < 6; ++i) {
+            departures.add(t0.shiftedBy(10 * i * Constants.JULIAN_DAY));
+        }
+        final List<AbsoluteDate> arrivals = new ArrayList<>();
+        for (int j = 0; j < 8; ++j) {
+            arrivals.add(t0.shiftedBy((700 + 20 * j) * Constants.JULIAN_DAY));
+        }
+        final LambertGrid grid = new LambertGridComputer(mu).compute(inner, outer, gcrf, departures, arrivals, 2);
+
+        // compare with single Lambert problems, for all numbers of revolutions
+        final IodLambert lambert = new IodLambert(mu);
+        int nbLongWay         = 0;
+        int nbMultiRevolution = 0;
+        for (int i = 0; i < departures.size(); ++i) {
+            final PVCoordinates e = inner.getPVCoordinates(departures.get(i), gcrf);
+            for (int j = 0; j < arrivals.size(); ++j) {
+                final PVCoordinates m   = outer.getPVCoordinates(arrivals.get(j), gcrf);
+                final boolean       pg  = Vector3D.dotProduct(e.getPosition().crossProduct(m.getPosition()),
+                                                              e.getMomentum()) >= 0;
+                final double        tau = arrivals.get(j).durationFrom(departures.get(i));
+                double bestDV  = Double.POSITIVE_INFINITY;
+                double bestDV1 = Double.NaN;
+                double bestDV2 = Double.NaN;
+                int    bestRev = -1;
+                for (int nRev = 0; nRev <= 2; ++nRev) {
+                    final KeplerianOrbit orbit = lambert.estimate(gcrf, pg, nRev,
+                                                                  e.getPosition(), departures.get(i),
+                                                                  m.getPosition(), arrivals.get(j));
+                    if (orbit != null) {
+                        final PVCoordinates end = orbit.shiftedBy(tau).getPVCoordinates();
+                        Assert.assertEquals(0.0, Vector3D.distance(end.getPosition(), m.getPosition()), 10.0);
+                        final double dV1 = Vector3D.distance(orbit.getPVCoordinates().getVelocity(), e.getVelocity());
+                        final double dV2 = Vector3D.distance(end.getVelocity(), m.getVelocity());
+                        if (dV1 + dV2 < bestDV) {
+                            bestDV  = dV1 + dV2;
+                            bestDV1 = dV1;
+                            bestDV2 = dV2;
+                            bestRev = nRev;
+                        }
+                    }
+                }
+                Assert.assertEquals(bestRev, grid.getRevolutions(i, j));
+                Assert.assertEquals(bestDV1, grid.getDepartureDeltaV(i, j), 1.0e-7);
+                Assert.assertEquals(bestDV2, grid.getArrivalDeltaV(i, j),   1.0e-7);
+                if (!pg) {
+                    ++nbLongWay;
+                }
+                if (bestRev > 0) {
+                    ++nbMultiRevolution;
+                }
+            }
+        }
+
+        // all transfers go the long way, and several complete one revolution before arrival
+        Assert.assertEquals(48, nbLongWay);
+        Assert.assertTrue(nbMultiRevolution > 10);
+
+    }
+
+    @Test
+    public void testNonChronological() {
+        final List<AbsoluteDate> dates = dates(new AbsoluteDate(2003, 6, 1, TimeScalesFactory.getTDB()), 3);
+        final LambertGrid grid = new LambertGridComputer(sun.getGM()).compute(earth, mars, frame, dates, dates, 0);
+        for (int i = 0; i < dates.size(); ++i) {
+            for (int j = 0; j < dates.size(); ++j) {
+                if (j > i) {
+                    Assert.assertEquals(0, grid.getRevolutions(i, j));
+                    Assert.assertTrue(grid.getTotalDeltaV(i, j) > 0);
+                } else {
+                    Assert.assertEquals(-1, grid.getRevolutions(i, j));
+                    Assert.assertTrue(Double.isNaN(grid.getDepartureDeltaV(i, j)));
+                    Assert.assertTrue(Double.isNaN(grid.getArrivalDeltaV(i, j)));
+                    Assert.assertTrue(Double.isNaN(grid.getTotalDeltaV(i, j)));
+                }
+            }
+        }
+    }
+
+    private List<AbsoluteDate> dates(final AbsoluteDate first, final int n) {
+        final List<AbsoluteDate> dates = new ArrayList<>(n);
+        for (int i = 0; i < n; ++i) {
+            dates.add(first.shiftedBy(5 * i * Constants.JULIAN_DAY));
+        }
+        return dates;
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        sun   = CelestialBodyFactory.getSun();
+        earth = CelestialBodyFactory.getEarth();
+        mars  = CelestialBodyFactory.getMars();
+        frame = sun.getInertiallyOrientedFrame();
+    }
+
+}
@@ -115,6 +115,79 @@ public abstract class AbstractLambdaMethodTest {
 
     }
 
+    @Test
+    public void testIncrementalWarmStart() {
+        RandomGenerator random = new Well19937a(0x3a4b0c64a1e7f1d2l);
+        for (int k = 0; k < 100; ++k) {
+            final int        n           = FastMath.max(2, 1 + random.nextInt(20));
+            final int[]      indirection = createRandomIndirectionArray(n, random);
+            final double[]   floatAmbiguities = new double[indirection.length];
+            final AbstractLambdaMethod incremental = buildReducer();
+            incremental.enableIncrementalMode(4, -1.0);
+            Assert.assertTrue(incremental.isIncrementalModeEnabled());
+            RealMatrix covariance = createRandomSymmetricPositiveDefiniteMatrix(n, random);
+            for (int epoch = 0; epoch < 5; ++epoch) {
+                for (int i = 0; i < floatAmbiguities.length; ++i) {
+                    floatAmbiguities[i] = 20 * random.nextDouble() - 10.0;
+                }
+                final IntegerLeastSquareSolution[] reference =
+                                buildReducer().solveILS(3, floatAmbiguities, indirection, covariance);
+                final IntegerLeastSquareSolution[] solutions =
+                                incremental.solveILS(3, floatAmbiguities, indirection, covariance);
+                checkSameSolutions(reference, solutions, 1.0e-8);
+                // slightly evolve covariance, as a filter would do
+                covariance = covariance.scalarMultiply(0.9).
+                             add(createRandomSymmetricPositiveDefiniteMatrix(n, random).scalarMultiply(0.01));
+            }
+            Assert.assertEquals(5, incremental.getProblemsNumber());
+            Assert.assertEquals(1, incremental.getFullDecorrelationsNumber());
+            Assert.assertEquals(4, incremental.getWarmStartsNumber());
+            Assert.assertEquals(0, incremental.getReusesNumber());
+            Assert.assertTrue(incremental.getCandidatesNumber() >= 15);
+        }
+    }
+
+    @Test
+    public void testIncrementalReuse() {
+        RandomGenerator random = new Well19937a(0x61e8c4d2b1bb6f0dl);
+        final int        n           = 12;
+        final int[]      indirection = createRandomIndirectionArray(n, random);
+        final RealMatrix covariance  = createRandomSymmetricPositiveDefiniteMatrix(n, random);
+        final AbstractLambdaMethod incremental = buildReducer();
+        incremental.enableIncrementalMode(4, 0.0);
+        final double[] floatAmbiguities = new double[indirection.length];
+        for (int epoch = 0; epoch < 10; ++epoch) {
+            for (int i = 0; i < floatAmbiguities.length; ++i) {
+                floatAmbiguities[i] = 20 * random.nextDouble() - 10.0;
+            }
+            checkSameSolutions(buildReducer().solveILS(2, floatAmbiguities, indirection, covariance),
+                               incremental.solveILS(2, floatAmbiguities, indirection, covariance),
+                               1.0e-8);
+        }
+        Assert.assertEquals(10, incremental.getProblemsNumber());
+        Assert.assertEquals(1,  incremental.getFullDecorrelationsNumber());
+        Assert.assertEquals(0,  incremental.getWarmStartsNumber());
+        Assert.assertEquals(9,  incremental.getReusesNumber());
+
+        incremental.resetStatistics();
+        incremental.disableIncrementalMode();
+        Assert.assertFalse(incremental.isIncrementalModeEnabled());
+        incremental.solveILS(2, floatAmbiguities, indirection, covariance);
+        Assert.assertEquals(1, incremental.getProblemsNumber());
+        Assert.assertEquals(1, incremental.getFullDecorrelationsNumber());
+        Assert.assertEquals(0, incremental.getReusesNumber());
+    }
+
+    private void checkSameSolutions(final IntegerLeastSquareSolution[] reference,
+                                    final IntegerLeastSquareSolution[] solutions,
+                                    final double tolerance) {
+        // only the best solution is guaranteed to be independent of the decorrelation
+        Assert.assertEquals(reference.length, solutions.length);
+        Assert.assertEquals(reference[0].getSquaredDistance(), solutions[0].getSquaredDistance(),
+                            tolerance * (1.0 + reference[0].getSquaredDistance()));
+        Assert.assertArrayEquals(reference[0].getSolution(), solutions[0].getSolution());
+    }
+
     private void doTestDecomposition(final int[] indirection, final RealMatrix covariance) {
         final AbstractLambdaMethod reducer = buildReducer();
         initializeProblem(reducer, new double[indirection.length], indirection, covariance, 2);
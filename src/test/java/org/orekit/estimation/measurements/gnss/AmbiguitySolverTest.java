@@ -21,6 +21,7 @@ import java.util.List;
 
 import org.hipparchus.linear.MatrixUtils;
 import org.hipparchus.linear.RealMatrix;
+import org.hipparchus.util.FastMath;
 import org.junit.Assert;
 import org.junit.Test;
 import org.orekit.utils.ParameterDriver;
@@ -53,6 +54,61 @@ public class AmbiguitySolverTest {
         Assert.assertEquals(4, fixed.get(2).getValue(), 1.0e-15);
     }
 
+    @Test
+    public void testPartialFixing() {
+
+        final List<ParameterDriver> ambiguitiesDrivers = createAmbiguities(5.450, 3.100, 2.970);
+        final RealMatrix covariance = MatrixUtils.createRealMatrix(new double[][] {
+            { 6.290, 5.978, 0.544 },
+            { 5.978, 6.292, 2.340 },
+            { 0.544, 2.340, 6.288 }
+        });
+
+        // acceptance ratio not met with full set, partial fixing disabled
+        final AmbiguitySolver solver = new AmbiguitySolver(ambiguitiesDrivers, new LambdaMethod(),
+                                                           new SimpleRatioAmbiguityAcceptance(0.5));
+        Assert.assertTrue(solver.fixIntegerAmbiguities(0, ambiguitiesDrivers, covariance).isEmpty());
+
+        // acceptance ratio not met with full set, but met for a subset
+        solver.enablePartialFixing(1);
+        final List<ParameterDriver> fixed = solver.fixIntegerAmbiguities(0, ambiguitiesDrivers, covariance);
+
+        // only the ambiguity with the smallest variance has been fixed
+        Assert.assertEquals(1, fixed.size());
+        Assert.assertSame(ambiguitiesDrivers.get(2), fixed.get(0));
+        Assert.assertEquals(3.0, fixed.get(0).getValue(),    1.0e-15);
+        Assert.assertEquals(3.0, fixed.get(0).getMinValue(), 1.0e-15);
+        Assert.assertEquals(3.0, fixed.get(0).getMaxValue(), 1.0e-15);
+
+        // the other ambiguities are still free, conditioned on the fixed one
+        checkFree(ambiguitiesDrivers.get(0), 5.450 + 0.544 * (3.0 - 2.970) / 6.288);
+        checkFree(ambiguitiesDrivers.get(1), 3.100 + 2.340 * (3.0 - 2.970) / 6.288);
+        Assert.assertEquals(5.4526, ambiguitiesDrivers.get(0).getValue(), 1.0e-4);
+        Assert.assertEquals(3.1112, ambiguitiesDrivers.get(1).getValue(), 1.0e-4);
+        Assert.assertEquals(2, solver.getFreeAmbiguityDrivers().size());
+        Assert.assertSame(ambiguitiesDrivers.get(0), solver.getFreeAmbiguityDrivers().get(0));
+        Assert.assertSame(ambiguitiesDrivers.get(1), solver.getFreeAmbiguityDrivers().get(1));
+
+        // without partial fixing, the full set is rejected again and nothing is fixed
+        solver.unFixAmbiguity(ambiguitiesDrivers.get(2));
+        ambiguitiesDrivers.get(0).setValue(5.450);
+        ambiguitiesDrivers.get(1).setValue(3.100);
+        ambiguitiesDrivers.get(2).setValue(2.970);
+        solver.disablePartialFixing();
+        Assert.assertTrue(solver.fixIntegerAmbiguities(0, ambiguitiesDrivers, covariance).isEmpty());
+        checkFree(ambiguitiesDrivers.get(0), 5.450);
+        checkFree(ambiguitiesDrivers.get(1), 3.100);
+        checkFree(ambiguitiesDrivers.get(2), 2.970);
+        Assert.assertEquals(3, solver.getFreeAmbiguityDrivers().size());
+
+    }
+
+    private void checkFree(final ParameterDriver driver, final double floatValue) {
+        Assert.assertEquals(floatValue, driver.getValue(), 1.0e-15);
+        Assert.assertTrue(Double.isInfinite(driver.getMinValue()));
+        Assert.assertTrue(Double.isInfinite(driver.getMaxValue()));
+    }
+
     private List<ParameterDriver> createAmbiguities(double...floatValues) {
         final List<ParameterDriver> ambiguitiesDrivers = new ArrayList<>(floatValues.length);
         for (int i = 0; i < floatValues.length; ++i) {
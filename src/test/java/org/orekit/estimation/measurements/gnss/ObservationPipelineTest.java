@@ -0,0 +1,133 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.estimation.measurements.gnss;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.data.DataFilter;
+import org.orekit.data.GzipFilter;
+import org.orekit.data.NamedData;
+import org.orekit.data.UnixCompressFilter;
+import org.orekit.gnss.Frequency;
+import org.orekit.gnss.HatanakaCompressFilter;
+import org.orekit.gnss.ObservationDataSet;
+import org.orekit.gnss.RinexLoader;
+import org.orekit.gnss.SatelliteSystem;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+
+public class ObservationPipelineTest {
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+    }
+
+    @Test
+    public void testCycleSlip() throws URISyntaxException, IOException {
+
+        final List<ObservationDataSet> observations = load("WithCycleSlip.16o");
+
+        final List<AbsoluteDate> slips = new ArrayList<>();
+        final int[] nbEpochs = new int[1];
+        final ObservationPipeline pipeline =
+                        new ObservationPipeline(Arrays.asList(MeasurementCombinationFactory.getGeometryFreeCombination(SatelliteSystem.GPS),
+                                                              MeasurementCombinationFactory.getIonosphereFreeCombination(SatelliteSystem.GPS)),
+                                                Arrays.asList(new GeometryFreeCycleSlipDetector(31, 31.0, 9)),
+                                                (observation, combined, cycleSlips) -> {
+                                                    ++nbEpochs[0];
+                                                    Assert.assertEquals(2, combined.size());
+                                                    Assert.assertEquals(observation.getPrnNumber(), combined.get(0).getPrnNumber());
+                                                    Assert.assertEquals(observation.getDate(), combined.get(1).getDate());
+                                                    if (!cycleSlips.isEmpty()) {
+                                                        Assert.assertTrue(cycleSlips.contains(Frequency.G01));
+                                                        slips.add(observation.getDate());
+                                                    }
+                                                });
+
+        for (final ObservationDataSet observation : observations) {
+            pipeline.processEpoch(observation);
+        }
+
+        Assert.assertEquals(observations.size(), nbEpochs[0]);
+        Assert.assertEquals(1, slips.size());
+        Assert.assertEquals(0.0,
+                            slips.get(0).durationFrom(new AbsoluteDate(2016, 02, 13, 1, 59, 43, TimeScalesFactory.getUTC())),
+                            1e-9);
+
+        // cycle-slip dates are not accumulated in streaming mode
+        final GeometryFreeCycleSlipDetector detector = (GeometryFreeCycleSlipDetector) pipeline.getDetectors().get(0);
+        Assert.assertTrue(detector.getResults().get(0).getCycleSlipMap().get(Frequency.G01).isEmpty());
+        Assert.assertEquals(2, pipeline.getCombinations().size());
+
+    }
+
+    @Test
+    public void testSameAsBatch() throws URISyntaxException, IOException {
+
+        final List<ObservationDataSet> observations = load("shld0440.16d.Z");
+
+        // batch detection
+        final List<CycleSlipDetectorResults> batch =
+                        new PhaseMinusCodeCycleSlipDetector(31, 20.0, 10, 2).detect(observations);
+
+        // streaming detection
+        final List<String> streamed = new ArrayList<>();
+        final PhaseMinusCodeCycleSlipDetector detector = new PhaseMinusCodeCycleSlipDetector(31, 20.0, 10, 2);
+        detector.addHandler((satellite, frequency, date) -> streamed.add(satellite + frequency + date));
+        for (final ObservationDataSet observation : observations) {
+            detector.processEpoch(observation);
+        }
+
+        int nbSlips = 0;
+        for (final CycleSlipDetectorResults result : batch) {
+            for (final Frequency frequency : result.getCycleSlipMap().keySet()) {
+                for (final AbsoluteDate date : result.getCycleSlipMap().get(frequency)) {
+                    Assert.assertTrue(streamed.contains(result.getSatelliteName() + frequency + date));
+                    ++nbSlips;
+                }
+            }
+        }
+        Assert.assertTrue(nbSlips > 0);
+        Assert.assertEquals(nbSlips, streamed.size());
+
+    }
+
+    private List<ObservationDataSet> load(final String fileName) throws URISyntaxException, IOException {
+        final String inputPath = ObservationPipelineTest.class.getClassLoader().getResource("gnss/cycleSlip/" + fileName).toURI().getPath();
+        final File input  = new File(inputPath);
+        NamedData nd = new NamedData(fileName,
+                                     () -> new FileInputStream(new File(input.getParentFile(), fileName)));
+        for (final DataFilter filter : Arrays.asList(new GzipFilter(),
+                                                     new UnixCompressFilter(),
+                                                     new HatanakaCompressFilter())) {
+            nd = filter.filter(nd);
+        }
+        return new RinexLoader(nd.getStreamOpener().openStream(), nd.getName()).getObservationDataSets();
+    }
+
+}
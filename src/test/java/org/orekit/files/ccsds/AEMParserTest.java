@@ -16,9 +16,12 @@
  */
 package org.orekit.files.ccsds;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -162,6 +165,67 @@ public class AEMParserTest {
         Assert.assertEquals(ephemeridesDataLinesComment2, file.getAttitudeBlocks().get(1).getMetaData().getComment());
     }
 
+    @Test
+    public void testStreaming() {
+        final String ex = "/ccsds/AEMExample.txt";
+        final AEMParser parser = new AEMParser().withMu(CelestialBodyFactory.getEarth().getGM()).
+                        withConventions(IERSConventions.IERS_2010).
+                        withSimpleEOP(true);
+        final AEMFile reference = parser.parse(getClass().getResourceAsStream(ex), "AEMExample.txt");
+
+        final List<AttitudeEphemeridesBlock> segments = new ArrayList<>();
+        final List<TimeStampedAngularCoordinates> coordinates = new ArrayList<>();
+        final int[] ended = new int[1];
+        final AEMFile streamed = parser.parse(getClass().getResourceAsStream(ex), "AEMExample.txt",
+                                              new AEMSegmentHandler() {
+
+            @Override
+            public boolean startSegment(final AEMFile file, final AttitudeEphemeridesBlock segment) {
+                segments.add(segment);
+                // skip the first segment
+                return segments.size() > 1;
+            }
+
+            @Override
+            public void handleAttitudeDataLine(final AttitudeEphemeridesBlock segment,
+                                               final TimeStampedAngularCoordinates ac) {
+                Assert.assertSame(segments.get(segments.size() - 1), segment);
+                coordinates.add(ac);
+            }
+
+            @Override
+            public void endSegment(final AttitudeEphemeridesBlock segment) {
+                ++ended[0];
+            }
+
+        });
+
+        // segments are not stored in streaming mode
+        Assert.assertTrue(streamed.getAttitudeBlocks().isEmpty());
+        Assert.assertEquals(1.0, streamed.getFormatVersion(), Double.MIN_VALUE);
+        Assert.assertEquals(reference.getAttitudeBlocks().size(), segments.size());
+        Assert.assertEquals(segments.size(), ended[0]);
+
+        int nbCoordinates = 0;
+        for (int i = 0; i < segments.size(); ++i) {
+            final AttitudeEphemeridesBlock expected = reference.getAttitudeBlocks().get(i);
+            final AttitudeEphemeridesBlock actual   = segments.get(i);
+            Assert.assertEquals(expected.getRefFrameAString(), actual.getRefFrameAString());
+            Assert.assertEquals(expected.getStart(), actual.getStart());
+            Assert.assertTrue(actual.getAttitudeDataLines().isEmpty());
+            if (i > 0) {
+                for (final TimeStampedAngularCoordinates ac : expected.getAttitudeDataLines()) {
+                    final TimeStampedAngularCoordinates streamedAC = coordinates.get(nbCoordinates++);
+                    Assert.assertEquals(0.0, streamedAC.getDate().durationFrom(ac.getDate()), 1.0e-15);
+                    Assert.assertEquals(0.0, Rotation.distance(ac.getRotation(), streamedAC.getRotation()), 1.0e-15);
+                }
+            }
+        }
+        Assert.assertTrue(nbCoordinates > 0);
+        Assert.assertEquals(coordinates.size(), nbCoordinates);
+
+    }
+
     @Test
     public void testParseAEM2() throws URISyntaxException {
         final String name = getClass().getResource("/ccsds/AEMExample2.txt").toURI().getPath();
@@ -327,6 +391,20 @@ public class AEMParserTest {
         }
     }
 
+    @Test
+    public void testInconsistentTimeSystemsNullHandler() throws IOException {
+        try (InputStream is = getClass().getResourceAsStream("/ccsds/AEM-inconsistent-time-systems.txt");
+             BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            new AEMParser().withMu(CelestialBodyFactory.getMars().getGM()).
+            parse(reader, "AEM-inconsistent-time-systems.txt", null);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.CCSDS_AEM_INCONSISTENT_TIME_SYSTEMS, oe.getSpecifier());
+            Assert.assertEquals(CcsdsTimeScale.UTC, oe.getParts()[0]);
+            Assert.assertEquals(CcsdsTimeScale.TCG, oe.getParts()[1]);
+        }
+    }
+
     @Test
     public void testLowerCaseValue() {
         //setup
@@ -16,9 +16,11 @@
  */
 package org.orekit.files.ccsds;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.SequenceInputStream;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
@@ -394,6 +396,20 @@ public class OEMParserTest {
         }
     }
 
+    @Test
+    public void testInconsistentTimeSystemsNullHandler() throws IOException {
+        try (InputStream is = getClass().getResourceAsStream("/ccsds/OEM-inconsistent-time-systems.txt");
+             BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            new OEMParser().withMu(CelestialBodyFactory.getMars().getGM()).
+            parse(reader, "OEM-inconsistent-time-systems.txt", null);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.CCSDS_OEM_INCONSISTENT_TIME_SYSTEMS, oe.getSpecifier());
+            Assert.assertEquals(CcsdsTimeScale.UTC, oe.getParts()[0]);
+            Assert.assertEquals(CcsdsTimeScale.TCG, oe.getParts()[1]);
+        }
+    }
+
     @Test
     public void testLowerCaseValue() {
         //setup
@@ -457,6 +473,147 @@ public class OEMParserTest {
         }
     }
 
+    @Test
+    public void testStreaming() {
+        final String ex = "/ccsds/OEMExample.txt";
+        final OEMParser parser = new OEMParser().withMu(CelestialBodyFactory.getEarth().getGM());
+        final OEMFile reference = parser.parse(getClass().getResourceAsStream(ex), "OEMExample.txt");
+
+        final List<EphemeridesBlock> segments = new ArrayList<>();
+        final List<TimeStampedPVCoordinates> coordinates = new ArrayList<>();
+        final List<OEMFile.CovarianceMatrix> covariances = new ArrayList<>();
+        final int[] ended = new int[1];
+        final OEMFile streamed = parser.parse(getClass().getResourceAsStream(ex), "OEMExample.txt",
+                                              new OEMSegmentHandler() {
+
+            @Override
+            public boolean startSegment(final OEMFile file, final EphemeridesBlock segment) {
+                Assert.assertEquals(2.0, file.getFormatVersion(), 1.0e-15);
+                segments.add(segment);
+                return true;
+            }
+
+            @Override
+            public void handleEphemeridesDataLine(final EphemeridesBlock segment,
+                                                  final TimeStampedPVCoordinates pv,
+                                                  final boolean hasAcceleration) {
+                Assert.assertSame(segments.get(segments.size() - 1), segment);
+                coordinates.add(pv);
+            }
+
+            @Override
+            public void handleCovarianceMatrix(final EphemeridesBlock segment,
+                                               final OEMFile.CovarianceMatrix covariance) {
+                covariances.add(covariance);
+            }
+
+            @Override
+            public void endSegment(final EphemeridesBlock segment) {
+                ++ended[0];
+            }
+
+        });
+
+        // segments are not stored in streaming mode
+        Assert.assertTrue(streamed.getEphemeridesBlocks().isEmpty());
+        Assert.assertEquals(reference.getEphemeridesBlocks().size(), segments.size());
+        Assert.assertEquals(segments.size(), ended[0]);
+
+        int nbCoordinates = 0;
+        int nbCovariances = 0;
+        for (int i = 0; i < segments.size(); ++i) {
+            final EphemeridesBlock expected = reference.getEphemeridesBlocks().get(i);
+            final EphemeridesBlock actual   = segments.get(i);
+            Assert.assertEquals(expected.getMetaData().getObjectName(), actual.getMetaData().getObjectName());
+            Assert.assertEquals(expected.getStartTime(), actual.getStartTime());
+            Assert.assertEquals(expected.getInterpolationDegree(), actual.getInterpolationDegree());
+            Assert.assertTrue(actual.getEphemeridesDataLines().isEmpty());
+            for (final TimeStampedPVCoordinates pv : expected.getEphemeridesDataLines()) {
+                final TimeStampedPVCoordinates streamedPV = coordinates.get(nbCoordinates++);
+                Assert.assertEquals(0.0, streamedPV.getDate().durationFrom(pv.getDate()), 1.0e-15);
+                Assert.assertEquals(0.0, Vector3D.distance(pv.getPosition(), streamedPV.getPosition()), 1.0e-15);
+                Assert.assertEquals(0.0, Vector3D.distance(pv.getVelocity(), streamedPV.getVelocity()), 1.0e-15);
+            }
+            for (final OEMFile.CovarianceMatrix cov : expected.getCovarianceMatrices()) {
+                final OEMFile.CovarianceMatrix streamedCov = covariances.get(nbCovariances++);
+                Assert.assertEquals(cov.getEpoch(), streamedCov.getEpoch());
+                Assert.assertEquals(0.0, cov.getMatrix().subtract(streamedCov.getMatrix()).getNorm1(), 1.0e-15);
+            }
+        }
+        Assert.assertEquals(coordinates.size(), nbCoordinates);
+        Assert.assertEquals(covariances.size(), nbCovariances);
+
+    }
+
+    @Test
+    public void testStreamingSkippedSegment() {
+        final String ex = "/ccsds/OEMExample.txt";
+        final OEMParser parser = new OEMParser().withMu(CelestialBodyFactory.getEarth().getGM());
+        final OEMFile reference = parser.parse(getClass().getResourceAsStream(ex), "OEMExample.txt");
+
+        // only keep the last segment
+        final int last = reference.getEphemeridesBlocks().size() - 1;
+        final List<TimeStampedPVCoordinates> coordinates = new ArrayList<>();
+        final List<OEMFile.CovarianceMatrix> covariances = new ArrayList<>();
+        parser.parse(getClass().getResourceAsStream(ex), "OEMExample.txt", new OEMSegmentHandler() {
+
+            private int index = -1;
+
+            @Override
+            public boolean startSegment(final OEMFile file, final EphemeridesBlock segment) {
+                return ++index == last;
+            }
+
+            @Override
+            public void handleEphemeridesDataLine(final EphemeridesBlock segment,
+                                                  final TimeStampedPVCoordinates pv,
+                                                  final boolean hasAcceleration) {
+                coordinates.add(pv);
+            }
+
+            @Override
+            public void handleCovarianceMatrix(final EphemeridesBlock segment,
+                                               final OEMFile.CovarianceMatrix covariance) {
+                covariances.add(covariance);
+            }
+
+        });
+
+        Assert.assertEquals(reference.getEphemeridesBlocks().get(last).getEphemeridesDataLines().size(),
+                            coordinates.size());
+        Assert.assertEquals(reference.getEphemeridesBlocks().get(last).getCovarianceMatrices().size(),
+                            covariances.size());
+
+    }
+
+    @Test
+    public void testStreamingInconsistentTimeSystems() {
+        try {
+            new OEMParser().withMu(CelestialBodyFactory.getMars().getGM()).
+            parse(getClass().getResourceAsStream("/ccsds/OEM-inconsistent-time-systems.txt"),
+                  "OEM-inconsistent-time-systems.txt",
+                  new OEMSegmentHandler() {
+
+                    @Override
+                    public boolean startSegment(final OEMFile file, final EphemeridesBlock segment) {
+                        return true;
+                    }
+
+                    @Override
+                    public void handleEphemeridesDataLine(final EphemeridesBlock segment,
+                                                          final TimeStampedPVCoordinates pv,
+                                                          final boolean hasAcceleration) {
+                    }
+
+                });
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.CCSDS_OEM_INCONSISTENT_TIME_SYSTEMS, oe.getSpecifier());
+            Assert.assertEquals(CcsdsTimeScale.UTC, oe.getParts()[0]);
+            Assert.assertEquals(CcsdsTimeScale.TCG, oe.getParts()[1]);
+        }
+    }
+
     /**
      * Check if the parser enters the correct interpolation degree
      * (the parsed one or the default if there is none)
@@ -18,17 +18,50 @@ package org.orekit.geometry.fov;
 
 import org.hipparchus.geometry.euclidean.threed.RotationOrder;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.random.RandomGenerator;
 import org.hipparchus.random.Well19937a;
 import org.hipparchus.util.FastMath;
+import org.junit.Assert;
 import org.junit.Test;
 import org.orekit.attitudes.LofOffset;
 import org.orekit.attitudes.NadirPointing;
 import org.orekit.frames.LOFType;
 import org.orekit.frames.Transform;
+import org.orekit.propagation.events.VisibilityTrigger;
 import org.orekit.time.AbsoluteDate;
 
 public class CircularFieldOfViewTest extends AbstractSmoothFieldOfViewTest {
 
+    @Test
+    public void testBatchOffsets() {
+        final CircularFieldOfView fov = new CircularFieldOfView(new Vector3D(1, 2, 3), FastMath.toRadians(3.0), 0.001);
+        final RandomGenerator random = new Well19937a(0x4f1e7d2c9b3a6850l);
+        final int n = 2000;
+        final double[] linesOfSight = new double[3 * n];
+        final double[] angularRadii = new double[n];
+        for (int k = 0; k < n; ++k) {
+            final Vector3D los = new Vector3D(1 + 0.1 * random.nextDouble(),
+                                              2 + 0.1 * random.nextDouble(),
+                                              3 + 0.1 * random.nextDouble());
+            linesOfSight[3 * k]     = los.getX();
+            linesOfSight[3 * k + 1] = los.getY();
+            linesOfSight[3 * k + 2] = los.getZ();
+            angularRadii[k]         = 0.001 * random.nextDouble();
+        }
+        final double[]  offsets = new double[n];
+        final boolean[] visible = new boolean[n];
+        for (final VisibilityTrigger trigger : VisibilityTrigger.values()) {
+            fov.offsetsFromBoundary(linesOfSight, angularRadii, trigger, offsets);
+            fov.checkVisibility(linesOfSight, angularRadii, trigger, visible);
+            for (int k = 0; k < n; ++k) {
+                final Vector3D los = new Vector3D(linesOfSight[3 * k], linesOfSight[3 * k + 1], linesOfSight[3 * k + 2]);
+                // single target method uses acos which is less accurate than atan2 for small angles
+                Assert.assertEquals(fov.offsetFromBoundary(los, angularRadii[k], trigger), offsets[k], 5.0e-14);
+                Assert.assertEquals(offsets[k] < 0, visible[k]);
+            }
+        }
+    }
+
     @Test
     public void testNadirNoMargin() {
         doTestFootprint(new CircularFieldOfView(Vector3D.PLUS_K, FastMath.toRadians(3.0), 0.0),
@@ -18,8 +18,13 @@ package org.orekit.geometry.fov;
 
 import java.util.List;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.geometry.euclidean.threed.RotationOrder;
 import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.geometry.spherical.twod.S2Point;
+import org.hipparchus.geometry.spherical.twod.SphericalPolygonsSet;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
 import org.hipparchus.util.FastMath;
 import org.junit.After;
 import org.junit.Assert;
@@ -32,6 +37,7 @@ import org.orekit.attitudes.NadirPointing;
 import org.orekit.bodies.GeodeticPoint;
 import org.orekit.bodies.OneAxisEllipsoid;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.frames.FramesFactory;
 import org.orekit.frames.LOFType;
@@ -272,6 +278,90 @@ public class PolygonalFieldOfViewTest {
 
     }
 
+    @Test
+    public void testBatchOffsets() {
+
+        // convex zones, using precomputed edges poles
+        for (int n = 3; n < 9; ++n) {
+            checkBatchOffsets(new PolygonalFieldOfView(Vector3D.PLUS_K,
+                                                       DefiningConeType.INSIDE_CONE_TOUCHING_POLYGON_AT_EDGES_MIDDLE,
+                                                       Vector3D.PLUS_I, 0.25, n, 0.01),
+                              0x7c1b9e2f4a6d3058l + n);
+        }
+        checkBatchOffsets(new DoubleDihedraFieldOfView(Vector3D.PLUS_K, Vector3D.PLUS_I, 0.3, Vector3D.PLUS_J, 0.1, -0.002),
+                          0x3e8d5a7f1c2b9046l);
+
+        // non-convex zone, using zone projection
+        final SphericalPolygonsSet lShape =
+                        new SphericalPolygonsSet(1.0e-10,
+                                                 new S2Point(new Vector3D(-0.1, -0.1, 1.0)),
+                                                 new S2Point(new Vector3D( 0.1, -0.1, 1.0)),
+                                                 new S2Point(new Vector3D( 0.1,  0.0, 1.0)),
+                                                 new S2Point(new Vector3D( 0.0,  0.0, 1.0)),
+                                                 new S2Point(new Vector3D( 0.0,  0.1, 1.0)),
+                                                 new S2Point(new Vector3D(-0.1,  0.1, 1.0)));
+        Assert.assertTrue(lShape.getSize() < 0.1);
+        checkBatchOffsets(new PolygonalFieldOfView(lShape, 0.0), 0x59a3c7e2d1f0b846l);
+
+    }
+
+    @Test
+    public void testBatchWrongSizes() {
+        final PolygonalFieldOfView fov = new PolygonalFieldOfView(Vector3D.PLUS_K,
+                                                                  DefiningConeType.INSIDE_CONE_TOUCHING_POLYGON_AT_EDGES_MIDDLE,
+                                                                  Vector3D.PLUS_I, 0.25, 4, 0.0);
+        checkWrongSize(fov, new double[7], null, new double[3]);
+        checkWrongSize(fov, new double[9], new double[2], new double[3]);
+        checkWrongSize(fov, new double[9], new double[3], new double[2]);
+    }
+
+    private void checkBatchOffsets(final FieldOfView fov, final long seed) {
+        final RandomGenerator random = new Well19937a(seed);
+        final int n = 5000;
+        final double[] linesOfSight = new double[3 * n];
+        final double[] angularRadii = new double[n];
+        for (int k = 0; k < n; ++k) {
+            // most targets close to the Field Of View, some far away, with various norms
+            final double   spread = k % 10 == 0 ? FastMath.PI : 0.5;
+            final Vector3D los    = new Vector3D(FastMath.PI * (2 * random.nextDouble() - 1),
+                                                 0.5 * FastMath.PI - spread * random.nextDouble());
+            final Vector3D target = los.scalarMultiply(1 + random.nextDouble());
+            linesOfSight[3 * k]     = target.getX();
+            linesOfSight[3 * k + 1] = target.getY();
+            linesOfSight[3 * k + 2] = target.getZ();
+            angularRadii[k]         = 0.01 * random.nextDouble();
+        }
+        final double[]  offsets = new double[n];
+        final boolean[] visible = new boolean[n];
+        for (final VisibilityTrigger trigger : VisibilityTrigger.values()) {
+            for (final double[] radii : new double[][] { null, angularRadii }) {
+                fov.offsetsFromBoundary(linesOfSight, radii, trigger, offsets);
+                fov.checkVisibility(linesOfSight, radii, trigger, visible);
+                int nbVisible = 0;
+                for (int k = 0; k < n; ++k) {
+                    final Vector3D los = new Vector3D(linesOfSight[3 * k], linesOfSight[3 * k + 1], linesOfSight[3 * k + 2]);
+                    final double expected = fov.offsetFromBoundary(los, radii == null ? 0.0 : radii[k], trigger);
+                    Assert.assertEquals(expected, offsets[k], 1.0e-14);
+                    Assert.assertEquals(offsets[k] < 0, visible[k]);
+                    if (visible[k]) {
+                        ++nbVisible;
+                    }
+                }
+                Assert.assertTrue(nbVisible > n / 20);
+            }
+        }
+    }
+
+    private void checkWrongSize(final FieldOfView fov, final double[] linesOfSight,
+                                final double[] angularRadii, final double[] offsets) {
+        try {
+            fov.offsetsFromBoundary(linesOfSight, angularRadii, VisibilityTrigger.VISIBLE_ONLY_WHEN_FULLY_IN_FOV, offsets);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+        }
+    }
+
     @Before
     public void setUp() {
         Utils.setDataRoot("regular-data");
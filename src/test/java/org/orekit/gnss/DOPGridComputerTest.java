@@ -0,0 +1,169 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.gnss;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.util.FastMath;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.FramesFactory;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.gnss.GPSPropagator;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScale;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.ElevationMask;
+import org.orekit.utils.IERSConventions;
+
+
+public class DOPGridComputerTest {
+
+    private OneAxisEllipsoid earth;
+    private List<GeodeticPoint> locations;
+    private TimeScale     utc;
+
+    @Before
+    public void setUp() {
+        // Sets the root of data to read
+        Utils.setDataRoot("gnss");
+        // Defines the Earth shape
+        earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     Constants.WGS84_EARTH_FLATTENING,
+                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        // Defines a coarse grid of locations where to compute the DOP
+        locations = new ArrayList<>();
+        for (double lat = -80; lat <= 80; lat += 20) {
+            for (double lon = -180; lon < 180; lon += 30) {
+                locations.add(new GeodeticPoint(FastMath.toRadians(lat), FastMath.toRadians(lon), 100.0));
+            }
+        }
+        utc = TimeScalesFactory.getUTC();
+    }
+
+    @After
+    public void tearDown() {
+        earth     = null;
+        locations = null;
+        utc       = null;
+    }
+
+    @Test
+    public void testConsistencyWithSinglePoint() {
+        doTestConsistency(DOPGridComputer.create(earth, locations).withMinElevation(FastMath.toRadians(10.)));
+    }
+
+    @Test
+    public void testConsistencyWithElevationMask() {
+        final DOPGridComputer computer = DOPGridComputer.create(earth, locations).withElevationMask(getMask());
+        Assert.assertEquals(DOPComputer.DOP_MIN_ELEVATION, computer.getMinElevation(), 0.);
+        Assert.assertNotNull(computer.getElevationMask());
+        doTestConsistency(computer);
+    }
+
+    private void doTestConsistency(final DOPGridComputer computer) {
+
+        final List<AbsoluteDate> dates = new ArrayList<>();
+        final AbsoluteDate t0 = new AbsoluteDate(2016, 3, 31, 0, 0, 0., utc);
+        for (int i = 0; i < 12; ++i) {
+            dates.add(t0.shiftedBy(i * 7200.0));
+        }
+
+        final List<Propagator> gps = getGpsPropagators();
+        final DOPGrid grid = computer.compute(dates, gps);
+        Assert.assertEquals(dates.size(), grid.getDates().size());
+        Assert.assertEquals(locations.size(), grid.getLocations().size());
+
+        int nanCount = 0;
+        for (int i = 0; i < dates.size(); ++i) {
+            for (int j = 0; j < locations.size(); ++j) {
+                DOPComputer single = DOPComputer.create(earth, locations.get(j));
+                single = computer.getElevationMask() == null ?
+                         single.withMinElevation(computer.getMinElevation()) :
+                         single.withElevationMask(computer.getElevationMask());
+                final DOP expected = single.compute(dates.get(i), gps);
+                final DOP actual   = grid.getDOP(i, j);
+                Assert.assertEquals(expected.getGnssNb(), actual.getGnssNb());
+                Assert.assertEquals(expected.getGnssNb(), grid.getGnssNb(i, j));
+                Assert.assertSame(dates.get(i), actual.getDate());
+                Assert.assertSame(locations.get(j), actual.getLocation());
+                if (Double.isNaN(expected.getGdop())) {
+                    ++nanCount;
+                    Assert.assertTrue(Double.isNaN(grid.getGdop(i, j)));
+                } else {
+                    Assert.assertEquals(expected.getGdop(), grid.getGdop(i, j), 1.0e-9 * expected.getGdop());
+                    Assert.assertEquals(expected.getPdop(), grid.getPdop(i, j), 1.0e-9 * expected.getPdop());
+                    Assert.assertEquals(expected.getHdop(), grid.getHdop(i, j), 1.0e-9 * expected.getHdop());
+                    Assert.assertEquals(expected.getVdop(), grid.getVdop(i, j), 1.0e-9 * expected.getVdop());
+                    Assert.assertEquals(expected.getTdop(), grid.getTdop(i, j), 1.0e-9 * expected.getTdop());
+                    Assert.assertEquals(expected.getHdop(), grid.getHdop(i)[j], 1.0e-9 * expected.getHdop());
+                }
+            }
+        }
+        Assert.assertTrue(nanCount < dates.size() * locations.size());
+
+    }
+
+    @Test
+    public void testNotEnoughSV() {
+        try {
+            DOPGridComputer.create(earth, locations).
+            compute(new ArrayList<>(), getGpsPropagators().subList(0, 3));
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NOT_ENOUGH_GNSS_FOR_DOP, oe.getSpecifier());
+        }
+    }
+
+    private List<Propagator> getGpsPropagators() {
+        // Gets the GPS almanacs from the Yuma file
+        final YUMAParser reader = new YUMAParser(null);
+        reader.loadData();
+        final List<GPSAlmanac> almanacs = reader.getAlmanacs();
+
+        // Creates the GPS propagators from the almanacs
+        final List<Propagator> propagators = new ArrayList<Propagator>();
+        for (GPSAlmanac almanac: almanacs) {
+            propagators.add(new GPSPropagator.Builder(almanac).build());
+        }
+        return propagators;
+    }
+
+    private ElevationMask getMask() {
+        final double [][] mask = {
+            {FastMath.toRadians(0.),   FastMath.toRadians(5.00)},
+            {FastMath.toRadians(45.),  FastMath.toRadians(50.00)},
+            {FastMath.toRadians(90.),  FastMath.toRadians(5.00)},
+            {FastMath.toRadians(135.), FastMath.toRadians(50.00)},
+            {FastMath.toRadians(180.), FastMath.toRadians(5.00)},
+            {FastMath.toRadians(225.), FastMath.toRadians(50.00)},
+            {FastMath.toRadians(270.), FastMath.toRadians(5.00)},
+            {FastMath.toRadians(315.), FastMath.toRadians(50.00)}
+        };
+        return new ElevationMask(mask);
+    }
+
+}
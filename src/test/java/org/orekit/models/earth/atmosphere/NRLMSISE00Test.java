@@ -16,9 +16,18 @@
  */
 package org.orekit.models.earth.atmosphere;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hipparchus.Field;
 import org.hipparchus.RealFieldElement;
@@ -857,6 +866,93 @@ public class NRLMSISE00Test {
 
     }
 
+    @Test
+    public void testConcurrentEvaluation() throws InterruptedException, ExecutionException {
+
+        final CountingInputParams ip = new CountingInputParams();
+        final PVCoordinatesProvider sun = CelestialBodyFactory.getSun();
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING, itrf);
+        final NRLMSISE00 atm = new NRLMSISE00(ip, sun, earth).withSwitch(9, -1);
+        final AbsoluteDate t0 = new AbsoluteDate(2003, 6, 21, 8, 0, 0.0, TimeScalesFactory.getUTC());
+
+        // sequential reference values, with 10 positions per date
+        final int nbDates     = 40;
+        final int nbPositions = 10;
+        final double[][] reference = new double[nbDates][nbPositions];
+        for (int i = 0; i < nbDates; ++i) {
+            for (int j = 0; j < nbPositions; ++j) {
+                reference[i][j] = atm.getDensity(t0.shiftedBy(600.0 * i), position(earth, i, j), itrf);
+            }
+        }
+
+        // date-dependent terms are computed only once per date
+        Assert.assertEquals(nbDates, ip.getApCalls());
+
+        // concurrent evaluations with a single model instance
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<double[]>> results = new ArrayList<>();
+        for (int i = 0; i < nbDates; ++i) {
+            final int dateIndex = i;
+            results.add(executor.submit(() -> {
+                final double[] densities = new double[nbPositions];
+                for (int j = 0; j < nbPositions; ++j) {
+                    densities[j] = atm.getDensity(t0.shiftedBy(600.0 * dateIndex),
+                                                  position(earth, dateIndex, j), itrf);
+                }
+                return densities;
+            }));
+        }
+        for (int i = 0; i < nbDates; ++i) {
+            final double[] densities = results.get(i).get();
+            for (int j = 0; j < nbPositions; ++j) {
+                Assert.assertEquals(reference[i][j], densities[j], 0.0);
+            }
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    }
+
+    @Test
+    public void testNoLeakOnPooledThreads() throws InterruptedException, ExecutionException {
+
+        final Frame itrf = FramesFactory.getITRF(IERSConventions.IERS_2010, true);
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING, itrf);
+        final AbsoluteDate date = new AbsoluteDate(2003, 6, 21, 8, 0, 0.0, TimeScalesFactory.getUTC());
+
+        // use a model on a pooled thread that outlives it
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final WeakReference<NRLMSISE00> reference = useOnThread(executor, earth, itrf, date);
+
+        // the thread work area must not keep the model reachable
+        for (int i = 0; i < 50 && reference.get() != null; ++i) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertNull(reference.get());
+
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    }
+
+    private WeakReference<NRLMSISE00> useOnThread(final ExecutorService executor, final OneAxisEllipsoid earth,
+                                                  final Frame itrf, final AbsoluteDate date)
+        throws InterruptedException, ExecutionException {
+        final NRLMSISE00 atm = new NRLMSISE00(new InputParams(), CelestialBodyFactory.getSun(), earth);
+        Assert.assertTrue(executor.submit(() -> atm.getDensity(date, position(earth, 0, 0), itrf)).get() > 0);
+        return new WeakReference<>(atm);
+    }
+
+    private Vector3D position(final OneAxisEllipsoid earth, final int i, final int j) {
+        return earth.transform(new GeodeticPoint(FastMath.toRadians(-80.0 + 4.0 * i),
+                                                 FastMath.toRadians(-170.0 + 36.0 * j),
+                                                 1000.0 * (100.0 + 10.0 * i + 40.0 * j)));
+    }
+
     @Before
     public void setUp() {
         Utils.setDataRoot("regular-data");
@@ -897,4 +993,23 @@ public class NRLMSISE00Test {
             return new double[] {4., 100., 100., 100., 100., 100., 100.};
         }
     }
+
+    private static class CountingInputParams extends InputParams {
+
+        private static final long serialVersionUID = 1L;
+
+        private final AtomicInteger apCalls = new AtomicInteger();
+
+        @Override
+        public double[] getAp(AbsoluteDate date) {
+            apCalls.incrementAndGet();
+            return super.getAp(date);
+        }
+
+        public int getApCalls() {
+            return apCalls.get();
+        }
+
+    }
+
 }
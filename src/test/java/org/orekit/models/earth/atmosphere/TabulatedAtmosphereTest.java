@@ -0,0 +1,255 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.atmosphere;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.Decimal64;
+import org.hipparchus.util.Decimal64Field;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.CelestialBodyFactory;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+import org.orekit.utils.PVCoordinatesProvider;
+
+public class TabulatedAtmosphereTest {
+
+    private OneAxisEllipsoid earth;
+    private PVCoordinatesProvider sun;
+    private CountingAtmosphere reference;
+    private AbsoluteDate start;
+
+    @Test
+    public void testAccuracy() {
+
+        final TabulatedAtmosphere tabulated = new TabulatedAtmosphere(reference, earth, sun,
+                                                                      150.0e3, 1000.0e3, 86,
+                                                                      48, 37, 1800.0, 1.0e-2);
+        final Frame          eme2000 = FramesFactory.getEME2000();
+        final RandomGenerator random  = new Well19937a(0x6b3a8c42e3d1f05fl);
+        double maxError = 0;
+        for (int i = 0; i < 5000; ++i) {
+            final AbsoluteDate  date  = start.shiftedBy(6.0 * i);
+            final GeodeticPoint point = new GeodeticPoint(FastMath.PI * (random.nextDouble() - 0.5),
+                                                          2 * FastMath.PI * random.nextDouble(),
+                                                          200.0e3 + 600.0e3 * random.nextDouble());
+            final Vector3D position = earth.getBodyFrame().getTransformTo(eme2000, date).
+                                      transformPosition(earth.transform(point));
+            final double rhoTab = tabulated.getDensity(date, position, eme2000);
+            final double rhoRef = reference.getDensity(date, position, eme2000);
+            maxError = FastMath.max(maxError, FastMath.abs(rhoTab - rhoRef) / rhoRef);
+        }
+
+        Assert.assertEquals(0.0, maxError, 1.0e-2);
+
+        // along a track, most calls do not use the underlying model
+        reference.reset();
+        for (int i = 0; i < 5000; ++i) {
+            final AbsoluteDate date = start.shiftedBy(6.0 * i);
+            final GeodeticPoint point = new GeodeticPoint(0.3, 1.2 + 7.0e-4 * i, 400.0e3);
+            tabulated.getDensity(date, earth.transform(point), earth.getBodyFrame());
+        }
+        Assert.assertTrue(reference.getCalls() < 1000);
+
+    }
+
+    @Test
+    public void testOutsideRange() {
+        final TabulatedAtmosphere tabulated = new TabulatedAtmosphere(reference, earth, sun,
+                                                                      200.0e3, 600.0e3, 41,
+                                                                      24, 19, 3600.0, 1.0e-3);
+        for (final double altitude : new double[] { 120.0e3, 800.0e3 }) {
+            final Vector3D position = earth.transform(new GeodeticPoint(0.5, 0.25, altitude));
+            Assert.assertEquals(reference.getDensity(start, position, earth.getBodyFrame()),
+                                tabulated.getDensity(start, position, earth.getBodyFrame()),
+                                1.0e-30);
+        }
+        Assert.assertSame(reference, tabulated.getAtmosphere());
+        Assert.assertSame(reference.getFrame(), tabulated.getFrame());
+    }
+
+    @Test
+    public void testField() {
+        final TabulatedAtmosphere tabulated = new TabulatedAtmosphere(reference, earth, sun,
+                                                                      150.0e3, 1000.0e3, 86,
+                                                                      48, 37, 1800.0, 1.0e-3);
+        final Frame eme2000 = FramesFactory.getEME2000();
+        for (int i = 0; i < 50; ++i) {
+            final AbsoluteDate date = start.shiftedBy(1234.0 * i);
+            final GeodeticPoint point = new GeodeticPoint(1.2 - 0.05 * i, 0.3 * i, 250.0e3 + 10.0e3 * i);
+            final Vector3D position = earth.getBodyFrame().getTransformTo(eme2000, date).
+                                      transformPosition(earth.transform(point));
+            final double rho = tabulated.getDensity(date, position, eme2000);
+            final Decimal64 rhoField =
+                            tabulated.getDensity(new FieldAbsoluteDate<>(Decimal64Field.getInstance(), date),
+                                                 new FieldVector3D<>(Decimal64Field.getInstance(), position),
+                                                 eme2000);
+            Assert.assertEquals(rho, rhoField.getReal(), 1.0e-10 * rho);
+        }
+    }
+
+    @Test
+    public void testTooFewNodes() {
+        try {
+            new TabulatedAtmosphere(reference, earth, sun, 150.0e3, 1000.0e3, 1, 48, 37, 1800.0, 1.0e-3);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(1, ((Integer) oiae.getParts()[0]).intValue());
+        }
+    }
+
+    @Test
+    public void testWrongAltitudeRange() {
+        try {
+            new TabulatedAtmosphere(reference, earth, sun, 1000.0e3, 150.0e3, 86, 48, 37, 1800.0, 1.0e-3);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+            Assert.assertEquals(150.0e3, ((Double) oiae.getParts()[0]).doubleValue(), 1.0e-10);
+            Assert.assertEquals(1000.0e3, ((Double) oiae.getParts()[1]).doubleValue(), 1.0e-10);
+        }
+    }
+
+    @Test
+    public void testWrongTimeStep() {
+        for (final double timeStep : new double[] { 0.0, -1800.0, Double.NaN }) {
+            try {
+                new TabulatedAtmosphere(reference, earth, sun, 150.0e3, 1000.0e3, 86, 48, 37, timeStep, 1.0e-3);
+                Assert.fail("an exception should have been thrown");
+            } catch (OrekitIllegalArgumentException oiae) {
+                Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+            }
+        }
+        try {
+            new TabulatedAtmosphere(reference, earth, sun, 150.0e3, 1000.0e3, 86, 48, 37, 43200.0, 1.0e-3);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_LARGE_BOUND_EXCLUDED, oiae.getSpecifier());
+            Assert.assertEquals(43200.0, ((Double) oiae.getParts()[0]).doubleValue(), 1.0e-10);
+        }
+    }
+
+    @Test
+    public void testWrongTolerance() {
+        for (final double tolerance : new double[] { 0.0, -1.0e-3, Double.NaN }) {
+            try {
+                new TabulatedAtmosphere(reference, earth, sun, 150.0e3, 1000.0e3, 86, 48, 37, 1800.0, tolerance);
+                Assert.fail("an exception should have been thrown");
+            } catch (OrekitIllegalArgumentException oiae) {
+                Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+            }
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     Constants.WGS84_EARTH_FLATTENING,
+                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        sun       = CelestialBodyFactory.getSun();
+        reference = new CountingAtmosphere(new NRLMSISE00(new InputParams(), sun, earth));
+        start     = new AbsoluteDate(2003, 6, 21, 8, 0, 0.0, TimeScalesFactory.getUTC());
+    }
+
+    private static class CountingAtmosphere implements Atmosphere {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Atmosphere atmosphere;
+        private int calls;
+
+        CountingAtmosphere(final Atmosphere atmosphere) {
+            this.atmosphere = atmosphere;
+        }
+
+        int getCalls() {
+            return calls;
+        }
+
+        void reset() {
+            calls = 0;
+        }
+
+        @Override
+        public Frame getFrame() {
+            return atmosphere.getFrame();
+        }
+
+        @Override
+        public double getDensity(AbsoluteDate date, Vector3D position, Frame frame) {
+            ++calls;
+            return atmosphere.getDensity(date, position, frame);
+        }
+
+        @Override
+        public <T extends RealFieldElement<T>> T getDensity(FieldAbsoluteDate<T> date,
+                                                                          FieldVector3D<T> position,
+                                                                          Frame frame) {
+            ++calls;
+            return atmosphere.getDensity(date, position, frame);
+        }
+
+    }
+
+    private static class InputParams implements NRLMSISE00InputParameters {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public AbsoluteDate getMinDate() {
+            return new AbsoluteDate(2003, 1, 1, TimeScalesFactory.getUTC());
+        }
+
+        @Override
+        public AbsoluteDate getMaxDate() {
+            return new AbsoluteDate(2003, 12, 31, TimeScalesFactory.getUTC());
+        }
+
+        @Override
+        public double getDailyFlux(AbsoluteDate date) {
+            return 150.;
+        }
+
+        @Override
+        public double getAverageFlux(AbsoluteDate date) {
+            return 150.;
+        }
+
+        @Override
+        public double[] getAp(AbsoluteDate date) {
+            return new double[] {4., 100., 100., 100., 100., 100., 100.};
+        }
+    }
+
+}
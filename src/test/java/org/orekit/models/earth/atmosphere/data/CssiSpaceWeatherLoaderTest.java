@@ -22,6 +22,12 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.orekit.OrekitMatchers.closeTo;
 import static org.orekit.OrekitMatchers.pvCloseTo;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
 import org.hipparchus.ode.ODEIntegrator;
 import org.hipparchus.ode.nonstiff.ClassicalRungeKuttaIntegrator;
 import org.hipparchus.util.FastMath;
@@ -32,6 +38,7 @@ import org.orekit.Utils;
 import org.orekit.bodies.CelestialBody;
 import org.orekit.bodies.CelestialBodyFactory;
 import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.data.DataContext;
 import org.orekit.errors.OrekitException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.forces.drag.DragForce;
@@ -43,6 +50,7 @@ import org.orekit.models.earth.atmosphere.DTM2000;
 import org.orekit.models.earth.atmosphere.DTM2000InputParameters;
 import org.orekit.models.earth.atmosphere.NRLMSISE00;
 import org.orekit.models.earth.atmosphere.NRLMSISE00InputParameters;
+import org.orekit.models.earth.atmosphere.data.CssiSpaceWeatherDataLoader.LineParameters;
 import org.orekit.orbits.KeplerianOrbit;
 import org.orekit.orbits.Orbit;
 import org.orekit.orbits.OrbitType;
@@ -53,6 +61,7 @@ import org.orekit.propagation.sampling.OrekitStepHandler;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.TimeScale;
 import org.orekit.time.TimeScalesFactory;
+import org.orekit.time.TimeStamped;
 import org.orekit.utils.Constants;
 import org.orekit.utils.IERSConventions;
 
@@ -251,6 +260,68 @@ public class CssiSpaceWeatherLoaderTest {
         assertThat(ap[4], closeTo(179, 1e-10));
     }
 
+    @Test
+    public void testApMemoIsolated() {
+        CssiSpaceWeatherData cswl = loadCswl();
+        AbsoluteDate date = new AbsoluteDate(2003, 10, 29, 23, 0, 0.0, utc);
+        final double[] ap1 = cswl.getAp(date);
+        ap1[0] = -1.0;
+        final double[] ap2 = cswl.getAp(date);
+        assertThat(ap2[0], closeTo(204, 1e-10));
+        assertThat(ap2[1], closeTo(300, 1e-10));
+    }
+
+    @Test
+    public void testConcurrentLookups() {
+        final CssiSpaceWeatherData reference = loadCswl();
+        final CssiSpaceWeatherData shared    = loadCswl();
+
+        // raw entries, for an independent linear search bracketing
+        final CssiSpaceWeatherDataLoader loader = new CssiSpaceWeatherDataLoader(utc);
+        DataContext.getDefault().getDataProvidersManager().feed("SpaceWeather-All-v1.2_snapshot_20200224.txt", loader);
+        final List<TimeStamped> entries = new ArrayList<>(loader.getDataSet());
+
+        // dates spanning observed, daily predicted and monthly predicted data, including leap seconds days
+        final AbsoluteDate start = reference.getMinDate().shiftedBy(3 * Constants.JULIAN_DAY);
+        final List<AbsoluteDate> dates = new ArrayList<>();
+        for (AbsoluteDate d = start; d.compareTo(reference.getMaxDate()) < 0; d = d.shiftedBy(0.937 * Constants.JULIAN_DAY)) {
+            dates.add(d);
+        }
+        Collections.shuffle(dates, new Random(0x4c1c8e3a5ba0a2d1L));
+        final double[][] expected = new double[dates.size()][];
+        for (int i = 0; i < dates.size(); ++i) {
+            final AbsoluteDate d = dates.get(i);
+            int k = 0;
+            while (entries.get(k + 1).getDate().compareTo(d) <= 0) {
+                ++k;
+            }
+            final LineParameters previous = (LineParameters) entries.get(k);
+            final LineParameters next     = (LineParameters) entries.get(k + 1);
+            final double  dt       = next.getDate().durationFrom(previous.getDate());
+            final double  wp       = next.getDate().durationFrom(d) / dt;
+            final double  wn       = d.durationFrom(previous.getDate()) / dt;
+            final boolean daily    = d.compareTo(loader.getLastDailyPredictedDate()) <= 0;
+            expected[i] = new double[] {
+                wp * previous.getF107Adj() + wn * next.getF107Adj(),
+                reference.getDailyFlux(d),
+                daily ? previous.getCtr81Adj() : wp * previous.getCtr81Adj() + wn * next.getCtr81Adj(),
+                reference.getThreeHourlyKP(d),
+                daily ? previous.getKpSum() / 8 : wp * previous.getKpSum() / 8 + wn * next.getKpSum() / 8,
+                reference.getAp(d)[6]
+            };
+        }
+
+        IntStream.range(0, dates.size()).parallel().forEach(i -> {
+            final AbsoluteDate d = dates.get(i);
+            Assert.assertEquals(expected[i][0], shared.getInstantFlux(d),   1.0e-10);
+            Assert.assertEquals(expected[i][1], shared.getDailyFlux(d),     0.0);
+            Assert.assertEquals(expected[i][2], shared.getAverageFlux(d),   1.0e-10);
+            Assert.assertEquals(expected[i][3], shared.getThreeHourlyKP(d), 0.0);
+            Assert.assertEquals(expected[i][4], shared.get24HoursKp(d),     1.0e-10);
+            Assert.assertEquals(expected[i][5], shared.getAp(d)[6],         0.0);
+        });
+    }
+
     /**
      * Check integration error is small when integrating the same equations over the same
      * interval.
@@ -25,6 +25,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.stream.IntStream;
 
 import org.hipparchus.ode.ODEIntegrator;
 import org.hipparchus.ode.nonstiff.ClassicalRungeKuttaIntegrator;
@@ -368,6 +369,27 @@ public class MarshallSolarActivityFutureEstimationTest {
 
     }
 
+    @Test
+    public void testConcurrentLazyLoading() {
+
+        // data is not loaded yet, all threads race to trigger loading
+        final MarshallSolarActivityFutureEstimation msafe =
+            new MarshallSolarActivityFutureEstimation(MarshallSolarActivityFutureEstimation.DEFAULT_SUPPORTED_NAMES,
+                                                      MarshallSolarActivityFutureEstimation.StrengthLevel.STRONG);
+
+        // reference values from the file entries at 2010-10-01 and 2010-11-01
+        final AbsoluteDate october  = new AbsoluteDate("2010-10-01", utc);
+        final AbsoluteDate november = new AbsoluteDate("2010-11-01", utc);
+        final double       span     = november.durationFrom(october);
+
+        IntStream.range(0, 1000).parallel().forEach(i -> {
+            final double       dt   = (i % 100) * span / 100;
+            final AbsoluteDate date = october.shiftedBy(dt);
+            Assert.assertEquals(94.2 + (99.0 - 94.2) * dt / span, msafe.getMeanFlux(date), 1.0e-10);
+        });
+
+    }
+
     private MarshallSolarActivityFutureEstimation loadMsafe(MarshallSolarActivityFutureEstimation.StrengthLevel strength)
         {
 
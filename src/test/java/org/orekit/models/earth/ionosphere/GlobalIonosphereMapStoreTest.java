@@ -0,0 +1,170 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.ionosphere;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.hipparchus.util.Decimal64;
+import org.hipparchus.util.Decimal64Field;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.data.DataContext;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.gnss.Frequency;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+
+public class GlobalIonosphereMapStoreTest {
+
+    private GlobalIonosphereMapStore store;
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data:ionex");
+        store = new GlobalIonosphereMapStore();
+        DataContext.getDefault().getDataProvidersManager().feed("gpsg0150.19i", store);
+    }
+
+    @Test
+    public void testDates() {
+        Assert.assertFalse(store.isEmpty());
+        Assert.assertTrue(new GlobalIonosphereMapStore().isEmpty());
+        Assert.assertEquals(new AbsoluteDate(2019, 1, 15, 0, 0, 0.0, TimeScalesFactory.getUTC()),
+                            store.getMinDate());
+        Assert.assertEquals(new AbsoluteDate(2019, 1, 16, 0, 0, 0.0, TimeScalesFactory.getUTC()),
+                            store.getMaxDate());
+    }
+
+    @Test
+    public void testSharedStoreMatchesSelfFeedingModels() {
+        final GlobalIonosphereMapModel shared = new GlobalIonosphereMapModel(store);
+        final double frequency = Frequency.G01.getMHzFrequency() * 1.0e6;
+        for (final GeodeticPoint station : stations()) {
+            final GlobalIonosphereMapModel single = new GlobalIonosphereMapModel("gpsg0150.19i");
+            for (double dt = 0; dt <= 86400; dt += 1234.5) {
+                final AbsoluteDate date = store.getMinDate().shiftedBy(dt);
+                Assert.assertEquals(single.getTEC(date, station), shared.getTEC(date, station), 1.0e-12);
+                Assert.assertEquals(single.getTEC(date, station),
+                                    store.getTEC(date, station.getLatitude(), station.getLongitude()),
+                                    1.0e-12);
+                Assert.assertEquals(single.pathDelay(date, station, 0.3, frequency),
+                                    shared.pathDelay(date, station, 0.3, frequency),
+                                    1.0e-12);
+                final FieldAbsoluteDate<Decimal64> fieldDate = new FieldAbsoluteDate<>(Decimal64Field.getInstance(), date);
+                Assert.assertEquals(shared.getTEC(date, station),
+                                    shared.getTEC(fieldDate, station).getReal(),
+                                    1.0e-12);
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentLookups() {
+        final List<GeodeticPoint> stations = stations();
+        final int nbDates = 200;
+        final double[][] serial = new double[stations.size()][nbDates];
+        for (int i = 0; i < stations.size(); ++i) {
+            for (int j = 0; j < nbDates; ++j) {
+                serial[i][j] = lookup(stations.get(i), j);
+            }
+        }
+        final double[][] parallel = new double[stations.size()][nbDates];
+        IntStream.range(0, stations.size() * nbDates).parallel().
+            forEach(k -> parallel[k / nbDates][k % nbDates] = lookup(stations.get(k / nbDates), k % nbDates));
+        for (int i = 0; i < stations.size(); ++i) {
+            Assert.assertArrayEquals(serial[i], parallel[i], 0.0);
+        }
+    }
+
+    @Test
+    public void testReloadReplacesMaps() {
+        final GeodeticPoint station = stations().get(0);
+        final AbsoluteDate  date    = store.getMinDate().shiftedBy(5000.0);
+        final double        before  = store.getTEC(date, station.getLatitude(), station.getLongitude());
+        DataContext.getDefault().getDataProvidersManager().feed("gpsg0150.19i", store);
+        Assert.assertEquals(before, store.getTEC(date, station.getLatitude(), station.getLongitude()), 0.0);
+        Assert.assertEquals(86400.0, store.getMaxDate().durationFrom(store.getMinDate()), 1.0e-10);
+    }
+
+    @Test
+    public void testOutOfRange() {
+        try {
+            store.getTEC(store.getMaxDate().shiftedBy(1.0), 0.0, 0.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.NO_TEC_DATA_IN_FILE_FOR_DATE, oe.getSpecifier());
+            Assert.assertTrue(((String) oe.getParts()[0]).endsWith("gpsg0150.19i"));
+        }
+    }
+
+    @Test
+    public void testLatitudeClamping() {
+        final AbsoluteDate date = store.getMinDate().shiftedBy(3600.0);
+        Assert.assertEquals(store.getTEC(date, FastMath.toRadians(87.5), 0.3),
+                            store.getTEC(date, FastMath.toRadians(89.9), 0.3),
+                            0.0);
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+
+        final GlobalIonosphereMapModel model = new GlobalIonosphereMapModel(store);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream    oos = new ObjectOutputStream(bos);
+        oos.writeObject(model);
+
+        ByteArrayInputStream     bis          = new ByteArrayInputStream(bos.toByteArray());
+        ObjectInputStream        ois          = new ObjectInputStream(bis);
+        GlobalIonosphereMapModel deserialized = (GlobalIonosphereMapModel) ois.readObject();
+
+        final GeodeticPoint station = stations().get(1);
+        for (double dt = 0; dt <= 86400; dt += 3600) {
+            final AbsoluteDate date = store.getMinDate().shiftedBy(dt);
+            Assert.assertEquals(model.getTEC(date, station), deserialized.getTEC(date, station), 1.0e-15);
+        }
+
+    }
+
+    private double lookup(final GeodeticPoint station, final int j) {
+        return store.getTEC(store.getMinDate().shiftedBy(j * 431.0), station.getLatitude(), station.getLongitude());
+    }
+
+    private List<GeodeticPoint> stations() {
+        final List<GeodeticPoint> stations = new ArrayList<>();
+        stations.add(new GeodeticPoint(FastMath.toRadians(30.0),  FastMath.toRadians(-130.0), 0.0));
+        stations.add(new GeodeticPoint(FastMath.toRadians(43.6),  FastMath.toRadians(1.44),   0.0));
+        stations.add(new GeodeticPoint(FastMath.toRadians(-33.9), FastMath.toRadians(151.2),  0.0));
+        stations.add(new GeodeticPoint(FastMath.toRadians(-77.8), FastMath.toRadians(166.7),  0.0));
+        stations.add(new GeodeticPoint(FastMath.toRadians(64.1),  FastMath.toRadians(-21.9),  0.0));
+        return stations;
+    }
+
+}
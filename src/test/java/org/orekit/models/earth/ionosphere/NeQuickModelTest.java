@@ -16,6 +16,14 @@
  */
 package org.orekit.models.earth.ionosphere;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.hipparchus.Field;
 import org.hipparchus.RealFieldElement;
 import org.hipparchus.geometry.euclidean.threed.FieldVector3D;
@@ -235,4 +243,39 @@ public class NeQuickModelTest {
         Assert.assertEquals(1.13, delay.getReal(), 0.01);
     }
 
+    @Test
+    public void testSharedAcrossThreadsAndMonths() throws InterruptedException, ExecutionException {
+
+        // Geodetic points
+        final GeodeticPoint recP = new GeodeticPoint(FastMath.toRadians(82.49), FastMath.toRadians(297.66), 78.11);
+        final GeodeticPoint satP = new GeodeticPoint(FastMath.toRadians(54.29), FastMath.toRadians(8.23), 20281546.18);
+
+        // reference values computed sequentially, one month after the other
+        final NeQuickModel sequential = new NeQuickModel(high);
+        final double[] reference = new double[12];
+        for (int month = 1; month <= 12; ++month) {
+            reference[month - 1] = sequential.stec(new AbsoluteDate(2018, month, 2, 0, 0, 0, TimeScalesFactory.getUTC()),
+                                                   recP, satP);
+        }
+        Assert.assertEquals(20.40, reference[3], 0.09);
+
+        // a single model shared by several threads working on different months
+        final NeQuickModel shared = new NeQuickModel(high);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<Double>> results = new ArrayList<>();
+        for (int i = 0; i < 48; ++i) {
+            final int month = 1 + (i * 5) % 12;
+            results.add(executor.submit(() -> shared.stec(new AbsoluteDate(2018, month, 2, 0, 0, 0,
+                                                                           TimeScalesFactory.getUTC()),
+                                                          recP, satP)));
+        }
+        for (int i = 0; i < results.size(); ++i) {
+            final int month = 1 + (i * 5) % 12;
+            Assert.assertEquals(reference[month - 1], results.get(i).get(), 1.0e-15 * reference[month - 1]);
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    }
+
 }
@@ -0,0 +1,226 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.tessellation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.attitudes.NadirPointing;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.frames.Transform;
+import org.orekit.geometry.fov.CircularFieldOfView;
+import org.orekit.geometry.fov.FieldOfView;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.events.VisibilityTrigger;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+public class CoverageComputerTest {
+
+    private OneAxisEllipsoid    earth;
+    private List<GeodeticPoint> grid;
+    private AbsoluteDate        start;
+
+    @Test
+    public void testElevationOnly() {
+        checkBruteForce(CoverageComputer.create(earth, grid).withMinElevation(FastMath.toRadians(10.0)));
+    }
+
+    @Test
+    public void testFieldOfView() {
+        final CoverageComputer computer =
+                        CoverageComputer.create(earth, grid).
+                        withFieldOfView(new CircularFieldOfView(Vector3D.PLUS_K, FastMath.toRadians(40.0), 0.0));
+        Assert.assertEquals(0.0, computer.getMinElevation(), 1.0e-15);
+        Assert.assertNotNull(computer.getFieldOfView());
+        Assert.assertEquals(grid.size(), computer.getPoints().size());
+        checkBruteForce(computer);
+    }
+
+    @Test
+    public void testWrongSettings() {
+        final CoverageComputer computer = CoverageComputer.create(earth, grid);
+        try {
+            computer.compute(buildConstellation(), start, start.shiftedBy(3600.0), 0.0, null);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oe.getSpecifier());
+        }
+        try {
+            computer.compute(buildConstellation(), start, start.shiftedBy(-3600.0), 60.0, null);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(LocalizedCoreFormats.ENDPOINTS_NOT_AN_INTERVAL, oe.getSpecifier());
+        }
+    }
+
+    private void checkBruteForce(final CoverageComputer computer) {
+
+        final double step = 60.0;
+        final AbsoluteDate end = start.shiftedBy(Constants.JULIAN_DAY);
+
+        // streamed access intervals
+        final int[]    streamed       = new int[grid.size()];
+        final double[] streamedAccess = new double[grid.size()];
+        final CoverageStatistics statistics =
+                        computer.compute(buildConstellation(), start, end, step,
+                                         (i, point, s, e) -> {
+                                             Assert.assertSame(grid.get(i), point);
+                                             Assert.assertTrue(e.durationFrom(s) >= 0);
+                                             ++streamed[i];
+                                             streamedAccess[i] += e.durationFrom(s);
+                                         });
+        Assert.assertEquals(start, statistics.getStart());
+        Assert.assertEquals(end,   statistics.getEnd());
+        Assert.assertEquals(grid.size(), statistics.getPoints().size());
+        Assert.assertEquals(1441, statistics.getSamplesNumber());
+
+        // brute force evaluation of coverage at all samples
+        final List<Propagator>       constellation = buildConstellation();
+        final List<TopocentricFrame> topos         = new ArrayList<>();
+        for (final GeodeticPoint point : grid) {
+            topos.add(new TopocentricFrame(earth, point, "p"));
+        }
+        final boolean[][] covered = new boolean[statistics.getSamplesNumber()][grid.size()];
+        for (int k = 0; k < covered.length; ++k) {
+            final AbsoluteDate date = start.shiftedBy(k * step);
+            for (final Propagator propagator : constellation) {
+                final SpacecraftState state = propagator.propagate(date);
+                final Transform bodyToSc = new Transform(date,
+                                                         earth.getBodyFrame().getTransformTo(state.getFrame(), date),
+                                                         state.toTransform());
+                final Vector3D satInBody = state.getFrame().getTransformTo(earth.getBodyFrame(), date).
+                                           transformPosition(state.getPVCoordinates().getPosition());
+                for (int i = 0; i < grid.size(); ++i) {
+                    final double elevation = topos.get(i).getElevation(satInBody, earth.getBodyFrame(), date);
+                    if (elevation > computer.getMinElevation()) {
+                        final FieldOfView fov = computer.getFieldOfView();
+                        if (fov == null ||
+                            fov.offsetFromBoundary(bodyToSc.transformPosition(earth.transform(grid.get(i))), 0.0,
+                                                   VisibilityTrigger.VISIBLE_ONLY_WHEN_FULLY_IN_FOV) < 0) {
+                            covered[k][i] = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        int nbPartial = 0;
+        for (int i = 0; i < grid.size(); ++i) {
+            int    nbCovered  = 0;
+            int    nbAccesses = 0;
+            int    nbGaps     = 0;
+            double maxGap     = 0;
+            double sumGaps    = 0;
+            double sumAccess  = 0;
+            int    last       = -1;
+            int    accessStart = -1;
+            for (int k = 0; k < covered.length; ++k) {
+                if (covered[k][i]) {
+                    ++nbCovered;
+                    if (k == 0 || !covered[k - 1][i]) {
+                        ++nbAccesses;
+                        accessStart = k;
+                        if (k > 0) {
+                            ++nbGaps;
+                            maxGap   = FastMath.max(maxGap, (k - FastMath.max(last, 0)) * step);
+                            sumGaps += (k - FastMath.max(last, 0)) * step;
+                        }
+                    }
+                    if (k == covered.length - 1 || !covered[k + 1][i]) {
+                        sumAccess += (k - accessStart) * step;
+                    }
+                    last = k;
+                }
+            }
+            if (last < covered.length - 1) {
+                ++nbGaps;
+                maxGap   = FastMath.max(maxGap, (covered.length - 1 - FastMath.max(last, 0)) * step);
+                sumGaps += (covered.length - 1 - FastMath.max(last, 0)) * step;
+            }
+            if (nbCovered > 0 && nbCovered < covered.length) {
+                ++nbPartial;
+            }
+            Assert.assertEquals(((double) nbCovered) / covered.length, statistics.getCoverageRatio(i), 1.0e-15);
+            Assert.assertEquals(nbAccesses, statistics.getAccessesNumber(i));
+            Assert.assertEquals(nbAccesses, streamed[i]);
+            Assert.assertEquals(nbGaps, statistics.getGapsNumber(i));
+            Assert.assertEquals(maxGap, statistics.getMaxGap(i), 1.0e-9);
+            Assert.assertEquals(sumGaps / nbGaps, statistics.getMeanGap(i), 1.0e-9);
+            Assert.assertEquals(sumAccess, streamedAccess[i], 1.0e-9);
+            Assert.assertEquals(statistics.getCoverageRatio(i), statistics.getCoverageRatios()[i], 1.0e-15);
+            Assert.assertEquals(statistics.getMaxGap(i), statistics.getMaxGaps()[i], 1.0e-15);
+            Assert.assertEquals(statistics.getMeanGap(i), statistics.getMeanGaps()[i], 1.0e-15);
+        }
+        Assert.assertEquals(grid.size(), nbPartial);
+        Assert.assertTrue(grid.size() > 300);
+
+    }
+
+    private List<Propagator> buildConstellation() {
+        final List<Propagator> constellation = new ArrayList<>();
+        for (int j = 0; j < 4; ++j) {
+            final KeplerianOrbit orbit =
+                            new KeplerianOrbit(Constants.WGS84_EARTH_EQUATORIAL_RADIUS + 700000.0, 0.001,
+                                               FastMath.toRadians(98.2), FastMath.toRadians(30.0),
+                                               FastMath.toRadians(45.0 * j), FastMath.toRadians(90.0 * j),
+                                               PositionAngle.MEAN, FramesFactory.getEME2000(), start,
+                                               Constants.EIGEN5C_EARTH_MU);
+            constellation.add(new KeplerianPropagator(orbit, new NadirPointing(orbit.getFrame(), earth)));
+        }
+        return constellation;
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                     Constants.WGS84_EARTH_FLATTENING,
+                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        start = new AbsoluteDate(2020, 6, 21, 0, 0, 0.0, TimeScalesFactory.getUTC());
+        final EllipsoidTessellator tessellator =
+                        new EllipsoidTessellator(earth, new ConstantAzimuthAiming(earth, 0.0), 4);
+        grid = new ArrayList<>();
+        for (final List<GeodeticPoint> part :
+            tessellator.sample(EllipsoidTessellator.buildSimpleZone(1.0e-10,
+                                                                    new double[] { FastMath.toRadians(42.0), FastMath.toRadians(-5.0) },
+                                                                    new double[] { FastMath.toRadians(42.0), FastMath.toRadians(8.0) },
+                                                                    new double[] { FastMath.toRadians(51.0), FastMath.toRadians(8.0) },
+                                                                    new double[] { FastMath.toRadians(51.0), FastMath.toRadians(-5.0) }),
+                               50000.0, 50000.0)) {
+            grid.addAll(part);
+        }
+    }
+
+}
@@ -128,6 +128,54 @@ public class EllipsoidTessellatorTest {
         Assert.assertEquals(9,   FastMath.min(samples.get(0).size(), samples.get(1).size()));
     }
 
+    @Test
+    public void testParallelTiles() {
+        final TileAiming aiming = new AlongTrackAiming(ellipsoid, orbit, true);
+        final EllipsoidTessellator sequential = new EllipsoidTessellator(ellipsoid, aiming, 4);
+        final EllipsoidTessellator parallel   = new EllipsoidTessellator(ellipsoid, aiming, 4, true);
+        Assert.assertFalse(sequential.isParallel());
+        Assert.assertTrue(parallel.isParallel());
+        final List<List<Tile>> sTiles = sequential.tessellate(buildFrance(), 50000.0, 150000.0, 5000.0, 5000.0,
+                                                              false, true);
+        final List<List<Tile>> pTiles = parallel.tessellate(buildFrance(), 50000.0, 150000.0, 5000.0, 5000.0,
+                                                            false, true);
+        // independent meshes are not returned in a specific order
+        sTiles.sort((l1, l2) -> Integer.compare(l1.size(), l2.size()));
+        pTiles.sort((l1, l2) -> Integer.compare(l1.size(), l2.size()));
+        Assert.assertEquals(sTiles.size(), pTiles.size());
+        for (int i = 0; i < sTiles.size(); ++i) {
+            Assert.assertEquals(sTiles.get(i).size(), pTiles.get(i).size());
+            for (int j = 0; j < sTiles.get(i).size(); ++j) {
+                for (int k = 0; k < 4; ++k) {
+                    final GeodeticPoint sp = sTiles.get(i).get(j).getVertices()[k];
+                    final GeodeticPoint pp = pTiles.get(i).get(j).getVertices()[k];
+                    Assert.assertEquals(sp.getLatitude(),  pp.getLatitude(),  0.0);
+                    Assert.assertEquals(sp.getLongitude(), pp.getLongitude(), 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParallelSample() {
+        final TileAiming aiming = new ConstantAzimuthAiming(ellipsoid, FastMath.toRadians(120));
+        final List<List<GeodeticPoint>> sSamples =
+                        new EllipsoidTessellator(ellipsoid, aiming, 4).sample(buildFrance(), 25000.0, 50000.0);
+        final List<List<GeodeticPoint>> pSamples =
+                        new EllipsoidTessellator(ellipsoid, aiming, 4, true).sample(buildFrance(), 25000.0, 50000.0);
+        // independent meshes are not returned in a specific order
+        sSamples.sort((l1, l2) -> Integer.compare(l1.size(), l2.size()));
+        pSamples.sort((l1, l2) -> Integer.compare(l1.size(), l2.size()));
+        Assert.assertEquals(sSamples.size(), pSamples.size());
+        for (int i = 0; i < sSamples.size(); ++i) {
+            Assert.assertEquals(sSamples.get(i).size(), pSamples.get(i).size());
+            for (int j = 0; j < sSamples.get(i).size(); ++j) {
+                Assert.assertEquals(sSamples.get(i).get(j).getLatitude(),  pSamples.get(i).get(j).getLatitude(),  0.0);
+                Assert.assertEquals(sSamples.get(i).get(j).getLongitude(), pSamples.get(i).get(j).getLongitude(), 0.0);
+            }
+        }
+    }
+
     @Test
     public void testTilesIslandJoining() {
         final EllipsoidTessellator tessellator =
@@ -0,0 +1,187 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.troposphere;
+
+import java.util.List;
+
+import org.hipparchus.RealFieldElement;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.FieldAbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.ParameterDriver;
+
+public class CachedTroposphericModelTest {
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data:potential/shm-format");
+    }
+
+    @Test
+    public void testViennaThree() {
+        final double[] a = {0.00123462, 0.00047101};
+        final double[] z = {2.1993, 0.0690};
+        final ViennaThreeModel model = new ViennaThreeModel(a, z, FastMath.toRadians(37.5), FastMath.toRadians(277.5));
+        final CachedTroposphericModel cached = new CachedTroposphericModel(model);
+        final AbsoluteDate date = new AbsoluteDate(2018, 11, 25, 10, 3, 27.0, TimeScalesFactory.getUTC());
+        checkAccuracy(model, cached, date, 824.0, 3.5e-5, 1.6e-5);
+    }
+
+    @Test
+    public void testSaastamoinen() {
+        final SaastamoinenModel model = SaastamoinenModel.getStandardModel();
+        final CachedTroposphericModel cached = new CachedTroposphericModel(model);
+        final AbsoluteDate date = new AbsoluteDate(2018, 11, 25, 10, 3, 27.0, TimeScalesFactory.getUTC());
+        checkAccuracy(model, cached, date, 350.0, 9.5e-4, 1.0e-15);
+    }
+
+    @Test
+    public void testLowElevation() {
+        final SaastamoinenModel model = SaastamoinenModel.getStandardModel();
+        final CachedTroposphericModel cached = new CachedTroposphericModel(model);
+        final AbsoluteDate date = new AbsoluteDate(2018, 11, 25, 10, 3, 27.0, TimeScalesFactory.getUTC());
+        final double elevation = FastMath.toRadians(1.5);
+        Assert.assertEquals(model.pathDelay(elevation, 350.0, model.getParameters(), date),
+                            cached.pathDelay(elevation, 350.0, cached.getParameters(), date),
+                            1.0e-15);
+        Assert.assertSame(model, cached.getModel());
+    }
+
+    @Test
+    public void testCaching() {
+        final CountingModel model = new CountingModel(SaastamoinenModel.getStandardModel());
+        final CachedTroposphericModel cached = new CachedTroposphericModel(model, 600.0, FastMath.toRadians(5.0), 20);
+        // time bins are aligned with the arbitrary epoch
+        final AbsoluteDate t0 = AbsoluteDate.ARBITRARY_EPOCH.shiftedBy(600.0 * 985000);
+
+        // a dense set of measurements in the same time bin needs only one table
+        for (int i = 0; i < 600; ++i) {
+            cached.pathDelay(FastMath.toRadians(10.0 + 0.1 * i), 350.0, cached.getParameters(), t0.shiftedBy(i));
+        }
+        final int callsPerTable = model.count;
+        Assert.assertEquals(1 + 2 * 20, callsPerTable);
+
+        // next time bin, different height and different parameters need new tables
+        cached.pathDelay(0.5, 350.0, cached.getParameters(), t0.shiftedBy(600.0));
+        Assert.assertEquals(2 * callsPerTable, model.count);
+        cached.pathDelay(0.5, 351.0, cached.getParameters(), t0.shiftedBy(600.0));
+        Assert.assertEquals(3 * callsPerTable, model.count);
+        cached.pathDelay(0.5, 351.0, new double[] { 1.0 }, t0.shiftedBy(600.0));
+        Assert.assertEquals(4 * callsPerTable, model.count);
+
+    }
+
+    @Test
+    public void testWrongSettings() {
+        final SaastamoinenModel model = SaastamoinenModel.getStandardModel();
+        try {
+            new CachedTroposphericModel(model, 0.0, 0.1, 20);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+        try {
+            new CachedTroposphericModel(model, 60.0, 2.0, 20);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.OUT_OF_RANGE_SIMPLE, oiae.getSpecifier());
+        }
+        try {
+            new CachedTroposphericModel(model, 60.0, 0.1, 2);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+    private void checkAccuracy(final DiscreteTroposphericModel model, final CachedTroposphericModel cached,
+                               final AbsoluteDate date, final double height,
+                               final double delayTolerance, final double mappingTolerance) {
+        double maxDelayError   = 0;
+        double maxMappingError = 0;
+        for (double e = CachedTroposphericModel.DEFAULT_MIN_ELEVATION; e <= 0.5 * FastMath.PI; e += 0.0013) {
+            final double   refDelay   = model.pathDelay(e, height, model.getParameters(), date);
+            final double[] refMapping = model.mappingFactors(e, height, model.getParameters(), date);
+            final double   delay      = cached.pathDelay(e, height, cached.getParameters(), date);
+            final double[] mapping    = cached.mappingFactors(e, height, cached.getParameters(), date);
+            maxDelayError   = FastMath.max(maxDelayError,   FastMath.abs(delay - refDelay));
+            maxMappingError = FastMath.max(maxMappingError, FastMath.abs(mapping[0] - refMapping[0]));
+            maxMappingError = FastMath.max(maxMappingError, FastMath.abs(mapping[1] - refMapping[1]));
+        }
+        Assert.assertEquals(0.0, maxDelayError,   delayTolerance);
+        Assert.assertEquals(0.0, maxMappingError, mappingTolerance);
+        final double[] refZenith = model.computeZenithDelay(height, model.getParameters(), date);
+        final double[] zenith    = cached.computeZenithDelay(height, cached.getParameters(), date);
+        Assert.assertEquals(refZenith[0], zenith[0], 1.0e-15);
+        Assert.assertEquals(refZenith[1], zenith[1], 1.0e-15);
+    }
+
+    /** Model counting calls to the double version of the wrapped model. */
+    private static class CountingModel implements DiscreteTroposphericModel {
+
+        private final DiscreteTroposphericModel model;
+        private int count;
+
+        CountingModel(final DiscreteTroposphericModel model) {
+            this.model = model;
+            this.count = 0;
+        }
+
+        public double pathDelay(double elevation, double height, double[] parameters, AbsoluteDate date) {
+            ++count;
+            return model.pathDelay(elevation, height, parameters, date);
+        }
+
+        public <T extends RealFieldElement<T>> T pathDelay(T elevation, T height, T[] parameters,
+                                                           FieldAbsoluteDate<T> date) {
+            return model.pathDelay(elevation, height, parameters, date);
+        }
+
+        public double[] computeZenithDelay(double height, double[] parameters, AbsoluteDate date) {
+            ++count;
+            return model.computeZenithDelay(height, parameters, date);
+        }
+
+        public <T extends RealFieldElement<T>> T[] computeZenithDelay(T height, T[] parameters,
+                                                                      FieldAbsoluteDate<T> date) {
+            return model.computeZenithDelay(height, parameters, date);
+        }
+
+        public double[] mappingFactors(double elevation, double height, double[] parameters, AbsoluteDate date) {
+            ++count;
+            return model.mappingFactors(elevation, height, parameters, date);
+        }
+
+        public <T extends RealFieldElement<T>> T[] mappingFactors(T elevation, T height, T[] parameters,
+                                                                  FieldAbsoluteDate<T> date) {
+            return model.mappingFactors(elevation, height, parameters, date);
+        }
+
+        public List<ParameterDriver> getParametersDrivers() {
+            return model.getParametersDrivers();
+        }
+
+    }
+
+}
@@ -0,0 +1,134 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.models.earth.weather;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.forces.gravity.potential.GRGSFormatReader;
+import org.orekit.forces.gravity.potential.GravityFieldFactory;
+import org.orekit.frames.FramesFactory;
+import org.orekit.models.earth.Geoid;
+import org.orekit.models.earth.ReferenceEllipsoid;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.IERSConventions;
+
+public class GlobalPressureTemperature2NetworkTest {
+
+    private GlobalPressureTemperature2Grid grid;
+    private Geoid geoid;
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[] heights;
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data:potential:gpt2-grid");
+        GravityFieldFactory.addPotentialCoefficientsReader(new GRGSFormatReader("grim4s4_gr", true));
+        grid  = new GlobalPressureTemperature2Grid("gpt2_15.grd");
+        geoid = new Geoid(GravityFieldFactory.getNormalizedProvider(12, 12),
+                          ReferenceEllipsoid.getWgs84(FramesFactory.getITRF(IERSConventions.IERS_2010, true)));
+        latitudes  = new double[] {
+            FastMath.toRadians(48.20), FastMath.toRadians(-33.9), FastMath.toRadians(64.1),
+            FastMath.toRadians(5.2),   FastMath.toRadians(-77.8), FastMath.toRadians(85.0)
+        };
+        longitudes = new double[] {
+            FastMath.toRadians(16.37), FastMath.toRadians(151.2), FastMath.toRadians(-21.9),
+            FastMath.toRadians(-52.8), FastMath.toRadians(166.7), FastMath.toRadians(359.0)
+        };
+        heights    = new double[] {
+            156.0, 40.0, 25.0, 10.0, 20.0, 2000.0
+        };
+    }
+
+    @Test
+    public void testGrid() {
+        Assert.assertEquals(12, grid.getLatitudeNodes());
+        Assert.assertEquals(24, grid.getLongitudeNodes());
+    }
+
+    @Test
+    public void testSameAsSingleStationModels() {
+        final GlobalPressureTemperature2Network network =
+                        new GlobalPressureTemperature2Network(grid, latitudes, longitudes, geoid);
+        Assert.assertEquals(latitudes.length, network.getStationsNumber());
+        final double[] parameters = new double[5 * latitudes.length];
+        for (int d = 0; d < 365; d += 29) {
+            final AbsoluteDate date = AbsoluteDate.createMJDDate(56141 + d, 3600.0 * (d % 24), TimeScalesFactory.getUTC());
+            network.weatherParameters(date, heights, parameters);
+            for (int k = 0; k < latitudes.length; ++k) {
+                final GlobalPressureTemperature2Model model =
+                                new GlobalPressureTemperature2Model(grid, latitudes[k], longitudes[k],
+                                                                    geoid, TimeScalesFactory.getUTC());
+                model.weatherParameters(heights[k], date);
+                Assert.assertEquals(model.getTemperature(),        parameters[5 * k],     1.0e-12);
+                Assert.assertEquals(model.getPressure(),           parameters[5 * k + 1], 1.0e-12);
+                Assert.assertEquals(model.getWaterVaporPressure(), parameters[5 * k + 2], 1.0e-12);
+                Assert.assertEquals(model.getA()[0],               parameters[5 * k + 3], 1.0e-15);
+                Assert.assertEquals(model.getA()[1],               parameters[5 * k + 4], 1.0e-15);
+            }
+        }
+    }
+
+    @Test
+    public void testParallelDates() {
+        final GlobalPressureTemperature2Network network =
+                        new GlobalPressureTemperature2Network(grid, latitudes, longitudes, geoid);
+        final AbsoluteDate[] dates = new AbsoluteDate[40];
+        for (int i = 0; i < dates.length; ++i) {
+            dates[i] = AbsoluteDate.createMJDDate(56141 + 9 * i, 0.0, TimeScalesFactory.getUTC());
+        }
+        final double[][] parallel = network.weatherParameters(dates, heights);
+        final double[]   serial   = new double[5 * latitudes.length];
+        for (int i = 0; i < dates.length; ++i) {
+            network.weatherParameters(dates[i], heights, serial);
+            Assert.assertArrayEquals(serial, parallel[i], 0.0);
+        }
+    }
+
+    @Test
+    public void testDimensionMismatch() {
+        final GlobalPressureTemperature2Network network =
+                        new GlobalPressureTemperature2Network(grid, latitudes, longitudes, geoid);
+        try {
+            network.weatherParameters(AbsoluteDate.J2000_EPOCH, heights, new double[7]);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+            Assert.assertEquals(7, ((Integer) oiae.getParts()[0]).intValue());
+            Assert.assertEquals(30, ((Integer) oiae.getParts()[1]).intValue());
+        }
+    }
+
+    @Test
+    public void testMissingGrid() {
+        try {
+            new GlobalPressureTemperature2Grid("gpt2_999.grd");
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(OrekitMessages.UNABLE_TO_FIND_FILE, oe.getSpecifier());
+        }
+    }
+
+}
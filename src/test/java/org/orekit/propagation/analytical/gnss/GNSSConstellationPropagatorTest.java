@@ -0,0 +1,284 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.analytical.gnss;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.gnss.GPSAlmanac;
+import org.orekit.gnss.SEMParser;
+import org.orekit.gnss.SatelliteSystem;
+import org.orekit.propagation.SpacecraftState;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.DateComponents;
+import org.orekit.time.GNSSDate;
+import org.orekit.utils.PVCoordinates;
+
+public class GNSSConstellationPropagatorTest {
+
+    private static List<AbstractGNSSPropagator> propagators;
+
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        Utils.setDataRoot("gnss");
+        GNSSDate.setRolloverReference(new DateComponents(DateComponents.GPS_EPOCH, 7 * 512));
+        // Get the parser to read a SEM file
+        SEMParser reader = new SEMParser(null);
+        reader.loadData();
+        propagators = new ArrayList<>();
+        for (final GPSAlmanac almanac : reader.getAlmanacs()) {
+            propagators.add(new GPSPropagator.Builder(almanac).build());
+        }
+        // add a Galileo satellite with non-zero harmonic corrections
+        final GalileoOrbitalElements goe =
+                        new GalileoEphemeris(4, 1024, 293400.0, 5440.602949142456,
+                                             3.7394414770330066E-9, 2.4088891223073006E-4, 0.9531656087278083,
+                                             -2.36081262303612E-10, -0.36639513583951266, -5.7695260382035525E-9,
+                                             -1.6870064194345724, -0.38716557650888, -8.903443813323975E-7,
+                                             6.61797821521759E-6, 194.0625, -18.78125,
+                                             3.166496753692627E-8, -1.862645149230957E-8);
+        propagators.add(new GalileoPropagator.Builder(goe).build());
+    }
+
+    @Test
+    public void testConsistencyWithSingleSatellite() {
+        final GNSSConstellationPropagator constellation = new GNSSConstellationPropagator(propagators);
+        Assert.assertEquals(propagators.size(), constellation.getSatellitesNumber());
+        Assert.assertEquals(propagators.size(), constellation.getPropagators().size());
+
+        final double[] pv    = new double[6 * constellation.getSatellitesNumber()];
+        final double[] clock = new double[constellation.getSatellitesNumber()];
+        final AbsoluteDate t0 = propagators.get(0).getOrbitalElements().getDate();
+        for (double dt = -86400; dt < 86400; dt += 600.0) {
+            final AbsoluteDate date = t0.shiftedBy(dt);
+            constellation.propagate(date, pv, clock);
+            for (int k = 0; k < propagators.size(); ++k) {
+                final PVCoordinates reference = propagators.get(k).propagateInEcef(date);
+                Assert.assertEquals(0.0,
+                                    Vector3D.distance(reference.getPosition(),
+                                                      new Vector3D(pv[6 * k], pv[6 * k + 1], pv[6 * k + 2])),
+                                    1.0e-7);
+                Assert.assertEquals(0.0,
+                                    Vector3D.distance(reference.getVelocity(),
+                                                      new Vector3D(pv[6 * k + 3], pv[6 * k + 4], pv[6 * k + 5])),
+                                    1.0e-10);
+            }
+        }
+    }
+
+    @Test
+    public void testClock() {
+        final GPSPropagator propagator = (GPSPropagator) propagators.get(0);
+        final GPSOrbitalElements orbit = (GPSOrbitalElements) propagator.getOrbitalElements();
+        propagator.addAdditionalStateProvider(new ClockCorrectionsProvider(orbit));
+        final GNSSConstellationPropagator constellation = new GNSSConstellationPropagator(propagators.subList(0, 1));
+        final double[] pv    = new double[6];
+        final double[] clock = new double[1];
+        for (double dt = 0; dt < 43200.0; dt += 300.0) {
+            final AbsoluteDate date = orbit.getDate().shiftedBy(dt);
+            final SpacecraftState state = propagator.propagate(date);
+            final double[] corrections = state.getAdditionalState(ClockCorrectionsProvider.CLOCK_CORRECTIONS);
+            constellation.propagate(date, pv, clock);
+            Assert.assertEquals(corrections[0] + corrections[1], clock[0], 1.0e-18);
+        }
+    }
+
+    @Test
+    public void testMultipleDates() {
+        final GNSSConstellationPropagator constellation = new GNSSConstellationPropagator(propagators);
+        final List<AbsoluteDate> dates = new ArrayList<>();
+        final AbsoluteDate t0 = propagators.get(0).getOrbitalElements().getDate();
+        for (int i = 0; i < 100; ++i) {
+            dates.add(t0.shiftedBy(30.0 * i));
+        }
+        final double[][] all = constellation.propagate(dates);
+        Assert.assertEquals(dates.size(), all.length);
+        final double[] single = new double[6 * propagators.size()];
+        for (int i = 0; i < dates.size(); ++i) {
+            constellation.propagate(dates.get(i), single, null);
+            Assert.assertArrayEquals(single, all[i], 0.0);
+        }
+    }
+
+    @Test
+    public void testWrongSize() {
+        final GNSSConstellationPropagator constellation = new GNSSConstellationPropagator(propagators);
+        try {
+            constellation.propagate(propagators.get(0).getOrbitalElements().getDate(),
+                                    new double[6 * propagators.size() - 1], null);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+        }
+    }
+
+
+    private static class GalileoEphemeris implements GalileoOrbitalElements {
+
+        private int satID;
+        private int week;
+        private double toe;
+        private double sma;
+        private double deltaN;
+        private double ecc;
+        private double inc;
+        private double iDot;
+        private double om0;
+        private double dom;
+        private double aop;
+        private double anom;
+        private double cuc;
+        private double cus;
+        private double crc;
+        private double crs;
+        private double cic;
+        private double cis;
+
+        /**
+         * Build a new instance.
+         */
+        public GalileoEphemeris(int satID, int week, double toe, double sqa,
+                                double deltaN, double ecc, double inc,
+                                double iDot, double om0, double dom, double aop,
+                                double anom, double cuc, double cus, double crc,
+                                double crs, double cic, double cis) {
+            this.satID = satID;
+            this.week = week;
+            this.toe = toe;
+            this.sma = sqa * sqa;
+            this.deltaN = deltaN;
+            this.ecc = ecc;
+            this.inc = inc;
+            this.iDot = iDot;
+            this.om0 = om0;
+            this.dom = dom;
+            this.aop = aop;
+            this.anom = anom;
+            this.cuc = cuc;
+            this.cus = cus;
+            this.crc = crc;
+            this.crs = crs;
+            this.cic = cic;
+            this.cis = cis;
+        }
+
+        @Override
+        public int getPRN() {
+            return satID;
+        }
+
+        @Override
+        public int getWeek() {
+            return week;
+        }
+
+        @Override
+        public double getTime() {
+            return toe;
+        }
+
+        @Override
+        public double getSma() {
+            return sma;
+        }
+
+        @Override
+        public double getMeanMotion() {
+            final double absA = FastMath.abs(sma);
+            return FastMath.sqrt(GALILEO_MU / absA) / absA + deltaN;
+        }
+
+        @Override
+        public double getE() {
+            return ecc;
+        }
+
+        @Override
+        public double getI0() {
+            return inc;
+        }
+
+        @Override
+        public double getIDot() {
+            return iDot;
+        }
+
+        @Override
+        public double getOmega0() {
+            return om0;
+        }
+
+        @Override
+        public double getOmegaDot() {
+            return dom;
+        }
+
+        @Override
+        public double getPa() {
+            return aop;
+        }
+
+        @Override
+        public double getM0() {
+            return anom;
+        }
+
+        @Override
+        public double getCuc() {
+            return cuc;
+        }
+
+        @Override
+        public double getCus() {
+            return cus;
+        }
+
+        @Override
+        public double getCrc() {
+            return crc;
+        }
+
+        @Override
+        public double getCrs() {
+            return crs;
+        }
+
+        @Override
+        public double getCic() {
+            return cic;
+        }
+
+        @Override
+        public double getCis() {
+            return cis;
+        }
+
+        @Override
+        public AbsoluteDate getDate() {
+            return new GNSSDate(week, toe * 1000., SatelliteSystem.GALILEO).getDate();
+        }
+    }
+
+}
@@ -0,0 +1,245 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.hipparchus.analysis.UnivariateFunction;
+import org.hipparchus.analysis.solvers.AllowedSolution;
+import org.hipparchus.analysis.solvers.BracketingNthOrderBrentSolver;
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.geometry.euclidean.threed.Rotation;
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.orbits.CartesianOrbit;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.events.ConjunctionScreener.Conjunction;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.PVCoordinates;
+
+public class ConjunctionScreenerTest {
+
+    private Frame        eme2000;
+    private AbsoluteDate start;
+
+    @Test
+    public void testCraftedConjunction() {
+        doTestCraftedConjunction(60.0);
+    }
+
+    @Test
+    public void testCraftedConjunctionLargeStep() {
+        // cubic Hermite interpolation error is several kilometers with this step
+        doTestCraftedConjunction(600.0);
+    }
+
+    @Test
+    public void testWrongSettings() {
+        try {
+            new ConjunctionScreener(-1.0, 60.0, 1000.0, Constants.EIGEN5C_EARTH_MU, false);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+        try {
+            new ConjunctionScreener(5000.0, 0.0, 1000.0, Constants.EIGEN5C_EARTH_MU, false);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+        try {
+            new ConjunctionScreener(5000.0, -60.0, 1000.0, Constants.EIGEN5C_EARTH_MU, false);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+        try {
+            new ConjunctionScreener(5000.0, 60.0, -1.0, Constants.EIGEN5C_EARTH_MU, false);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL, oiae.getSpecifier());
+        }
+    }
+
+    private void doTestCraftedConjunction(final double step) {
+
+        final KeplerianOrbit primary =
+                        new KeplerianOrbit(Constants.WGS84_EARTH_EQUATORIAL_RADIUS + 700000.0, 0.0,
+                                           FastMath.toRadians(98.2), 0.0, FastMath.toRadians(30.0), 0.0,
+                                           PositionAngle.MEAN, eme2000, start, Constants.EIGEN5C_EARTH_MU);
+        final Propagator primaryPropagator = new KeplerianPropagator(primary);
+
+        // secondary object crossing primary path 300m above it, with a 60° angle
+        final AbsoluteDate  tca = start.shiftedBy(4321.0);
+        final PVCoordinates pv  = primaryPropagator.getPVCoordinates(tca, eme2000);
+        final Vector3D      up  = pv.getPosition().normalize();
+        final PVCoordinates crossing =
+                        new PVCoordinates(pv.getPosition().add(300.0, up),
+                                          new Rotation(up, FastMath.toRadians(60.0), null).applyTo(pv.getVelocity()));
+        final Propagator secondaryPropagator =
+                        new KeplerianPropagator(new CartesianOrbit(crossing, eme2000, tca, Constants.EIGEN5C_EARTH_MU));
+
+        final List<Propagator> objects = new ArrayList<>();
+        objects.add(primaryPropagator);
+        objects.add(secondaryPropagator);
+        final ConjunctionScreener screener =
+                        new ConjunctionScreener(5000.0, step, 1000.0, Constants.EIGEN5C_EARTH_MU, false);
+        Assert.assertEquals(5000.0, screener.getThreshold(), 1.0e-15);
+        Assert.assertEquals(step,   screener.getStep(),      1.0e-15);
+        Assert.assertEquals(1000.0, screener.getPad(),       1.0e-15);
+        Assert.assertFalse(screener.isParallel());
+        final List<Conjunction> conjunctions = screener.screen(objects, eme2000, start, start.shiftedBy(10800.0));
+
+        // orbits have almost the same period, objects meet every half period,
+        // alternately at the crafted point and at the opposite point
+        Assert.assertEquals(4, conjunctions.size());
+        for (int k = 0; k < conjunctions.size(); ++k) {
+            final Conjunction conjunction = conjunctions.get(k);
+            Assert.assertEquals(0, conjunction.getPrimaryIndex());
+            Assert.assertEquals(1, conjunction.getSecondaryIndex());
+            Assert.assertEquals(pv.getVelocity().getNorm(), conjunction.getRelativeSpeed(), 1.0);
+            if (k > 0) {
+                Assert.assertEquals(0.5 * primary.getKeplerianPeriod(),
+                                    conjunction.getTCA().durationFrom(conjunctions.get(k - 1).getTCA()),
+                                    1.0);
+            }
+        }
+        final Conjunction crafted = conjunctions.get(1);
+        Assert.assertEquals(0.0, crafted.getTCA().durationFrom(tca), 1.0e-3);
+        Assert.assertEquals(300.0, crafted.getMissDistance(), 0.01);
+        Assert.assertEquals(pv.getVelocity().getNorm(), crafted.getRelativeSpeed(), 0.1);
+
+    }
+
+    @Test
+    public void testSameAsBruteForce() {
+
+        // small catalog with crossing orbits in the same altitude band
+        final Random random = new Random(0x7a2c85fe4d1b3936L);
+        final List<Propagator> objects = new ArrayList<>();
+        for (int i = 0; i < 120; ++i) {
+            final KeplerianOrbit orbit =
+                            new KeplerianOrbit(Constants.WGS84_EARTH_EQUATORIAL_RADIUS + 750000.0 + 50000.0 * random.nextDouble(),
+                                               0.01 * random.nextDouble(),
+                                               FastMath.toRadians(180.0 * random.nextDouble()),
+                                               2 * FastMath.PI * random.nextDouble(),
+                                               2 * FastMath.PI * random.nextDouble(),
+                                               2 * FastMath.PI * random.nextDouble(),
+                                               PositionAngle.MEAN, eme2000, start, Constants.EIGEN5C_EARTH_MU);
+            objects.add(new KeplerianPropagator(orbit));
+        }
+
+        final double       threshold = 20000.0;
+        final double       step      = 60.0;
+        final AbsoluteDate end       = start.shiftedBy(21600.0);
+        final List<Conjunction> expected = bruteForce(objects, threshold, step, end);
+        Assert.assertTrue(expected.size() > 20);
+
+        for (final boolean parallel : new boolean[] { false, true }) {
+            final List<Conjunction> conjunctions =
+                            new ConjunctionScreener(threshold, step, 1000.0, Constants.EIGEN5C_EARTH_MU, parallel).
+                            screen(objects, eme2000, start, end);
+            Assert.assertEquals(expected.size(), conjunctions.size());
+            for (final Conjunction e : expected) {
+                boolean found = false;
+                for (final Conjunction c : conjunctions) {
+                    if (c.getPrimaryIndex() == e.getPrimaryIndex() &&
+                        c.getSecondaryIndex() == e.getSecondaryIndex() &&
+                        FastMath.abs(c.getTCA().durationFrom(e.getTCA())) < 1.0e-3) {
+                        Assert.assertEquals(e.getMissDistance(),  c.getMissDistance(),  1.0e-3);
+                        Assert.assertEquals(e.getRelativeSpeed(), c.getRelativeSpeed(), 1.0e-3);
+                        found = true;
+                    }
+                }
+                Assert.assertTrue(found);
+            }
+            for (int k = 1; k < conjunctions.size(); ++k) {
+                Assert.assertTrue(conjunctions.get(k).getTCA().compareTo(conjunctions.get(k - 1).getTCA()) >= 0);
+            }
+        }
+
+    }
+
+    private List<Conjunction> bruteForce(final List<Propagator> objects, final double threshold,
+                                         final double step, final AbsoluteDate end) {
+        final BracketingNthOrderBrentSolver solver = new BracketingNthOrderBrentSolver(0, 1.0e-6, 0, 5);
+        final List<Conjunction> conjunctions = new ArrayList<>();
+        final int n = (int) FastMath.ceil(end.durationFrom(start) / step);
+
+        // sample all objects
+        final PVCoordinates[][] samples = new PVCoordinates[n + 1][objects.size()];
+        for (int k = 0; k <= n; ++k) {
+            final AbsoluteDate date = k == n ? end : start.shiftedBy(k * step);
+            for (int i = 0; i < objects.size(); ++i) {
+                samples[k][i] = objects.get(i).getPVCoordinates(date, eme2000);
+            }
+        }
+
+        for (int i = 0; i < objects.size(); ++i) {
+            for (int j = i + 1; j < objects.size(); ++j) {
+                final Propagator pi = objects.get(i);
+                final Propagator pj = objects.get(j);
+                final UnivariateFunction g = dt -> {
+                    final PVCoordinates rel = new PVCoordinates(pi.getPVCoordinates(start.shiftedBy(dt), eme2000),
+                                                                pj.getPVCoordinates(start.shiftedBy(dt), eme2000));
+                    return rel.getPosition().dotProduct(rel.getVelocity());
+                };
+                for (int k = 1; k <= n; ++k) {
+                    final PVCoordinates rel0 = new PVCoordinates(samples[k - 1][i], samples[k - 1][j]);
+                    final PVCoordinates rel1 = new PVCoordinates(samples[k][i], samples[k][j]);
+                    if (rel0.getPosition().dotProduct(rel0.getVelocity()) < 0 &&
+                        rel1.getPosition().dotProduct(rel1.getVelocity()) >= 0) {
+                        final double t0 = (k - 1) * step;
+                        final double t1 = FastMath.min(k * step, end.durationFrom(start));
+                        final AbsoluteDate tca =
+                                        start.shiftedBy(solver.solve(1000, g, t0, t1, AllowedSolution.ANY_SIDE));
+                        final PVCoordinates rel = new PVCoordinates(pi.getPVCoordinates(tca, eme2000),
+                                                                    pj.getPVCoordinates(tca, eme2000));
+                        if (rel.getPosition().getNorm() <= threshold) {
+                            conjunctions.add(new Conjunction(i, j, tca,
+                                                             rel.getPosition().getNorm(),
+                                                             rel.getVelocity().getNorm()));
+                        }
+                    }
+                }
+            }
+        }
+        return conjunctions;
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        eme2000 = FramesFactory.getEME2000();
+        start   = new AbsoluteDate(2020, 6, 21, 0, 0, 0.0, TimeScalesFactory.getUTC());
+    }
+
+}
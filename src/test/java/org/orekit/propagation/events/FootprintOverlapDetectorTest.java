@@ -145,6 +145,62 @@ public class FootprintOverlapDetectorTest {
 
     }
 
+    @Test
+    public void testRightForwardViewWithCells() {
+
+        propagator.setAttitudeProvider(new LofOffset(initialOrbit.getFrame(), LOFType.VVLH,
+                                                      RotationOrder.XYZ,
+                                                      FastMath.toRadians(-20.0),
+                                                      FastMath.toRadians(+20.0),
+                                                      0.0));
+
+        final SphericalPolygonsSet france = buildFrance();
+        final FieldOfView fov = new PolygonalFieldOfView(Vector3D.PLUS_K,
+                                                         DefiningConeType.INSIDE_CONE_TOUCHING_POLYGON_AT_EDGES_MIDDLE,
+                                                         Vector3D.PLUS_I,
+                                                         FastMath.toRadians(2.5), 4, 0.0);
+        final FootprintOverlapDetector plain =
+                new FootprintOverlapDetector(fov, earth, france, 50000.0).
+                withMaxCheck(1.0).
+                withThreshold(1.0e-6).
+                withHandler(new ContinueOnEvent<FootprintOverlapDetector>());
+        final FootprintOverlapDetector cells = plain.withGridCellSize(200000.0);
+        Assert.assertTrue(Double.isNaN(plain.getGridCellSize()));
+        Assert.assertEquals(200000.0, cells.getGridCellSize(), 1.0e-15);
+        Assert.assertTrue(Double.isNaN(cells.withGridCellSize(-1.0).getGridCellSize()));
+
+        final EventsLogger plainLogger = new EventsLogger();
+        final EventsLogger cellsLogger = new EventsLogger();
+        propagator.addEventDetector(plainLogger.monitorDetector(plain));
+        propagator.addEventDetector(cellsLogger.monitorDetector(cells));
+        propagator.setMasterMode(60.0, (state, isLast) -> {
+            final double gp = plain.g(state);
+            final double gc = cells.g(state);
+            Assert.assertEquals(FastMath.signum(gp), FastMath.signum(gc), 0.0);
+            if (gp <= 0) {
+                // inside, all cells are visited
+                Assert.assertEquals(gp, gc, 0.0);
+            } else {
+                // outside, skipping cells may only provide a larger (but still positive) value
+                Assert.assertTrue(gc >= gp);
+            }
+        });
+
+        propagator.propagate(initialOrbit.getDate().shiftedBy(635000),
+                             initialOrbit.getDate().shiftedBy(735000));
+
+        final List<LoggedEvent> plainEvents = plainLogger.getLoggedEvents();
+        final List<LoggedEvent> cellsEvents = cellsLogger.getLoggedEvents();
+        Assert.assertEquals(8, cellsEvents.size());
+        for (int i = 0; i < plainEvents.size(); ++i) {
+            Assert.assertEquals(plainEvents.get(i).isIncreasing(), cellsEvents.get(i).isIncreasing());
+            Assert.assertEquals(0.0,
+                                cellsEvents.get(i).getState().getDate().durationFrom(plainEvents.get(i).getState().getDate()),
+                                1.0e-6);
+        }
+
+    }
+
     @Test
     public void testSampleAroundPoleDeprecated() throws NoSuchFieldException, IllegalAccessException {
         S2Point[] polygon = new S2Point[] {
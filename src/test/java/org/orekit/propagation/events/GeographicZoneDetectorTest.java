@@ -33,6 +33,7 @@ import org.orekit.orbits.EquinoctialOrbit;
 import org.orekit.orbits.Orbit;
 import org.orekit.propagation.Propagator;
 import org.orekit.propagation.analytical.EcksteinHechlerPropagator;
+import org.orekit.propagation.events.EventsLogger.LoggedEvent;
 import org.orekit.propagation.events.handlers.ContinueOnEvent;
 import org.orekit.time.AbsoluteDate;
 import org.orekit.time.TimeScale;
@@ -85,6 +86,90 @@ public class GeographicZoneDetectorTest {
 
     }
 
+    @Test
+    public void testFranceWithGrid() {
+
+        final BodyShape earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                     Constants.WGS84_EARTH_FLATTENING,
+                                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+
+        GeographicZoneDetector exact =
+                new GeographicZoneDetector(20.0, 1.e-3, earth, buildFrance(), FastMath.toRadians(0.5)).
+                withHandler(new ContinueOnEvent<GeographicZoneDetector>());
+        GeographicZoneDetector gridded = exact.withGridCellSize(FastMath.toRadians(0.25));
+        Assert.assertTrue(Double.isNaN(exact.getGridCellSize()));
+        Assert.assertEquals(0.25, FastMath.toDegrees(gridded.getGridCellSize()), 1.0e-15);
+        Assert.assertTrue(Double.isNaN(gridded.withGridCellSize(0.0).getGridCellSize()));
+
+        final TimeScale utc = TimeScalesFactory.getUTC();
+        final Vector3D position = new Vector3D(-6142438.668, 3492467.56, -25767.257);
+        final Vector3D velocity = new Vector3D(505.848, 942.781, 7435.922);
+        final AbsoluteDate date = new AbsoluteDate(2003, 9, 16, utc);
+        final Orbit orbit = new EquinoctialOrbit(new PVCoordinates(position,  velocity),
+                                                 FramesFactory.getEME2000(), date,
+                                                 Constants.EIGEN5C_EARTH_MU);
+
+        Propagator propagator =
+            new EcksteinHechlerPropagator(orbit,
+                                          Constants.EIGEN5C_EARTH_EQUATORIAL_RADIUS,
+                                          Constants.EIGEN5C_EARTH_MU,
+                                          Constants.EIGEN5C_EARTH_C20,
+                                          Constants.EIGEN5C_EARTH_C30,
+                                          Constants.EIGEN5C_EARTH_C40,
+                                          Constants.EIGEN5C_EARTH_C50,
+                                          Constants.EIGEN5C_EARTH_C60);
+
+        EventsLogger exactLogger   = new EventsLogger();
+        EventsLogger griddedLogger = new EventsLogger();
+        propagator.addEventDetector(exactLogger.monitorDetector(exact));
+        propagator.addEventDetector(griddedLogger.monitorDetector(gridded));
+        propagator.setMasterMode(10.0, (state, isLast) -> {
+            final double ge = exact.g(state);
+            final double gg = gridded.g(state);
+            Assert.assertEquals(FastMath.signum(ge), FastMath.signum(gg), 0.0);
+            if (FastMath.abs(ge) < FastMath.toRadians(0.01)) {
+                // close to boundary, the grid uses exact computation
+                Assert.assertEquals(ge, gg, 0.0);
+            }
+        });
+
+        propagator.propagate(date.shiftedBy(10 * Constants.JULIAN_DAY));
+        // fixed steps split the propagation differently than in testFrance,
+        // hence an additional pair of close events is found
+        Assert.assertEquals(28, exactLogger.getLoggedEvents().size());
+        Assert.assertEquals(28, griddedLogger.getLoggedEvents().size());
+        for (int i = 0; i < exactLogger.getLoggedEvents().size(); ++i) {
+            final LoggedEvent e = exactLogger.getLoggedEvents().get(i);
+            final LoggedEvent g = griddedLogger.getLoggedEvents().get(i);
+            Assert.assertEquals(e.isIncreasing(), g.isIncreasing());
+            Assert.assertEquals(0.0, g.getState().getDate().durationFrom(e.getState().getDate()), 1.0e-3);
+        }
+
+    }
+
+    @Test
+    public void testGridAroundPole() {
+
+        final BodyShape earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                     Constants.WGS84_EARTH_FLATTENING,
+                                                     FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        final SphericalPolygonsSet polar = new SphericalPolygonsSet(1.e-9,
+                                                                    new S2Point(FastMath.toRadians(-120.0), FastMath.toRadians(15.0)),
+                                                                    new S2Point(FastMath.toRadians(   0.0), FastMath.toRadians(15.0)),
+                                                                    new S2Point(FastMath.toRadians( 120.0), FastMath.toRadians(15.0)));
+        final GeographicZoneGrid grid = new GeographicZoneGrid(polar, polar.getEnclosingCap(), FastMath.toRadians(1.0));
+        for (double lat = 60.0; lat <= 90.0; lat += 0.73) {
+            for (double lon = -180.0; lon < 540.0; lon += 1.37) {
+                final double exact = polar.projectToBoundary(new S2Point(FastMath.toRadians(lon),
+                                                                         FastMath.toRadians(90.0 - lat))).getOffset();
+                final double fast  = grid.offset(FastMath.toRadians(lat), FastMath.toRadians(lon), 0.0);
+                Assert.assertEquals(FastMath.signum(exact), FastMath.signum(fast), 0.0);
+                Assert.assertEquals(exact, fast, FastMath.toRadians(1.0));
+            }
+        }
+
+    }
+
     private SphericalPolygonsSet buildFrance() {
 
         final SphericalPolygonsSet continental = buildSimpleZone(new double[][] {
@@ -0,0 +1,203 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.propagation.events;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.errors.OrekitMessages;
+import org.orekit.frames.Frame;
+import org.orekit.frames.FramesFactory;
+import org.orekit.frames.TopocentricFrame;
+import org.orekit.orbits.KeplerianOrbit;
+import org.orekit.orbits.PositionAngle;
+import org.orekit.propagation.Propagator;
+import org.orekit.propagation.analytical.KeplerianPropagator;
+import org.orekit.propagation.events.EventsLogger.LoggedEvent;
+import org.orekit.propagation.events.handlers.ContinueOnEvent;
+import org.orekit.time.AbsoluteDate;
+import org.orekit.time.TimeScalesFactory;
+import org.orekit.utils.Constants;
+import org.orekit.utils.IERSConventions;
+
+public class GroundVisibilityComputerTest {
+
+    private OneAxisEllipsoid earth;
+    private Frame            eme2000;
+    private AbsoluteDate     start;
+
+    @Test
+    public void testSameAsElevationDetectors() {
+
+        // stations network, including stations close to poles and to the date line
+        final List<TopocentricFrame> stations = new ArrayList<>();
+        for (double lat = -80; lat <= 80; lat += 20) {
+            for (double lon = -180; lon < 180; lon += 45) {
+                stations.add(new TopocentricFrame(earth,
+                                                  new GeodeticPoint(FastMath.toRadians(lat + 3 * FastMath.sin(FastMath.toRadians(lon))),
+                                                                    FastMath.toRadians(lon + 7),
+                                                                    100 * FastMath.abs(lat)),
+                                                  "station-" + lat + "-" + lon));
+            }
+        }
+        stations.add(new TopocentricFrame(earth, new GeodeticPoint(FastMath.toRadians(89.9), 0.0, 0.0), "north"));
+        stations.add(new TopocentricFrame(earth, new GeodeticPoint(FastMath.toRadians(-89.9), 0.0, 0.0), "south"));
+
+        // satellites in various orbits
+        final List<Propagator> satellites = new ArrayList<>();
+        satellites.add(new KeplerianPropagator(new KeplerianOrbit(7078000.0, 0.001, FastMath.toRadians(98.2), 0.1, 0.2, 0.3,
+                                                                  PositionAngle.MEAN, eme2000, start, Constants.EIGEN5C_EARTH_MU)));
+        satellites.add(new KeplerianPropagator(new KeplerianOrbit(7578000.0, 0.02, FastMath.toRadians(51.6), 1.1, 2.2, 3.3,
+                                                                  PositionAngle.MEAN, eme2000, start, Constants.EIGEN5C_EARTH_MU)));
+        satellites.add(new KeplerianPropagator(new KeplerianOrbit(26560000.0, 0.01, FastMath.toRadians(55.0), 4.0, 5.0, 6.0,
+                                                                  PositionAngle.MEAN, eme2000, start, Constants.EIGEN5C_EARTH_MU)));
+
+        final double minElevation = FastMath.toRadians(5.0);
+        final double step         = 60.0;
+        final double threshold    = 1.0e-3;
+        final AbsoluteDate end    = start.shiftedBy(6 * Constants.JULIAN_DAY / 24);
+
+        final GroundVisibilityComputer computer = new GroundVisibilityComputer(stations, minElevation);
+        Assert.assertEquals(stations.size(), computer.getStations().size());
+        Assert.assertEquals(minElevation, computer.getMinElevation(), 1.0e-15);
+        final List<GroundVisibilityComputer.Pass> passes =
+                        computer.compute(satellites, eme2000, start, end, step, threshold);
+
+        // passes are sorted chronologically
+        for (int k = 1; k < passes.size(); ++k) {
+            Assert.assertTrue(passes.get(k).getStart().compareTo(passes.get(k - 1).getStart()) >= 0);
+        }
+
+        // compare with one elevation detector per pair
+        int nbPasses = 0;
+        for (int j = 0; j < satellites.size(); ++j) {
+            for (int i = 0; i < stations.size(); ++i) {
+
+                final List<GroundVisibilityComputer.Pass> pairPasses = new ArrayList<>();
+                for (final GroundVisibilityComputer.Pass pass : passes) {
+                    if (pass.getSatelliteIndex() == j && pass.getStationIndex() == i) {
+                        Assert.assertSame(stations.get(i), pass.getStation());
+                        Assert.assertTrue(pass.getDuration() > 0);
+                        pairPasses.add(pass);
+                    }
+                }
+
+                final ElevationDetector detector = new ElevationDetector(step, threshold, stations.get(i)).
+                                                   withConstantElevation(minElevation).
+                                                   withHandler(new ContinueOnEvent<>());
+                final EventsLogger logger = new EventsLogger();
+                final Propagator propagator = new KeplerianPropagator(satellites.get(j).getInitialState().getOrbit());
+                propagator.addEventDetector(logger.monitorDetector(detector));
+                propagator.propagate(start, end);
+
+                final List<AbsoluteDate> rises = new ArrayList<>();
+                final List<AbsoluteDate> sets  = new ArrayList<>();
+                if (detector.g(satellites.get(j).propagate(start)) > 0) {
+                    rises.add(start);
+                }
+                for (final LoggedEvent event : logger.getLoggedEvents()) {
+                    (event.isIncreasing() ? rises : sets).add(event.getState().getDate());
+                }
+                if (sets.size() < rises.size()) {
+                    sets.add(end);
+                }
+
+                Assert.assertEquals(rises.size(), pairPasses.size());
+                for (int k = 0; k < rises.size(); ++k) {
+                    Assert.assertEquals(0.0, pairPasses.get(k).getStart().durationFrom(rises.get(k)), 2 * threshold);
+                    Assert.assertEquals(0.0, pairPasses.get(k).getEnd().durationFrom(sets.get(k)),    2 * threshold);
+                }
+                nbPasses += pairPasses.size();
+
+            }
+        }
+        Assert.assertEquals(passes.size(), nbPasses);
+        Assert.assertTrue(nbPasses > 100);
+
+    }
+
+    @Test
+    public void testNoStations() {
+        try {
+            new GroundVisibilityComputer(new ArrayList<>(), 0.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(LocalizedCoreFormats.NO_DATA, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testWrongSettings() {
+        final List<TopocentricFrame> stations = new ArrayList<>();
+        stations.add(new TopocentricFrame(earth, new GeodeticPoint(0.1, 0.2, 0.0), "station"));
+        final GroundVisibilityComputer computer = new GroundVisibilityComputer(stations, 0.0);
+        final List<Propagator> satellites = new ArrayList<>();
+        satellites.add(new KeplerianPropagator(new KeplerianOrbit(7078000.0, 0.001, FastMath.toRadians(98.2), 0.1, 0.2, 0.3,
+                                                                  PositionAngle.MEAN, eme2000, start, Constants.EIGEN5C_EARTH_MU)));
+        for (final double step : new double[] { 0.0, -60.0, Double.NaN, Double.POSITIVE_INFINITY }) {
+            try {
+                computer.compute(satellites, eme2000, start, start.shiftedBy(3600.0), step, 1.0e-3);
+                Assert.fail("an exception should have been thrown");
+            } catch (OrekitException oe) {
+                Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oe.getSpecifier());
+            }
+        }
+        try {
+            computer.compute(satellites, eme2000, start, start.shiftedBy(-3600.0), 60.0, 1.0e-3);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitException oe) {
+            Assert.assertEquals(LocalizedCoreFormats.ENDPOINTS_NOT_AN_INTERVAL, oe.getSpecifier());
+        }
+    }
+
+    @Test
+    public void testDifferentBodyFrames() {
+        final OneAxisEllipsoid other = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING,
+                                                            FramesFactory.getGTOD(IERSConventions.IERS_2010, true));
+        final List<TopocentricFrame> stations = new ArrayList<>();
+        stations.add(new TopocentricFrame(earth, new GeodeticPoint(0.1, 0.2, 0.0), "first"));
+        stations.add(new TopocentricFrame(other, new GeodeticPoint(0.3, 0.4, 0.0), "second"));
+        try {
+            new GroundVisibilityComputer(stations, 0.0);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(OrekitMessages.FRAMES_MISMATCH, oiae.getSpecifier());
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        earth   = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                       Constants.WGS84_EARTH_FLATTENING,
+                                       FramesFactory.getITRF(IERSConventions.IERS_2010, true));
+        eme2000 = FramesFactory.getEME2000();
+        start   = new AbsoluteDate(2012, 5, 3, 12, 0, 0.0, TimeScalesFactory.getUTC());
+    }
+
+}
@@ -0,0 +1,191 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.time;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.hipparchus.exception.LocalizedCoreFormats;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.orekit.Utils;
+import org.orekit.errors.OrekitIllegalArgumentException;
+import org.orekit.utils.Constants;
+
+public class AbsoluteDateArrayTest {
+
+    @Test
+    public void testRegularSampling() {
+        final AbsoluteDate start = new AbsoluteDate(2010, 3, 4, 5, 6, 7.123456789, utc);
+        final AbsoluteDateArray array = AbsoluteDateArray.regularSampling(start, 0.1, 100000);
+        Assert.assertEquals(100000, array.size());
+        Assert.assertTrue(array.isChronological());
+        for (int i = 0; i < array.size(); ++i) {
+            final AbsoluteDate expected = start.shiftedBy(i * 0.1);
+            Assert.assertEquals(expected, array.get(i));
+            Assert.assertEquals(expected.durationFrom(start), array.durationFrom(i, start), 0.0);
+        }
+        Assert.assertFalse(AbsoluteDateArray.regularSampling(start, -1.0, 3).isChronological());
+    }
+
+    @Test
+    public void testFromDates() {
+        final RandomGenerator random = new Well19937a(0x2b8f6e1c3d4a5079l);
+        final List<AbsoluteDate> dates = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            dates.add(AbsoluteDate.J2000_EPOCH.shiftedBy((random.nextDouble() - 0.5) * 1.0e9));
+        }
+        final AbsoluteDateArray array = new AbsoluteDateArray(dates);
+        Assert.assertEquals(dates, array.asList());
+        Assert.assertEquals(dates.size(), array.asList().size());
+        try {
+            array.asList().set(0, AbsoluteDate.J2000_EPOCH);
+            Assert.fail("an exception should have been thrown");
+        } catch (UnsupportedOperationException uoe) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testDurationsAndShifts() {
+        final RandomGenerator random = new Well19937a(0x6a1f3e5d7c9b2048l);
+        final AbsoluteDate reference = new AbsoluteDate(2000, 1, 1, utc);
+        final double[] durations = new double[5000];
+        for (int i = 0; i < durations.length; ++i) {
+            durations[i] = (random.nextDouble() - 0.5) * 1.0e9;
+        }
+        final AbsoluteDateArray array = AbsoluteDateArray.fromDurations(reference, durations);
+
+        final AbsoluteDate other = new AbsoluteDate(1987, 6, 5, 4, 3, 2.1, utc);
+        final double[] fromOther = array.durationFrom(other);
+        final double[] shifts = new double[durations.length];
+        for (int i = 0; i < shifts.length; ++i) {
+            shifts[i] = random.nextDouble() * 1.0e-3;
+        }
+        final AbsoluteDateArray shifted1 = array.shiftedBy(0.123456789);
+        final AbsoluteDateArray shifted2 = array.shiftedBy(shifts);
+        for (int i = 0; i < durations.length; ++i) {
+            final AbsoluteDate date = reference.shiftedBy(durations[i]);
+            Assert.assertEquals(date, array.get(i));
+            Assert.assertEquals(date.durationFrom(other), fromOther[i], 0.0);
+            Assert.assertEquals(date.shiftedBy(0.123456789), shifted1.get(i));
+            Assert.assertEquals(date.shiftedBy(shifts[i]), shifted2.get(i));
+        }
+
+        try {
+            array.durationFrom(other, new double[durations.length - 1]);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+        }
+        try {
+            array.shiftedBy(new double[3]);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+        }
+
+        final AbsoluteDateArray infinite =
+                AbsoluteDateArray.fromDurations(reference, new double[] { Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY });
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, infinite.durationFrom(0, reference), 1.0);
+        Assert.assertEquals(Double.POSITIVE_INFINITY, infinite.durationFrom(1, reference), 1.0);
+        Assert.assertTrue(infinite.isChronological());
+
+    }
+
+    @Test
+    public void testBinarySearch() {
+        final AbsoluteDate start = new AbsoluteDate(2010, 3, 4, utc);
+        final AbsoluteDateArray array = AbsoluteDateArray.regularSampling(start, 60.0, 1000);
+        Assert.assertEquals(0,     array.binarySearch(start));
+        Assert.assertEquals(999,   array.binarySearch(start.shiftedBy(999 * 60.0)));
+        Assert.assertEquals(-1,    array.binarySearch(start.shiftedBy(-1.0e-9)));
+        Assert.assertEquals(-2,    array.binarySearch(start.shiftedBy(1.0e-9)));
+        Assert.assertEquals(-1001, array.binarySearch(start.shiftedBy(1.0e6)));
+        for (int i = 0; i < array.size(); ++i) {
+            Assert.assertEquals(i, array.binarySearch(start.shiftedBy(i * 60.0)));
+            Assert.assertEquals(-(i + 2), array.binarySearch(start.shiftedBy(i * 60.0 + 30.0)));
+        }
+        Assert.assertEquals(-1, new AbsoluteDateArray(new ArrayList<AbsoluteDate>()).binarySearch(start));
+    }
+
+    @Test
+    public void testOffsetsFromTAI() {
+        final AbsoluteDateArray array =
+                AbsoluteDateArray.regularSampling(new AbsoluteDate(1960, 1, 1, utc), 0.37 * Constants.JULIAN_DAY, 60000);
+        for (final TimeScale scale : new TimeScale[] { utc, TimeScalesFactory.getGLONASS(), TimeScalesFactory.getTT() }) {
+            final double[] offsets = array.offsetsFromTAI(scale);
+            for (int i = 0; i < array.size(); ++i) {
+                Assert.assertEquals(scale.offsetFromTAI(array.get(i)), offsets[i], 0.0);
+                if (i % 997 == 0) {
+                    Assert.assertEquals(array.get(i).getComponents(scale), array.getComponents(i, scale));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSelector() {
+        final AbsoluteDate start = new AbsoluteDate(2010, 3, 4, utc);
+        final AbsoluteDateArray array =
+                new AbsoluteDateArray(Arrays.asList(start, start.shiftedBy(10.0), start.shiftedBy(10.0),
+                                                    start.shiftedBy(20.0), start.shiftedBy(30.0), start.shiftedBy(40.0)));
+
+        // forward selection with shared boundaries, dates at boundaries must be selected only once
+        final DatesSelector forward = array.getSelector();
+        final List<AbsoluteDate> selected = new ArrayList<>();
+        for (double t = -5.0; t < 50.0; t += 10.0) {
+            selected.addAll(forward.selectDates(start.shiftedBy(t), start.shiftedBy(t + 10.0)));
+        }
+        Assert.assertEquals(array.asList(), selected);
+        final DatesSelector boundaries = array.getSelector();
+        selected.clear();
+        for (double t = 0.0; t < 50.0; t += 10.0) {
+            selected.addAll(boundaries.selectDates(start.shiftedBy(t), start.shiftedBy(t + 10.0)));
+        }
+        Assert.assertEquals(array.asList(), selected);
+
+        // backward selection
+        final DatesSelector backward = array.getSelector();
+        selected.clear();
+        for (double t = 40.0; t > -10.0; t -= 20.0) {
+            selected.addAll(backward.selectDates(start.shiftedBy(t), start.shiftedBy(t - 20.0)));
+        }
+        final List<AbsoluteDate> reversed = new ArrayList<>(array.asList());
+        Collections.reverse(reversed);
+        Assert.assertEquals(reversed, selected);
+
+        // empty intervals
+        Assert.assertTrue(array.getSelector().selectDates(start.shiftedBy(1.0), start.shiftedBy(9.0)).isEmpty());
+        Assert.assertTrue(array.getSelector().selectDates(start.shiftedBy(50.0), start.shiftedBy(60.0)).isEmpty());
+
+    }
+
+    @Before
+    public void setUp() {
+        Utils.setDataRoot("regular-data");
+        utc = TimeScalesFactory.getUTC();
+    }
+
+    private TimeScale utc;
+
+}
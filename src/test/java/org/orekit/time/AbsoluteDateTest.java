@@ -25,7 +25,9 @@ import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
 
@@ -1283,6 +1285,41 @@ public class AbsoluteDateTest {
         }
     }
 
+    @Test
+    public void testParseDatesColumn() {
+        final List<String> lines = Arrays.asList("  1 2015-06-30T23:59:59.500 data",
+                                                 "  2 2015-06-30T23:59:60.250 data",
+                                                 "  3 2015-181T23:59:60.75000 data",
+                                                 "  4 2015-07-01T00:00:00.000 data");
+        final AbsoluteDate[] dates = AbsoluteDate.parseDates(lines, 4, 27, utc);
+        Assert.assertEquals(4, dates.length);
+        final AbsoluteDate first = new AbsoluteDate(2015, 6, 30, 23, 59, 59.5, utc);
+        Assert.assertEquals(first, dates[0]);
+        Assert.assertEquals(0.75, dates[1].durationFrom(first), 1.0e-15);
+        Assert.assertEquals(1.25, dates[2].durationFrom(first), 1.0e-15);
+        Assert.assertEquals(1.50, dates[3].durationFrom(first), 1.0e-15);
+
+        final AbsoluteDate[] whole = AbsoluteDate.parseDates(Arrays.asList("2015-06-30T23:59:60.250",
+                                                                           new StringBuilder("2015-07-01")),
+                                                             0, -1, utc);
+        Assert.assertEquals(dates[1], whole[0]);
+        Assert.assertEquals(dates[3], whole[1]);
+    }
+
+    @Test
+    public void testAppendTo() {
+        final StringBuilder builder = new StringBuilder();
+        final AbsoluteDate inLeap = new AbsoluteDate(2015, 6, 30, 23, 59, 60.9996, utc);
+        for (final AbsoluteDate date : new AbsoluteDate[] { present, inLeap, inLeap.shiftedBy(1.0) }) {
+            date.appendTo(builder, utc).append('|');
+        }
+        Assert.assertEquals(present.toString(utc) + '|' + inLeap.toString(utc) + '|' +
+                            inLeap.shiftedBy(1.0).toString(utc) + '|',
+                            builder.toString());
+        Assert.assertEquals("2000-01-01T12:00:00.000|2015-07-01T00:00:00.000|2015-07-01T00:00:01.000|",
+                            builder.toString());
+    }
+
     @Before
     public void setUp() {
         Utils.setDataRoot("regular-data");
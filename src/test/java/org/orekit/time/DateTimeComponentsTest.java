@@ -17,8 +17,12 @@
 package org.orekit.time;
 
 
+import java.util.Locale;
+
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.MatcherAssert;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
 import org.hipparchus.util.FastMath;
 import org.junit.Assert;
 import org.junit.Test;
@@ -151,4 +155,46 @@ public class DateTimeComponentsTest {
         MatcherAssert.assertThat(actual.toStringRfc3339(), CoreMatchers.is(expected));
     }
 
+
+    @Test
+    public void testFastPathParsing() {
+        final RandomGenerator random = new Well19937a(0x4be2f7c1d09a6385l);
+        for (int i = 0; i < 20000; ++i) {
+            final DateComponents date = new DateComponents(DateComponents.J2000_EPOCH,
+                                                           random.nextInt(200 * 366) - 100 * 366);
+            final double second = FastMath.rint(random.nextDouble() * 60e6) / 1.0e6;
+            final TimeComponents time = new TimeComponents(random.nextInt(24), random.nextInt(60), second);
+            final String seconds  = String.format(Locale.US, "%09.6f", second);
+            final String calendar = String.format(Locale.US, "%04d-%02d-%02dT%02d:%02d:%s",
+                                                  date.getYear(), date.getMonth(), date.getDay(),
+                                                  time.getHour(), time.getMinute(), seconds);
+            final String ordinal  = String.format(Locale.US, "%04d-%03dT%02d:%02d:%sZ",
+                                                  date.getYear(), date.getDayOfYear(),
+                                                  time.getHour(), time.getMinute(), seconds);
+            for (final String location : new String[] { calendar, ordinal }) {
+                final String line = "   " + location + "   ";
+                final DateTimeComponents parsed = DateTimeComponents.parseDateTime(line, 3, line.length() - 3);
+                Assert.assertEquals(date, parsed.getDate());
+                Assert.assertEquals(time.getHour(),   parsed.getTime().getHour());
+                Assert.assertEquals(time.getMinute(), parsed.getTime().getMinute());
+                Assert.assertEquals(Double.parseDouble(seconds), parsed.getTime().getSecond(), 0.0);
+                Assert.assertEquals(parsed, DateTimeComponents.parseDateTime(location));
+            }
+        }
+        Assert.assertEquals(new DateTimeComponents(2003, 4, 5, 0, 0, 0.0),
+                            DateTimeComponents.parseDateTime("xx2003-04-05yy", 2, 12));
+        Assert.assertEquals(new DateTimeComponents(-5, 4, 5, 1, 2, 3.0),
+                            DateTimeComponents.parseDateTime("-0005-04-05T01:02:03"));
+    }
+
+    @Test
+    public void testAppendTo() {
+        final StringBuilder builder = new StringBuilder("dates:");
+        new DateTimeComponents(2005, 12, 31, 23, 59, 59.9996).appendTo(builder.append(' '), 60);
+        new DateTimeComponents(2005, 12, 31, 23, 59, 59.9996).appendTo(builder.append(' '), 61);
+        new DateTimeComponents(-1, 1, 1, 0, 0, 0.0).appendTo(builder.append(' '), 60);
+        Assert.assertEquals("dates: 2006-01-01T00:00:00.000 2005-12-31T23:59:60.000 -0001-01-01T00:00:00.000",
+                            builder.toString());
+    }
+
 }
@@ -17,8 +17,14 @@
 package org.orekit.time;
 
 
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.MatcherAssert;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
 import org.hipparchus.util.FastMath;
 import org.junit.Assert;
 import org.junit.Test;
@@ -337,4 +343,81 @@ public class TimeComponentsTest {
         MatcherAssert.assertThat(tc.getSecond(), CoreMatchers.is(second));
     }
 
+
+    @Test
+    public void testFastPathParsing() {
+        final RandomGenerator random = new Well19937a(0x6d4d1c7b2b53f8e1l);
+        for (int i = 0; i < 20000; ++i) {
+            final int hour   = random.nextInt(24);
+            final int minute = random.nextInt(60);
+            final StringBuilder secondsBuilder = new StringBuilder();
+            secondsBuilder.append(random.nextInt(6)).append(random.nextInt(10));
+            final int n = random.nextInt(20);
+            if (n > 0) {
+                secondsBuilder.append('.');
+                for (int k = 0; k < n; ++k) {
+                    secondsBuilder.append(random.nextInt(10));
+                }
+            }
+            final String seconds  = secondsBuilder.toString();
+            final String location = String.format("%02d:%02d:%s", hour, minute, seconds);
+            final double expected = Double.parseDouble(seconds);
+            for (final String variant : new String[] { location, location + "Z", location.replace('.', ',') }) {
+                // embed the time in a larger sequence, to check ranges are properly handled
+                final StringBuilder line = new StringBuilder("xxT").append(variant).append(" tail");
+                final TimeComponents time = TimeComponents.parseTime(line, 3, 3 + variant.length());
+                Assert.assertEquals(hour,     time.getHour());
+                Assert.assertEquals(minute,   time.getMinute());
+                Assert.assertEquals(expected, time.getSecond(), 0.0);
+                Assert.assertEquals(0,        time.getMinutesFromUTC());
+                Assert.assertEquals(time, TimeComponents.parseTime(variant));
+            }
+        }
+    }
+
+    @Test
+    public void testFastPathFallback() {
+        // these formats are not handled by the fast path
+        Assert.assertEquals(new TimeComponents(12, 34, 56.0, 90),  TimeComponents.parseTime("12:34:56+01:30"));
+        Assert.assertEquals(new TimeComponents(12, 34, 56.5, -60), TimeComponents.parseTime("12:34:56.5-01"));
+        Assert.assertEquals(new TimeComponents(12, 34, 56.25),     TimeComponents.parseTime("123456.25"));
+        Assert.assertEquals(new TimeComponents(12, 34, 0.0),       TimeComponents.parseTime("12:34"));
+        for (final String wrong : new String[] { "12:34:56.", "12:34:5a", "1a:34:56", "12:34:56ZZ", "12:34:56.5Y" }) {
+            try {
+                TimeComponents.parseTime(wrong);
+                Assert.fail("an exception should have been thrown");
+            } catch (OrekitIllegalArgumentException oiae) {
+                Assert.assertEquals(OrekitMessages.NON_EXISTENT_TIME, oiae.getSpecifier());
+                Assert.assertEquals(wrong, oiae.getParts()[0]);
+            }
+        }
+    }
+
+    @Test
+    public void testFormatSameAsDecimalFormat() {
+        final DecimalFormat reference = new DecimalFormat("00.000", new DecimalFormatSymbols(Locale.US));
+        final RandomGenerator random = new Well19937a(0x1f5e4c8a93b72d60l);
+        // 0.0005 is not checked here, as its binary representation is slightly above
+        // the tie and should be rounded to 0.001, but some JDK versions format it as 0.000
+        final double[] special = {
+            0.0, 0.0015, 0.0025, 0.0625, 0.1875, 1.0005, 1.0625, 12.0005, 59.9994999, 59.9995, 60.9995
+        };
+        for (int i = 0; i < 200000 + special.length; ++i) {
+            final double second;
+            if (i < special.length) {
+                second = special[i];
+            } else if (i % 3 == 0) {
+                // exact ties in binary
+                second = (8 + random.nextInt(61 * 16000 - 8)) / 16000.0;
+            } else {
+                second = 61 * random.nextDouble();
+            }
+            final TimeComponents time = new TimeComponents(random.nextInt(24), random.nextInt(60), second);
+            final String expected = String.format("%02d:%02d:", time.getHour(), time.getMinute()) +
+                                    reference.format(second);
+            Assert.assertEquals(expected, time.toString());
+            Assert.assertEquals(expected, time.appendTo(new StringBuilder()).toString());
+        }
+    }
+
 }
@@ -30,6 +30,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import org.hipparchus.exception.LocalizedCoreFormats;
 import org.hipparchus.random.RandomGenerator;
 import org.hipparchus.random.Well1024a;
 import org.hipparchus.util.Decimal64Field;
@@ -40,6 +41,7 @@ import org.junit.Test;
 import org.orekit.OrekitMatchers;
 import org.orekit.Utils;
 import org.orekit.errors.OrekitException;
+import org.orekit.errors.OrekitIllegalArgumentException;
 import org.orekit.errors.OrekitMessages;
 import org.orekit.utils.Constants;
 
@@ -366,6 +368,122 @@ public class UTCScaleTest {
 
     }
 
+    @Test
+    public void testLookupOrderIndependence() {
+
+        // dates spanning all leaps, including leaps starts and dates within leaps
+        RandomGenerator random = new Well1024a(0x5ee1e5a4c1a69b4fl);
+        List<AbsoluteDate> dates = new ArrayList<>();
+        AbsoluteDate reference = utc.getFirstKnownLeapSecond().shiftedBy(-Constants.JULIAN_YEAR);
+        double testRange = utc.getLastKnownLeapSecond().durationFrom(reference) + Constants.JULIAN_YEAR;
+        for (int i = 0; i < 5000; ++i) {
+            dates.add(reference.shiftedBy(random.nextDouble() * testRange));
+        }
+        for (int year = 1961; year < 2017; ++year) {
+            for (final int month : new int[] { 1, 7 }) {
+                final AbsoluteDate start = new AbsoluteDate(year, month, 1, TimeScalesFactory.getTAI());
+                for (double dt = -60; dt < 60; dt += 0.25) {
+                    dates.add(start.shiftedBy(dt));
+                }
+            }
+        }
+        Collections.sort(dates);
+
+        // sorted lookups
+        final double[]  sortedOffsets = new double[dates.size()];
+        final double[]  sortedLeaps   = new double[dates.size()];
+        final boolean[] sortedInside  = new boolean[dates.size()];
+        for (int i = 0; i < dates.size(); ++i) {
+            sortedOffsets[i] = utc.offsetFromTAI(dates.get(i));
+            sortedLeaps[i]   = utc.getLeap(dates.get(i));
+            sortedInside[i]  = utc.insideLeap(dates.get(i));
+        }
+
+        // lookups in random order must give exactly the same results
+        for (int k = 0; k < 3 * dates.size(); ++k) {
+            final int i = random.nextInt(dates.size());
+            Assert.assertEquals(sortedOffsets[i], utc.offsetFromTAI(dates.get(i)), 0.0);
+            Assert.assertEquals(sortedLeaps[i],   utc.getLeap(dates.get(i)),      0.0);
+            Assert.assertEquals(sortedInside[i],  utc.insideLeap(dates.get(i)));
+        }
+
+        // reversed lookups, also using the components-based method
+        for (int i = dates.size() - 1; i >= 0; --i) {
+            Assert.assertEquals(sortedOffsets[i], utc.offsetFromTAI(dates.get(i)), 0.0);
+            final DateTimeComponents components = dates.get(i).getComponents(utc);
+            Assert.assertEquals(0.0, new AbsoluteDate(components, utc).durationFrom(dates.get(i)), 1.0e-7);
+        }
+
+    }
+
+    @Test
+    public void testBulkOffsets() {
+
+        RandomGenerator random = new Well1024a(0x3ea5c2f5a6b7e91dl);
+        AbsoluteDate reference = new AbsoluteDate(1970, 1, 1, utc);
+        double[] durations = new double[20000];
+        for (int i = 0; i < durations.length - 2; ++i) {
+            durations[i] = random.nextDouble() * 50 * Constants.JULIAN_YEAR - 10 * Constants.JULIAN_YEAR;
+        }
+        durations[durations.length - 2] = Double.NEGATIVE_INFINITY;
+        durations[durations.length - 1] = Double.POSITIVE_INFINITY;
+        double[] offsets = new double[durations.length];
+        utc.offsetsFromTAI(reference, durations, offsets);
+        for (int i = 0; i < durations.length; ++i) {
+            Assert.assertEquals(utc.offsetFromTAI(reference.shiftedBy(durations[i])), offsets[i], 0.0);
+        }
+
+        // in place conversion
+        double[] inPlace = durations.clone();
+        utc.offsetsFromTAI(reference, inPlace, inPlace);
+        Assert.assertArrayEquals(offsets, inPlace, 0.0);
+
+        try {
+            utc.offsetsFromTAI(reference, durations, new double[durations.length - 1]);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+        }
+
+    }
+
+    @Test
+    public void testBulkTicks() {
+
+        RandomGenerator random = new Well1024a(0x7f1c94d2e05b8a36l);
+        AbsoluteDate reference = new AbsoluteDate(2000, 1, 1, utc);
+        final long microsPerSecond = 1000000l;
+        long[] ticks = new long[20000];
+        for (int i = 0; i < ticks.length; ++i) {
+            // dates from 1980 to 2020, with one microsecond resolution
+            ticks[i] = (long) ((random.nextDouble() * 40 - 20) * Constants.JULIAN_YEAR) * microsPerSecond +
+                       random.nextInt((int) microsPerSecond);
+        }
+        double[] offsets = new double[ticks.length];
+        utc.offsetsFromTAI(reference, ticks, microsPerSecond, offsets);
+        for (int i = 0; i < ticks.length; ++i) {
+            final long seconds   = Math.floorDiv(ticks[i], microsPerSecond);
+            final long remaining = Math.floorMod(ticks[i], microsPerSecond);
+            final AbsoluteDate date = reference.shiftedBy(seconds).shiftedBy(remaining * 1.0e-6);
+            Assert.assertEquals(utc.offsetFromTAI(date), offsets[i], 0.0);
+        }
+
+        try {
+            utc.offsetsFromTAI(reference, ticks, 0l, offsets);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.NUMBER_TOO_SMALL_BOUND_EXCLUDED, oiae.getSpecifier());
+        }
+
+        try {
+            utc.offsetsFromTAI(reference, ticks, microsPerSecond, new double[1]);
+            Assert.fail("an exception should have been thrown");
+        } catch (OrekitIllegalArgumentException oiae) {
+            Assert.assertEquals(LocalizedCoreFormats.DIMENSIONS_MISMATCH, oiae.getSpecifier());
+        }
+
+    }
+
     @Test
     public void testIssue89() {
         AbsoluteDate firstDayLastLeap = utc.getLastKnownLeapSecond().shiftedBy(10.0);
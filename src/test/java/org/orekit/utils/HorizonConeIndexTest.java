@@ -0,0 +1,100 @@
+/* Copyright 2002-2020 CS GROUP
+ * Licensed to CS GROUP (CS) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * CS licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.orekit.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hipparchus.geometry.euclidean.threed.Vector3D;
+import org.hipparchus.random.RandomGenerator;
+import org.hipparchus.random.Well19937a;
+import org.hipparchus.util.FastMath;
+import org.junit.Assert;
+import org.junit.Test;
+import org.orekit.bodies.GeodeticPoint;
+import org.orekit.bodies.OneAxisEllipsoid;
+import org.orekit.frames.FramesFactory;
+
+public class HorizonConeIndexTest {
+
+    @Test
+    public void testConservativePruning() {
+
+        final OneAxisEllipsoid earth = new OneAxisEllipsoid(Constants.WGS84_EARTH_EQUATORIAL_RADIUS,
+                                                            Constants.WGS84_EARTH_FLATTENING,
+                                                            FramesFactory.getGCRF());
+        final RandomGenerator random = new Well19937a(0x5ea4c1ef3a8d06b2l);
+
+        // points at various altitudes, including close to poles
+        final List<Vector3D> positions = new ArrayList<>();
+        final List<Vector3D> zeniths   = new ArrayList<>();
+        for (int i = 0; i < 2000; ++i) {
+            final GeodeticPoint point = new GeodeticPoint(FastMath.asin(2 * random.nextDouble() - 1),
+                                                          2 * FastMath.PI * random.nextDouble(),
+                                                          5000.0 * random.nextDouble());
+            positions.add(earth.transform(point));
+            zeniths.add(point.getZenith());
+        }
+
+        for (final double minElevation : new double[] { FastMath.toRadians(-2.0), 0.0, FastMath.toRadians(10.0) }) {
+            final HorizonConeIndex index = new HorizonConeIndex(positions, zeniths, minElevation);
+            Assert.assertEquals(positions.size(), index.size());
+            Assert.assertEquals(minElevation, index.getMinElevation(), 1.0e-15);
+            int pruned = 0;
+            for (int k = 0; k < 500; ++k) {
+                final double   r = 6.7e6 + 3.6e7 * random.nextDouble();
+                final Vector3D s = new Vector3D(r, new Vector3D(2 * FastMath.PI * random.nextDouble(),
+                                                                FastMath.asin(2 * random.nextDouble() - 1)));
+                final int[] candidates = index.getCandidates(s);
+                pruned += positions.size() - candidates.length;
+
+                // candidates are sorted by latitude
+                for (int c = 1; c < candidates.length; ++c) {
+                    Assert.assertTrue(positions.get(candidates[c - 1]).getDelta() <=
+                                      positions.get(candidates[c]).getDelta());
+                }
+
+                // all points above minimum elevation are candidates
+                final int[] sortedCandidates = candidates.clone();
+                Arrays.sort(sortedCandidates);
+                for (int i = 0; i < positions.size(); ++i) {
+                    final double margin = index.getElevationMargin(s, i);
+                    if (margin > 0) {
+                        Assert.assertTrue(Arrays.binarySearch(sortedCandidates, i) >= 0);
+                    }
+                    final Vector3D los = s.subtract(index.getPosition(i));
+                    Assert.assertEquals(0.5 * FastMath.PI - Vector3D.angle(los, zeniths.get(i)) - minElevation,
+                                        margin, 1.0e-10);
+                }
+            }
+
+            // pruning is effective
+            Assert.assertTrue(pruned > 250 * positions.size());
+
+        }
+
+    }
+
+    @Test
+    public void testEmpty() {
+        final HorizonConeIndex index = new HorizonConeIndex(new ArrayList<>(), new ArrayList<>(), 0.0);
+        Assert.assertEquals(0, index.size());
+        Assert.assertEquals(0, index.getCandidates(new Vector3D(7.0e6, 0.0, 0.0)).length);
+    }
+
+}